@@ -0,0 +1,93 @@
+package org.opentripplanner.ext.flex.flexpathcalculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.framework.i18n.I18NString;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.TemporaryFreeEdge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.TemporaryStreetLocation;
+
+class StreetFlexPathCalculatorTest {
+
+  private static final Duration MAX_FLEX_TRIP_DURATION = Duration.ofHours(1);
+
+  private static final IntersectionVertex A = intersectionVertex("A", 0, 0);
+  private static final IntersectionVertex B = intersectionVertex("B", 0, 0.01);
+  private static final IntersectionVertex C = intersectionVertex("C", 0, 0.02);
+  private static final StreetEdge A_B = streetEdge(A, B);
+  private static final StreetEdge B_C = streetEdge(B, C);
+
+  private final StreetFlexPathCache cache = new StreetFlexPathCache(1000);
+
+  @ParameterizedTest
+  @ValueSource(booleans = { false, true })
+  void sameResultAsWithoutSharedCache(boolean reverseDirection) {
+    var expected = new StreetFlexPathCalculator(reverseDirection, MAX_FLEX_TRIP_DURATION)
+      .calculateFlexPath(A, C, 0, 1);
+    var path = calculator(reverseDirection).calculateFlexPath(A, C, 0, 1);
+
+    assertNotNull(path);
+    assertEquals((int) (A_B.getDistanceMeters() + B_C.getDistanceMeters()), path.distanceMeters);
+    assertEquals(expected.distanceMeters, path.distanceMeters);
+    assertEquals(expected.durationSeconds, path.durationSeconds);
+    assertEquals(expected.getGeometry(), path.getGeometry());
+
+    assertNull(calculator(reverseDirection).calculateFlexPath(C, A, 0, 1));
+  }
+
+  @Test
+  void shareTreesBetweenRequests() {
+    calculator(false).calculateFlexPath(A, C, 0, 1);
+    calculator(false).calculateFlexPath(A, B, 0, 1);
+    calculator(true).calculateFlexPath(A, C, 0, 1);
+    calculator(true).calculateFlexPath(B, C, 0, 1);
+
+    var stats = cache.getCache().stats();
+    assertEquals(2, stats.missCount());
+    assertEquals(2, stats.hitCount());
+  }
+
+  @Test
+  void doNotShareTemporaryVertices() {
+    var destination = new TemporaryStreetLocation(
+      "destination",
+      C.getCoordinate(),
+      I18NString.of("destination"),
+      true
+    );
+    TemporaryFreeEdge.createTemporaryFreeEdge(C, destination);
+
+    assertNotNull(calculator(false).calculateFlexPath(A, destination, 0, 1));
+    assertEquals(0, cache.getCache().size());
+
+    calculator(false).calculateFlexPath(A, C, 0, 1);
+    var tree = cache.getCache().asMap().values().iterator().next();
+    assertNotNull(tree.getPath(C));
+    assertNull(tree.getPath(destination));
+  }
+
+  @Test
+  void disabledCache() {
+    var calculator = new StreetFlexPathCalculator(
+      false,
+      MAX_FLEX_TRIP_DURATION,
+      StreetFlexPathCache.DISABLED
+    );
+
+    assertNotNull(calculator.calculateFlexPath(A, C, 0, 1));
+    assertNull(StreetFlexPathCache.DISABLED.getCache());
+  }
+
+  private StreetFlexPathCalculator calculator(boolean reverseDirection) {
+    return new StreetFlexPathCalculator(reverseDirection, MAX_FLEX_TRIP_DURATION, cache);
+  }
+}
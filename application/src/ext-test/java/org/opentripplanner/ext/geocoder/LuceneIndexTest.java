@@ -1,21 +1,28 @@
 package org.opentripplanner.ext.geocoder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
 import static org.opentripplanner.transit.model.basic.TransitMode.BUS;
 import static org.opentripplanner.transit.model.basic.TransitMode.FERRY;
 
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
+import java.io.File;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.opentripplanner.ext.stopconsolidation.internal.DefaultStopConsolidationRepository;
@@ -32,6 +39,7 @@ import org.opentripplanner.transit.model.site.Station;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TimetableRepository;
+import org.opentripplanner.transit.service.TransitService;
 
 class LuceneIndexTest {
 
@@ -102,6 +110,10 @@ class LuceneIndexTest {
   static final RegularStop MERIDIAN_N1 = TEST_MODEL.stop("Meridian N & Spencer").build();
   static final RegularStop MERIDIAN_N2 = TEST_MODEL.stop("N 205th St & Meridian Ave N").build();
 
+  static TransitService transitService;
+
+  static DefaultStopConsolidationService stopConsolidationService;
+
   static LuceneIndex index;
 
   static StopClusterMapper mapper;
@@ -128,51 +140,53 @@ class LuceneIndexTest {
       .forEach(stopModel::withStation);
     var timetableRepository = new TimetableRepository(stopModel.build(), new Deduplicator());
     timetableRepository.index();
-    var transitService = new DefaultTransitService(timetableRepository) {
-      private final Multimap<StopLocation, TransitMode> modes = ImmutableMultimap
-        .<StopLocation, TransitMode>builder()
-        .putAll(WESTHAFEN, FERRY, BUS)
-        .build();
-
-      @Override
-      public List<TransitMode> getModesOfStopLocation(StopLocation stop) {
-        if (stop.getGtfsVehicleType() != null) {
-          return List.of(stop.getGtfsVehicleType());
-        } else {
-          return List.copyOf(modes.get(stop));
+    transitService =
+      new DefaultTransitService(timetableRepository) {
+        private final Multimap<StopLocation, TransitMode> modes = ImmutableMultimap
+          .<StopLocation, TransitMode>builder()
+          .putAll(WESTHAFEN, FERRY, BUS)
+          .build();
+
+        @Override
+        public List<TransitMode> getModesOfStopLocation(StopLocation stop) {
+          if (stop.getGtfsVehicleType() != null) {
+            return List.of(stop.getGtfsVehicleType());
+          } else {
+            return List.copyOf(modes.get(stop));
+          }
         }
-      }
 
-      @Override
-      public Agency getAgencyForId(FeedScopedId id) {
-        if (id.equals(BVG.getId())) {
-          return BVG;
+        @Override
+        public Agency getAgencyForId(FeedScopedId id) {
+          if (id.equals(BVG.getId())) {
+            return BVG;
+          }
+          return null;
         }
-        return null;
-      }
 
-      @Override
-      public Set<Route> getRoutesForStop(StopLocation stop) {
-        return Set.of(TimetableRepositoryForTest.route("route1").withAgency(BVG).build());
-      }
+        @Override
+        public Set<Route> getRoutesForStop(StopLocation stop) {
+          return Set.of(TimetableRepositoryForTest.route("route1").withAgency(BVG).build());
+        }
 
-      @Override
-      public FeedInfo getFeedInfo(String feedId) {
-        return new FeedInfo(
-          "F",
-          "A Publisher",
-          "http://example.com",
-          "de",
-          LocalDate.MIN,
-          LocalDate.MIN,
-          "1"
-        );
-      }
-    };
-    var stopConsolidationService = new DefaultStopConsolidationService(
-      new DefaultStopConsolidationRepository(),
-      timetableRepository
-    );
+        @Override
+        public FeedInfo getFeedInfo(String feedId) {
+          return new FeedInfo(
+            "F",
+            "A Publisher",
+            "http://example.com",
+            "de",
+            LocalDate.MIN,
+            LocalDate.MIN,
+            "1"
+          );
+        }
+      };
+    stopConsolidationService =
+      new DefaultStopConsolidationService(
+        new DefaultStopConsolidationRepository(),
+        timetableRepository
+      );
     index = new LuceneIndex(transitService, stopConsolidationService);
     mapper = new StopClusterMapper(transitService, stopConsolidationService);
   }
@@ -202,6 +216,99 @@ class LuceneIndexTest {
     assertEquals(List.of(FIVE_POINTS_STATION), result1);
   }
 
+  @Test
+  void fingerprintIncludesCoordinates() {
+    var testModel = TimetableRepositoryForTest.of();
+    var stop = testModel.stop("Westhafen").withCoordinate(52.53, 13.34).build();
+    var movedStop = stop.copy().withCoordinate(52.54, 13.34).build();
+
+    assertNotEquals(fingerprint(testModel, stop), fingerprint(testModel, movedStop));
+  }
+
+  private static String fingerprint(TimetableRepositoryForTest testModel, RegularStop stop) {
+    var timetableRepository = new TimetableRepository(
+      testModel.stopModelBuilder().withRegularStop(stop).build(),
+      new Deduplicator()
+    );
+    timetableRepository.index();
+    return LuceneIndex.fingerprint(new DefaultTransitService(timetableRepository));
+  }
+
+  @Nested
+  class SavedIndex {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void saveAndOpen() {
+      var location = new LuceneIndexLocation(directory);
+      LuceneIndex.save(transitService, stopConsolidationService, location);
+
+      try (var subject = LuceneIndex.open(transitService, stopConsolidationService, location)) {
+        assertTrue(subject.isSavedIndex());
+        assertEquals(
+          Set.of(ALEXANDERPLATZ_BUS, ALEXANDERPLATZ_RAIL),
+          subject.queryStopLocations("alexan", true).collect(Collectors.toSet())
+        );
+        assertEquals(
+          List.of(FIVE_POINTS_STATION.getId()),
+          subject.queryStopClusters("five points").map(primaryId()).toList()
+        );
+      }
+    }
+
+    @Test
+    void closeSavedIndex() {
+      var location = new LuceneIndexLocation(directory);
+      LuceneIndex.save(transitService, stopConsolidationService, location);
+      var subject = LuceneIndex.open(transitService, stopConsolidationService, location);
+
+      subject.close();
+
+      assertThrows(
+        AlreadyClosedException.class,
+        () -> subject.queryStopLocations("alexan", true).toList()
+      );
+    }
+
+    @Test
+    void buildIndexInMemoryIfNoIndexIsSaved() {
+      var subject = LuceneIndex.open(
+        transitService,
+        stopConsolidationService,
+        new LuceneIndexLocation(directory)
+      );
+
+      assertFalse(subject.isSavedIndex());
+      assertEquals(1, subject.queryStopLocations("lich", true).count());
+    }
+
+    @Test
+    void buildIndexInMemoryIfSavedIndexIsForOtherStops() {
+      var location = new LuceneIndexLocation(directory);
+      var otherModel = TimetableRepositoryForTest.of();
+      var otherTimetableRepository = new TimetableRepository(
+        otherModel.stopModelBuilder().withRegularStop(otherModel.stop("Westhafen").build()).build(),
+        new Deduplicator()
+      );
+      otherTimetableRepository.index();
+      LuceneIndex.save(
+        new DefaultTransitService(otherTimetableRepository),
+        new DefaultStopConsolidationService(
+          new DefaultStopConsolidationRepository(),
+          otherTimetableRepository
+        ),
+        location
+      );
+
+      var subject = LuceneIndex.open(transitService, stopConsolidationService, location);
+
+      assertFalse(subject.isSavedIndex());
+      assertEquals(1, subject.queryStopLocations("lich", true).count());
+    }
+  }
+
   @Nested
   class StopClusters {
 
@@ -0,0 +1,169 @@
+package org.opentripplanner.ext.vectortiles;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentripplanner.api.resource.WebMercatorTile;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
+import org.opentripplanner.ext.vectortiles.layers.stations.StationsLayerBuilder;
+import org.opentripplanner.ext.vectortiles.layers.stops.StopsLayerBuilder;
+import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.VectorTileResponseFactory;
+import org.opentripplanner.standalone.config.routerconfig.VectorTileConfig;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TimetableRepository;
+import org.opentripplanner.transit.service.TransitService;
+
+class VectorTileArchiveTest {
+
+  private static final int ZOOM = 10;
+  private static final double LAT = 60.0;
+  private static final double LON = 10.0;
+
+  private static final Layer STOPS = new Layer("stops", LayerType.Stop, "Digitransit");
+  private static final Layer STATIONS = new Layer("stations", LayerType.Station, "Digitransit");
+  private static final Layer REALTIME_STOPS = new Layer(
+    "realtimeStops",
+    LayerType.Stop,
+    "DigitransitRealtime"
+  );
+  private static final Layer ALL_ZOOM_STOPS = new Layer(
+    "allZoomStops",
+    LayerType.Stop,
+    "Digitransit",
+    0
+  );
+
+  @TempDir
+  Path tempDir;
+
+  private TransitService transitService;
+  private VectorTileArchiveLocation location;
+
+  @BeforeEach
+  void setUp() {
+    var testModel = TimetableRepositoryForTest.of();
+    var station = testModel.station("S1").withCoordinate(LAT, LON).build();
+    var stopModel = testModel
+      .stopModelBuilder()
+      .withRegularStop(testModel.stop("A", LAT, LON).withParentStation(station).build())
+      .withRegularStop(testModel.stop("B", LAT + 0.01, LON + 0.02).build())
+      .withStation(station);
+
+    var timetableRepository = new TimetableRepository(stopModel.build(), new Deduplicator());
+    timetableRepository.index();
+    transitService = new DefaultTransitService(timetableRepository);
+    location = new VectorTileArchiveLocation(new File(tempDir.toFile(), "vectorTiles.archive"));
+
+    new VectorTileArchiveWriter(List.of(STOPS, STATIONS, REALTIME_STOPS), ZOOM, transitService)
+      .write(location);
+  }
+
+  @Test
+  void findRenderedTile() {
+    var archive = VectorTileArchive.open(location, VectorTileArchive.fingerprint(transitService));
+    assertNotNull(archive);
+
+    int x = WebMercatorTile.lon2tileX(LON, ZOOM);
+    int y = WebMercatorTile.lat2tileY(LAT, ZOOM);
+
+    assertArrayEquals(
+      VectorTileResponseFactory.createLayerTile(
+        x,
+        y,
+        ZOOM,
+        new StopsLayerBuilder(transitService, STOPS, Locale.ROOT)
+      ),
+      toArray(archive.find(STOPS, ZOOM, x, y, Locale.ENGLISH))
+    );
+    assertArrayEquals(
+      VectorTileResponseFactory.createLayerTile(
+        x,
+        y,
+        ZOOM,
+        new StationsLayerBuilder(transitService, STATIONS, Locale.ROOT)
+      ),
+      toArray(archive.find(STATIONS, ZOOM, x, y, Locale.ENGLISH))
+    );
+  }
+
+  @Test
+  void missingTilesAreNotFound() {
+    var archive = VectorTileArchive.open(location, VectorTileArchive.fingerprint(transitService));
+    assertNotNull(archive);
+
+    int x = WebMercatorTile.lon2tileX(LON, ZOOM);
+    int y = WebMercatorTile.lat2tileY(LAT, ZOOM);
+
+    // The zoom level is above the max zoom of the archive
+    assertNull(archive.find(STOPS, ZOOM + 1, x * 2, y * 2, Locale.ENGLISH));
+    // There are no stops in the tile
+    assertNull(archive.find(STOPS, ZOOM, x + 10, y, Locale.ENGLISH));
+    // The realtime layer is always rendered when requested
+    assertNull(archive.find(REALTIME_STOPS, ZOOM, x, y, Locale.ENGLISH));
+    // The layer configuration is changed
+    var changedStops = new Layer("stops", LayerType.Stop, "DigitransitRealtime");
+    assertNull(archive.find(changedStops, ZOOM, x, y, Locale.ENGLISH));
+  }
+
+  @Test
+  void archiveOfAnotherGraphIsNotOpened() {
+    assertNull(VectorTileArchive.open(location, "another graph"));
+  }
+
+  @Test
+  void archiveIsDeletedIfNoLayersAreSaved() {
+    new VectorTileArchiveWriter(List.of(REALTIME_STOPS), ZOOM, transitService).write(location);
+
+    assertFalse(location.file().exists());
+    assertNull(VectorTileArchive.open(location, VectorTileArchive.fingerprint(transitService)));
+  }
+
+  @Test
+  void archiveIsDeletedIfDisabled() {
+    new VectorTileArchiveWriter(
+      List.of(ALL_ZOOM_STOPS),
+      VectorTileConfig.ARCHIVE_DISABLED,
+      transitService
+    )
+      .write(location);
+
+    assertFalse(location.file().exists());
+  }
+
+  @Test
+  void archiveZoomLevelZero() {
+    new VectorTileArchiveWriter(List.of(ALL_ZOOM_STOPS), 0, transitService).write(location);
+
+    var archive = VectorTileArchive.open(location, VectorTileArchive.fingerprint(transitService));
+    assertNotNull(archive);
+    assertNotNull(archive.find(ALL_ZOOM_STOPS, 0, 0, 0, Locale.ENGLISH));
+    assertNull(archive.find(ALL_ZOOM_STOPS, 1, 1, 0, Locale.ENGLISH));
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    assertNotNull(buffer);
+    var bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private record Layer(String name, LayerType type, String mapper, int minZoom)
+    implements LayerParameters<LayerType> {
+    private Layer(String name, LayerType type, String mapper) {
+      this(name, type, mapper, MIN_ZOOM);
+    }
+  }
+}
@@ -1,17 +1,53 @@
 package org.opentripplanner.ext.vectortiles;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.opentripplanner.standalone.config.framework.json.JsonSupport.newNodeAdapterForTest;
 
+import io.micrometer.core.instrument.Metrics;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import org.glassfish.grizzly.http.server.Request;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.opentripplanner.TestServerContext;
+import org.opentripplanner._support.time.ZoneIds;
+import org.opentripplanner.api.resource.WebMercatorTile;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
+import org.opentripplanner.inspector.vector.VectorTileCache;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.alertpatch.AlertEffect;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.TimePeriod;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.impl.TransitAlertServiceImpl;
+import org.opentripplanner.routing.service.RoutingRequestLimiter;
+import org.opentripplanner.routing.services.TransitAlertService;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.standalone.config.routerconfig.VectorTileConfig;
+import org.opentripplanner.standalone.server.DefaultServerRequestContext;
 import org.opentripplanner.test.support.HttpForTest;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TimetableRepository;
 
 class VectorTilesResourceTest {
 
+  private static final int ZOOM = 10;
+  private static final double LAT = 60.0;
+  private static final double LON = 10.0;
+  private static final int X = WebMercatorTile.lon2tileX(LON, ZOOM);
+  private static final int Y = WebMercatorTile.lat2tileY(LAT, ZOOM);
+
   @Test
   void tileJson() {
     // the Grizzly request is awful to instantiate, using Mockito
@@ -28,4 +64,97 @@ class VectorTilesResourceTest {
       tileJson.tiles[0]
     );
   }
+
+  @Test
+  void cacheOnlyStaticTransitLayers() {
+    var testModel = TimetableRepositoryForTest.of();
+    RegularStop stop = testModel.stop("A", LAT, LON).build();
+    var timetableRepository = new TimetableRepository(
+      testModel.stopModelBuilder().withRegularStop(stop).build(),
+      new Deduplicator()
+    );
+    timetableRepository.initTimeZone(ZoneIds.HELSINKI);
+    timetableRepository.index();
+    var transitService = new DefaultTransitService(timetableRepository) {
+      final TransitAlertService alertService = new TransitAlertServiceImpl(timetableRepository);
+
+      @Override
+      public TransitAlertService getTransitAlertService() {
+        return alertService;
+      }
+    };
+    var resource = resource(serverContext(timetableRepository, transitService));
+
+    var stops = resource.tileGet(X, Y, ZOOM, "stops").getEntity();
+    assertSame(stops, resource.tileGet(X, Y, ZOOM, "stops").getEntity());
+
+    var realtimeStops = (byte[]) resource.tileGet(X, Y, ZOOM, "realtimeStops").getEntity();
+    var now = ZonedDateTime.now(ZoneIds.HELSINKI);
+    var alert = TransitAlert
+      .of(stop.getId())
+      .addEntity(new EntitySelector.Stop(stop.getId()))
+      .addTimePeriod(
+        new TimePeriod(now.minusDays(1).toEpochSecond(), now.plusDays(1).toEpochSecond())
+      )
+      .withEffect(AlertEffect.NO_SERVICE)
+      .build();
+    transitService.getTransitAlertService().setAlerts(List.of(alert));
+
+    // The stop is closed by the alert
+    var closedStops = (byte[]) resource.tileGet(X, Y, ZOOM, "realtimeStops").getEntity();
+    assertFalse(Arrays.equals(realtimeStops, closedStops));
+  }
+
+  private static OtpServerRequestContext serverContext(
+    TimetableRepository timetableRepository,
+    DefaultTransitService transitService
+  ) {
+    var routerConfig = RouterConfig.DEFAULT;
+    var vectorTileConfig = VectorTileConfig.mapVectorTilesParameters(
+      newNodeAdapterForTest(
+        """
+        {
+          "vectorTiles": {
+            "layers": [
+              { "name": "stops", "type": "Stop", "mapper": "Digitransit" },
+              { "name": "realtimeStops", "type": "Stop", "mapper": "DigitransitRealtime" }
+            ]
+          }
+        }
+        """
+      ),
+      "vectorTiles"
+    );
+    return DefaultServerRequestContext.create(
+      routerConfig.transitTuningConfig(),
+      routerConfig.routingRequestDefaults(),
+      new RaptorConfig<>(routerConfig.transitTuningConfig()),
+      RoutingRequestLimiter.noLimit(),
+      new OtpRequestTasks(0, Metrics.globalRegistry),
+      new Graph(),
+      transitService,
+      Metrics.globalRegistry,
+      GraphQLDocumentCache.DISABLED,
+      vectorTileConfig,
+      new VectorTileCache(1),
+      null,
+      TestServerContext.createWorldEnvelopeService(),
+      TestServerContext.createRealtimeVehicleService(transitService),
+      TestServerContext.createVehicleRentalService(),
+      TestServerContext.createEmissionsService(),
+      routerConfig.flexParameters(),
+      StreetFlexPathCache.DISABLED,
+      List.of(),
+      null,
+      TestServerContext.createStreetLimitationParametersService(),
+      null,
+      null
+    );
+  }
+
+  private static VectorTilesResource resource(OtpServerRequestContext serverContext) {
+    var grizzlyRequest = Mockito.mock(Request.class);
+    Mockito.when(grizzlyRequest.getLocale()).thenReturn(Locale.ENGLISH);
+    return new VectorTilesResource(serverContext, grizzlyRequest, "default");
+  }
 }
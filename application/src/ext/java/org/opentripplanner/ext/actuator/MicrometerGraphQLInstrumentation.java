@@ -17,6 +17,7 @@ import graphql.execution.instrumentation.parameters.InstrumentationValidationPar
 import graphql.language.Document;
 import graphql.schema.GraphQLTypeUtil;
 import graphql.validation.ValidationError;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
@@ -29,6 +30,11 @@ import java.util.List;
  * There are two types of metrics: one for query execution, and another for resolver timing. The
  * timers are registered to micrometer using graphql.timer.query and graphql.timer.resolver.
  * <p>
+ * The parse and validation timers are only recorded when the query is not found in the
+ * {@link org.opentripplanner.apis.support.graphql.GraphQLDocumentCache}. The number of queries
+ * found in the cache and the number parsed are counted by graphql.document.cache, with the
+ * result tag set to hit or miss.
+ * <p>
  * ### See also: - https://github.com/symbaloo/graphql-micrometer/blob/main/src/main/kotlin/com/symbaloo/graphqlmicrometer/MicrometerInstrumentation.kt
  * - https://github.com/graphql-java-kickstart/graphql-spring-boot/blob/master/graphql-spring-boot-autoconfigure/src/main/java/graphql/kickstart/autoconfigure/web/servlet/metrics/MetricsInstrumentation.java
  * - https://github.com/apollographql/apollo-tracing - [TracingInstrumentation]
@@ -37,10 +43,12 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
 
   private static final String QUERY_TIME_METRIC_NAME = "graphql.timer.query";
   private static final String RESOLVER_TIME_METRIC_NAME = "graphql.timer.resolver";
+  private static final String DOCUMENT_CACHE_METRIC_NAME = "graphql.document.cache";
   private static final String OPERATION_NAME_TAG = "operationName";
   private static final String OPERATION = "operation";
   private static final String PARENT = "parent";
   private static final String FIELD = "field";
+  private static final String RESULT = "result";
   private static final String TIMER_DESCRIPTION =
     "Timer that records the time to fetch the data by Operation Name";
 
@@ -63,9 +71,12 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
     InstrumentationState state
   ) {
     Timer.Sample sample = Timer.start(meterRegistry);
-    return whenCompleted((res, err) ->
-      sample.stop(buildQueryTimer(((TraceState) state).operationName, "execution"))
-    );
+    return whenCompleted((res, err) -> {
+      var traceState = (TraceState) state;
+      sample.stop(buildQueryTimer(traceState.operationName, "execution"));
+      // The query is only parsed if it is not found in the document cache
+      buildDocumentCacheCounter(traceState.parsed ? "miss" : "hit").increment();
+    });
   }
 
   @Override
@@ -73,6 +84,7 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
     InstrumentationExecutionParameters parameters,
     InstrumentationState state
   ) {
+    ((TraceState) state).parsed = true;
     Timer.Sample sample = Timer.start(meterRegistry);
     return whenCompleted((res, err) ->
       sample.stop(buildQueryTimer(((TraceState) state).operationName, "parse"))
@@ -151,7 +163,20 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
       .register(meterRegistry);
   }
 
-  private record TraceState(String operationName) implements InstrumentationState {
+  private Counter buildDocumentCacheCounter(String result) {
+    return Counter
+      .builder(DOCUMENT_CACHE_METRIC_NAME)
+      .description("Number of queries found in the GraphQL document cache, and not found")
+      .tag(RESULT, result)
+      .tags(tags)
+      .register(meterRegistry);
+  }
+
+  private static class TraceState implements InstrumentationState {
+
+    private final String operationName;
+    private volatile boolean parsed = false;
+
     private TraceState(String operationName) {
       this.operationName = operationName == null ? "__UNKNOWN__" : operationName;
     }
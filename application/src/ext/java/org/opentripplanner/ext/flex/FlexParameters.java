@@ -1,6 +1,7 @@
 package org.opentripplanner.ext.flex;
 
 import java.time.Duration;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
 
 /**
  * Define parameters used to configure flex. For further documentation on these parameters, look
@@ -26,6 +27,10 @@ public interface FlexParameters {
    * See {@link org.opentripplanner.standalone.config.sandbox.FlexConfig}
    */
   Duration maxEgressWalkDuration();
+  /**
+   * See {@link org.opentripplanner.standalone.config.sandbox.FlexConfig}
+   */
+  int streetPathCacheMaxStates();
 
   /**
    * This defines the default values. This will be used by the OTP configuration and by tests,
@@ -52,6 +57,11 @@ public interface FlexParameters {
       public Duration maxEgressWalkDuration() {
         return Duration.ofMinutes(45);
       }
+
+      @Override
+      public int streetPathCacheMaxStates() {
+        return StreetFlexPathCache.DEFAULT_MAX_STATES;
+      }
     };
   }
 }
@@ -11,6 +11,7 @@ import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.ext.flex.flexpathcalculator.DirectFlexPathCalculator;
 import org.opentripplanner.ext.flex.flexpathcalculator.FlexPathCalculator;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
 import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCalculator;
 import org.opentripplanner.ext.flex.template.DirectFlexPath;
 import org.opentripplanner.ext.flex.template.FlexAccessEgressCallbackAdapter;
@@ -57,6 +58,7 @@ public class FlexRouter {
     Graph graph,
     TransitService transitService,
     FlexParameters flexParameters,
+    StreetFlexPathCache streetPathCache,
     Instant requestedTime,
     @Nullable Instant requestedBookingTime,
     int additionalPastSearchDays,
@@ -80,9 +82,9 @@ public class FlexRouter {
 
     if (graph.hasStreets) {
       this.accessFlexPathCalculator =
-        new StreetFlexPathCalculator(false, flexParameters.maxFlexTripDuration());
+        new StreetFlexPathCalculator(false, flexParameters.maxFlexTripDuration(), streetPathCache);
       this.egressFlexPathCalculator =
-        new StreetFlexPathCalculator(true, flexParameters.maxFlexTripDuration());
+        new StreetFlexPathCalculator(true, flexParameters.maxFlexTripDuration(), streetPathCache);
     } else {
       // this is only really useful in tests. in real world scenarios you're unlikely to get useful
       // results if you don't have streets
@@ -0,0 +1,163 @@
+package org.opentripplanner.ext.flex.flexpathcalculator;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.model.ShortestPathTree;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * A compact copy of the result of a one-to-many street search. Only the duration and the back edge
+ * of the best state at each vertex, and the link to the previous state, are kept. This is a lot
+ * smaller than a {@link ShortestPathTree}, which holds on to all the states of the search, so
+ * these trees can be cached across requests, see {@link StreetFlexPathCache}.
+ * <p>
+ * The paths returned are the same as the paths of the shortest path tree the tree is created
+ * from.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE
+ */
+public class FlexPathTree {
+
+  private static final int NOT_FOUND = -1;
+
+  /** The index of the best state of each vertex reached. */
+  private final TObjectIntMap<Vertex> stateIndexByVertex;
+
+  /** The elapsed time of each state, in seconds. */
+  private final int[] durations;
+
+  /** The index of the previous state of each state, or {@link #NOT_FOUND} for the origin. */
+  private final int[] backStates;
+
+  /** The edge traversed to reach each state, {@code null} for the origin. */
+  private final Edge[] backEdges;
+
+  private final boolean reverseDirection;
+
+  private FlexPathTree(
+    TObjectIntMap<Vertex> stateIndexByVertex,
+    int[] durations,
+    int[] backStates,
+    Edge[] backEdges,
+    boolean reverseDirection
+  ) {
+    this.stateIndexByVertex = stateIndexByVertex;
+    this.durations = durations;
+    this.backStates = backStates;
+    this.backEdges = backEdges;
+    this.reverseDirection = reverseDirection;
+  }
+
+  /**
+   * @param reverseDirection {@code true} if the search is an arrive-by search, the paths then
+   *                         start at the vertices of the tree and end at the origin of the search.
+   */
+  public static FlexPathTree of(
+    ShortestPathTree<State, Edge, Vertex> shortestPathTree,
+    boolean reverseDirection
+  ) {
+    var builder = new Builder();
+    for (Vertex vertex : shortestPathTree.getVertices()) {
+      State state = shortestPathTree.getState(vertex);
+      if (state != null) {
+        builder.stateIndexByVertex.put(vertex, builder.add(state));
+      }
+    }
+    return new FlexPathTree(
+      builder.stateIndexByVertex,
+      builder.durations.toArray(),
+      builder.backStates.toArray(),
+      builder.backEdges.toArray(new Edge[0]),
+      reverseDirection
+    );
+  }
+
+  /**
+   * The number of states in the tree, this is used to limit the size of the cache.
+   */
+  public int size() {
+    return durations.length;
+  }
+
+  /**
+   * Return the path between the origin of the search and the given vertex, or {@code null} if
+   * the vertex was not reached.
+   */
+  @Nullable
+  public FlexPath getPath(Vertex vertex) {
+    int stateIndex = stateIndexByVertex.get(vertex);
+    if (stateIndex == NOT_FOUND) {
+      return null;
+    }
+
+    // The edges in chronological order
+    LinkedList<Edge> edges = new LinkedList<>();
+    for (int i = stateIndex; backStates[i] != NOT_FOUND; i = backStates[i]) {
+      if (reverseDirection) {
+        edges.addLast(backEdges[i]);
+      } else {
+        edges.addFirst(backEdges[i]);
+      }
+    }
+
+    int distance = (int) edges.stream().mapToDouble(Edge::getDistanceMeters).sum();
+
+    // computing the linestring from the graph path is a surprisingly expensive operation
+    // so we delay it until it's actually needed. since most flex paths are never shown to the user
+    // this improves performance quite a bit.
+    return new FlexPath(
+      distance,
+      durations[stateIndex],
+      () -> GeometryUtils.concatenateLineStrings(edges, Edge::getGeometry)
+    );
+  }
+
+  private static class Builder {
+
+    private final TObjectIntMap<Vertex> stateIndexByVertex = new TObjectIntHashMap<>(
+      100,
+      0.5f,
+      NOT_FOUND
+    );
+    private final Map<State, Integer> stateIndices = new IdentityHashMap<>();
+    private final TIntArrayList durations = new TIntArrayList();
+    private final TIntArrayList backStates = new TIntArrayList();
+    private final List<Edge> backEdges = new ArrayList<>();
+
+    /**
+     * Add the state and all the states before it which are not already added. The path to a
+     * vertex does not always go through the best state of the previous vertex, so the previous
+     * states are added as well.
+     */
+    private int add(State state) {
+      var newStates = new ArrayList<State>();
+      State s = state;
+      while (s != null && !stateIndices.containsKey(s)) {
+        newStates.add(s);
+        s = s.getBackState();
+      }
+
+      int backStateIndex = s == null ? NOT_FOUND : stateIndices.get(s);
+      for (int i = newStates.size() - 1; i >= 0; i--) {
+        State newState = newStates.get(i);
+        int index = durations.size();
+        stateIndices.put(newState, index);
+        durations.add((int) newState.getElapsedTimeSeconds());
+        backStates.add(backStateIndex);
+        backEdges.add(backStateIndex == NOT_FOUND ? null : newState.getBackEdge());
+        backStateIndex = index;
+      }
+      return backStateIndex;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package org.opentripplanner.ext.flex.flexpathcalculator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import javax.annotation.Nullable;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * A cache of the one-to-many street searches of the {@link StreetFlexPathCalculator}, shared by
+ * all requests. Flex access and egress searches start again and again from the same flex stop
+ * vertices, so the trees are kept between requests instead of only within one request.
+ * <p>
+ * The size of the cache is limited by the total number of states in the cached trees, the least
+ * recently used trees are evicted first. The street graph does not change after it is loaded, so
+ * the trees never go out of date. The temporary edges of the requests are not part of the cached
+ * trees.
+ * <p>
+ * The trees are created by the request which needs them, outside the cache, and added when they
+ * are complete. A request timeout or interruption during the search therefore only fails the
+ * request doing the search. Requests asking for the same tree at the same time may all do the
+ * search, the last tree added is kept.
+ * <p>
+ * The hit, miss and eviction statistics are exported as metrics, see
+ * {@link org.opentripplanner.standalone.server.MetricsLogging}.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class StreetFlexPathCache {
+
+  public static final StreetFlexPathCache DISABLED = new StreetFlexPathCache(0);
+
+  /**
+   * The default maximum number of states in the cached trees, a state uses around 40 bytes.
+   */
+  public static final int DEFAULT_MAX_STATES = 2_000_000;
+
+  @Nullable
+  private final Cache<Key, FlexPathTree> cache;
+
+  /**
+   * @param maxStates The maximum number of states in the cached trees, the cache is disabled if
+   *                  this is zero.
+   */
+  public StreetFlexPathCache(int maxStates) {
+    this.cache =
+      maxStates <= 0
+        ? null
+        : CacheBuilder
+          .newBuilder()
+          .maximumWeight(maxStates)
+          .<Key, FlexPathTree>weigher((key, tree) -> tree.size())
+          .recordStats()
+          .build();
+  }
+
+  public boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * Return the cached tree for the given key, or {@code null} if it is not in the cache.
+   */
+  @Nullable
+  FlexPathTree get(Key key) {
+    return cache == null ? null : cache.getIfPresent(key);
+  }
+
+  void put(Key key, FlexPathTree tree) {
+    if (cache != null) {
+      cache.put(key, tree);
+    }
+  }
+
+  /**
+   * The underlying cache, used to export the statistics. This is {@code null} if the cache is
+   * disabled.
+   */
+  @Nullable
+  public Cache<Key, FlexPathTree> getCache() {
+    return cache;
+  }
+
+  /**
+   * @param vertex           The origin of the search, or the destination if the search is done
+   *                         in the reverse direction.
+   * @param reverseDirection If the search is done in the reverse direction.
+   */
+  public record Key(Vertex vertex, boolean reverseDirection, Duration maxFlexTripDuration) {}
+}
@@ -3,14 +3,16 @@ package org.opentripplanner.ext.flex.flexpathcalculator;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import org.opentripplanner.astar.model.GraphPath;
-import org.opentripplanner.astar.model.ShortestPathTree;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.spi.SkipEdgeStrategy;
+import org.opentripplanner.astar.strategy.ComposingSkipEdgeStrategy;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
-import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.api.request.request.StreetRequest;
 import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.TemporaryEdge;
+import org.opentripplanner.street.model.vertex.TemporaryVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.state.State;
@@ -29,16 +31,33 @@ import org.opentripplanner.street.search.strategy.DominanceFunctions;
  * configured so that the caching is done with either the origin or destination vertex as the key.
  * The one-to-many search will then either be done in the forward or the reverse direction depending
  * on this configuration.
+ * <p>
+ * If a {@link StreetFlexPathCache} is given, the trees from permanent vertices are shared with
+ * all other requests. The trees from or to the temporary vertices of the request are only cached
+ * for the request.
  */
 public class StreetFlexPathCalculator implements FlexPathCalculator {
 
-  private final Map<Vertex, ShortestPathTree<State, Edge, Vertex>> cache = new HashMap<>();
+  private final Map<Vertex, FlexPathTree> cache = new HashMap<>();
+
+  @Nullable
+  private final StreetFlexPathCache sharedCache;
+
   private final boolean reverseDirection;
   private final Duration maxFlexTripDuration;
 
   public StreetFlexPathCalculator(boolean reverseDirection, Duration maxFlexTripDuration) {
+    this(reverseDirection, maxFlexTripDuration, null);
+  }
+
+  public StreetFlexPathCalculator(
+    boolean reverseDirection,
+    Duration maxFlexTripDuration,
+    @Nullable StreetFlexPathCache sharedCache
+  ) {
     this.reverseDirection = reverseDirection;
     this.maxFlexTripDuration = maxFlexTripDuration;
+    this.sharedCache = sharedCache;
   }
 
   @Override
@@ -53,44 +72,54 @@ public class StreetFlexPathCalculator implements FlexPathCalculator {
     Vertex originVertex = reverseDirection ? tov : fromv;
     Vertex destinationVertex = reverseDirection ? fromv : tov;
 
-    ShortestPathTree<State, Edge, Vertex> shortestPathTree;
-    if (cache.containsKey(originVertex)) {
-      shortestPathTree = cache.get(originVertex);
+    FlexPathTree tree;
+    if (
+      sharedCache != null &&
+      sharedCache.isEnabled() &&
+      !(originVertex instanceof TemporaryVertex) &&
+      !(destinationVertex instanceof TemporaryVertex)
+    ) {
+      var key = new StreetFlexPathCache.Key(originVertex, reverseDirection, maxFlexTripDuration);
+      tree = sharedCache.get(key);
+      if (tree == null) {
+        tree = routeToMany(originVertex, true);
+        sharedCache.put(key, tree);
+      }
     } else {
-      shortestPathTree = routeToMany(originVertex);
-      cache.put(originVertex, shortestPathTree);
-    }
-
-    GraphPath<State, Edge, Vertex> path = shortestPathTree.getPath(destinationVertex);
-    if (path == null) {
-      return null;
+      tree = cache.computeIfAbsent(originVertex, v -> routeToMany(v, false));
     }
-
-    int distance = (int) path.edges.stream().mapToDouble(Edge::getDistanceMeters).sum();
-    int duration = path.getDuration();
-
-    // computing the linestring from the graph path is a surprisingly expensive operation
-    // so we delay it until it's actually needed. since most flex paths are never shown to the user
-    // this improves performance quite a bit.
-    return new FlexPath(
-      distance,
-      duration,
-      () -> GeometryUtils.concatenateLineStrings(path.edges, Edge::getGeometry)
-    );
+    return tree.getPath(destinationVertex);
   }
 
-  private ShortestPathTree<State, Edge, Vertex> routeToMany(Vertex vertex) {
+  /**
+   * @param skipTemporaryEdges Skip the temporary edges, they are only valid for the request that
+   *                           created them.
+   */
+  private FlexPathTree routeToMany(Vertex vertex, boolean skipTemporaryEdges) {
     RouteRequest routingRequest = new RouteRequest();
     routingRequest.setArriveBy(reverseDirection);
 
-    return StreetSearchBuilder
+    SkipEdgeStrategy<State, Edge> skipEdgeStrategy = new DurationSkipEdgeStrategy<>(
+      maxFlexTripDuration
+    );
+    if (skipTemporaryEdges) {
+      skipEdgeStrategy =
+        new ComposingSkipEdgeStrategy<>(
+          (current, edge) -> edge instanceof TemporaryEdge,
+          skipEdgeStrategy
+        );
+    }
+
+    var shortestPathTree = StreetSearchBuilder
       .of()
-      .setSkipEdgeStrategy(new DurationSkipEdgeStrategy<>(maxFlexTripDuration))
+      .setSkipEdgeStrategy(skipEdgeStrategy)
       .setDominanceFunction(new DominanceFunctions.EarliestArrival())
       .setRequest(routingRequest)
       .setStreetRequest(new StreetRequest(StreetMode.CAR))
       .setFrom(reverseDirection ? null : vertex)
       .setTo(reverseDirection ? vertex : null)
       .getShortestPathTree();
+
+    return FlexPathTree.of(shortestPathTree, reverseDirection);
   }
 }
@@ -2,10 +2,16 @@ package org.opentripplanner.ext.geocoder;
 
 import static java.util.Map.entry;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -41,6 +47,10 @@ import org.apache.lucene.search.suggest.document.ContextSuggestField;
 import org.apache.lucene.search.suggest.document.FuzzyCompletionQuery;
 import org.apache.lucene.search.suggest.document.SuggestIndexSearcher;
 import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.IOUtils;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.framework.collection.ListUtils;
 import org.opentripplanner.framework.i18n.I18NString;
@@ -50,8 +60,10 @@ import org.opentripplanner.transit.model.site.StopLocationsGroup;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TimetableRepository;
 import org.opentripplanner.transit.service.TransitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class LuceneIndex implements Serializable {
+public class LuceneIndex implements Serializable, Closeable {
 
   private static final String TYPE = "type";
   private static final String ID = "id";
@@ -63,10 +75,19 @@ public class LuceneIndex implements Serializable {
   private static final String LAT = "latitude";
   private static final String LON = "longitude";
 
+  /**
+   * Stored in the commit data of the saved index, to check that the index match the stops in the
+   * graph.
+   */
+  private static final String FINGERPRINT = "otp.fingerprint";
+
+  private static final Logger LOG = LoggerFactory.getLogger(LuceneIndex.class);
+
   private final TransitService transitService;
   private final Analyzer analyzer;
-  private final SuggestIndexSearcher searcher;
   private final StopClusterMapper stopClusterMapper;
+  private final DirectoryReader mainReader;
+  private final SuggestIndexSearcher searcher;
 
   /**
    * Since the {@link TransitService} is request scoped, we don't inject it into this class.
@@ -86,85 +107,125 @@ public class LuceneIndex implements Serializable {
   LuceneIndex(
     TransitService transitService,
     @Nullable StopConsolidationService stopConsolidationService
+  ) {
+    this(transitService, stopConsolidationService, null);
+  }
+
+  /**
+   * @param savedIndex The index saved at graph build time, if {@code null} the index is built in
+   *                   memory.
+   */
+  private LuceneIndex(
+    TransitService transitService,
+    @Nullable StopConsolidationService stopConsolidationService,
+    @Nullable Directory savedIndex
   ) {
     this.transitService = transitService;
     this.stopClusterMapper = new StopClusterMapper(transitService, stopConsolidationService);
-
-    this.analyzer =
-      new PerFieldAnalyzerWrapper(
-        new StandardAnalyzer(),
-        Map.ofEntries(
-          entry(NAME, new EnglishAnalyzer()),
-          entry(NAME_NGRAM, new EnglishNGramAnalyzer()),
-          entry(SUGGEST, new CompletionAnalyzer(new StandardAnalyzer()))
-        )
-      );
-
-    var directory = new ByteBuffersDirectory();
+    this.analyzer = createAnalyzer();
 
     try {
-      try (
-        var directoryWriter = new IndexWriter(
-          directory,
-          iwcWithSuggestField(analyzer, Set.of(SUGGEST))
-        )
-      ) {
-        transitService
-          .listStopLocations()
-          .forEach(stopLocation ->
-            addToIndex(
-              directoryWriter,
-              StopLocation.class,
-              stopLocation.getId().toString(),
-              List.of(),
-              ListUtils.ofNullable(stopLocation.getName()),
-              ListUtils.ofNullable(stopLocation.getCode()),
-              stopLocation.getCoordinate().latitude(),
-              stopLocation.getCoordinate().longitude()
-            )
-          );
-
-        transitService
-          .listStopLocationGroups()
-          .forEach(stopLocationsGroup ->
-            addToIndex(
-              directoryWriter,
-              StopLocationsGroup.class,
-              stopLocationsGroup.getId().toString(),
-              List.of(),
-              ListUtils.ofNullable(stopLocationsGroup.getName()),
-              List.of(),
-              stopLocationsGroup.getCoordinate().latitude(),
-              stopLocationsGroup.getCoordinate().longitude()
-            )
-          );
-
-        stopClusterMapper
-          .generateStopClusters(
-            transitService.listStopLocations(),
-            transitService.listStopLocationGroups()
-          )
-          .forEach(stopCluster ->
-            addToIndex(
-              directoryWriter,
-              StopCluster.class,
-              stopCluster.primaryId(),
-              stopCluster.secondaryIds(),
-              stopCluster.names(),
-              stopCluster.codes(),
-              stopCluster.coordinate().lat(),
-              stopCluster.coordinate().lon()
-            )
-          );
+      Directory directory = savedIndex;
+      if (directory == null) {
+        directory = new ByteBuffersDirectory();
+        writeIndex(directory, analyzer, transitService, stopClusterMapper);
       }
+      this.mainReader = DirectoryReader.open(directory);
+      this.searcher = new SuggestIndexSearcher(mainReader);
+    } catch (IOException e) {
+      IOUtils.closeWhileHandlingException(savedIndex);
+      throw new RuntimeException(e);
+    }
+  }
 
-      DirectoryReader indexReader = DirectoryReader.open(directory);
-      searcher = new SuggestIndexSearcher(indexReader);
+  /**
+   * Open the index saved next to the graph with {@link #save}. The index files are memory mapped,
+   * so the index is not loaded into the heap. If no index is saved, or the saved index is built
+   * for another set of stops, a new index is built in memory.
+   */
+  public static LuceneIndex open(
+    TimetableRepository timetableRepository,
+    @Nullable StopConsolidationService stopConsolidationService,
+    LuceneIndexLocation location
+  ) {
+    return open(
+      new DefaultTransitService(timetableRepository),
+      stopConsolidationService,
+      location
+    );
+  }
+
+  static LuceneIndex open(
+    TransitService transitService,
+    @Nullable StopConsolidationService stopConsolidationService,
+    LuceneIndexLocation location
+  ) {
+    return new LuceneIndex(
+      transitService,
+      stopConsolidationService,
+      openSavedIndex(location, fingerprint(transitService))
+    );
+  }
+
+  /**
+   * Build the index and save it to disk, this is done at graph build time. The timetable
+   * repository must be indexed.
+   */
+  public static void save(
+    TimetableRepository timetableRepository,
+    @Nullable StopConsolidationService stopConsolidationService,
+    LuceneIndexLocation location
+  ) {
+    save(new DefaultTransitService(timetableRepository), stopConsolidationService, location);
+  }
+
+  static void save(
+    TransitService transitService,
+    @Nullable StopConsolidationService stopConsolidationService,
+    LuceneIndexLocation location
+  ) {
+    if (location.directory() == null) {
+      LOG.info("The geocoder index is not saved, the graph is not saved to the local file system.");
+      return;
+    }
+    LOG.info("Saving geocoder index to {}", location.directory());
+    var stopClusterMapper = new StopClusterMapper(transitService, stopConsolidationService);
+
+    try (var directory = FSDirectory.open(location.directory().toPath())) {
+      // Replace the index from the previous build
+      var iwc = iwcWithSuggestField(createAnalyzer(), Set.of(SUGGEST));
+      iwc.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+
+      try (var writer = new IndexWriter(directory, iwc)) {
+        addAllToIndex(writer, transitService, stopClusterMapper);
+        writer.setLiveCommitData(Map.of(FINGERPRINT, fingerprint(transitService)).entrySet());
+        writer.forceMerge(1);
+      }
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Close the index reader and the directory of the index. The saved index is memory mapped, the
+   * mapped files are released when the directory is closed.
+   */
+  @Override
+  public void close() {
+    try {
+      IOUtils.close(mainReader, mainReader.directory());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * This method is only visible for testing.
+   */
+  boolean isSavedIndex() {
+    return !(mainReader.directory() instanceof ByteBuffersDirectory);
+  }
+
   public Stream<StopLocation> queryStopLocations(String query, boolean autocomplete) {
     return matchingDocuments(StopLocation.class, query, autocomplete)
       .map(document -> transitService.getStopLocation(FeedScopedId.parse(document.get(ID))));
@@ -201,6 +262,174 @@ public class LuceneIndex implements Serializable {
     return new StopCluster(primary, secondaryIds);
   }
 
+  private static Analyzer createAnalyzer() {
+    return new PerFieldAnalyzerWrapper(
+      new StandardAnalyzer(),
+      Map.ofEntries(
+        entry(NAME, new EnglishAnalyzer()),
+        entry(NAME_NGRAM, new EnglishNGramAnalyzer()),
+        entry(SUGGEST, new CompletionAnalyzer(new StandardAnalyzer()))
+      )
+    );
+  }
+
+  private static void writeIndex(
+    Directory directory,
+    Analyzer analyzer,
+    TransitService transitService,
+    StopClusterMapper stopClusterMapper
+  ) throws IOException {
+    try (
+      var directoryWriter = new IndexWriter(
+        directory,
+        iwcWithSuggestField(analyzer, Set.of(SUGGEST))
+      )
+    ) {
+      addAllToIndex(directoryWriter, transitService, stopClusterMapper);
+    }
+  }
+
+  private static void addAllToIndex(
+    IndexWriter writer,
+    TransitService transitService,
+    StopClusterMapper stopClusterMapper
+  ) {
+    transitService
+      .listStopLocations()
+      .forEach(stopLocation -> addStopLocationToIndex(writer, stopLocation));
+
+    transitService
+      .listStopLocationGroups()
+      .forEach(stopLocationsGroup ->
+        addToIndex(
+          writer,
+          StopLocationsGroup.class,
+          stopLocationsGroup.getId().toString(),
+          List.of(),
+          ListUtils.ofNullable(stopLocationsGroup.getName()),
+          List.of(),
+          stopLocationsGroup.getCoordinate().latitude(),
+          stopLocationsGroup.getCoordinate().longitude()
+        )
+      );
+
+    stopClusterMapper
+      .generateStopClusters(
+        transitService.listStopLocations(),
+        transitService.listStopLocationGroups()
+      )
+      .forEach(stopCluster ->
+        addToIndex(
+          writer,
+          StopCluster.class,
+          stopCluster.primaryId(),
+          stopCluster.secondaryIds(),
+          stopCluster.names(),
+          stopCluster.codes(),
+          stopCluster.coordinate().lat(),
+          stopCluster.coordinate().lon()
+        )
+      );
+  }
+
+  private static void addStopLocationToIndex(IndexWriter writer, StopLocation stopLocation) {
+    addToIndex(
+      writer,
+      StopLocation.class,
+      stopLocation.getId().toString(),
+      List.of(),
+      ListUtils.ofNullable(stopLocation.getName()),
+      ListUtils.ofNullable(stopLocation.getCode()),
+      stopLocation.getCoordinate().latitude(),
+      stopLocation.getCoordinate().longitude()
+    );
+  }
+
+  /**
+   * Open the saved index, return {@code null} if it does not exist or if it is built for another
+   * set of stops than the given fingerprint.
+   */
+  @Nullable
+  private static Directory openSavedIndex(LuceneIndexLocation location, String fingerprint) {
+    if (location.directory() == null || !location.directory().isDirectory()) {
+      return null;
+    }
+    try {
+      var directory = new MMapDirectory(location.directory().toPath());
+      if (!DirectoryReader.indexExists(directory)) {
+        directory.close();
+        return null;
+      }
+      var commits = DirectoryReader.listCommits(directory);
+      var savedFingerprint = commits.getLast().getUserData().get(FINGERPRINT);
+      if (!fingerprint.equals(savedFingerprint)) {
+        LOG.warn(
+          "The geocoder index in {} does not match the graph, a new index is built in memory.",
+          location.directory()
+        );
+        directory.close();
+        return null;
+      }
+      LOG.info("Opened geocoder index in {}", location.directory());
+      return directory;
+    } catch (IOException e) {
+      LOG.warn(
+        "Unable to open the geocoder index in {}, a new index is built in memory. Details: {}",
+        location.directory(),
+        e.getMessage()
+      );
+      return null;
+    }
+  }
+
+  /**
+   * Create a fingerprint of the indexed stops and stations, used to check that a saved index
+   * belongs to the loaded graph. The fingerprint is a SHA-256 digest of the ids, names, codes and
+   * coordinates, the coordinates are stored in the index, so they are part of the fingerprint.
+   * The entities are sorted before they are added to the digest, so the fingerprint does not
+   * depend on the iteration order.
+   */
+  static String fingerprint(TransitService transitService) {
+    var stops = transitService
+      .listStopLocations()
+      .stream()
+      .map(it ->
+        String.join(
+          "|",
+          it.getId().toString(),
+          Objects.toString(it.getName()),
+          Objects.toString(it.getCode()),
+          Double.toString(it.getCoordinate().latitude()),
+          Double.toString(it.getCoordinate().longitude())
+        )
+      );
+    var groups = transitService
+      .listStopLocationGroups()
+      .stream()
+      .map(it ->
+        String.join(
+          "|",
+          it.getId().toString(),
+          Objects.toString(it.getName()),
+          Double.toString(it.getCoordinate().latitude()),
+          Double.toString(it.getCoordinate().longitude())
+        )
+      );
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      Stream
+        .concat(stops, groups)
+        .sorted()
+        .forEach(it -> {
+          digest.update(it.getBytes(StandardCharsets.UTF_8));
+          digest.update((byte) '\n');
+        });
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   static IndexWriterConfig iwcWithSuggestField(Analyzer analyzer, final Set<String> suggestFields) {
     IndexWriterConfig iwc = new IndexWriterConfig(analyzer);
     Codec filterCodec = new Lucene912Codec() {
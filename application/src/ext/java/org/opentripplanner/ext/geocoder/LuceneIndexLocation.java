@@ -0,0 +1,26 @@
+package org.opentripplanner.ext.geocoder;
+
+import java.io.File;
+import javax.annotation.Nullable;
+import org.opentripplanner.datastore.api.DataSource;
+
+/**
+ * The directory where the geocoder index is saved. The index is saved in the {@code geocoder}
+ * directory next to the graph file. This is only possible if the graph is stored on the local
+ * file system; for other data sources the directory is {@code null} and the index is built in
+ * memory when OTP starts.
+ */
+public record LuceneIndexLocation(@Nullable File directory) {
+  public static final LuceneIndexLocation NONE = new LuceneIndexLocation(null);
+
+  private static final String DIRECTORY_NAME = "geocoder";
+
+  public static LuceneIndexLocation ofGraph(@Nullable DataSource graph) {
+    if (graph == null || !"file".equals(graph.uri().getScheme())) {
+      return NONE;
+    }
+    return new LuceneIndexLocation(
+      new File(new File(graph.uri()).getParentFile(), DIRECTORY_NAME)
+    );
+  }
+}
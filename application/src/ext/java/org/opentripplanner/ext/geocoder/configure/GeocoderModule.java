@@ -5,6 +5,7 @@ import dagger.Provides;
 import jakarta.inject.Singleton;
 import javax.annotation.Nullable;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
+import org.opentripplanner.ext.geocoder.LuceneIndexLocation;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.transit.service.TimetableRepository;
@@ -20,10 +21,11 @@ public class GeocoderModule {
   @Nullable
   LuceneIndex luceneIndex(
     TimetableRepository timetableRepository,
-    @Nullable StopConsolidationService stopConsolidationService
+    @Nullable StopConsolidationService stopConsolidationService,
+    LuceneIndexLocation luceneIndexLocation
   ) {
     if (OTPFeature.SandboxAPIGeocoder.isOn()) {
-      return new LuceneIndex(timetableRepository, stopConsolidationService);
+      return LuceneIndex.open(timetableRepository, stopConsolidationService, luceneIndexLocation);
     } else {
       return null;
     }
@@ -17,6 +17,7 @@ import org.opentripplanner.ext.restapi.mapping.TripPlanMapper;
 import org.opentripplanner.ext.restapi.mapping.TripSearchMetadataMapper;
 import org.opentripplanner.ext.restapi.model.ElevationMetadata;
 import org.opentripplanner.ext.restapi.model.TripPlannerResponse;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.response.RoutingResponse;
@@ -105,6 +106,10 @@ public class PlannerResource extends RoutingResource {
         LOG.error("System error - unhandled error case?", e);
         response.setError(new PlannerError(Message.SYSTEM_ERROR));
       }
+    } catch (OTPRequestRejectedException e) {
+      // The server is overloaded, tell the client to try again later
+      response.setError(new PlannerError(Message.GRAPH_UNAVAILABLE));
+      return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(response).build();
     } catch (OTPRequestTimeoutException | ResponseTooLargeException e) {
       response.setError(new PlannerError(Message.UNPROCESSABLE_REQUEST));
     } catch (Exception e) {
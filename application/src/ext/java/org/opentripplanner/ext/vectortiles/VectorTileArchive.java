@@ -0,0 +1,233 @@
+package org.opentripplanner.ext.vectortiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
+import org.opentripplanner.ext.vectortiles.layers.LayerFilters;
+import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.PrerenderedLayers;
+import org.opentripplanner.transit.service.TransitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file with the vector tiles of the layers which only change when a new graph is built: the
+ * stops, stations and area stops. The archive is written by {@link VectorTileArchiveWriter} after
+ * the graph is built, and the file is memory mapped when OTP starts. The tiles are not loaded into
+ * the heap and they are not decoded. When a tile is requested, the encoded layer is copied from
+ * the mapped file into the response, together with the layers rendered for the request.
+ * <p>
+ * The file contains a header, an index sorted on the tile key and the encoded tiles. Each tile
+ * contains one layer only. The layers are identified by their configuration, so if the
+ * configuration of a layer is changed the layer is rendered for each request until the archive
+ * is written again.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class VectorTileArchive implements PrerenderedLayers<LayerType> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VectorTileArchive.class);
+
+  static final int MAGIC = 0x4f545056;
+  static final int FORMAT_VERSION = 1;
+
+  /** Each index entry is the tile key, the offset and the length of the tile. */
+  static final int INDEX_ENTRY_SIZE = Long.BYTES + 2 * Integer.BYTES;
+
+  private static final Set<LayerType> STATIC_LAYER_TYPES = Set.of(
+    LayerType.Stop,
+    LayerType.Station,
+    LayerType.AreaStop
+  );
+
+  /** These mappers add properties which change with the realtime data. */
+  private static final Set<String> REALTIME_MAPPERS = Set.of("DigitransitRealtime");
+
+  private final ByteBuffer buffer;
+  private final Map<String, Integer> layerIndexBySignature;
+  private final int indexStart;
+  private final int numberOfTiles;
+  private final int dataStart;
+
+  private VectorTileArchive(
+    ByteBuffer buffer,
+    Map<String, Integer> layerIndexBySignature,
+    int indexStart,
+    int numberOfTiles
+  ) {
+    this.buffer = buffer;
+    this.layerIndexBySignature = layerIndexBySignature;
+    this.indexStart = indexStart;
+    this.numberOfTiles = numberOfTiles;
+    this.dataStart = indexStart + numberOfTiles * INDEX_ENTRY_SIZE;
+  }
+
+  /**
+   * Open the archive saved next to the graph. Return {@code null} if there is no archive, or if
+   * the archive is created for another graph.
+   */
+  @Nullable
+  public static VectorTileArchive open(VectorTileArchiveLocation location, String fingerprint) {
+    File file = location.file();
+    if (file == null || !file.isFile()) {
+      return null;
+    }
+    try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        LOG.warn("The vector tile archive {} is too big to be memory mapped.", file);
+        return null;
+      }
+      // The mapping stays valid after the channel is closed
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+        LOG.warn("The file {} is not a vector tile archive of this OTP version.", file);
+        return null;
+      }
+      if (!fingerprint.equals(readString(buffer))) {
+        LOG.warn(
+          "The vector tile archive {} does not match the graph, all tiles are rendered when " +
+          "requested.",
+          file
+        );
+        return null;
+      }
+      int numberOfLayers = buffer.getInt();
+      var layerIndexBySignature = new HashMap<String, Integer>();
+      for (int i = 0; i < numberOfLayers; i++) {
+        layerIndexBySignature.put(readString(buffer), i);
+      }
+      int numberOfTiles = buffer.getInt();
+      LOG.info("Opened vector tile archive {} with {} tiles", file, numberOfTiles);
+      return new VectorTileArchive(
+        buffer,
+        layerIndexBySignature,
+        buffer.position(),
+        numberOfTiles
+      );
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Unable to open the vector tile archive {}. Details: {}", file, e.getMessage());
+      return null;
+    }
+  }
+
+  @Nullable
+  @Override
+  public ByteBuffer find(
+    LayerParameters<LayerType> layerParameters,
+    int z,
+    int x,
+    int y,
+    Locale locale
+  ) {
+    // Only layers which do not depend on the locale are saved in the archive
+    Integer layerIndex = layerIndexBySignature.get(layerSignature(layerParameters));
+    if (layerIndex == null) {
+      return null;
+    }
+    long key = tileKey(layerIndex, z, x, y);
+
+    int low = 0;
+    int high = numberOfTiles - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int entry = indexStart + mid * INDEX_ENTRY_SIZE;
+      long midKey = buffer.getLong(entry);
+      if (midKey < key) {
+        low = mid + 1;
+      } else if (midKey > key) {
+        high = mid - 1;
+      } else {
+        int offset = buffer.getInt(entry + Long.BYTES);
+        int length = buffer.getInt(entry + Long.BYTES + Integer.BYTES);
+        return buffer.slice(dataStart + offset, length);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Return {@code true} if the layer only contains data which does not change until a new graph
+   * is built.
+   */
+  static boolean isStatic(LayerParameters<LayerType> layerParameters) {
+    return (
+      STATIC_LAYER_TYPES.contains(layerParameters.type()) &&
+      !REALTIME_MAPPERS.contains(layerParameters.mapper()) &&
+      layerParameters.filterType() == LayerFilters.FilterType.NONE
+    );
+  }
+
+  /**
+   * The configuration which affects the content of the layer, the zoom levels are not included
+   * since the tiles are saved for each zoom level.
+   */
+  static String layerSignature(LayerParameters<LayerType> layerParameters) {
+    return String.join(
+      ";",
+      layerParameters.name(),
+      layerParameters.type().name(),
+      layerParameters.mapper(),
+      Double.toString(layerParameters.expansionFactor()),
+      layerParameters.filterType().name()
+    );
+  }
+
+  /**
+   * The tiles are sorted on the key, the layer first and then z, x and y. There can be at most
+   * 127 layers and the zoom level must be less than 25.
+   */
+  static long tileKey(int layerIndex, int z, int x, int y) {
+    return ((long) layerIndex << 56) | ((long) z << 48) | ((long) x << 24) | y;
+  }
+
+  /**
+   * A fingerprint of the transit data shown in the static layers, used to check that the archive
+   * is created for the loaded graph. The hash is independent of the order of the elements.
+   */
+  public static String fingerprint(TransitService transitService) {
+    long hash = 0;
+    for (var it : transitService.listStopLocations()) {
+      hash +=
+        Objects.hash(
+          it.getId().toString(),
+          Objects.toString(it.getName()),
+          Objects.toString(it.getDescription()),
+          Objects.toString(it.getCoordinate())
+        );
+    }
+    for (var it : transitService.getStations()) {
+      hash += Objects.hash(it.getId().toString(), Objects.toString(it.getName()));
+    }
+    for (var it : transitService.getAllRoutes()) {
+      hash += Objects.hash(it.getId().toString(), it.getMode().name());
+    }
+    for (var it : transitService.getAllTripPatterns()) {
+      hash += Objects.hash(it.getId().toString(), it.getRoute().getId().toString());
+    }
+    return String.format(
+      "%d-%d-%d-%d-%x",
+      transitService.listStopLocations().size(),
+      transitService.getStations().size(),
+      transitService.getAllRoutes().size(),
+      transitService.getAllTripPatterns().size(),
+      hash
+    );
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,25 @@
+package org.opentripplanner.ext.vectortiles;
+
+import java.io.File;
+import javax.annotation.Nullable;
+import org.opentripplanner.datastore.api.DataSource;
+
+/**
+ * The file where the pre-rendered vector tiles are saved. The archive is saved next to the graph
+ * file. This is only possible if the graph is stored on the local file system; for other data
+ * sources the file is {@code null} and all tiles are rendered when they are requested.
+ */
+public record VectorTileArchiveLocation(@Nullable File file) {
+  public static final VectorTileArchiveLocation NONE = new VectorTileArchiveLocation(null);
+
+  private static final String FILE_NAME = "vectorTiles.archive";
+
+  public static VectorTileArchiveLocation ofGraph(@Nullable DataSource graph) {
+    if (graph == null || !"file".equals(graph.uri().getScheme())) {
+      return NONE;
+    }
+    return new VectorTileArchiveLocation(
+      new File(new File(graph.uri()).getParentFile(), FILE_NAME)
+    );
+  }
+}
@@ -0,0 +1,268 @@
+package org.opentripplanner.ext.vectortiles;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.api.resource.WebMercatorTile;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
+import org.opentripplanner.ext.vectortiles.layers.areastops.AreaStopsLayerBuilder;
+import org.opentripplanner.ext.vectortiles.layers.stations.StationsLayerBuilder;
+import org.opentripplanner.ext.vectortiles.layers.stops.StopsLayerBuilder;
+import org.opentripplanner.framework.i18n.I18NString;
+import org.opentripplanner.framework.i18n.TranslatedString;
+import org.opentripplanner.framework.logging.ProgressTracker;
+import org.opentripplanner.inspector.vector.LayerBuilder;
+import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.VectorTileResponseFactory;
+import org.opentripplanner.transit.model.site.AreaStop;
+import org.opentripplanner.transit.service.TransitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Render the static vector tile layers and write them to a {@link VectorTileArchive}. Only the
+ * tiles containing at least one stop, station or area stop are rendered, all other tiles are
+ * rendered when they are requested.
+ */
+public class VectorTileArchiveWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VectorTileArchiveWriter.class);
+
+  /** The tiles are rendered with the root locale, only layers without translations are saved. */
+  private static final Locale LOCALE = Locale.ROOT;
+
+  private final List<LayerParameters<LayerType>> layers;
+  private final int maxZoom;
+  private final TransitService transitService;
+
+  public VectorTileArchiveWriter(
+    List<LayerParameters<LayerType>> layers,
+    int maxZoom,
+    TransitService transitService
+  ) {
+    this.layers = layers;
+    this.maxZoom = maxZoom;
+    this.transitService = transitService;
+  }
+
+  /**
+   * Render the tiles and write the archive. An old archive is deleted if no layers are rendered,
+   * so an archive created for another graph is not left next to the graph.
+   */
+  public void write(VectorTileArchiveLocation location) {
+    File file = location.file();
+    if (file == null) {
+      LOG.info("The vector tiles are not saved, the graph is not saved to the local file system.");
+      return;
+    }
+    var archivedLayers = layers
+      .stream()
+      .filter(VectorTileArchive::isStatic)
+      .filter(layer -> layer.minZoom() <= maxZoom)
+      .filter(layer -> !isTranslated(layer))
+      .toList();
+
+    if (archivedLayers.isEmpty()) {
+      if (file.delete()) {
+        LOG.info("Deleted the old vector tile archive {}", file);
+      }
+      return;
+    }
+    if (archivedLayers.size() > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many vector tile layers: " + archivedLayers.size());
+    }
+
+    var tiles = new ConcurrentSkipListMap<Long, byte[]>();
+    for (int i = 0; i < archivedLayers.size(); i++) {
+      renderLayer(i, archivedLayers.get(i), tiles);
+    }
+
+    try {
+      writeFile(file, VectorTileArchive.fingerprint(transitService), archivedLayers, tiles);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void renderLayer(
+    int layerIndex,
+    LayerParameters<LayerType> layer,
+    Map<Long, byte[]> tiles
+  ) {
+    var envelopes = featureEnvelopes(layer.type());
+
+    for (int z = layer.minZoom(); z <= Math.min(maxZoom, layer.maxZoom()); z++) {
+      final int zoom = z;
+      var tilesWithFeatures = tilesWithFeatures(envelopes, zoom);
+      var progress = ProgressTracker.track(
+        "Render vector tiles for layer %s at zoom %d".formatted(layer.name(), zoom),
+        1000,
+        tilesWithFeatures.size()
+      );
+      LOG.info(progress.startMessage());
+
+      tilesWithFeatures
+        .parallelStream()
+        .forEach(tile -> {
+          int x = (int) (tile >> 32);
+          int y = (int) (long) tile;
+          tiles.put(
+            VectorTileArchive.tileKey(layerIndex, zoom, x, y),
+            VectorTileResponseFactory.createLayerTile(x, y, zoom, createLayerBuilder(layer))
+          );
+          //noinspection Convert2MethodRef
+          progress.step(m -> LOG.info(m));
+        });
+      LOG.info(progress.completeMessage());
+    }
+  }
+
+  /**
+   * Return the x and y of the tiles overlapping with any of the envelopes, as {@code x << 32 | y}.
+   */
+  private static Set<Long> tilesWithFeatures(List<Envelope> envelopes, int zoom) {
+    var tiles = new HashSet<Long>();
+    for (Envelope envelope : envelopes) {
+      int minX = WebMercatorTile.lon2tileX(envelope.getMinX(), zoom);
+      int maxX = WebMercatorTile.lon2tileX(envelope.getMaxX(), zoom);
+      // The tile y increases towards south
+      int minY = WebMercatorTile.lat2tileY(envelope.getMaxY(), zoom);
+      int maxY = WebMercatorTile.lat2tileY(envelope.getMinY(), zoom);
+      for (long x = minX; x <= maxX; x++) {
+        for (long y = minY; y <= maxY; y++) {
+          tiles.add(x << 32 | y);
+        }
+      }
+    }
+    return tiles;
+  }
+
+  private LayerBuilder<?> createLayerBuilder(LayerParameters<LayerType> layer) {
+    return switch (layer.type()) {
+      case Stop -> new StopsLayerBuilder(transitService, layer, LOCALE);
+      case Station -> new StationsLayerBuilder(transitService, layer, LOCALE);
+      case AreaStop -> new AreaStopsLayerBuilder(transitService, layer, LOCALE);
+      default -> throw new IllegalArgumentException("Not a static layer: " + layer.type());
+    };
+  }
+
+  private List<Envelope> featureEnvelopes(LayerType type) {
+    return switch (type) {
+      case Stop -> transitService
+        .listRegularStops()
+        .stream()
+        .map(it -> new Envelope(it.getCoordinate().asJtsCoordinate()))
+        .toList();
+      case Station -> transitService
+        .getStations()
+        .stream()
+        .map(it -> new Envelope(it.getCoordinate().asJtsCoordinate()))
+        .toList();
+      case AreaStop -> areaStops()
+        .filter(it -> it.getGeometry() != null)
+        .map(it -> it.getGeometry().getEnvelopeInternal())
+        .toList();
+      default -> throw new IllegalArgumentException("Not a static layer: " + type);
+    };
+  }
+
+  /**
+   * The tiles are rendered without a locale, so layers with translated names or descriptions are
+   * rendered when they are requested.
+   */
+  private boolean isTranslated(LayerParameters<LayerType> layer) {
+    Stream<I18NString> strings =
+      switch (layer.type()) {
+        case Stop -> transitService
+          .listRegularStops()
+          .stream()
+          .flatMap(it -> Stream.of(it.getName(), it.getDescription()));
+        case Station -> transitService
+          .getStations()
+          .stream()
+          .flatMap(it -> Stream.of(it.getName(), it.getDescription()));
+        case AreaStop -> areaStops().flatMap(it -> Stream.of(it.getName(), it.getDescription()));
+        default -> Stream.empty();
+      };
+    if (strings.anyMatch(TranslatedString.class::isInstance)) {
+      LOG.info(
+        "The vector tile layer {} is not saved, the names or descriptions are translated.",
+        layer.name()
+      );
+      return true;
+    }
+    return false;
+  }
+
+  private Stream<AreaStop> areaStops() {
+    return transitService
+      .listStopLocations()
+      .stream()
+      .filter(AreaStop.class::isInstance)
+      .map(AreaStop.class::cast);
+  }
+
+  /**
+   * Write the archive to a temporary file first, so an archive which is in use is not modified.
+   */
+  private static void writeFile(
+    File file,
+    String fingerprint,
+    List<LayerParameters<LayerType>> layers,
+    ConcurrentSkipListMap<Long, byte[]> tiles
+  ) throws IOException {
+    File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+
+    try (
+      var out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath()))
+      )
+    ) {
+      out.writeInt(VectorTileArchive.MAGIC);
+      out.writeInt(VectorTileArchive.FORMAT_VERSION);
+      writeString(out, fingerprint);
+      out.writeInt(layers.size());
+      for (var layer : layers) {
+        writeString(out, VectorTileArchive.layerSignature(layer));
+      }
+
+      out.writeInt(tiles.size());
+      long offset = 0;
+      for (var it : tiles.entrySet()) {
+        out.writeLong(it.getKey());
+        out.writeInt(Math.toIntExact(offset));
+        out.writeInt(it.getValue().length);
+        offset += it.getValue().length;
+      }
+      for (byte[] tile : tiles.values()) {
+        out.write(tile);
+      }
+    }
+    Files.move(
+      tmpFile.toPath(),
+      file.toPath(),
+      StandardCopyOption.REPLACE_EXISTING,
+      StandardCopyOption.ATOMIC_MOVE
+    );
+    LOG.info("Saved {} vector tiles to {}", tiles.size(), file);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
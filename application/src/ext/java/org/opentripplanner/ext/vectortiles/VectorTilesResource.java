@@ -28,6 +28,8 @@ import org.opentripplanner.ext.vectortiles.layers.vehiclerental.VehicleRentalSta
 import org.opentripplanner.ext.vectortiles.layers.vehiclerental.VehicleRentalVehiclesLayerBuilder;
 import org.opentripplanner.inspector.vector.LayerBuilder;
 import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.PrerenderedLayers;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.inspector.vector.VectorTileResponseFactory;
 import org.opentripplanner.model.FeedInfo;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
@@ -70,7 +72,10 @@ public class VectorTilesResource {
       Arrays.asList(requestedLayers.split(",")),
       serverContext.vectorTileConfig().layers(),
       VectorTilesResource::createLayerBuilder,
-      serverContext
+      serverContext,
+      serverContext.vectorTileCache(),
+      layerParameters -> layerVersion(layerParameters, serverContext),
+      prerenderedLayers()
     );
   }
 
@@ -116,6 +121,11 @@ public class VectorTilesResource {
       .toList();
   }
 
+  private PrerenderedLayers<LayerType> prerenderedLayers() {
+    var archive = serverContext.vectorTileArchive();
+    return archive == null ? PrerenderedLayers.none() : archive;
+  }
+
   private static LayerBuilder<?> createLayerBuilder(
     LayerParameters<LayerType> layerParameters,
     Locale locale,
@@ -152,6 +162,30 @@ public class VectorTilesResource {
     };
   }
 
+  /**
+   * The version of the data in the layer, used to skip cached tiles with old data. The transit
+   * data of the static layers does not change while OTP is running, and the cache is created
+   * together with the graph. The layers using a realtime mapper or a filter depend on the alerts,
+   * the real-time updates and the current date, so they are not cached.
+   */
+  private static long layerVersion(
+    LayerParameters<LayerType> layerParameters,
+    OtpServerRequestContext context
+  ) {
+    return switch (layerParameters.type()) {
+      case Stop, Station, AreaStop -> VectorTileArchive.isStatic(layerParameters)
+        ? 0
+        : VectorTileCache.NOT_CACHED;
+      case VehicleRental, VehicleRentalStation, VehicleRentalVehicle -> context
+        .vehicleRentalService()
+        .version();
+      case VehicleParking, VehicleParkingGroup -> context
+        .graph()
+        .getVehicleParkingService()
+        .version();
+    };
+  }
+
   public enum LayerType {
     Stop,
     Station,
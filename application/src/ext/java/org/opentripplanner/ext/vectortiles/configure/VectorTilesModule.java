@@ -0,0 +1,42 @@
+package org.opentripplanner.ext.vectortiles.configure;
+
+import dagger.Module;
+import dagger.Provides;
+import jakarta.inject.Singleton;
+import javax.annotation.Nullable;
+import org.opentripplanner.ext.vectortiles.VectorTileArchive;
+import org.opentripplanner.ext.vectortiles.VectorTileArchiveLocation;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+/**
+ * This module opens the pre-rendered vector tile archive if the vector tiles API and the archive
+ * are enabled.
+ */
+@Module
+public class VectorTilesModule {
+
+  @Provides
+  @Singleton
+  @Nullable
+  VectorTileArchive vectorTileArchive(
+    TimetableRepository timetableRepository,
+    RouterConfig routerConfig,
+    VectorTileArchiveLocation vectorTileArchiveLocation
+  ) {
+    if (
+      OTPFeature.SandboxAPIMapboxVectorTilesApi.isOn() &&
+      routerConfig.vectorTileConfig().isArchiveEnabled()
+    ) {
+      timetableRepository.index();
+      return VectorTileArchive.open(
+        vectorTileArchiveLocation,
+        VectorTileArchive.fingerprint(new DefaultTransitService(timetableRepository))
+      );
+    } else {
+      return null;
+    }
+  }
+}
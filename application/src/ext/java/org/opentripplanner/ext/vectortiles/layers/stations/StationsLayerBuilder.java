@@ -42,6 +42,8 @@ public class StationsLayerBuilder extends LayerBuilder<Station> {
     return transitService
       .getStations()
       .stream()
+      // The geometries outside the query are clipped away, so skip them before they are created
+      .filter(station -> query.contains(station.getCoordinate().asJtsCoordinate()))
       .map(station -> {
         Coordinate coordinate = station.getCoordinate().asJtsCoordinate();
         Point point = GeometryUtils.getGeometryFactory().createPoint(coordinate);
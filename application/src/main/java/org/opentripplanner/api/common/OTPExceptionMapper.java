@@ -8,6 +8,7 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.framework.http.OtpHttpStatus;
@@ -46,6 +47,13 @@ public class OTPExceptionMapper implements ExceptionMapper<Exception> {
         .type("text/plain")
         .build();
     }
+    if (ex instanceof OTPRequestRejectedException) {
+      return Response
+        .status(Response.Status.SERVICE_UNAVAILABLE)
+        .entity("OTP API Processing Rejected, the server is overloaded")
+        .type("text/plain")
+        .build();
+    }
     if (ex instanceof JsonParseException || ex instanceof MismatchedInputException) {
       return Response
         .status(Response.Status.BAD_REQUEST)
@@ -95,7 +95,8 @@ public class GtfsGraphQLAPI {
       maxResolves,
       timeout,
       locale,
-      GraphQLRequestContext.ofServerContext(serverContext)
+      GraphQLRequestContext.ofServerContext(serverContext),
+      serverContext.graphQLDocumentCache()
     );
   }
 
@@ -117,7 +118,8 @@ public class GtfsGraphQLAPI {
       maxResolves,
       timeout,
       locale,
-      GraphQLRequestContext.ofServerContext(serverContext)
+      GraphQLRequestContext.ofServerContext(serverContext),
+      serverContext.graphQLDocumentCache()
     );
   }
 }
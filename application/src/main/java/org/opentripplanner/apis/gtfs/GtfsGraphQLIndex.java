@@ -1,13 +1,18 @@
 package org.opentripplanner.apis.gtfs;
 
+import graphql.ErrorClassification;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.GraphQLError;
 import graphql.analysis.MaxQueryComplexityInstrumentation;
 import graphql.execution.AbortExecutionException;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.scalars.ExtendedScalars;
+import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
@@ -21,9 +26,12 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import org.dataloader.DataLoaderRegistry;
 import org.opentripplanner.apis.gtfs.datafetchers.AgencyImpl;
 import org.opentripplanner.apis.gtfs.datafetchers.AlertEntityTypeResolver;
 import org.opentripplanner.apis.gtfs.datafetchers.AlertImpl;
@@ -82,9 +90,12 @@ import org.opentripplanner.apis.gtfs.datafetchers.serviceTimeRangeImpl;
 import org.opentripplanner.apis.gtfs.datafetchers.stepImpl;
 import org.opentripplanner.apis.gtfs.datafetchers.stopAtDistanceImpl;
 import org.opentripplanner.apis.gtfs.model.StopPosition;
+import org.opentripplanner.apis.gtfs.support.dataloader.StopTimesBatchLoader;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.apis.support.graphql.LoggingDataFetcherExceptionHandler;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
 import org.opentripplanner.framework.graphql.GraphQLResponseSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -93,6 +104,10 @@ class GtfsGraphQLIndex {
 
   static final Logger LOG = LoggerFactory.getLogger(GtfsGraphQLIndex.class);
 
+  private static final ErrorClassification API_PROCESSING_REJECTED = ErrorClassification.errorClassification(
+    "ApiProcessingRejected"
+  );
+
   private static final GraphQLSchema indexSchema = buildSchema();
 
   protected static GraphQLSchema buildSchema() {
@@ -195,7 +210,8 @@ class GtfsGraphQLIndex {
     int maxResolves,
     int timeoutMs,
     Locale locale,
-    GraphQLRequestContext requestContext
+    GraphQLRequestContext requestContext,
+    GraphQLDocumentCache documentCache
   ) {
     Instrumentation instrumentation = new MaxQueryComplexityInstrumentation(maxResolves);
 
@@ -211,6 +227,8 @@ class GtfsGraphQLIndex {
       .newGraphQL(indexSchema)
       .instrumentation(instrumentation)
       .defaultDataFetcherExceptionHandler(new LoggingDataFetcherExceptionHandler())
+      .queryExecutionStrategy(new AbortOnRejectedRequestExecutionStrategy())
+      .preparsedDocumentProvider(documentCache.documentProvider(indexSchema))
       .build();
 
     if (variables == null) {
@@ -224,14 +242,34 @@ class GtfsGraphQLIndex {
       .context(requestContext)
       .variables(variables)
       .locale(locale)
+      .dataLoaderRegistry(createDataLoaderRegistry(requestContext))
       .build();
     try {
       return graphQL.executeAsync(executionInput).get(timeoutMs, TimeUnit.MILLISECONDS);
-    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof OTPRequestRejectedException re) {
+        throw re;
+      }
+      return new AbortExecutionException(e).toExecutionResult();
+    } catch (InterruptedException | TimeoutException e) {
       return new AbortExecutionException(e).toExecutionResult();
     }
   }
 
+  /**
+   * The data loaders batch the lookups of the sibling fields of a query level, a new registry is
+   * created for each request.
+   */
+  private static DataLoaderRegistry createDataLoaderRegistry(GraphQLRequestContext requestContext) {
+    return DataLoaderRegistry
+      .newRegistry()
+      .register(
+        StopTimesBatchLoader.NAME,
+        StopTimesBatchLoader.create(requestContext.transitService())
+      )
+      .build();
+  }
+
   static Response getGraphQLResponse(
     String query,
     Map<String, Object> variables,
@@ -239,21 +277,67 @@ class GtfsGraphQLIndex {
     int maxResolves,
     int timeoutMs,
     Locale locale,
-    GraphQLRequestContext requestContext
+    GraphQLRequestContext requestContext,
+    GraphQLDocumentCache documentCache
   ) {
-    ExecutionResult executionResult = getGraphQLExecutionResult(
-      query,
-      variables,
-      operationName,
-      maxResolves,
-      timeoutMs,
-      locale,
-      requestContext
-    );
+    ExecutionResult executionResult;
+    Response.Status status = Response.Status.OK;
+    try {
+      executionResult =
+        getGraphQLExecutionResult(
+          query,
+          variables,
+          operationName,
+          maxResolves,
+          timeoutMs,
+          locale,
+          requestContext,
+          documentCache
+        );
+    } catch (OTPRequestRejectedException e) {
+      executionResult =
+        ExecutionResult
+          .newExecutionResult()
+          .addError(
+            GraphQLError
+              .newError()
+              .errorType(API_PROCESSING_REJECTED)
+              .message(OTPRequestRejectedException.MESSAGE)
+              .build()
+          )
+          .build();
+      status = Response.Status.SERVICE_UNAVAILABLE;
+    }
 
     return Response
-      .status(Response.Status.OK)
+      .status(status)
       .entity(GraphQLResponseSerializer.serialize(executionResult))
       .build();
   }
+
+  /**
+   * Abort the execution if the request is rejected because the server is overloaded, like the
+   * Transmodel API does. The unresolved fields are not fetched and the rejection is returned with
+   * the HTTP status 503.
+   */
+  private static class AbortOnRejectedRequestExecutionStrategy extends AsyncExecutionStrategy {
+
+    private AbortOnRejectedRequestExecutionStrategy() {
+      super(new LoggingDataFetcherExceptionHandler());
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> handleFetchingException(
+      DataFetchingEnvironment environment,
+      ExecutionStrategyParameters params,
+      Throwable e
+    ) {
+      // Async data fetchers wrap the exception in a CompletionException
+      var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      if (cause instanceof OTPRequestRejectedException re) {
+        throw re;
+      }
+      return super.handleFetchingException(environment, params, e);
+    }
+  }
 }
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -18,6 +19,7 @@ import org.opentripplanner.apis.gtfs.GraphQLRequestContext;
 import org.opentripplanner.apis.gtfs.GraphQLUtils;
 import org.opentripplanner.apis.gtfs.generated.GraphQLDataFetchers;
 import org.opentripplanner.apis.gtfs.generated.GraphQLTypes;
+import org.opentripplanner.apis.gtfs.support.dataloader.StopTimesBatchLoader;
 import org.opentripplanner.apis.gtfs.support.filter.PatternByDateFilterUtil;
 import org.opentripplanner.apis.gtfs.support.time.LocalDateRangeUtil;
 import org.opentripplanner.framework.time.ServiceDateUtils;
@@ -313,32 +315,16 @@ public class StopImpl implements GraphQLDataFetchers.GraphQLStop {
 
   @Override
   public DataFetcher<Iterable<StopTimesInPattern>> stoptimesForPatterns() {
-    return environment -> {
-      TransitService transitService = getTransitService(environment);
+    return async(environment -> {
       var args = new GraphQLTypes.GraphQLStopStoptimesForPatternsArgs(environment.getArguments());
 
-      Function<StopLocation, List<StopTimesInPattern>> stopTFunction = stop ->
-        transitService.stopTimesForStop(
-          stop,
-          GraphQLUtils.getTimeOrNow(args.getGraphQLStartTime()),
-          Duration.ofSeconds(args.getGraphQLTimeRange()),
-          args.getGraphQLNumberOfDepartures(),
-          args.getGraphQLOmitNonPickups() ? ArrivalDeparture.DEPARTURES : ArrivalDeparture.BOTH,
-          !args.getGraphQLOmitCanceled()
+      return loadStopTimes(environment, stopTimesRequest(args))
+        .thenApply(stopTimes ->
+          stopTimes == null
+            ? null
+            : stopTimes.stream().flatMap(Collection::stream).collect(Collectors.toList())
         );
-
-      return getValue(
-        environment,
-        stopTFunction,
-        station ->
-          station
-            .getChildStops()
-            .stream()
-            .map(stopTFunction)
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList())
-      );
-    };
+    });
   }
 
   @Override
@@ -379,34 +365,24 @@ public class StopImpl implements GraphQLDataFetchers.GraphQLStop {
 
   @Override
   public DataFetcher<Iterable<TripTimeOnDate>> stoptimesWithoutPatterns() {
-    return environment -> {
-      TransitService transitService = getTransitService(environment);
+    return async(environment -> {
       var args = new GraphQLTypes.GraphQLStopStoptimesForPatternsArgs(environment.getArguments());
 
-      Function<StopLocation, Stream<StopTimesInPattern>> stopTFunction = stop ->
-        transitService
-          .stopTimesForStop(
-            stop,
-            GraphQLUtils.getTimeOrNow(args.getGraphQLStartTime()),
-            Duration.ofSeconds(args.getGraphQLTimeRange()),
-            args.getGraphQLNumberOfDepartures(),
-            args.getGraphQLOmitNonPickups() ? ArrivalDeparture.DEPARTURES : ArrivalDeparture.BOTH,
-            !args.getGraphQLOmitCanceled()
-          )
-          .stream();
-
-      Stream<StopTimesInPattern> stream = getValue(
-        environment,
-        stopTFunction,
-        station -> station.getChildStops().stream().flatMap(stopTFunction)
-      );
-
-      return stream
-        .flatMap(stoptimesWithPattern -> stoptimesWithPattern.times.stream())
-        .sorted(Comparator.comparing(t -> t.getServiceDayMidnight() + t.getRealtimeDeparture()))
-        .limit(args.getGraphQLNumberOfDepartures())
-        .collect(Collectors.toList());
-    };
+      return loadStopTimes(environment, stopTimesRequest(args))
+        .thenApply(stopTimes ->
+          stopTimes == null
+            ? null
+            : stopTimes
+              .stream()
+              .flatMap(Collection::stream)
+              .flatMap(stoptimesWithPattern -> stoptimesWithPattern.times.stream())
+              .sorted(
+                Comparator.comparing(t -> t.getServiceDayMidnight() + t.getRealtimeDeparture())
+              )
+              .limit(args.getGraphQLNumberOfDepartures())
+              .collect(Collectors.toList())
+        );
+    });
   }
 
   @Override
@@ -508,6 +484,47 @@ public class StopImpl implements GraphQLDataFetchers.GraphQLStop {
     );
   }
 
+  /**
+   * Load the upcoming departures of the stop, or of each child stop of a station. The stops of
+   * all the sources of the field are loaded together, see {@link StopTimesBatchLoader}.
+   */
+  private CompletableFuture<List<List<StopTimesInPattern>>> loadStopTimes(
+    DataFetchingEnvironment environment,
+    StopTimesBatchLoader.Request request
+  ) {
+    List<StopLocation> stops = getValue(
+      environment,
+      List::of,
+      station -> List.copyOf(station.getChildStops())
+    );
+    if (stops == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return StopTimesBatchLoader.load(environment, getTransitService(environment), stops, request);
+  }
+
+  private static StopTimesBatchLoader.Request stopTimesRequest(
+    GraphQLTypes.GraphQLStopStoptimesForPatternsArgs args
+  ) {
+    return new StopTimesBatchLoader.Request(
+      args.getGraphQLStartTime(),
+      Duration.ofSeconds(args.getGraphQLTimeRange()),
+      args.getGraphQLNumberOfDepartures(),
+      args.getGraphQLOmitNonPickups() ? ArrivalDeparture.DEPARTURES : ArrivalDeparture.BOTH,
+      !args.getGraphQLOmitCanceled()
+    );
+  }
+
+  /**
+   * graphql-java waits for a {@link CompletableFuture} returned by a data fetcher, and uses the
+   * completed value as the value of the field. The generated interfaces are typed with the value
+   * of the field, so the data fetchers using a data loader must be cast.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> DataFetcher<T> async(DataFetcher<CompletableFuture<T>> dataFetcher) {
+    return (DataFetcher<T>) (DataFetcher<?>) dataFetcher;
+  }
+
   private TransitService getTransitService(DataFetchingEnvironment environment) {
     return environment.<GraphQLRequestContext>getContext().transitService();
   }
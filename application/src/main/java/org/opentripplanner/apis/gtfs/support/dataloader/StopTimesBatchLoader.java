@@ -0,0 +1,109 @@
+package org.opentripplanner.apis.gtfs.support.dataloader;
+
+import graphql.schema.DataFetchingEnvironment;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.opentripplanner.apis.gtfs.GraphQLUtils;
+import org.opentripplanner.model.StopTimesInPattern;
+import org.opentripplanner.routing.stoptimes.ArrivalDeparture;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Load the upcoming departures of many stops in one batch. A query like "stops in bounding box →
+ * stoptimesWithoutPatterns" asks for the departures of each stop separately, this loader collects
+ * the stops of one level of the query and scans each pattern once for all of them, see
+ * {@link TransitService#stopTimesForStops}.
+ * <p>
+ * A new loader is created for each GraphQL request, so the loaded departures are never shared
+ * between requests.
+ */
+public class StopTimesBatchLoader
+  implements BatchLoader<StopTimesBatchLoader.Key, List<StopTimesInPattern>> {
+
+  public static final String NAME = "stopTimesForStop";
+
+  private final TransitService transitService;
+
+  private StopTimesBatchLoader(TransitService transitService) {
+    this.transitService = transitService;
+  }
+
+  public static DataLoader<Key, List<StopTimesInPattern>> create(TransitService transitService) {
+    return DataLoaderFactory.newDataLoader(new StopTimesBatchLoader(transitService));
+  }
+
+  /**
+   * Load the departures of the given stops, in the same order as the stops. If no loader is
+   * registered for the request the departures are fetched at once.
+   */
+  public static CompletableFuture<List<List<StopTimesInPattern>>> load(
+    DataFetchingEnvironment environment,
+    TransitService transitService,
+    List<? extends StopLocation> stops,
+    Request request
+  ) {
+    DataLoader<Key, List<StopTimesInPattern>> loader = environment.getDataLoader(NAME);
+    if (loader == null) {
+      var stopTimes = request.fetch(transitService, stops);
+      return CompletableFuture.completedFuture(stops.stream().map(stopTimes::get).toList());
+    }
+    return loader.loadMany(stops.stream().map(stop -> new Key(stop, request)).toList());
+  }
+
+  @Override
+  public CompletionStage<List<List<StopTimesInPattern>>> load(List<Key> keys) {
+    // Stops with the same arguments are fetched together
+    Map<Request, List<StopLocation>> stopsByRequest = new LinkedHashMap<>();
+    for (Key key : keys) {
+      stopsByRequest.computeIfAbsent(key.request(), r -> new ArrayList<>()).add(key.stop());
+    }
+
+    Map<Request, Map<StopLocation, List<StopTimesInPattern>>> stopTimesByRequest =
+      new LinkedHashMap<>();
+    stopsByRequest.forEach((request, stops) ->
+      stopTimesByRequest.put(request, request.fetch(transitService, stops))
+    );
+
+    return CompletableFuture.completedFuture(
+      keys.stream().map(key -> stopTimesByRequest.get(key.request()).get(key.stop())).toList()
+    );
+  }
+
+  /**
+   * The arguments of a stop times query.
+   *
+   * @param startTime The start time in epoch seconds, or zero to start now.
+   */
+  public record Request(
+    long startTime,
+    Duration timeRange,
+    int numberOfDepartures,
+    ArrivalDeparture arrivalDeparture,
+    boolean includeCancelledTrips
+  ) {
+    private Map<StopLocation, List<StopTimesInPattern>> fetch(
+      TransitService transitService,
+      List<? extends StopLocation> stops
+    ) {
+      return transitService.stopTimesForStops(
+        stops,
+        GraphQLUtils.getTimeOrNow(startTime),
+        timeRange,
+        numberOfDepartures,
+        arrivalDeparture,
+        includeCancelledTrips
+      );
+    }
+  }
+
+  public record Key(StopLocation stop, Request request) {}
+}
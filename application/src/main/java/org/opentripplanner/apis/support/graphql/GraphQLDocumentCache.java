@@ -0,0 +1,96 @@
+package org.opentripplanner.apis.support.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of parsed and validated GraphQL documents, keyed by the schema and the query text. Most
+ * clients send the same few queries over and over again, with different variables, so parsing and
+ * validating the query is only done the first time a query is seen.
+ * <p>
+ * Only valid documents are cached. A document with syntax or validation errors is parsed and
+ * validated again each time, so the errors are reported in the locale of each request and the
+ * cache can not be filled with garbage by invalid queries. The least recently used documents are
+ * evicted when the cache is full.
+ * <p>
+ * The same cache is used by all the GraphQL APIs, the schema is part of the key so documents are
+ * never shared between the APIs. The size and eviction statistics are exported as metrics, see
+ * {@link org.opentripplanner.standalone.server.MetricsLogging}. The hit ratio is exported by the
+ * {@link org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation}.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class GraphQLDocumentCache {
+
+  public static final GraphQLDocumentCache DISABLED = new GraphQLDocumentCache(0);
+
+  /**
+   * The default number of documents kept in the cache. A typical client only uses a few dozen
+   * different queries, so this is plenty.
+   */
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  @Nullable
+  private final Cache<Key, PreparsedDocumentEntry> cache;
+
+  /**
+   * @param maxSize The maximum number of documents in the cache, the cache is disabled if this is
+   *                zero.
+   */
+  public GraphQLDocumentCache(int maxSize) {
+    this.cache =
+      maxSize <= 0 ? null : CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  /**
+   * Return a document provider for the given schema, to be passed to
+   * {@link graphql.GraphQL.Builder#preparsedDocumentProvider(PreparsedDocumentProvider)}.
+   */
+  public PreparsedDocumentProvider documentProvider(GraphQLSchema schema) {
+    if (cache == null) {
+      return NoOpPreparsedDocumentProvider.INSTANCE;
+    }
+    return (executionInput, parseAndValidate) ->
+      CompletableFuture.completedFuture(
+        getDocument(new Key(schema, executionInput.getQuery()), executionInput, parseAndValidate)
+      );
+  }
+
+  /**
+   * The underlying cache, used to export the statistics. This is {@code null} if the cache is
+   * disabled.
+   */
+  @Nullable
+  public Cache<Key, PreparsedDocumentEntry> getCache() {
+    return cache;
+  }
+
+  private PreparsedDocumentEntry getDocument(
+    Key key,
+    ExecutionInput executionInput,
+    Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate
+  ) {
+    var entry = cache.getIfPresent(key);
+    if (entry == null) {
+      entry = parseAndValidate.apply(executionInput);
+      if (!entry.hasErrors()) {
+        cache.put(key, entry);
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * The schema is compared by identity, so a document validated against one schema is never
+   * used with another.
+   */
+  public record Key(GraphQLSchema schema, String query) {}
+}
@@ -42,7 +42,7 @@ public class TransmodelAPI {
 
   public TransmodelAPI(@Context OtpServerRequestContext serverContext) {
     this.serverContext = serverContext;
-    this.index = new TransmodelGraph(schema);
+    this.index = new TransmodelGraph(schema, serverContext.graphQLDocumentCache());
   }
 
   /**
@@ -7,6 +7,7 @@ import graphql.execution.ExecutionStrategy;
 import graphql.execution.UnknownOperationException;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.CoercingParseValueException;
 import graphql.schema.GraphQLSchema;
 import io.micrometer.core.instrument.Metrics;
@@ -16,11 +17,13 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.apis.support.graphql.LoggingDataFetcherExceptionHandler;
 import org.opentripplanner.apis.transmodel.support.AbortOnUnprocessableRequestExecutionStrategy;
 import org.opentripplanner.apis.transmodel.support.ExecutionResultMapper;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.framework.concurrent.OtpRequestThreadFactory;
 import org.opentripplanner.framework.lang.ObjectUtils;
@@ -35,13 +38,15 @@ class TransmodelGraph {
 
   private static final int MAX_ERROR_TO_RETURN = 25;
   private final GraphQLSchema indexSchema;
+  private final PreparsedDocumentProvider documentProvider;
 
   final ExecutorService threadPool;
 
-  TransmodelGraph(GraphQLSchema schema) {
+  TransmodelGraph(GraphQLSchema schema, GraphQLDocumentCache documentCache) {
     this.threadPool =
       Executors.newCachedThreadPool(OtpRequestThreadFactory.of("transmodel-api-%d"));
     this.indexSchema = schema;
+    this.documentProvider = documentCache.documentProvider(schema);
   }
 
   Response executeGraphQL(
@@ -71,6 +76,8 @@ class TransmodelGraph {
       return ExecutionResultMapper.okResponse(result);
     } catch (OTPRequestTimeoutException te) {
       return ExecutionResultMapper.timeoutResponse();
+    } catch (OTPRequestRejectedException re) {
+      return ExecutionResultMapper.rejectedResponse();
     } catch (ResponseTooLargeException rtle) {
       return ExecutionResultMapper.tooLargeResponse(rtle.getMessage());
     } catch (EntityNotFoundException | CoercingParseValueException | UnknownOperationException e) {
@@ -133,6 +140,7 @@ class TransmodelGraph {
       .instrumentation(instrumentation)
       .queryExecutionStrategy(executionStrategy)
       .defaultDataFetcherExceptionHandler(new LoggingDataFetcherExceptionHandler())
+      .preparsedDocumentProvider(documentProvider)
       .build();
   }
 
@@ -4,6 +4,7 @@ import graphql.ErrorClassification;
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
 import jakarta.ws.rs.core.Response;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.framework.graphql.GraphQLResponseSerializer;
 import org.opentripplanner.framework.http.OtpHttpStatus;
@@ -17,6 +18,10 @@ public class ExecutionResultMapper {
     "ApiProcessingTimeout"
   );
 
+  private static final ErrorClassification API_PROCESSING_REJECTED = ErrorClassification.errorClassification(
+    "ApiProcessingRejected"
+  );
+
   private static final ErrorClassification RESPONSE_TOO_LARGE = ErrorClassification.errorClassification(
     "ResponseTooLarge"
   );
@@ -37,6 +42,16 @@ public class ExecutionResultMapper {
     return unprocessableResponse(API_PROCESSING_TIMEOUT, OTPRequestTimeoutException.MESSAGE);
   }
 
+  public static Response rejectedResponse() {
+    var error = GraphQLError
+      .newError()
+      .errorType(API_PROCESSING_REJECTED)
+      .message(OTPRequestRejectedException.MESSAGE)
+      .build();
+    var result = ExecutionResult.newExecutionResult().addError(error).build();
+    return response(result, Response.Status.SERVICE_UNAVAILABLE);
+  }
+
   public static Response tooLargeResponse(String message) {
     return unprocessableResponse(RESPONSE_TOO_LARGE, message);
   }
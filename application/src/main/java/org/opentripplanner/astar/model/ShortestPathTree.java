@@ -44,15 +44,20 @@ public class ShortestPathTree<
 
   public final DominanceFunction<State> dominanceFunction;
 
-  private final Map<Vertex, List<State>> stateSets;
+  /**
+   * The states by vertex. Most vertices only have one state, so to avoid creating a list for each
+   * visited vertex, the value is either a single State or a {@link StateList}.
+   */
+  private final Map<Vertex, Object> stateSets;
 
   /** Indicates that the search timed out or was otherwise aborted. */
   private boolean aborted = false;
 
   public ShortestPathTree(DominanceFunction<State> dominanceFunction) {
     this.dominanceFunction = dominanceFunction;
-    // Initialized with a reasonable size, see #4445
-    stateSets = new IdentityHashMap<>(10_000);
+    // Initialized with the same size as the priority queue in AStar, see #4445. Most searches
+    // are short access, egress and transfer searches, the map grows for the long searches.
+    stateSets = new IdentityHashMap<>(1000);
   }
 
   /** @return a list of GraphPaths, sometimes empty but never null. */
@@ -85,9 +90,8 @@ public class ShortestPathTree<
     Multiset<Integer> histogram = HashMultiset.create();
     int statesCount = 0;
     int maxSize = 0;
-    for (Map.Entry<Vertex, List<State>> kv : stateSets.entrySet()) {
-      List<State> states = kv.getValue();
-      int size = states.size();
+    for (Vertex vertex : stateSets.keySet()) {
+      int size = getStates(vertex).size();
       histogram.add(size);
       statesCount += size;
       if (size > maxSize) {
@@ -125,18 +129,36 @@ public class ShortestPathTree<
    * @return a boolean value indicating whether the state was added to the tree and should therefore
    * be enqueued
    */
+  @SuppressWarnings("unchecked")
   public boolean add(State newState) {
     Vertex vertex = newState.getVertex();
-    List<State> states = stateSets.get(vertex);
+    Object value = stateSets.get(vertex);
 
     // if the vertex has no states, add one and return
-    if (states == null) {
-      states = new ArrayList<>();
-      stateSets.put(vertex, states);
+    if (value == null) {
+      stateSets.put(vertex, newState);
+      return true;
+    }
+
+    // if the vertex has one state, only create a list if the states are co-dominant
+    if (!(value instanceof StateList)) {
+      State oldState = (State) value;
+      if (dominanceFunction.betterOrEqualAndComparable(oldState, newState)) {
+        return false;
+      }
+      if (dominanceFunction.betterOrEqualAndComparable(newState, oldState)) {
+        stateSets.put(vertex, newState);
+        return true;
+      }
+      StateList<State> states = new StateList<>();
+      states.add(oldState);
       states.add(newState);
+      stateSets.put(vertex, states);
       return true;
     }
 
+    StateList<State> states = (StateList<State>) value;
+
     // if the vertex has any states that dominate the new state, don't add the state
     // if the new state dominates any old states, remove them
     Iterator<State> it = states.iterator();
@@ -164,7 +186,7 @@ public class ShortestPathTree<
    * @return a 'best' state at that vertex
    */
   public State getState(Vertex dest) {
-    Collection<State> states = stateSets.get(dest);
+    Collection<State> states = getStates(dest);
     if (states == null) {
       return null;
     }
@@ -187,8 +209,13 @@ public class ShortestPathTree<
    * @param dest the vertex of interest
    * @return a collection of 'interesting' states at that vertex
    */
+  @SuppressWarnings("unchecked")
   public List<State> getStates(Vertex dest) {
-    return stateSets.get(dest);
+    Object value = stateSets.get(dest);
+    if (value == null || value instanceof StateList) {
+      return (List<State>) value;
+    }
+    return List.of((State) value);
   }
 
   /** @return number of vertices referenced in this SPT */
@@ -221,21 +248,23 @@ public class ShortestPathTree<
    * @return - whether this state is still considered worth visiting.
    */
   public boolean visit(State state) {
-    boolean ret = false;
-    for (State s : stateSets.get(state.getVertex())) {
-      if (s == state) {
-        ret = true;
-        break;
+    Object value = stateSets.get(state.getVertex());
+    if (value instanceof StateList<?> states) {
+      for (Object s : states) {
+        if (s == state) {
+          return true;
+        }
       }
+      return false;
     }
-    return ret;
+    return value == state;
   }
 
   /** @return every state in this tree */
   public Collection<State> getAllStates() {
     ArrayList<State> allStates = new ArrayList<>();
-    for (List<State> stateSet : stateSets.values()) {
-      allStates.addAll(stateSet);
+    for (Vertex vertex : stateSets.keySet()) {
+      allStates.addAll(getStates(vertex));
     }
     return allStates;
   }
@@ -247,4 +276,15 @@ public class ShortestPathTree<
   public String toString() {
     return "ShortestPathTree(" + this.stateSets.size() + " vertices)";
   }
+
+  /**
+   * The list type used for vertices with more than one co-dominant state. A separate type is
+   * used to distinguish it from a single state stored in the state map.
+   */
+  private static final class StateList<S> extends ArrayList<S> {
+
+    private StateList() {
+      super(2);
+    }
+  }
 }
@@ -0,0 +1,16 @@
+package org.opentripplanner.framework.application;
+
+/**
+ * This Exception is used to signal that the current (HTTP) request is rejected, because the
+ * server is overloaded. No work is done for the request, the client may retry later.
+ */
+public class OTPRequestRejectedException extends RuntimeException {
+
+  public static final String MESSAGE =
+    "REJECTED! The server is too busy to process the request, try again later.";
+
+  @Override
+  public String getMessage() {
+    return MESSAGE;
+  }
+}
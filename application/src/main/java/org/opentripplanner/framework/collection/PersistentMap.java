@@ -0,0 +1,607 @@
+package org.opentripplanner.framework.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable hash map with structural sharing (a hash array mapped trie). A new version of the
+ * map is created using a {@link Builder}, changing an entry only copies the path from the root to
+ * the entry, not the whole map. Creating an immutable version of a builder is O(1). This makes it
+ * cheap to publish a read-only copy of a large map, when only a few entries have changed since the
+ * last version was published.
+ * <p>
+ * This is used by the {@link org.opentripplanner.model.TimetableSnapshot}, where a new read-only
+ * snapshot is created every time the realtime updaters commit their changes.
+ * <p>
+ * Null keys and values are not allowed.
+ * <p>
+ * This class is THREAD-SAFE, the {@link Builder} is NOT.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  /**
+   * The maximum depth of the tree is 7 levels of bitmap nodes, then one level of collision nodes.
+   */
+  private static final int MAX_DEPTH = 8;
+
+  private static final Object NOT_FOUND = new Object();
+
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+  private final Node root;
+  private final int size;
+
+  private PersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentMap<K, V> of() {
+    return (PersistentMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Return an immutable copy of the given map. If the given map is a {@link Builder} the builder
+   * is frozen, and this is O(1). If the given map is a PersistentMap it is returned as is.
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    if (map instanceof PersistentMap<? extends K, ? extends V> it) {
+      return (PersistentMap<K, V>) it;
+    }
+    if (map instanceof Builder<? extends K, ? extends V> it) {
+      return (PersistentMap<K, V>) it.build();
+    }
+    Builder<K, V> builder = PersistentMap.<K, V>of().toBuilder();
+    builder.putAll(map);
+    return builder.build();
+  }
+
+  /**
+   * Create a mutable builder starting with the content of this map. The builder shares the
+   * structure with this map, so this is O(1).
+   */
+  public Builder<K, V> toBuilder() {
+    return new Builder<>(root, size);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    return find(root, key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return contains(root, key);
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new EntrySet<>(root, size);
+  }
+
+  /**
+   * A mutable map used to build the next version of a {@link PersistentMap}. Nodes created by the
+   * builder are updated in place until {@link #build()} is called, after that they are shared with
+   * the built map and copied on write.
+   * <p>
+   * Removing elements while iterating, using the iterator or for example
+   * {@code keySet().removeIf(...)}, is supported. The iteration is done on a frozen version of the
+   * builder.
+   */
+  public static final class Builder<K, V> extends AbstractMap<K, V> {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Nodes with the same edit token as the builder are owned by the builder and can be mutated
+     * in place.
+     */
+    private Edit edit = new Edit();
+
+    private Builder(Node root, int size) {
+      this.root = root;
+      this.size = size;
+    }
+
+    /**
+     * Create an immutable version of the current state of this builder, this is O(1). The builder
+     * can still be used after this.
+     */
+    public PersistentMap<K, V> build() {
+      if (size == 0) {
+        return of();
+      }
+      // All nodes created until now are shared with the new map, so a new edit token is needed
+      this.edit = new Edit();
+      return new PersistentMap<>(root, size);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return size == 0;
+    }
+
+    @Override
+    public V get(Object key) {
+      return find(root, key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return contains(root, key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+      Objects.requireNonNull(key);
+      Objects.requireNonNull(value);
+      Box box = new Box();
+      Node node = root == null ? BitmapIndexedNode.EMPTY : root;
+      this.root = node.put(edit, 0, hash(key), key, value, box);
+      if (box.previous == null) {
+        ++size;
+      }
+      return (V) box.previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+      if (root == null || key == null) {
+        return null;
+      }
+      Box box = new Box();
+      this.root = root.remove(edit, 0, hash(key), key, box);
+      if (box.previous != null) {
+        --size;
+      }
+      return (V) box.previous;
+    }
+
+    @Override
+    public void clear() {
+      this.root = null;
+      this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          var it = build().entrySet().iterator();
+          return new Iterator<>() {
+            private Entry<K, V> current;
+
+            @Override
+            public boolean hasNext() {
+              return it.hasNext();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+              current = it.next();
+              return current;
+            }
+
+            @Override
+            public void remove() {
+              if (current == null) {
+                throw new IllegalStateException();
+              }
+              Builder.this.remove(current.getKey());
+              current = null;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+  }
+
+  /* private methods and classes */
+
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int bitpos(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V find(Node root, Object key) {
+    if (root == null || key == null) {
+      return null;
+    }
+    Object value = root.find(0, hash(key), key);
+    return value == NOT_FOUND ? null : (V) value;
+  }
+
+  private static boolean contains(Node root, Object key) {
+    if (root == null || key == null) {
+      return false;
+    }
+    return root.find(0, hash(key), key) != NOT_FOUND;
+  }
+
+  private static Object[] removePair(Object[] array, int index) {
+    Object[] newArray = new Object[array.length - 2];
+    System.arraycopy(array, 0, newArray, 0, 2 * index);
+    System.arraycopy(array, 2 * (index + 1), newArray, 2 * index, newArray.length - 2 * index);
+    return newArray;
+  }
+
+  /** Identity token used to decide if a node can be mutated in place by a builder. */
+  private static final class Edit {}
+
+  /** Used to return the previous value of a put/remove operation. */
+  private static final class Box {
+
+    private Object previous;
+  }
+
+  private interface Node {
+    /**
+     * Return the value for the key or {@link #NOT_FOUND}.
+     */
+    Object find(int shift, int hash, Object key);
+
+    Node put(Edit edit, int shift, int hash, Object key, Object value, Box box);
+
+    /**
+     * Return {@code null} if the node is empty after the key is removed.
+     */
+    Node remove(Edit edit, int shift, int hash, Object key, Box box);
+
+    /**
+     * The key/value pairs of this node. A {@code null} key in a bitmap node means the value is a
+     * child node.
+     */
+    Object[] array();
+  }
+
+  private static final class BitmapIndexedNode implements Node {
+
+    private static final BitmapIndexedNode EMPTY = new BitmapIndexedNode(null, 0, new Object[0]);
+
+    private final Edit edit;
+    private int bitmap;
+    private Object[] array;
+
+    private BitmapIndexedNode(Edit edit, int bitmap, Object[] array) {
+      this.edit = edit;
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    @Override
+    public Object[] array() {
+      return array;
+    }
+
+    @Override
+    public Object find(int shift, int hash, Object key) {
+      int bit = bitpos(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return NOT_FOUND;
+      }
+      int i = 2 * index(bit);
+      Object k = array[i];
+      Object v = array[i + 1];
+      if (k == null) {
+        return ((Node) v).find(shift + BITS, hash, key);
+      }
+      return key.equals(k) ? v : NOT_FOUND;
+    }
+
+    @Override
+    public Node put(Edit edit, int shift, int hash, Object key, Object value, Box box) {
+      int bit = bitpos(hash, shift);
+      int idx = index(bit);
+      int i = 2 * idx;
+
+      if ((bitmap & bit) != 0) {
+        Object k = array[i];
+        Object v = array[i + 1];
+        if (k == null) {
+          Node child = ((Node) v).put(edit, shift + BITS, hash, key, value, box);
+          return child == v ? this : editAndSet(edit, i + 1, child);
+        }
+        if (key.equals(k)) {
+          box.previous = v;
+          return v == value ? this : editAndSet(edit, i + 1, value);
+        }
+        Node child = createNode(edit, shift + BITS, k, v, hash, key, value);
+        BitmapIndexedNode node = ensureEditable(edit);
+        node.array[i] = null;
+        node.array[i + 1] = child;
+        return node;
+      }
+
+      int n = Integer.bitCount(bitmap);
+      Object[] newArray = new Object[2 * (n + 1)];
+      System.arraycopy(array, 0, newArray, 0, i);
+      newArray[i] = key;
+      newArray[i + 1] = value;
+      System.arraycopy(array, i, newArray, i + 2, 2 * (n - idx));
+
+      if (isEditable(edit)) {
+        this.array = newArray;
+        this.bitmap |= bit;
+        return this;
+      }
+      return new BitmapIndexedNode(edit, bitmap | bit, newArray);
+    }
+
+    @Override
+    public Node remove(Edit edit, int shift, int hash, Object key, Box box) {
+      int bit = bitpos(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int idx = index(bit);
+      int i = 2 * idx;
+      Object k = array[i];
+      Object v = array[i + 1];
+
+      if (k == null) {
+        Node child = ((Node) v).remove(edit, shift + BITS, hash, key, box);
+        if (child == v) {
+          return this;
+        }
+        if (child != null) {
+          return editAndSet(edit, i + 1, child);
+        }
+      } else if (key.equals(k)) {
+        box.previous = v;
+      } else {
+        return this;
+      }
+
+      if (bitmap == bit) {
+        return null;
+      }
+      if (isEditable(edit)) {
+        this.array = removePair(array, idx);
+        this.bitmap ^= bit;
+        return this;
+      }
+      return new BitmapIndexedNode(edit, bitmap ^ bit, removePair(array, idx));
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private boolean isEditable(Edit edit) {
+      return this.edit == edit && edit != null;
+    }
+
+    private BitmapIndexedNode ensureEditable(Edit edit) {
+      return isEditable(edit) ? this : new BitmapIndexedNode(edit, bitmap, array.clone());
+    }
+
+    private BitmapIndexedNode editAndSet(Edit edit, int i, Object value) {
+      BitmapIndexedNode node = ensureEditable(edit);
+      node.array[i] = value;
+      return node;
+    }
+
+    private static Node createNode(
+      Edit edit,
+      int shift,
+      Object key1,
+      Object value1,
+      int hash2,
+      Object key2,
+      Object value2
+    ) {
+      int hash1 = hash(key1);
+      if (hash1 == hash2) {
+        return new HashCollisionNode(edit, hash1, new Object[] { key1, value1, key2, value2 });
+      }
+      Box box = new Box();
+      return BitmapIndexedNode.EMPTY
+        .put(edit, shift, hash1, key1, value1, box)
+        .put(edit, shift, hash2, key2, value2, box);
+    }
+  }
+
+  /**
+   * Keys with the same hash code are stored in a list of key/value pairs.
+   */
+  private static final class HashCollisionNode implements Node {
+
+    private final Edit edit;
+    private final int hash;
+    private Object[] array;
+
+    private HashCollisionNode(Edit edit, int hash, Object[] array) {
+      this.edit = edit;
+      this.hash = hash;
+      this.array = array;
+    }
+
+    @Override
+    public Object[] array() {
+      return array;
+    }
+
+    @Override
+    public Object find(int shift, int hash, Object key) {
+      int i = indexOf(key);
+      return i < 0 ? NOT_FOUND : array[i + 1];
+    }
+
+    @Override
+    public Node put(Edit edit, int shift, int hash, Object key, Object value, Box box) {
+      if (hash != this.hash) {
+        // Nest this node in a bitmap node, and add the new key to the bitmap node
+        return new BitmapIndexedNode(edit, bitpos(this.hash, shift), new Object[] { null, this })
+          .put(edit, shift, hash, key, value, box);
+      }
+      int i = indexOf(key);
+      if (i >= 0) {
+        box.previous = array[i + 1];
+        if (array[i + 1] == value) {
+          return this;
+        }
+        Object[] newArray = isEditable(edit) ? array : array.clone();
+        newArray[i + 1] = value;
+        return update(edit, newArray);
+      }
+      Object[] newArray = new Object[array.length + 2];
+      System.arraycopy(array, 0, newArray, 0, array.length);
+      newArray[array.length] = key;
+      newArray[array.length + 1] = value;
+      return update(edit, newArray);
+    }
+
+    @Override
+    public Node remove(Edit edit, int shift, int hash, Object key, Box box) {
+      int i = indexOf(key);
+      if (i < 0) {
+        return this;
+      }
+      box.previous = array[i + 1];
+      if (array.length == 2) {
+        return null;
+      }
+      return update(edit, removePair(array, i / 2));
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (key.equals(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private boolean isEditable(Edit edit) {
+      return this.edit == edit && edit != null;
+    }
+
+    private HashCollisionNode update(Edit edit, Object[] newArray) {
+      if (isEditable(edit)) {
+        this.array = newArray;
+        return this;
+      }
+      return new HashCollisionNode(edit, hash, newArray);
+    }
+  }
+
+  private static final class EntrySet<K, V> extends AbstractSet<Entry<K, V>> {
+
+    private final Node root;
+    private final int size;
+
+    private EntrySet(Node root, int size) {
+      this.root = root;
+      this.size = size;
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return new EntryIterator<>(root);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * Depth first iteration over all key/value pairs in the tree, without recursion.
+   */
+  private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+    private final Object[][] arrays = new Object[MAX_DEPTH][];
+    private final int[] indexes = new int[MAX_DEPTH];
+    private int depth;
+    private Entry<K, V> next;
+
+    private EntryIterator(Node root) {
+      if (root == null) {
+        depth = -1;
+      } else {
+        arrays[0] = root.array();
+      }
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Entry<K, V> result = next;
+      advance();
+      return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        Object[] array = arrays[depth];
+        int i = indexes[depth];
+        if (i >= array.length) {
+          --depth;
+          continue;
+        }
+        indexes[depth] = i + 2;
+        Object k = array[i];
+        Object v = array[i + 1];
+        if (k == null) {
+          ++depth;
+          arrays[depth] = ((Node) v).array();
+          indexes[depth] = 0;
+        } else {
+          next = new SimpleImmutableEntry<>((K) k, (V) v);
+          return;
+        }
+      }
+    }
+  }
+}
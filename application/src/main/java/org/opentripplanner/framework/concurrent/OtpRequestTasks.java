@@ -0,0 +1,144 @@
+package org.opentripplanner.framework.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.opentripplanner.framework.application.LogMDCSupport;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run independent parts of a "user" request in parallel. The tasks are run on a shared routing
+ * thread pool, except the first task which is run by the calling thread.
+ * <p>
+ * Unlike {@link java.util.concurrent.CompletableFuture#runAsync(Runnable)} this:
+ * <ul>
+ *   <li>Propagate the log context of the caller to each task. The context is set every time a
+ *   task is started, not only when a thread is created, since the threads are reused.</li>
+ *   <li>Propagate the request timeout. If the calling thread is interrupted, all unfinished tasks
+ *   are interrupted as well, so they can abort at the next
+ *   {@link OTPRequestTimeoutException#checkForTimeout()}.</li>
+ *   <li>Rethrow the first runtime exception thrown by a task as is, not wrapped.</li>
+ * </ul>
+ * <p>
+ * The thread pool can be bounded, both the number of threads and the queue. A task may run other
+ * tasks in parallel, so to avoid a deadlock when all threads are busy, the calling thread runs the
+ * tasks not yet started by the pool itself before it waits for the rest to complete. If the queue
+ * is full, the task is not queued, but run by the calling thread in the same way.
+ * <p>
+ * There is one instance for the application, it is injected into the server context.
+ */
+public class OtpRequestTasks {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OtpRequestTasks.class);
+  private static final String THREAD_NAME_PREFIX = "otp-routing-";
+  private static final String METRICS_NAME = "routing";
+
+  private final ExecutorService executor;
+
+  /**
+   * If the {@code poolSize} is zero or negative, a new virtual thread is used for each task, if
+   * not a pool with the given number of platform threads, and a queue of the same size, is used.
+   * Execution time, waiting time, and for a bounded pool the queue size and number of active
+   * threads are reported to the given registry.
+   */
+  public OtpRequestTasks(int poolSize, MeterRegistry registry) {
+    this.executor =
+      ExecutorServiceMetrics.monitor(
+        registry,
+        createThreadPool(poolSize),
+        METRICS_NAME,
+        List.of(Tag.of("pool", METRICS_NAME))
+      );
+    if (poolSize > 0) {
+      LOG.info("Routing thread pool created with {} threads.", poolSize);
+    } else {
+      LOG.info("Routing tasks run in virtual threads.");
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Run all tasks in parallel and wait for all of them to complete.
+   */
+  public void runInParallel(Runnable... tasks) {
+    if (tasks.length == 0) {
+      return;
+    }
+    List<FutureTask<?>> futures = new ArrayList<>(tasks.length - 1);
+    try {
+      for (int i = 1; i < tasks.length; ++i) {
+        var future = new FutureTask<>(decorate(tasks[i]), null);
+        try {
+          executor.execute(future);
+        } catch (RejectedExecutionException e) {
+          // The queue is full, the task is run by the calling thread below
+        }
+        futures.add(future);
+      }
+      tasks[0].run();
+
+      for (FutureTask<?> future : futures) {
+        // Run the task in this thread if the pool has not started it yet, this does nothing if
+        // the task is started or done
+        future.run();
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new RuntimeException(e.getCause());
+    } finally {
+      // Stop tasks still running if one of the tasks failed or the request timed out, this
+      // has no effect on completed tasks
+      futures.forEach(it -> it.cancel(true));
+    }
+  }
+
+  private static Runnable decorate(Runnable task) {
+    if (!LogMDCSupport.isRequestTracingInLoggingEnabled()) {
+      return task;
+    }
+    var caller = Thread.currentThread();
+    var taskWithLogContext = new LogMDCRunnableDecorator(task);
+    // The decorator clears the log context when done, this must not happen in the calling thread
+    return () -> (Thread.currentThread() == caller ? task : taskWithLogContext).run();
+  }
+
+  private static ExecutorService createThreadPool(int poolSize) {
+    if (poolSize <= 0) {
+      return Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory()
+      );
+    }
+    return new ThreadPoolExecutor(
+      poolSize,
+      poolSize,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(poolSize),
+      OtpRequestThreadFactory.of(THREAD_NAME_PREFIX + "%d")
+    );
+  }
+}
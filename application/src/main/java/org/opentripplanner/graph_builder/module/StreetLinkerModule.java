@@ -106,6 +106,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
       );
     }
 
+    List<TransitStopVertex> stopsToLink = new ArrayList<>();
     for (TransitStopVertex tStop : vertices) {
       // Stops with pathways do not need to be connected to the street network, since there are explicit entrances defined for that
       if (tStop.hasPathways()) {
@@ -115,48 +116,35 @@ public class StreetLinkerModule implements GraphBuilderModule {
       if (tStop.isConnectedToGraph()) {
         continue;
       }
-
-      // ordinarily stops only need to be accessible by foot
-      StopLinkType linkType = StopLinkType.WALK_ONLY;
-
-      if (
-        OTPFeature.FlexRouting.isOn() && stopLocationsUsedForFlexTrips.contains(tStop.getStop())
-      ) {
-        linkType = StopLinkType.WALK_AND_CAR;
-      }
-
-      linkStopToStreetNetwork(tStop, linkType);
-
-      //noinspection Convert2MethodRef
-      progress.step(m -> LOG.info(m));
+      stopsToLink.add(tStop);
     }
-    LOG.info(progress.completeMessage());
-  }
 
-  /**
-   * Link a stop to the nearest "relevant" edges.
-   * <p>
-   * These are mostly walk edges but if a stop is used by a flex pattern it also needs to be
-   * car-accessible. Therefore, flex stops are ensured to be connected to the car-accessible
-   * edge. This may lead to several links being created.
-   */
-  private void linkStopToStreetNetwork(TransitStopVertex tStop, StopLinkType linkType) {
+    // Link the stops to the nearest "relevant" edges. These are mostly walk edges, but if a stop
+    // is used by a flex pattern it also needs to be car-accessible. Therefore, flex stops are
+    // ensured to be connected to a car-accessible edge. This may lead to several links being
+    // created.
+    final Set<StopLocation> flexStops = stopLocationsUsedForFlexTrips;
+
     graph
       .getLinker()
-      .linkVertexPermanently(
-        tStop,
+      .linkVerticesPermanently(
+        stopsToLink,
         WALK_ONLY,
         LinkingDirection.BOTH_WAYS,
         (transitVertex, streetVertex) -> {
-          var linkEdges = createStopLinkEdges((TransitStopVertex) transitVertex, streetVertex);
+          var tStop = (TransitStopVertex) transitVertex;
+          var linkEdges = createStopLinkEdges(tStop, streetVertex);
 
-          if (linkType == StopLinkType.WALK_AND_CAR && !streetVertex.isConnectedToDriveableEdge()) {
+          if (flexStops.contains(tStop.getStop()) && !streetVertex.isConnectedToDriveableEdge()) {
             linkToDriveableEdge(tStop);
           }
 
           return linkEdges;
-        }
+        },
+        //noinspection Convert2MethodRef
+        () -> progress.step(m -> LOG.info(m))
       );
+    LOG.info(progress.completeMessage());
   }
 
   /**
@@ -365,17 +353,4 @@ public class StreetLinkerModule implements GraphBuilderModule {
       return null;
     }
   }
-
-  private enum StopLinkType {
-    /**
-     * Only ensure that the link leads to a walkable edge.
-     * (The same edge may also be drivable but this is not guaranteed.)
-     */
-    WALK_ONLY,
-    /**
-     * Make sure that the stop is linked to an edge each that is walkable and drivable.
-     * This may lead to several links being created.
-     */
-    WALK_AND_CAR,
-  }
 }
@@ -0,0 +1,64 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A union-find (disjoint set) data structure over the dense indices {@code 0..size-1}, which
+ * can be updated by many threads at the same time without locking.
+ * <p>
+ * The root of a set is always its smallest index, and the parent of an index is never larger than
+ * the index itself. The parents are only changed with compare-and-set, so the sets are the same
+ * regardless of the order of the unions.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+class ConcurrentUnionFind {
+
+  private final AtomicIntegerArray parents;
+
+  ConcurrentUnionFind(int size) {
+    this.parents = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) {
+      parents.set(i, i);
+    }
+  }
+
+  /**
+   * Return the root of the set containing the given index.
+   */
+  int find(int index) {
+    while (true) {
+      int parent = parents.get(index);
+      if (parent == index) {
+        return index;
+      }
+      int grandParent = parents.get(parent);
+      if (parent != grandParent) {
+        // Path halving, this fails if another thread has updated the parent, which is fine
+        parents.compareAndSet(index, parent, grandParent);
+      }
+      index = grandParent;
+    }
+  }
+
+  /**
+   * Merge the sets containing the two indices.
+   */
+  void union(int a, int b) {
+    while (true) {
+      int rootA = find(a);
+      int rootB = find(b);
+      if (rootA == rootB) {
+        return;
+      }
+      // Link the largest root to the smallest, retry if the root is linked by another thread
+      if (rootA < rootB) {
+        if (parents.compareAndSet(rootB, rootB, rootA)) {
+          return;
+        }
+      } else if (parents.compareAndSet(rootA, rootA, rootB)) {
+        return;
+      }
+    }
+  }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issues.GraphConnectivity;
 import org.opentripplanner.graph_builder.issues.IsolatedStop;
@@ -181,7 +182,7 @@ public class PruneIslands implements GraphBuilderModule {
     collectNeighbourVertices(neighborsForVertex, traverseMode, false);
 
     /* associate each connected vertex with a subgraph */
-    count = collectSubGraphs(neighborsForVertex, subgraphs, null, null);
+    count = collectConnectedSubGraphs(neighborsForVertex, subgraphs, null);
     LOG.info("Islands when {} noThruTraffic is considered: {}", traverseMode, count);
 
     /* Expand vertex neighbourhood with relevant noThruTrafficEdges
@@ -190,7 +191,7 @@ public class PruneIslands implements GraphBuilderModule {
     collectNeighbourVertices(neighborsForVertex, traverseMode, true);
 
     /* Next: generate subgraphs without considering access limitations */
-    count = collectSubGraphs(neighborsForVertex, extgraphs, null, islands);
+    count = collectConnectedSubGraphs(neighborsForVertex, extgraphs, islands);
     LOG.info("Islands when {} noThruTraffic is ignored: {}", traverseMode, count);
 
     /* collect unreachable edges to a map */
@@ -318,35 +319,116 @@ public class PruneIslands implements GraphBuilderModule {
 
     StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
 
-    for (Vertex gv : graph.getVertices()) {
-      if (!(gv instanceof StreetVertex)) {
+    List<Vertex> streetVertices = graph
+      .getVertices()
+      .stream()
+      .filter(StreetVertex.class::isInstance)
+      .toList();
+
+    // Traversing the edges is the expensive part, so it is done in parallel. The neighbours are
+    // added in the same order as if the vertices were processed one at a time.
+    List<List<Vertex>> reachableVertices = streetVertices
+      .parallelStream()
+      .map(gv -> reachableVertices(gv, request, traverseMode, shouldMatchNoThruType))
+      .toList();
+
+    for (int i = 0; i < streetVertices.size(); i++) {
+      Vertex gv = streetVertices.get(i);
+      for (Vertex out : reachableVertices.get(i)) {
+        var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
+        vertexList.add(out);
+
+        // note: this assumes that edges are bi-directional. Maybe explicit state traversal is needed for CAR mode.
+        vertexList = neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>());
+        vertexList.add(gv);
+      }
+    }
+  }
+
+  /**
+   * Return the vertices reached by traversing the outgoing edges of the vertex, excluding or
+   * including only the noThruTraffic edges.
+   */
+  private static List<Vertex> reachableVertices(
+    Vertex gv,
+    StreetSearchRequest request,
+    TraverseMode traverseMode,
+    boolean shouldMatchNoThruType
+  ) {
+    List<Vertex> result = new ArrayList<>();
+    State s0 = new State(gv, request);
+    for (Edge e : gv.getOutgoing()) {
+      if (
+        e instanceof StreetEdge &&
+        shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
+      ) {
+        continue;
+      }
+      State[] states = e.traverse(s0);
+      if (State.isEmpty(states)) {
         continue;
       }
-      State s0 = new State(gv, request);
-      for (Edge e : gv.getOutgoing()) {
-        if (
-          e instanceof StreetEdge &&
-          shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
-        ) {
-          continue;
+      Arrays.stream(states).map(State::getVertex).forEach(result::add);
+    }
+    return result;
+  }
+
+  /**
+   * Put each connected vertex into a subgraph of all the vertices connected to it. This gives the
+   * same subgraphs, in the same order, as {@link #collectSubGraphs} without an isolation map and
+   * with an empty map of new subgraphs. The connected components are found in parallel, using a
+   * union-find over the vertices.
+   */
+  private int collectConnectedSubGraphs(
+    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
+    Map<Vertex, Subgraph> newgraphs, // put new subgraphs here
+    ArrayList<Subgraph> islands
+  ) { // final list of islands or null
+    List<Vertex> vertices = new ArrayList<>(neighborsForVertex.keySet());
+    Map<Vertex, Integer> indexForVertex = new HashMap<>();
+    for (int i = 0; i < vertices.size(); i++) {
+      indexForVertex.put(vertices.get(i), i);
+    }
+
+    var components = new ConcurrentUnionFind(vertices.size());
+    IntStream
+      .range(0, vertices.size())
+      .parallel()
+      .forEach(i -> {
+        for (Vertex neighbor : neighborsForVertex.get(vertices.get(i))) {
+          components.union(i, indexForVertex.get(neighbor));
         }
-        State[] states = e.traverse(s0);
-        if (State.isEmpty(states)) {
-          continue;
+      });
+
+    // Create the subgraphs in the order of the first street vertex in each of them
+    Map<Integer, Subgraph> subgraphForRoot = new HashMap<>();
+    for (Vertex gv : graph.getVertices()) {
+      if (!(gv instanceof StreetVertex) || !neighborsForVertex.containsKey(gv)) {
+        continue;
+      }
+      int root = components.find(indexForVertex.get(gv));
+      if (!subgraphForRoot.containsKey(root)) {
+        Subgraph subgraph = new Subgraph();
+        subgraphForRoot.put(root, subgraph);
+        if (islands != null) {
+          islands.add(subgraph);
         }
-        Arrays
-          .stream(states)
-          .map(State::getVertex)
-          .forEach(out -> {
-            var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
-            vertexList.add(out);
-
-            // note: this assumes that edges are bi-directional. Maybe explicit state traversal is needed for CAR mode.
-            vertexList = neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>());
-            vertexList.add(gv);
-          });
       }
     }
+
+    for (int i = 0; i < vertices.size(); i++) {
+      Subgraph subgraph = subgraphForRoot.get(components.find(i));
+      // components without street vertices do not become subgraphs
+      if (subgraph == null) {
+        continue;
+      }
+      Vertex vertex = vertices.get(i);
+      subgraph.addVertex(vertex);
+      if (!(vertex instanceof TransitStopVertex)) {
+        newgraphs.put(vertex, subgraph);
+      }
+    }
+    return subgraphForRoot.size();
   }
 
   private int collectSubGraphs(
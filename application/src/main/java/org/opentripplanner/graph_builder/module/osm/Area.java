@@ -3,7 +3,6 @@ package org.opentripplanner.graph_builder.module.osm;
 import com.google.common.collect.ArrayListMultimap;
 import gnu.trove.list.TLongList;
 import gnu.trove.list.array.TLongArrayList;
-import gnu.trove.map.TLongObjectMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -12,7 +11,6 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.TopologyException;
 import org.opentripplanner.framework.geometry.GeometryUtils;
-import org.opentripplanner.osm.model.OsmNode;
 import org.opentripplanner.osm.model.OsmWay;
 import org.opentripplanner.osm.model.OsmWithTags;
 
@@ -32,7 +30,7 @@ class Area {
     OsmWithTags parent,
     List<OsmWay> outerRingWays,
     List<OsmWay> innerRingWays,
-    TLongObjectMap<OsmNode> nodes
+    OsmNodeStore nodes
   ) {
     this.parent = parent;
     // ring assignment
@@ -0,0 +1,195 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.opentripplanner.osm.OsmProvider;
+import org.opentripplanner.osm.model.OsmNode;
+
+/**
+ * Store the nodes without keeping an {@link OsmNode} object for each of them. This uses a lot less
+ * heap than the {@link HeapOsmNodeStore}, at the cost of creating a new node object each time a
+ * node is looked up.
+ * <ul>
+ *   <li>The coordinates and the OSM provider are stored in a temporary file which is memory
+ *   mapped, so they are kept outside the heap. The index of a node in the file is found by its
+ *   id.</li>
+ *   <li>The tags, which only a small part of the nodes have, are stored as integer arrays. The
+ *   keys and values are dictionary encoded, so each string is only stored once.</li>
+ * </ul>
+ * The temporary file is deleted when the store is garbage collected or OTP exits.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE, nodes must be added by one thread. Looking up nodes from many
+ * threads is safe when no nodes are added.
+ */
+class CompactOsmNodeStore implements OsmNodeStore {
+
+  private static final int NOT_FOUND = -1;
+
+  /**
+   * Each node is stored as two doubles, the latitude and the longitude, and the index of the OSM
+   * provider as an int.
+   */
+  private static final int NODE_BYTES = 2 * Double.BYTES + Integer.BYTES;
+
+  /** Each chunk of the file is mapped separately, a chunk is 20 MB. */
+  private static final int NODES_PER_CHUNK = 1 << 20;
+
+  private final FileChannel channel;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private final TLongIntMap indexById = newLongIntMap();
+
+  /**
+   * The tags of each tagged node is stored in {@link #tagData}, starting at the given offset: the
+   * number of tags and then the key and value of each tag.
+   */
+  private final TLongIntMap tagOffsetById = newLongIntMap();
+  private final TIntList tagData = new TIntArrayList();
+  private final TObjectIntMap<String> stringIds = new TObjectIntHashMap<>(
+    Constants.DEFAULT_CAPACITY,
+    Constants.DEFAULT_LOAD_FACTOR,
+    NOT_FOUND
+  );
+  private final List<String> strings = new ArrayList<>();
+  private final List<OsmProvider> providers = new ArrayList<>();
+
+  CompactOsmNodeStore() {
+    try {
+      var file = Files.createTempFile("otp-osm-nodes-", ".bin");
+      // On Unix the file is removed at once, and the space is released when the channel is closed
+      this.channel =
+        FileChannel.open(
+          file,
+          StandardOpenOption.READ,
+          StandardOpenOption.WRITE,
+          StandardOpenOption.DELETE_ON_CLOSE
+        );
+      file.toFile().deleteOnExit();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to create a temporary file for the OSM nodes.", e);
+    }
+  }
+
+  @Override
+  public void add(OsmNode node) {
+    int index = indexById.get(node.getId());
+    if (index == NOT_FOUND) {
+      index = indexById.size();
+      indexById.put(node.getId(), index);
+    }
+    var chunk = chunk(index);
+    int position = (index % NODES_PER_CHUNK) * NODE_BYTES;
+    chunk.putDouble(position, node.lat);
+    chunk.putDouble(position + Double.BYTES, node.lon);
+    chunk.putInt(position + 2 * Double.BYTES, providerIndex(node.getOsmProvider()));
+
+    if (node.getTags().isEmpty()) {
+      tagOffsetById.remove(node.getId());
+    } else {
+      tagOffsetById.put(node.getId(), addTags(node));
+    }
+  }
+
+  @Override
+  public OsmNode get(long id) {
+    int index = indexById.get(id);
+    if (index == NOT_FOUND) {
+      return null;
+    }
+    var chunk = chunks.get(index / NODES_PER_CHUNK);
+    int position = (index % NODES_PER_CHUNK) * NODE_BYTES;
+
+    var node = new OsmNode();
+    node.setId(id);
+    node.lat = chunk.getDouble(position);
+    node.lon = chunk.getDouble(position + Double.BYTES);
+    node.setOsmProvider(providers.get(chunk.getInt(position + 2 * Double.BYTES)));
+
+    int offset = tagOffsetById.get(id);
+    if (offset != NOT_FOUND) {
+      int numberOfTags = tagData.get(offset);
+      for (int i = 0; i < numberOfTags; i++) {
+        int tag = offset + 1 + 2 * i;
+        node.addTag(strings.get(tagData.get(tag)), strings.get(tagData.get(tag + 1)));
+      }
+    }
+    return node;
+  }
+
+  @Override
+  public boolean contains(long id) {
+    return indexById.containsKey(id);
+  }
+
+  @Override
+  public int size() {
+    return indexById.size();
+  }
+
+  private int addTags(OsmNode node) {
+    int offset = tagData.size();
+    tagData.add(node.getTags().size());
+    for (Map.Entry<String, String> tag : node.getTags().entrySet()) {
+      tagData.add(stringId(tag.getKey()));
+      tagData.add(stringId(tag.getValue()));
+    }
+    return offset;
+  }
+
+  private int stringId(String value) {
+    int id = stringIds.get(value);
+    if (id == NOT_FOUND) {
+      id = strings.size();
+      strings.add(value);
+      stringIds.put(value, id);
+    }
+    return id;
+  }
+
+  private int providerIndex(OsmProvider provider) {
+    // There are only a few providers, so a linear search is fast enough
+    int index = providers.indexOf(provider);
+    if (index == NOT_FOUND) {
+      index = providers.size();
+      providers.add(provider);
+    }
+    return index;
+  }
+
+  private ByteBuffer chunk(int index) {
+    int chunkIndex = index / NODES_PER_CHUNK;
+    while (chunks.size() <= chunkIndex) {
+      long position = (long) chunks.size() * NODES_PER_CHUNK * NODE_BYTES;
+      try {
+        chunks.add(
+          channel.map(FileChannel.MapMode.READ_WRITE, position, (long) NODES_PER_CHUNK * NODE_BYTES)
+        );
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to map the temporary file for the OSM nodes.", e);
+      }
+    }
+    return chunks.get(chunkIndex);
+  }
+
+  private static TLongIntMap newLongIntMap() {
+    return new TLongIntHashMap(
+      Constants.DEFAULT_CAPACITY,
+      Constants.DEFAULT_LOAD_FACTOR,
+      Constants.DEFAULT_LONG_NO_ENTRY_VALUE,
+      NOT_FOUND
+    );
+  }
+}
@@ -0,0 +1,33 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.opentripplanner.osm.model.OsmNode;
+
+/**
+ * Keep the nodes as objects on the heap. This is the fastest store, and the default.
+ */
+class HeapOsmNodeStore implements OsmNodeStore {
+
+  private final TLongObjectMap<OsmNode> nodesById = new TLongObjectHashMap<>();
+
+  @Override
+  public void add(OsmNode node) {
+    nodesById.put(node.getId(), node);
+  }
+
+  @Override
+  public OsmNode get(long id) {
+    return nodesById.get(id);
+  }
+
+  @Override
+  public boolean contains(long id) {
+    return nodesById.containsKey(id);
+  }
+
+  @Override
+  public int size() {
+    return nodesById.size();
+  }
+}
@@ -58,6 +58,11 @@ public class OsmModule implements GraphBuilderModule {
   private final OsmDatabase osmdb;
   private final StreetLimitationParameters streetLimitationParameters;
 
+  /**
+   * Many edges have the same name, keep one instance of each name to reduce the size of the graph.
+   */
+  private final Map<I18NString, I18NString> canonicalEdgeNames = new HashMap<>();
+
   OsmModule(
     Collection<OsmProvider> providers,
     Graph graph,
@@ -69,7 +74,7 @@ public class OsmModule implements GraphBuilderModule {
     this.graph = graph;
     this.issueStore = issueStore;
     this.params = params;
-    this.osmdb = new OsmDatabase(issueStore);
+    this.osmdb = new OsmDatabase(issueStore, params.compactNodeStorage());
     this.vertexGenerator = new VertexGenerator(osmdb, graph, params.boardingAreaRefTags());
     this.normalizer = new SafetyValueNormalizer(graph, issueStore);
     this.streetLimitationParameters = Objects.requireNonNull(streetLimitationParameters);
@@ -97,6 +102,7 @@ public class OsmModule implements GraphBuilderModule {
 
     LOG.info("Building street graph from OSM");
     build();
+    canonicalEdgeNames.clear();
     graph.hasStreets = true;
     streetLimitationParameters.initMaxCarSpeed(getMaxCarSpeed());
   }
@@ -475,6 +481,7 @@ public class OsmModule implements GraphBuilderModule {
     StreetEdge street = null;
     StreetEdge backStreet = null;
     double length = getGeometryLengthMeters(geometry);
+    I18NString name = getNameForEdges(way, index);
 
     var permissionPair = way.splitPermissions(permissions);
     var permissionsFront = permissionPair.main();
@@ -486,7 +493,7 @@ public class OsmModule implements GraphBuilderModule {
           startEndpoint,
           endEndpoint,
           way,
-          index,
+          name,
           length,
           permissionsFront,
           geometry,
@@ -499,7 +506,7 @@ public class OsmModule implements GraphBuilderModule {
           endEndpoint,
           startEndpoint,
           way,
-          index,
+          name,
           length,
           permissionsBack,
           backGeometry,
@@ -512,19 +519,30 @@ public class OsmModule implements GraphBuilderModule {
     return new StreetEdgePair(street, backStreet);
   }
 
+  /**
+   * The name is shared by the edges in both directions. Real names are also shared between all
+   * edges with the same name, unnamed edges get a unique name based on the way id and index.
+   */
+  private I18NString getNameForEdges(OsmWay way, int index) {
+    String label = "way " + way.getId() + " from " + index;
+    I18NString name = params.edgeNamer().getNameForWay(way, label);
+    if (way.hasNoName()) {
+      return name;
+    }
+    I18NString canonical = canonicalEdgeNames.putIfAbsent(name, name);
+    return canonical == null ? name : canonical;
+  }
+
   private StreetEdge getEdgeForStreet(
     IntersectionVertex startEndpoint,
     IntersectionVertex endEndpoint,
     OsmWay way,
-    int index,
+    I18NString name,
     double length,
     StreetTraversalPermission permissions,
     LineString geometry,
     boolean back
   ) {
-    String label = "way " + way.getId() + " from " + index;
-    label = label.intern();
-    I18NString name = params.edgeNamer().getNameForWay(way, label);
     float carSpeed = way.getOsmProvider().getOsmTagMapper().getCarSpeedForWay(way, back);
 
     StreetEdgeBuilder<?> seb = new StreetEdgeBuilder<>()
@@ -25,6 +25,7 @@ public class OsmModuleBuilder {
   private boolean staticParkAndRide = false;
   private boolean staticBikeParkAndRide = false;
   private int maxAreaNodes;
+  private boolean compactNodeStorage = false;
   private StreetLimitationParameters streetLimitationParameters = new StreetLimitationParameters();
 
   OsmModuleBuilder(Collection<OsmProvider> providers, Graph graph) {
@@ -72,6 +73,11 @@ public class OsmModuleBuilder {
     return this;
   }
 
+  public OsmModuleBuilder withCompactNodeStorage(boolean compactNodeStorage) {
+    this.compactNodeStorage = compactNodeStorage;
+    return this;
+  }
+
   public OsmModuleBuilder withStreetLimitationParameters(StreetLimitationParameters parameters) {
     this.streetLimitationParameters = parameters;
     return this;
@@ -90,7 +96,8 @@ public class OsmModuleBuilder {
         areaVisibility,
         platformEntriesLinking,
         staticParkAndRide,
-        staticBikeParkAndRide
+        staticBikeParkAndRide,
+        compactNodeStorage
       )
     );
   }
@@ -0,0 +1,33 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import javax.annotation.Nullable;
+import org.opentripplanner.osm.model.OsmNode;
+
+/**
+ * The nodes used by the ways and areas of the {@link OsmDatabase}, keyed by their OSM id. The
+ * nodes are added while the OSM data is loaded and looked up while the street graph is built.
+ * <p>
+ * A store may create a new {@link OsmNode} instance each time a node is looked up, so nodes must
+ * be compared using {@code equals}, not by identity.
+ */
+interface OsmNodeStore {
+  /**
+   * @param compact if {@code true} the nodes are stored in a compact form, most of it outside the
+   *                heap, see {@link CompactOsmNodeStore}.
+   */
+  static OsmNodeStore of(boolean compact) {
+    return compact ? new CompactOsmNodeStore() : new HeapOsmNodeStore();
+  }
+
+  /**
+   * Add a node, if a node with the same id exists it is replaced.
+   */
+  void add(OsmNode node);
+
+  @Nullable
+  OsmNode get(long id);
+
+  boolean contains(long id);
+
+  int size();
+}
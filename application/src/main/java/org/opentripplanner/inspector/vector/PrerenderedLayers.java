@@ -0,0 +1,23 @@
+package org.opentripplanner.inspector.vector;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+/**
+ * A source of vector tile layers rendered in advance, so they do not need to be rendered for each
+ * request.
+ */
+@FunctionalInterface
+public interface PrerenderedLayers<LayerType extends Enum<LayerType>> {
+  /**
+   * Return the encoded tile containing only the given layer, or {@code null} if the layer is not
+   * rendered in advance for this tile.
+   */
+  @Nullable
+  ByteBuffer find(LayerParameters<LayerType> layerParameters, int z, int x, int y, Locale locale);
+
+  static <LayerType extends Enum<LayerType>> PrerenderedLayers<LayerType> none() {
+    return (layerParameters, z, x, y, locale) -> null;
+  }
+}
@@ -0,0 +1,87 @@
+package org.opentripplanner.inspector.vector;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * An in-memory cache of encoded vector tiles. The size of the cache is limited by the number of
+ * bytes in the cached tiles, the least recently used tiles are evicted first.
+ * <p>
+ * The key contains the version of the data in the layers of the tile. When the data in a layer
+ * changes, for example when an updater writes new vehicle rental stations, the version changes
+ * and the old tiles are never returned again. They are evicted from the cache as they are not
+ * used anymore. There is one cache for each graph, so tiles are never shared between graphs.
+ * <p>
+ * The hit, miss and load statistics are exported as metrics, see
+ * {@link org.opentripplanner.standalone.server.MetricsLogging}.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class VectorTileCache {
+
+  public static final VectorTileCache DISABLED = new VectorTileCache(0);
+
+  /**
+   * The version of a layer with data which can change at any time, without a version to tell
+   * when. The tiles containing such a layer are not cached.
+   */
+  public static final long NOT_CACHED = -1;
+
+  private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  @Nullable
+  private final Cache<Key, byte[]> cache;
+
+  /**
+   * @param maxSizeMegabytes The maximum size of the cached tiles, the cache is disabled if the
+   *                         size is zero.
+   */
+  public VectorTileCache(int maxSizeMegabytes) {
+    this.cache =
+      maxSizeMegabytes <= 0
+        ? null
+        : CacheBuilder
+          .newBuilder()
+          .maximumWeight(maxSizeMegabytes * BYTES_PER_MEGABYTE)
+          .<Key, byte[]>weigher((key, tile) -> tile.length)
+          .recordStats()
+          .build();
+  }
+
+  /**
+   * Return the cached tile for the given key, or build it if it is not in the cache. If the same
+   * tile is requested by many requests at the same time, it is only built once.
+   */
+  public byte[] get(Key key, Supplier<byte[]> tileBuilder) {
+    if (cache == null) {
+      return tileBuilder.get();
+    }
+    try {
+      return cache.get(key, tileBuilder::get);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw new RuntimeException("Failed to create vector tile " + key, e.getCause());
+    }
+  }
+
+  /**
+   * The underlying cache, used to export the statistics. This is {@code null} if the cache is
+   * disabled.
+   */
+  @Nullable
+  public Cache<Key, byte[]> getCache() {
+    return cache;
+  }
+
+  /**
+   * @param layers  The requested layers, in the order they are added to the tile.
+   * @param version The sum of the versions of the layers included in the tile. The version of
+   *                each layer is only incremented, so the sum changes if any of them change.
+   */
+  public record Key(List<String> layers, int z, int x, int y, Locale locale, long version) {}
+}
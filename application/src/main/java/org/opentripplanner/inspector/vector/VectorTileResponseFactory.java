@@ -4,8 +4,12 @@ import edu.colorado.cires.cmg.mvt.VectorTile;
 import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import org.apache.hc.core5.http.ContentType;
 import org.locationtech.jts.geom.Envelope;
@@ -28,9 +32,44 @@ public class VectorTileResponseFactory {
     LayerBuilderFactory<LayerType> layerBuilderFactory,
     OtpServerRequestContext context
   ) {
-    VectorTile.Tile.Builder mvtBuilder = VectorTile.Tile.newBuilder();
-    Envelope envelope = WebMercatorTile.tile2Envelope(x, y, z);
+    return create(
+      x,
+      y,
+      z,
+      locale,
+      requestedLayers,
+      availableLayers,
+      layerBuilderFactory,
+      context,
+      VectorTileCache.DISABLED,
+      layerParameters -> 0,
+      PrerenderedLayers.none()
+    );
+  }
 
+  /**
+   * Create a vector tile response, the encoded tile is cached in the given cache.
+   *
+   * @param layerVersion      The current version of the data in a layer. The version must be
+   *                          incremented every time the data changes, this is used to skip the
+   *                          cached tiles containing the old data. Tiles containing a layer with
+   *                          the version {@link VectorTileCache#NOT_CACHED} are not cached.
+   * @param prerenderedLayers The layers rendered in advance, the other layers are rendered for
+   *                          the request.
+   */
+  public static <LayerType extends Enum<LayerType>> Response create(
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    List<String> requestedLayers,
+    List<LayerParameters<LayerType>> availableLayers,
+    LayerBuilderFactory<LayerType> layerBuilderFactory,
+    OtpServerRequestContext context,
+    VectorTileCache cache,
+    ToLongFunction<LayerParameters<LayerType>> layerVersion,
+    PrerenderedLayers<LayerType> prerenderedLayers
+  ) {
     int cacheMaxSeconds = Integer.MAX_VALUE;
 
     var availableLayerNames = availableLayers
@@ -50,29 +89,102 @@ public class VectorTileResponseFactory {
         .build();
     }
 
-    for (LayerParameters<LayerType> layerParameters : availableLayers) {
-      if (
+    List<LayerParameters<LayerType>> layers = availableLayers
+      .stream()
+      .filter(layerParameters ->
         requestedLayers.contains(layerParameters.name()) &&
         layerParameters.minZoom() <= z &&
         z <= layerParameters.maxZoom()
-      ) {
-        cacheMaxSeconds = Math.min(cacheMaxSeconds, layerParameters.cacheMaxSeconds());
-        VectorTile.Tile.Layer layer = layerBuilderFactory
-          .createLayerBuilder(layerParameters, locale, context)
-          .build(envelope);
-        mvtBuilder.addLayers(layer);
+      )
+      .toList();
+
+    long version = 0;
+    boolean cached = true;
+    for (LayerParameters<LayerType> layerParameters : layers) {
+      cacheMaxSeconds = Math.min(cacheMaxSeconds, layerParameters.cacheMaxSeconds());
+      long layerDataVersion = layerVersion.applyAsLong(layerParameters);
+      if (layerDataVersion == VectorTileCache.NOT_CACHED) {
+        cached = false;
       }
+      version += layerDataVersion;
     }
 
+    Supplier<byte[]> tileFactory = () ->
+      createTile(x, y, z, locale, layers, layerBuilderFactory, prerenderedLayers, context);
+    byte[] tile = cached
+      ? cache.get(new VectorTileCache.Key(requestedLayers, z, x, y, locale, version), tileFactory)
+      : tileFactory.get();
+
     CacheControl cacheControl = new CacheControl();
     if (cacheMaxSeconds != Integer.MAX_VALUE) {
       cacheControl.setMaxAge(cacheMaxSeconds);
     }
-    return Response
-      .status(Response.Status.OK)
-      .cacheControl(cacheControl)
-      .entity(mvtBuilder.build().toByteArray())
-      .build();
+    return Response.status(Response.Status.OK).cacheControl(cacheControl).entity(tile).build();
+  }
+
+  /**
+   * The layers are a repeated field in the tile protobuf message, and concatenating encoded
+   * messages merges them. So a tile with many layers is created by concatenating tiles with a
+   * single layer each, and the pre-rendered layers are copied as they are, without decoding them.
+   */
+  private static <LayerType extends Enum<LayerType>> byte[] createTile(
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    List<LayerParameters<LayerType>> layers,
+    LayerBuilderFactory<LayerType> layerBuilderFactory,
+    PrerenderedLayers<LayerType> prerenderedLayers,
+    OtpServerRequestContext context
+  ) {
+    List<ByteBuffer> encodedLayers = new ArrayList<>(layers.size());
+    int size = 0;
+    for (LayerParameters<LayerType> layerParameters : layers) {
+      ByteBuffer encodedLayer = prerenderedLayers.find(layerParameters, z, x, y, locale);
+      if (encodedLayer == null) {
+        encodedLayer =
+          ByteBuffer.wrap(
+            createLayerTile(x, y, z, locale, layerParameters, layerBuilderFactory, context)
+          );
+      }
+      encodedLayers.add(encodedLayer);
+      size += encodedLayer.remaining();
+    }
+
+    byte[] tile = new byte[size];
+    int offset = 0;
+    for (ByteBuffer encodedLayer : encodedLayers) {
+      int length = encodedLayer.remaining();
+      encodedLayer.get(encodedLayer.position(), tile, offset, length);
+      offset += length;
+    }
+    return tile;
+  }
+
+  private static <LayerType extends Enum<LayerType>> byte[] createLayerTile(
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    LayerParameters<LayerType> layerParameters,
+    LayerBuilderFactory<LayerType> layerBuilderFactory,
+    OtpServerRequestContext context
+  ) {
+    return createLayerTile(
+      x,
+      y,
+      z,
+      layerBuilderFactory.createLayerBuilder(layerParameters, locale, context)
+    );
+  }
+
+  /**
+   * Render an encoded tile containing only the layer of the given builder.
+   */
+  public static byte[] createLayerTile(int x, int y, int z, LayerBuilder<?> layerBuilder) {
+    Envelope envelope = WebMercatorTile.tile2Envelope(x, y, z);
+    VectorTile.Tile.Layer layer = layerBuilder.build(envelope);
+    return VectorTile.Tile.newBuilder().addLayers(layer).build().toByteArray();
   }
 
   @FunctionalInterface
@@ -62,6 +62,10 @@ public class Timetable implements Serializable {
   @Nullable
   private final LocalDate serviceDate;
 
+  /** Created the first time it is used, see {@link #getDepartureIndex()}. */
+  @Nullable
+  private transient volatile TimetableDepartureIndex departureIndex;
+
   Timetable(TimetableBuilder timetableBuilder) {
     this.pattern = timetableBuilder.getPattern();
     this.serviceDate = timetableBuilder.getServiceDate();
@@ -406,6 +410,21 @@ public class Timetable implements Serializable {
     return tripTimes;
   }
 
+  /**
+   * The trip times sorted by the departure time at each stop, used to find the next departures
+   * from a stop. The index is created the first time it is used, a timetable is never changed, so
+   * the index is only created again for the new timetables made by real-time updates.
+   */
+  public TimetableDepartureIndex getDepartureIndex() {
+    var index = departureIndex;
+    if (index == null) {
+      // Two threads may create the index at the same time, they create equal indices
+      index = new TimetableDepartureIndex(tripTimes, pattern.numberOfStops());
+      departureIndex = index;
+    }
+    return index;
+  }
+
   /**
    * Contains one FrequencyEntry object for each block of frequency-based trips.
    */
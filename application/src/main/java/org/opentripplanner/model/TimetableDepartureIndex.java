@@ -0,0 +1,116 @@
+package org.opentripplanner.model;
+
+import java.util.Arrays;
+import java.util.List;
+import org.opentripplanner.transit.model.timetable.TripTimes;
+
+/**
+ * The trip times of a {@link Timetable} sorted by the departure time at each stop position of the
+ * pattern. This is used to find the next departures from a stop with a binary search, instead of
+ * scanning all the trip times of the timetable.
+ * <p>
+ * The index is immutable, like the timetable. When a real-time update changes the trip times of a
+ * pattern a new timetable is created, and the index is built again for the new timetable only.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class TimetableDepartureIndex {
+
+  private final List<TripTimes> tripTimes;
+
+  /** The departure times at each stop position, in increasing order. */
+  private final int[][] departureTimes;
+
+  /** The index of the trip times of each departure in {@link #departureTimes}. */
+  private final int[][] tripIndices;
+
+  /** The longest time between the arrival and the departure of a trip at each stop position. */
+  private final int[] maxDwellTimes;
+
+  TimetableDepartureIndex(List<TripTimes> tripTimes, int numberOfStops) {
+    this.tripTimes = tripTimes;
+    this.departureTimes = new int[numberOfStops][];
+    this.tripIndices = new int[numberOfStops][];
+    this.maxDwellTimes = new int[numberOfStops];
+
+    int numberOfTrips = tripTimes.size();
+    long[] sortKeys = new long[numberOfTrips];
+    for (int stopPos = 0; stopPos < numberOfStops; stopPos++) {
+      int maxDwellTime = 0;
+      for (int i = 0; i < numberOfTrips; i++) {
+        var times = tripTimes.get(i);
+        int departureTime = times.getDepartureTime(stopPos);
+        maxDwellTime = Math.max(maxDwellTime, departureTime - times.getArrivalTime(stopPos));
+        // Sort by departure time, and then by the order in the timetable
+        sortKeys[i] = ((long) departureTime << 32) | i;
+      }
+      Arrays.sort(sortKeys);
+
+      int[] departures = new int[numberOfTrips];
+      int[] indices = new int[numberOfTrips];
+      for (int i = 0; i < numberOfTrips; i++) {
+        departures[i] = (int) (sortKeys[i] >> 32);
+        indices[i] = (int) sortKeys[i];
+      }
+      departureTimes[stopPos] = departures;
+      tripIndices[stopPos] = indices;
+      maxDwellTimes[stopPos] = maxDwellTime;
+    }
+  }
+
+  /**
+   * The number of departures from each stop position, this is the number of trip times in the
+   * timetable.
+   */
+  public int size() {
+    return tripTimes.size();
+  }
+
+  /**
+   * Return the position of the first departure from the stop position at or after the given time,
+   * or {@link #size()} if there is none.
+   */
+  public int firstDepartureAtOrAfter(int stopPos, int time) {
+    int[] departures = departureTimes[stopPos];
+    int low = 0;
+    int high = departures.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (departures[mid] < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The departure time of the i-th departure from the stop position.
+   */
+  public int departureTime(int stopPos, int i) {
+    return departureTimes[stopPos][i];
+  }
+
+  /**
+   * The index in the timetable of the trip times of the i-th departure from the stop position.
+   */
+  public int tripIndex(int stopPos, int i) {
+    return tripIndices[stopPos][i];
+  }
+
+  /**
+   * The trip times of the i-th departure from the stop position.
+   */
+  public TripTimes tripTimes(int stopPos, int i) {
+    return tripTimes.get(tripIndices[stopPos][i]);
+  }
+
+  /**
+   * The longest time a trip stays at the stop position, between the arrival and the departure.
+   * All trips departing after {@code time + maxDwellTime} arrive after {@code time}.
+   */
+  public int maxDwellTime(int stopPos) {
+    return maxDwellTimes[stopPos];
+  }
+}
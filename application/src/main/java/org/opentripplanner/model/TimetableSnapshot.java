@@ -2,11 +2,8 @@ package org.opentripplanner.model;
 
 import static org.opentripplanner.framework.collection.CollectionUtils.getByNullableKey;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.SetMultimap;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
@@ -16,9 +13,11 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import javax.annotation.Nullable;
+import org.opentripplanner.framework.collection.PersistentMap;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.TransitLayerUpdater;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.framework.Result;
@@ -74,6 +73,11 @@ import org.slf4j.LoggerFactory;
  * in final fields and completely initialized in the constructor. This provides an additional
  * guarantee of safe-publication without synchronization.
  * (see <a href="https://docs.oracle.com/javase/specs/jls/se7/html/jls-17.html#jls-17.5">final Field Semantics</a>)
+ * <p>
+ * The maps of the mutable buffer are {@link PersistentMap.Builder}s, and the maps of a committed
+ * snapshot are {@link PersistentMap}s sharing structure with the buffer. Committing a snapshot
+ * is therefore O(1), and each update only copies the path to the changed entry. The maps may
+ * contain hundreds of thousands of entries, so copying them on every commit would be expensive.
  */
 public class TimetableSnapshot {
 
@@ -123,11 +127,11 @@ public class TimetableSnapshot {
    * This is an index of TripPatterns, not the primary collection. It tracks which TripPatterns
    * that were updated or newly created by realtime messages contain which stops. This allows them
    * to be readily found and included in API responses containing stop times at a specific stop.
-   * This is a SetMultimap, so that each pattern is only retained once per stop even if it's added
+   * The values are sets, so that each pattern is only retained once per stop even if it's added
    * more than once.
    * TODO RT_AB: More general handling of all realtime indexes outside primary data structures.
    */
-  private final SetMultimap<StopLocation, TripPattern> patternsForStop;
+  private final Map<StopLocation, Set<TripPattern>> patternsForStop;
 
   /**
    * The realTimeAdded* maps are indexes on the trips created at runtime (extra-journey), and the
@@ -137,7 +141,7 @@ public class TimetableSnapshot {
   private final Map<FeedScopedId, Route> realtimeAddedRoutes;
   private final Map<FeedScopedId, Trip> realTimeAddedTrips;
   private final Map<Trip, TripPattern> realTimeAddedPatternForTrip;
-  private final Multimap<Route, TripPattern> realTimeAddedPatternsForRoute;
+  private final Map<Route, Set<TripPattern>> realTimeAddedPatternsForRoute;
   private final Map<FeedScopedId, TripOnServiceDate> realTimeAddedTripOnServiceDateById;
   private final Map<TripIdAndServiceDate, TripOnServiceDate> realTimeAddedTripOnServiceDateForTripAndDay;
 
@@ -155,15 +159,15 @@ public class TimetableSnapshot {
 
   public TimetableSnapshot() {
     this(
-      new HashMap<>(),
-      new HashMap<>(),
-      new HashMap<>(),
-      new HashMap<>(),
-      new HashMap<>(),
-      HashMultimap.create(),
-      new HashMap<>(),
-      new HashMap<>(),
-      HashMultimap.create(),
+      PersistentMap.<TripPattern, SortedSet<Timetable>>of().toBuilder(),
+      PersistentMap.<TripIdAndServiceDate, TripPattern>of().toBuilder(),
+      PersistentMap.<FeedScopedId, Route>of().toBuilder(),
+      PersistentMap.<FeedScopedId, Trip>of().toBuilder(),
+      PersistentMap.<Trip, TripPattern>of().toBuilder(),
+      PersistentMap.<Route, Set<TripPattern>>of().toBuilder(),
+      PersistentMap.<FeedScopedId, TripOnServiceDate>of().toBuilder(),
+      PersistentMap.<TripIdAndServiceDate, TripOnServiceDate>of().toBuilder(),
+      PersistentMap.<StopLocation, Set<TripPattern>>of().toBuilder(),
       false
     );
   }
@@ -174,10 +178,10 @@ public class TimetableSnapshot {
     Map<FeedScopedId, Route> realtimeAddedRoutes,
     Map<FeedScopedId, Trip> realtimeAddedTrips,
     Map<Trip, TripPattern> realTimeAddedPatternForTrip,
-    Multimap<Route, TripPattern> realTimeAddedPatternsForRoute,
+    Map<Route, Set<TripPattern>> realTimeAddedPatternsForRoute,
     Map<FeedScopedId, TripOnServiceDate> realTimeAddedTripOnServiceDateById,
     Map<TripIdAndServiceDate, TripOnServiceDate> realTimeAddedTripOnServiceDateForTripAndDay,
-    SetMultimap<StopLocation, TripPattern> patternsForStop,
+    Map<StopLocation, Set<TripPattern>> patternsForStop,
     boolean readOnly
   ) {
     this.timetables = timetables;
@@ -265,7 +269,7 @@ public class TimetableSnapshot {
    * Return the trip patterns created by the updater for the given route.
    */
   public Collection<TripPattern> getRealTimeAddedPatternForRoute(Route route) {
-    return realTimeAddedPatternsForRoute.get(route);
+    return realTimeAddedPatternsForRoute.getOrDefault(route, Set.of());
   }
 
   /**
@@ -334,7 +338,7 @@ public class TimetableSnapshot {
       FeedScopedId tripId = trip.getId();
       realTimeAddedTrips.put(tripId, trip);
       realTimeAddedPatternForTrip.put(trip, pattern);
-      realTimeAddedPatternsForRoute.put(route, pattern);
+      addToSetIndex(realTimeAddedPatternsForRoute, route, pattern);
       TripOnServiceDate tripOnServiceDate = realTimeTripUpdate.addedTripOnServiceDate();
 
       if (tripOnServiceDate != null) {
@@ -372,15 +376,15 @@ public class TimetableSnapshot {
       return null;
     }
     TimetableSnapshot ret = new TimetableSnapshot(
-      Map.copyOf(timetables),
-      Map.copyOf(realTimeNewTripPatternsForModifiedTrips),
-      Map.copyOf(realtimeAddedRoutes),
-      Map.copyOf(realTimeAddedTrips),
-      Map.copyOf(realTimeAddedPatternForTrip),
-      ImmutableSetMultimap.copyOf(realTimeAddedPatternsForRoute),
-      Map.copyOf(realTimeAddedTripOnServiceDateById),
-      Map.copyOf(realTimeAddedTripOnServiceDateForTripAndDay),
-      ImmutableSetMultimap.copyOf(patternsForStop),
+      PersistentMap.copyOf(timetables),
+      PersistentMap.copyOf(realTimeNewTripPatternsForModifiedTrips),
+      PersistentMap.copyOf(realtimeAddedRoutes),
+      PersistentMap.copyOf(realTimeAddedTrips),
+      PersistentMap.copyOf(realTimeAddedPatternForTrip),
+      PersistentMap.copyOf(realTimeAddedPatternsForRoute),
+      PersistentMap.copyOf(realTimeAddedTripOnServiceDateById),
+      PersistentMap.copyOf(realTimeAddedTripOnServiceDateForTripAndDay),
+      PersistentMap.copyOf(patternsForStop),
       true
     );
 
@@ -485,11 +489,15 @@ public class TimetableSnapshot {
       for (Timetable timetable : sortedTimetables) {
         if (serviceDate.isBefore(timetable.getServiceDate())) {
           toKeepTimetables.add(timetable);
-        } else {
-          modified = true;
         }
       }
 
+      // Only replace the timetables that changed, the rest is shared with previous snapshots
+      if (toKeepTimetables.size() == sortedTimetables.size()) {
+        continue;
+      }
+      modified = true;
+
       if (toKeepTimetables.isEmpty()) {
         it.remove();
       } else {
@@ -527,7 +535,7 @@ public class TimetableSnapshot {
   }
 
   public Collection<TripPattern> getPatternsForStop(StopLocation stop) {
-    return patternsForStop.get(stop);
+    return patternsForStop.getOrDefault(stop, Set.of());
   }
 
   /**
@@ -571,11 +579,24 @@ public class TimetableSnapshot {
       //TODO - SIRI: Add pattern to index?
 
       for (var stop : tripPattern.getStops()) {
-        patternsForStop.put(stop, tripPattern);
+        addToSetIndex(patternsForStop, stop, tripPattern);
       }
     }
   }
 
+  /**
+   * Add a value to an index of immutable sets. The sets are small, so they are copied on write
+   * to avoid changing sets shared with previous snapshots.
+   */
+  private static <K, V> void addToSetIndex(Map<K, Set<V>> index, K key, V value) {
+    Set<V> values = index.get(key);
+    if (values == null) {
+      index.put(key, Set.of(value));
+    } else if (!values.contains(value)) {
+      index.put(key, ImmutableSet.<V>builder().addAll(values).add(value).build());
+    }
+  }
+
   /**
    * Replace the original Timetable by the updated one in the timetable index.
    * The SortedSet that holds the collection of Timetables for that pattern
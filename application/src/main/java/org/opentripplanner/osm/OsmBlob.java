@@ -0,0 +1,102 @@
+package org.opentripplanner.osm;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
+import org.openstreetmap.osmosis.osmbinary.Fileformat;
+
+/**
+ * A blob of an OSM PBF file, as it is stored in the file. Reading a blob is cheap, while
+ * decompressing and parsing it is expensive, so the blobs are read on one thread and decoded in
+ * parallel. See <a href="https://wiki.openstreetmap.org/wiki/PBF_Format">the PBF format</a>.
+ */
+record OsmBlob(String type, byte[] data) {
+  /** The maximum sizes allowed by the PBF format. */
+  private static final int MAX_HEADER_SIZE = 64 * 1024;
+  private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+
+  private static final String OSM_HEADER = "OSMHeader";
+  private static final String OSM_DATA = "OSMData";
+
+  /**
+   * Read the next blob from the input stream, return {@code null} at the end of the stream.
+   */
+  @Nullable
+  static OsmBlob read(DataInputStream input) throws IOException {
+    int headerSize;
+    try {
+      headerSize = input.readInt();
+    } catch (EOFException e) {
+      return null;
+    }
+    if (headerSize < 0 || headerSize > MAX_HEADER_SIZE) {
+      throw new IOException("Invalid OSM PBF file, the size of a blob header is " + headerSize);
+    }
+    var header = Fileformat.BlobHeader.parseFrom(readFully(input, headerSize));
+
+    int blobSize = header.getDatasize();
+    if (blobSize < 0 || blobSize > MAX_BLOB_SIZE) {
+      throw new IOException("Invalid OSM PBF file, the size of a blob is " + blobSize);
+    }
+    return new OsmBlob(header.getType(), readFully(input, blobSize));
+  }
+
+  boolean isHeader() {
+    return OSM_HEADER.equals(type);
+  }
+
+  boolean isData() {
+    return OSM_DATA.equals(type);
+  }
+
+  /**
+   * Return the uncompressed content of the blob. This is THREAD-SAFE.
+   */
+  ByteString decompress() throws InvalidProtocolBufferException {
+    var blob = Fileformat.Blob.parseFrom(data);
+    if (blob.hasRaw()) {
+      return blob.getRaw();
+    }
+    if (!blob.hasZlibData()) {
+      throw new IllegalStateException(
+        "Unsupported compression of an OSM PBF blob, only raw and zlib blobs are supported."
+      );
+    }
+    byte[] raw = new byte[blob.getRawSize()];
+    var inflater = new Inflater();
+    try {
+      inflater.setInput(blob.getZlibData().asReadOnlyByteBuffer());
+      int size = 0;
+      while (!inflater.finished() && size < raw.length) {
+        int n = inflater.inflate(raw, size, raw.length - size);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        size += n;
+      }
+      if (size != raw.length) {
+        throw new IllegalStateException(
+          "Invalid OSM PBF blob, expected %d bytes but got %d.".formatted(raw.length, size)
+        );
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Invalid zlib data in an OSM PBF blob.", e);
+    } finally {
+      inflater.end();
+    }
+    // The array is not used anywhere else, so it does not need to be copied
+    return UnsafeByteOperations.unsafeWrap(raw);
+  }
+
+  private static byte[] readFully(DataInputStream input, int size) throws IOException {
+    byte[] bytes = new byte[size];
+    input.readFully(bytes);
+    return bytes;
+  }
+}
@@ -1,9 +1,12 @@
 package org.opentripplanner.osm;
 
-import java.util.HashMap;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import org.openstreetmap.osmosis.osmbinary.BinaryParser;
 import org.openstreetmap.osmosis.osmbinary.Osmformat;
 import org.opentripplanner.graph_builder.module.osm.OsmDatabase;
@@ -15,49 +18,110 @@ import org.opentripplanner.osm.model.OsmTag;
 import org.opentripplanner.osm.model.OsmWay;
 
 /**
- * Parser for the OpenStreetMap PBF Format.
+ * Parser for one block of the OpenStreetMap PBF Format. The entities of the current phase are
+ * collected, and added to the {@link OsmDatabase} with {@link #addTo(OsmDatabase)}. The blocks
+ * are parsed in parallel, each with its own parser, and added to the database in the order of
+ * the file.
  *
  * @since 0.4
  */
 class OsmParser extends BinaryParser {
 
-  private final OsmDatabase osmdb;
-  private final Map<String, String> stringTable = new HashMap<>();
   private final OsmProvider provider;
-  private OsmParserPhase parsePhase;
+  private final OsmParserPhase parsePhase;
+  private final ConcurrentMap<String, String> stringTable;
 
-  public OsmParser(OsmDatabase osmdb, OsmProvider provider) {
-    this.osmdb = Objects.requireNonNull(osmdb);
+  /** The strings of the block, internalized when they are used the first time. */
+  private String[] blockStrings = new String[0];
+
+  /** The phases with entities in this block, used to skip the block in the next phases. */
+  private final Set<OsmParserPhase> phasesInBlock = EnumSet.noneOf(OsmParserPhase.class);
+
+  private final List<OsmRelation> relations = new ArrayList<>();
+  private final List<OsmWay> ways = new ArrayList<>();
+  private final List<OsmNode> nodes = new ArrayList<>();
+
+  /**
+   * @param stringTable The strings shared by all blocks, must be THREAD-SAFE.
+   */
+  OsmParser(
+    OsmProvider provider,
+    OsmParserPhase parsePhase,
+    ConcurrentMap<String, String> stringTable
+  ) {
     this.provider = Objects.requireNonNull(provider);
+    this.parsePhase = Objects.requireNonNull(parsePhase);
+    this.stringTable = Objects.requireNonNull(stringTable);
   }
 
-  // The strings are already being pulled from a string table in the PBF file,
-  // but there appears to be a separate string table per 8k-entry PBF file block.
-  // String.intern grinds to a halt on large PBF files (as it did on GTFS import), so
-  // we implement our own.
-  public String internalize(String s) {
-    String fromTable = stringTable.get(s);
-    if (fromTable == null) {
-      stringTable.put(s, s);
-      return s;
+  /**
+   * Decompress and parse the blob.
+   */
+  void parse(OsmBlob blob) {
+    try {
+      if (blob.isHeader()) {
+        parse(Osmformat.HeaderBlock.parseFrom(blob.decompress()));
+      } else if (blob.isData()) {
+        parse(Osmformat.PrimitiveBlock.parseFrom(blob.decompress()));
+      }
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalStateException("Invalid OSM PBF block: " + e.getMessage(), e);
     }
-    return fromTable;
+  }
+
+  /**
+   * Add the parsed entities to the database. This is not THREAD-SAFE, the database is not
+   * thread-safe.
+   */
+  void addTo(OsmDatabase osmdb) {
+    relations.forEach(osmdb::addRelation);
+    ways.forEach(osmdb::addWay);
+    nodes.forEach(osmdb::addNode);
+  }
+
+  /**
+   * The phases which have entities in this block.
+   */
+  Set<OsmParserPhase> phasesInBlock() {
+    return phasesInBlock;
   }
 
   @Override
-  public void complete() {
-    // Jump in circles
+  public void parse(Osmformat.PrimitiveBlock block) {
+    blockStrings = new String[block.getStringtable().getSCount()];
+    super.parse(block);
   }
 
   /**
-   * Set the phase to be parsed
+   * The strings are already being pulled from a string table in the PBF file, but there is a
+   * separate string table per 8k-entry PBF file block. String.intern grinds to a halt on large PBF
+   * files (as it did on GTFS import), so we implement our own. Each string is only looked up in
+   * the shared table the first time it is used in a block, after that the string id is used.
    */
-  public void setPhase(OsmParserPhase phase) {
-    this.parsePhase = phase;
+  @Override
+  protected String getStringById(int id) {
+    String s = blockStrings[id];
+    if (s == null) {
+      String value = super.getStringById(id);
+      s = stringTable.putIfAbsent(value, value);
+      if (s == null) {
+        s = value;
+      }
+      blockStrings[id] = s;
+    }
+    return s;
+  }
+
+  @Override
+  public void complete() {
+    // Jump in circles
   }
 
   @Override
   protected void parseRelations(List<Osmformat.Relation> rels) {
+    if (!rels.isEmpty()) {
+      phasesInBlock.add(OsmParserPhase.Relations);
+    }
     if (parsePhase != OsmParserPhase.Relations) {
       return;
     }
@@ -69,8 +133,8 @@ class OsmParser extends BinaryParser {
 
       for (int j = 0; j < i.getKeysCount(); j++) {
         OsmTag tag = new OsmTag();
-        String key = internalize(getStringById(i.getKeys(j)));
-        String value = internalize(getStringById(i.getVals(j)));
+        String key = getStringById(i.getKeys(j));
+        String value = getStringById(i.getVals(j));
         tag.setK(key);
         tag.setV(value);
         tmp.addTag(tag);
@@ -84,7 +148,7 @@ class OsmParser extends BinaryParser {
         relMember.setRef(mid);
         lastMid = mid;
 
-        relMember.setRole(internalize(getStringById(i.getRolesSid(j))));
+        relMember.setRole(getStringById(i.getRolesSid(j)));
 
         if (i.getTypes(j) == Osmformat.Relation.MemberType.NODE) {
           relMember.setType(OsmMemberType.NODE);
@@ -99,7 +163,7 @@ class OsmParser extends BinaryParser {
         tmp.addMember(relMember);
       }
 
-      osmdb.addRelation(tmp);
+      relations.add(tmp);
     }
   }
 
@@ -108,6 +172,9 @@ class OsmParser extends BinaryParser {
     long lastId = 0, lastLat = 0, lastLon = 0;
     int j = 0; // Index into the keysvals array.
 
+    if (nodes.getIdCount() > 0) {
+      phasesInBlock.add(OsmParserPhase.Nodes);
+    }
     if (parsePhase != OsmParserPhase.Nodes) {
       return;
     }
@@ -135,8 +202,8 @@ class OsmParser extends BinaryParser {
           int valid = nodes.getKeysVals(j++);
 
           OsmTag tag = new OsmTag();
-          String key = internalize(getStringById(keyid));
-          String value = internalize(getStringById(valid));
+          String key = getStringById(keyid);
+          String value = getStringById(valid);
           tag.setK(key);
           tag.setV(value);
           tmp.addTag(tag);
@@ -144,12 +211,15 @@ class OsmParser extends BinaryParser {
         j++; // Skip over the '0' delimiter.
       }
 
-      osmdb.addNode(tmp);
+      this.nodes.add(tmp);
     }
   }
 
   @Override
   protected void parseNodes(List<Osmformat.Node> nodes) {
+    if (!nodes.isEmpty()) {
+      phasesInBlock.add(OsmParserPhase.Nodes);
+    }
     if (parsePhase != OsmParserPhase.Nodes) {
       return;
     }
@@ -162,21 +232,24 @@ class OsmParser extends BinaryParser {
       tmp.lon = parseLon(i.getLon());
 
       for (int j = 0; j < i.getKeysCount(); j++) {
-        String key = internalize(getStringById(i.getKeys(j)));
+        String key = getStringById(i.getKeys(j));
         // if handler.retain_tag(key) // TODO: filter tags
-        String value = internalize(getStringById(i.getVals(j)));
+        String value = getStringById(i.getVals(j));
         OsmTag tag = new OsmTag();
         tag.setK(key);
         tag.setV(value);
         tmp.addTag(tag);
       }
 
-      osmdb.addNode(tmp);
+      this.nodes.add(tmp);
     }
   }
 
   @Override
   protected void parseWays(List<Osmformat.Way> ways) {
+    if (!ways.isEmpty()) {
+      phasesInBlock.add(OsmParserPhase.Ways);
+    }
     if (parsePhase != OsmParserPhase.Ways) {
       return;
     }
@@ -188,8 +261,8 @@ class OsmParser extends BinaryParser {
 
       for (int j = 0; j < i.getKeysCount(); j++) {
         OsmTag tag = new OsmTag();
-        String key = internalize(getStringById(i.getKeys(j)));
-        String value = internalize(getStringById(i.getVals(j)));
+        String key = getStringById(i.getKeys(j));
+        String value = getStringById(i.getVals(j));
         tag.setK(key);
         tag.setV(value);
         tmp.addTag(tag);
@@ -201,7 +274,7 @@ class OsmParser extends BinaryParser {
         lastId = j + lastId;
       }
 
-      osmdb.addWay(tmp);
+      this.ways.add(tmp);
     }
   }
 
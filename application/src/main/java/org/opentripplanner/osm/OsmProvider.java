@@ -1,16 +1,29 @@
 package org.opentripplanner.osm;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
-import org.openstreetmap.osmosis.osmbinary.file.BlockInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.datastore.api.FileType;
 import org.opentripplanner.datastore.file.FileDataSource;
 import org.opentripplanner.framework.application.OtpFileNames;
 import org.opentripplanner.framework.logging.ProgressTracker;
+import org.opentripplanner.framework.time.DurationUtils;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.module.osm.OsmDatabase;
@@ -23,11 +36,20 @@ import org.slf4j.LoggerFactory;
 /**
  * Parser for the OpenStreetMap PBF format. Parses files in three passes: First the relations, then
  * the ways, then the nodes are also loaded.
+ * <p>
+ * The blobs of the file are read on the calling thread, and decompressed and parsed in parallel.
+ * The parsed blocks are added to the {@link OsmDatabase} on the calling thread, in the order of
+ * the file, so the result is the same as when the file is parsed sequentially. The first pass
+ * records which blocks contain ways and nodes, so the blocks without them are not decoded again
+ * in the next passes.
  */
 public class OsmProvider {
 
   private static final Logger LOG = LoggerFactory.getLogger(OsmProvider.class);
 
+  /** The number of blocks decoded ahead of the block added to the database, for each thread. */
+  private static final int BLOCKS_IN_PROGRESS_PER_THREAD = 2;
+
   private final DataSource source;
   private final boolean cacheDataInMem;
 
@@ -40,6 +62,9 @@ public class OsmProvider {
   private final WayPropertySet wayPropertySet;
   private byte[] cachedBytes = null;
 
+  /** The phases with entities in each block of the file, recorded in the first phase. */
+  private final List<Set<OsmParserPhase>> phasesByBlock = new ArrayList<>();
+
   /** For tests */
   public OsmProvider(File file, boolean cacheDataInMem) {
     this(
@@ -67,19 +92,28 @@ public class OsmProvider {
   }
 
   public void readOsm(OsmDatabase osmdb) {
+    int nThreads = Runtime.getRuntime().availableProcessors();
+    ExecutorService executor = Executors.newFixedThreadPool(
+      nThreads,
+      new ThreadFactoryBuilder().setNameFormat("osm-parser-%d").setDaemon(true).build()
+    );
     try {
-      OsmParser parser = new OsmParser(osmdb, this);
+      ConcurrentMap<String, String> stringTable = new ConcurrentHashMap<>();
+      int maxBlocksInProgress = nThreads * BLOCKS_IN_PROGRESS_PER_THREAD;
+      phasesByBlock.clear();
 
-      parsePhase(parser, OsmParserPhase.Relations);
+      parsePhase(osmdb, OsmParserPhase.Relations, stringTable, executor, maxBlocksInProgress);
       osmdb.doneFirstPhaseRelations();
 
-      parsePhase(parser, OsmParserPhase.Ways);
+      parsePhase(osmdb, OsmParserPhase.Ways, stringTable, executor, maxBlocksInProgress);
       osmdb.doneSecondPhaseWays();
 
-      parsePhase(parser, OsmParserPhase.Nodes);
+      parsePhase(osmdb, OsmParserPhase.Nodes, stringTable, executor, maxBlocksInProgress);
       osmdb.doneThirdPhaseNodes();
     } catch (Exception ex) {
       throw new IllegalStateException("error loading OSM from path " + source.path(), ex);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
@@ -105,21 +139,60 @@ public class OsmProvider {
     return ProgressTracker.track("Parse OSM " + phase, 1000, size, inputStream, m -> LOG.info(m));
   }
 
-  private void parsePhase(OsmParser parser, OsmParserPhase phase) throws IOException {
-    parser.setPhase(phase);
-    BlockInputStream in = null;
-    try {
-      in = new BlockInputStream(createInputStream(phase), parser);
-      in.process();
-    } finally {
-      // Close
-      try {
-        if (in != null) {
-          in.close();
+  private void parsePhase(
+    OsmDatabase osmdb,
+    OsmParserPhase phase,
+    ConcurrentMap<String, String> stringTable,
+    ExecutorService executor,
+    int maxBlocksInProgress
+  ) throws IOException, InterruptedException, ExecutionException {
+    long startTime = System.currentTimeMillis();
+    boolean firstPhase = phasesByBlock.isEmpty();
+    int blockIndex = 0;
+    int decodedBlocks = 0;
+    Deque<Future<OsmParser>> blocksInProgress = new ArrayDeque<>();
+
+    try (var in = new DataInputStream(createInputStream(phase))) {
+      for (OsmBlob blob = OsmBlob.read(in); blob != null; blob = OsmBlob.read(in), ++blockIndex) {
+        // The header is always parsed, it is used to check that the file can be parsed
+        if (!firstPhase && !blob.isHeader() && !phasesByBlock.get(blockIndex).contains(phase)) {
+          continue;
         }
-      } catch (Exception e) {
-        LOG.error(e.getMessage(), e);
+        final OsmBlob block = blob;
+        blocksInProgress.add(
+          executor.submit(() -> {
+            var parser = new OsmParser(this, phase, stringTable);
+            parser.parse(block);
+            return parser;
+          })
+        );
+        ++decodedBlocks;
+
+        if (blocksInProgress.size() >= maxBlocksInProgress) {
+          addToDatabase(blocksInProgress.removeFirst(), osmdb, firstPhase);
+        }
+      }
+      while (!blocksInProgress.isEmpty()) {
+        addToDatabase(blocksInProgress.removeFirst(), osmdb, firstPhase);
       }
+    } finally {
+      blocksInProgress.forEach(it -> it.cancel(true));
+    }
+    LOG.info(
+      "Parsed OSM {} in {}, {} of {} blocks decoded.",
+      phase,
+      DurationUtils.msToSecondsStr(System.currentTimeMillis() - startTime),
+      decodedBlocks,
+      blockIndex
+    );
+  }
+
+  private void addToDatabase(Future<OsmParser> block, OsmDatabase osmdb, boolean firstPhase)
+    throws InterruptedException, ExecutionException {
+    var parser = block.get();
+    parser.addTo(osmdb);
+    if (firstPhase) {
+      phasesByBlock.add(parser.phasesInBlock());
     }
   }
 
@@ -15,6 +15,24 @@ public class OsmNode extends OsmWithTags {
     return "osm node " + id;
   }
 
+  /**
+   * There is only one node for each id, but the graph builder may create more than one instance
+   * of a node when the nodes are stored in a compact form. Hence, nodes are equal if the ids are
+   * equal.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof OsmNode other && id == other.id;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(id);
+  }
+
   public Coordinate getCoordinate() {
     return new Coordinate(this.lon, this.lat);
   }
@@ -32,7 +32,20 @@ public enum Optimization {
    * <p>
    * This only apply to: multi-criteria search.
    */
-  PARETO_CHECK_AGAINST_DESTINATION;
+  PARETO_CHECK_AGAINST_DESTINATION,
+
+  /**
+   * Check transit and transfer stop arrivals against the pareto-set of the stop, before the
+   * arrival objects are created. Most of the candidate arrivals are rejected by the pareto-set,
+   * so this avoids creating millions of short-lived objects in a big search. The check is done
+   * using the primitive criteria values only, and an arrival is only skipped if an existing
+   * arrival is as good or better for all criteria. Hence, the result is not changed.
+   * <p>
+   * This only apply to: multi-criteria search without c2 and relaxed c1. It is turned off if
+   * stop arrivals are debugged, so all rejected arrivals can be listed. It is not enabled by
+   * default, compare the "md" and "mp" SpeedTest profiles before enabling it.
+   */
+  PARETO_CHECK_BEFORE_CREATING_STOP_ARRIVALS;
 
   public boolean is(Optimization other) {
     return this == other;
@@ -133,6 +133,10 @@ public class RaptorRequest<T extends RaptorTripSchedule> {
     return optimizationEnabled(Optimization.PARETO_CHECK_AGAINST_DESTINATION);
   }
 
+  public boolean useParetoCheckBeforeCreatingStopArrivals() {
+    return optimizationEnabled(Optimization.PARETO_CHECK_BEFORE_CREATING_STOP_ARRIVALS);
+  }
+
   public boolean runInParallel() {
     return optimizationEnabled(Optimization.PARALLEL);
   }
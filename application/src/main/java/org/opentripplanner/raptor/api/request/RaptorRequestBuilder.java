@@ -164,6 +164,10 @@ public class RaptorRequestBuilder<T extends RaptorTripSchedule> {
       // Heuristic to prune on pareto optimal Destination arrivals
       name += "-DP";
     }
+    if (Optimization.PARETO_CHECK_BEFORE_CREATING_STOP_ARRIVALS.isOneOf(optimizations)) {
+      // Check stop arrivals against the stop pareto-set before they are created
+      name += "-PC";
+    }
     return name;
   }
 
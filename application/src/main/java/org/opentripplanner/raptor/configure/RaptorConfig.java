@@ -121,6 +121,10 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     return threadPool;
   }
 
+  public RaptorTuningParameters tuningParameters() {
+    return tuningParameters;
+  }
+
   public void shutdown() {
     if (threadPool != null) {
       threadPool.shutdown();
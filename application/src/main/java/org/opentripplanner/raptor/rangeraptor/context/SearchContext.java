@@ -133,6 +133,10 @@ public class SearchContext<T extends RaptorTripSchedule> {
     return request.multiCriteria();
   }
 
+  public boolean useParetoCheckBeforeCreatingStopArrivals() {
+    return request.useParetoCheckBeforeCreatingStopArrivals();
+  }
+
   public RaptorTransitDataProvider<T> transit() {
     return transit;
   }
@@ -32,4 +32,13 @@ public interface RaptorRouterResult<T extends RaptorTripSchedule> {
    * Return {@code true} if the destination was reached at least once.
    */
   boolean isDestinationReached();
+
+  /**
+   * Add the paths found by another search to this result, only the pareto-optimal paths are
+   * kept. This is used to merge the results of a search-window searched in parallel slices. Only
+   * the multi-criteria result supports this.
+   */
+  default void mergePaths(Collection<RaptorPath<T>> paths) {
+    throw new UnsupportedOperationException();
+  }
 }
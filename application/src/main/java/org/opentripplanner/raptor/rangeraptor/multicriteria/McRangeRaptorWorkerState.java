@@ -6,6 +6,7 @@ import java.util.List;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.request.Optimization;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerState;
 import org.opentripplanner.raptor.rangeraptor.internalapi.WorkerLifeCycle;
@@ -39,6 +40,13 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
   private final RaptorCostCalculator<T> calculatorGeneralizedCost;
   private final RaptorTransitCalculator<T> transitCalculator;
 
+  /**
+   * Check transit and transfer arrivals against the stop arrivals before they are created, see
+   * {@link Optimization#PARETO_CHECK_BEFORE_CREATING_STOP_ARRIVALS}. This is only valid for the c1
+   * stop arrivals, since the criteria are calculated here.
+   */
+  private final boolean paretoCheckBeforeCreatingArrivals;
+
   /**
    * create a RaptorState for a network with a particular number of stops, and a given maximum
    * duration
@@ -50,6 +58,7 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     McStopArrivalFactory<T> stopArrivalFactory,
     RaptorCostCalculator<T> calculatorGeneralizedCost,
     RaptorTransitCalculator<T> transitCalculator,
+    boolean paretoCheckBeforeCreatingArrivals,
     WorkerLifeCycle lifeCycle
   ) {
     this.arrivals = arrivals;
@@ -58,6 +67,7 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     this.stopArrivalFactory = stopArrivalFactory;
     this.calculatorGeneralizedCost = calculatorGeneralizedCost;
     this.transitCalculator = transitCalculator;
+    this.paretoCheckBeforeCreatingArrivals = paretoCheckBeforeCreatingArrivals;
 
     // Attach to the RR life cycle
     lifeCycle.onSetupIteration(ignore -> setupIteration());
@@ -136,6 +146,19 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
 
     final int c1 = calculateC1(ride, alightStop, alightTime, alightSlack);
 
+    if (
+      paretoCheckBeforeCreatingArrivals &&
+      arrivals.isDominated(
+        alightStop,
+        stopArrivalTime,
+        ride.prevArrival().nextTransitParetoRound(),
+        c1,
+        true
+      )
+    ) {
+      return;
+    }
+
     var transitState = stopArrivalFactory.createTransitStopArrival(
       ride,
       alightStop,
@@ -175,9 +198,22 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     for (McStopArrival<T> it : fromArrivals) {
       int arrivalTime = it.arrivalTime() + transferTimeInSeconds;
 
-      if (!exceedsTimeLimit(arrivalTime)) {
-        arrivalsCache.add(stopArrivalFactory.createTransferStopArrival(it, transfer, arrivalTime));
+      if (exceedsTimeLimit(arrivalTime)) {
+        continue;
+      }
+      if (
+        paretoCheckBeforeCreatingArrivals &&
+        arrivals.isDominated(
+          transfer.stop(),
+          arrivalTime,
+          it.nextTransferParetoRound(),
+          it.c1() + transfer.c1(),
+          false
+        )
+      ) {
+        continue;
       }
+      arrivalsCache.add(stopArrivalFactory.createTransferStopArrival(it, transfer, arrivalTime));
     }
   }
 
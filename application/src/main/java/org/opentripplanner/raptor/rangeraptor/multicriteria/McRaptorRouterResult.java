@@ -71,4 +71,9 @@ public class McRaptorRouterResult<T extends RaptorTripSchedule> implements Rapto
   public boolean isDestinationReached() {
     return !paths.isEmpty();
   }
+
+  @Override
+  public void mergePaths(Collection<RaptorPath<T>> paths) {
+    this.paths.addPaths(paths);
+  }
 }
@@ -115,6 +115,24 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     }
   }
 
+  /**
+   * Return {@code true} if the stop has an arrival as good as or better than a new arrival with
+   * the given criteria, see {@link McStopArrival#isAsGoodAs(int, int, int, boolean)}.
+   */
+  boolean isDominated(int stop, int arrivalTime, int paretoRound, int c1, boolean arrivedOnBoard) {
+    var set = arrivals[stop];
+    if (set == null) {
+      return false;
+    }
+    // Avoid creating an iterator in this tight loop
+    for (int i = 0; i < set.size(); ++i) {
+      if (set.get(i).isAsGoodAs(arrivalTime, paretoRound, c1, arrivedOnBoard)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   void debugStateInfo() {
     debugStats.debugStatInfo(arrivals);
   }
@@ -1,5 +1,7 @@
 package org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals;
 
+import static org.opentripplanner.raptor.api.model.PathLegType.TRANSIT;
+
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.model.RelaxFunction;
 import org.opentripplanner.raptor.api.view.ArrivalView;
@@ -103,6 +105,42 @@ public abstract class McStopArrival<T extends RaptorTripSchedule> implements Arr
     return travelDuration;
   }
 
+  /**
+   * The pareto-round of a transfer arrival following this arrival.
+   */
+  public final int nextTransferParetoRound() {
+    return paretoRound + 1;
+  }
+
+  /**
+   * The pareto-round of a transit arrival boarded at this arrival. An arrival by transit followed
+   * by transit (same stop transfer) skips the transfer round.
+   */
+  public final int nextTransitParetoRound() {
+    return paretoRound + (arrivedBy(TRANSIT) ? 2 : 1);
+  }
+
+  /**
+   * Return {@code true} if this arrival is as good as or better than a new arrival at the same
+   * stop with the given criteria for all of {@code arrivalTime}, {@code paretoRound}, {@code c1}
+   * and {@code arrivedOnBoard}. The new arrival would be rejected by a stop arrival pareto-set
+   * using a c1 comparator without relaxation, so there is no need to create it. This is not
+   * valid for the c2 and relaxed c1 comparators.
+   */
+  public final boolean isAsGoodAs(
+    int arrivalTime,
+    int paretoRound,
+    int c1,
+    boolean arrivedOnBoard
+  ) {
+    return (
+      this.arrivalTime <= arrivalTime &&
+      this.paretoRound <= paretoRound &&
+      this.c1 <= c1 &&
+      (arrivedOnBoard() || !arrivedOnBoard)
+    );
+  }
+
   public McStopArrival<T> timeShiftNewArrivalTime(int newArrivalTime) {
     throw new UnsupportedOperationException("No accessEgress for transfer stop arrival");
   }
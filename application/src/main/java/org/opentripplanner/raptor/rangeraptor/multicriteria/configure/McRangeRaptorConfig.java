@@ -162,12 +162,26 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
           createStopArrivalFactory(),
           context().costCalculator(),
           context().calculator(),
+          useParetoCheckBeforeCreatingStopArrivals(),
           context().lifeCycle()
         );
     }
     return state;
   }
 
+  /**
+   * The pre-check is only valid for c1 stop arrivals compared without relaxation. If stop arrivals
+   * are debugged, the arrivals are created so the rejected arrivals are reported.
+   */
+  private boolean useParetoCheckBeforeCreatingStopArrivals() {
+    return (
+      context().useParetoCheckBeforeCreatingStopArrivals() &&
+      !includeC2() &&
+      mcRequest().relaxC1().isNormal() &&
+      !context().debugFactory().isDebugStopArrival()
+    );
+  }
+
   private McStopArrivalFactory<T> createStopArrivalFactory() {
     return includeC2() ? new StopArrivalFactoryC2<>() : new StopArrivalFactoryC1<>();
   }
@@ -139,6 +139,14 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
     return paths;
   }
 
+  /**
+   * Add paths found by another search using the same pareto comparator. The paths are not
+   * checked against the time limit, this is done by the other search.
+   */
+  public void addPaths(Collection<RaptorPath<T>> paths) {
+    this.paths.addAll(paths);
+  }
+
   public void debugReject(ArrivalView<T> stopArrival, RaptorAccessEgress egress, String reason) {
     if (isDebugOn()) {
       var destinationArrival = createDestinationArrivalView(stopArrival, egress);
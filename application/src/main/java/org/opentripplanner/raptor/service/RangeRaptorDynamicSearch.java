@@ -5,6 +5,7 @@ import static org.opentripplanner.raptor.api.model.SearchDirection.REVERSE;
 import static org.opentripplanner.raptor.api.request.RaptorProfile.MULTI_CRITERIA;
 import static org.opentripplanner.raptor.service.HeuristicToRunResolver.resolveHeuristicToRunBasedOnOptimizationsAndSearchParameters;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -13,6 +14,7 @@ import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
 import org.opentripplanner.raptor.api.request.SearchParams;
@@ -21,6 +23,7 @@ import org.opentripplanner.raptor.api.response.RaptorResponse;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.raptor.rangeraptor.RangeRaptor;
 import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorSearchWindowCalculator;
 import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
 import org.slf4j.Logger;
@@ -30,7 +33,9 @@ import org.slf4j.LoggerFactory;
  * This search helps the {@link RaptorService} to configure
  * heuristics and set dynamic search parameters like EDT, LAT and raptor-search-window.
  * <p>
- * If possible the forward and reverse heuristics will be run in parallel.
+ * If possible the forward and reverse heuristics will be run in parallel. The search-window of the
+ * main multi-criteria search is split into time slices which are searched in parallel, if this
+ * is enabled with the {@code searchWindowSliceInSeconds} tuning parameter.
  * <p>
  * Depending on which optimization is enabled and which search parameters are set a forward and/or a
  * reverse "single-iteration" raptor search is performed and heuristics are collected. This is used
@@ -129,19 +134,15 @@ public class RangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
 
   private RaptorResponse<T> createAndRunDynamicRRWorker(RaptorRequest<T> request) {
     LOG.debug("Main request: {}", request);
-    RangeRaptor<T> rangeRaptorRouter;
+    RaptorRouterResult<T> result;
 
-    // Create worker
+    // Create worker and route
     if (request.profile().is(MULTI_CRITERIA)) {
-      rangeRaptorRouter =
-        config.createRangeRaptorWithMcWorker(transitData, request, getDestinationHeuristics());
+      result = routeMultiCriteria(request);
     } else {
-      rangeRaptorRouter = config.createRangeRaptorWithStdWorker(transitData, request);
+      result = config.createRangeRaptorWithStdWorker(transitData, request).route();
     }
 
-    // Route
-    var result = rangeRaptorRouter.route();
-
     // create and return response
     return new RaptorResponse<>(
       result.extractPaths(),
@@ -152,6 +153,100 @@ public class RangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
     );
   }
 
+  /**
+   * Run the multi-criteria search. If possible, the search-window is split into time slices which
+   * are searched in parallel. Each slice is an independent range-raptor search, so a slice does
+   * not benefit from the arrivals found in the later slices. This is more work in total, but the
+   * wall-clock time is shorter for long search-windows. The paths are merged into the result of
+   * the first slice, using the same pareto comparator as the search itself. The stop arrivals in
+   * the result are from the first slice only.
+   */
+  private RaptorRouterResult<T> routeMultiCriteria(RaptorRequest<T> request) {
+    var heuristics = getDestinationHeuristics();
+    var slices = isItPossibleToSplitSearchWindow(request)
+      ? SearchWindowSlices.split(
+        request.searchParams().earliestDepartureTime(),
+        request.searchParams().searchWindowInSeconds(),
+        config.tuningParameters().searchWindowSliceInSeconds(),
+        config.tuningParameters().iterationDepartureStepInSeconds(),
+        // The calling thread searches one of the slices
+        config.tuningParameters().searchThreadPoolSize() + 1
+      )
+      : List.<SearchWindowSlices.Slice>of();
+
+    if (slices.size() < 2) {
+      return config.createRangeRaptorWithMcWorker(transitData, request, heuristics).route();
+    }
+
+    // The routers are created in this thread, only the routing is done in parallel
+    List<RangeRaptor<T>> routers = slices
+      .stream()
+      .map(slice ->
+        config.createRangeRaptorWithMcWorker(
+          transitData,
+          request
+            .mutate()
+            .searchParams()
+            .earliestDepartureTime(slice.earliestDepartureTime())
+            .searchWindowInSeconds(slice.searchWindowInSeconds())
+            .build(),
+          heuristics
+        )
+      )
+      .toList();
+
+    List<Future<RaptorRouterResult<T>>> asyncResults = new ArrayList<>();
+    try {
+      for (RangeRaptor<T> router : routers.subList(1, routers.size())) {
+        asyncResults.add(config.threadPool().submit(router::route));
+      }
+      // Only the multi-criteria search without via-locations is split, so the result is always
+      // a multi-criteria result which supports merging, see isItPossibleToSplitSearchWindow(..).
+      var result = routers.getFirst().route();
+      for (Future<RaptorRouterResult<T>> asyncResult : asyncResults) {
+        result.mergePaths(asyncResult.get().extractPaths());
+      }
+      LOG.debug("Route using RangeRaptor - search-window split in {} slices.", slices.size());
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      LOG.error(e.getMessage() + ". Request: " + originalRequest, e);
+      throw new IllegalStateException(
+        "Failed to run search-window slices in parallel. Details: " + e.getMessage()
+      );
+    } finally {
+      // propagate interruption and failures to the running slices, this has no effect on the
+      // completed slices.
+      asyncResults.forEach(it -> it.cancel(true));
+    }
+  }
+
+  /**
+   * Searches with via-locations, c2 or access with time-penalty are not split. The via-legs are
+   * chained, the c2 dominance functions are not made for merging results and the time-penalty
+   * iterations must follow the first minute of the search-window. Debugging is not split either,
+   * the events would be mixed.
+   */
+  private boolean isItPossibleToSplitSearchWindow(RaptorRequest<T> request) {
+    SearchParams s = request.searchParams();
+    return (
+      config.isMultiThreaded() &&
+      request.runInParallel() &&
+      config.tuningParameters().searchWindowSliceInSeconds() > 0 &&
+      request.searchDirection().isForward() &&
+      !s.hasViaLocations() &&
+      !request.multiCriteria().includeC2() &&
+      s.accessPaths().stream().noneMatch(RaptorAccessEgress::hasTimePenalty) &&
+      request.debug().stops().isEmpty() &&
+      request.debug().path().isEmpty()
+    );
+  }
+
   private boolean isItPossibleToRunHeuristicsInParallel() {
     SearchParams s = originalRequest.searchParams();
     return (
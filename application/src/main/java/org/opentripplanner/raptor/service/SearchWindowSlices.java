@@ -0,0 +1,74 @@
+package org.opentripplanner.raptor.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Split the search-window of a range-raptor search into time slices, so the slices can be
+ * searched in parallel. Each slice is a whole number of range-raptor iterations, and the
+ * iteration departure times of all slices together are exactly the same as for the full
+ * search-window.
+ * <p>
+ * This class is package local to enable unit-testing.
+ */
+class SearchWindowSlices {
+
+  /**
+   * A slice always contains at least two iterations, with one iteration only the range-raptor
+   * search is run as a normal raptor search.
+   */
+  private static final int MIN_ITERATIONS_PER_SLICE = 2;
+
+  /**
+   * @param sliceInSeconds The preferred slice length, this is rounded up to a whole number of
+   *                       iterations. The slices are made longer if the search-window is split
+   *                       into more than {@code maxSlices} slices.
+   * @return The slices in order of departure time, a single slice is returned if the search
+   *         window is too short to be split.
+   */
+  static List<Slice> split(
+    int earliestDepartureTime,
+    int searchWindowInSeconds,
+    int sliceInSeconds,
+    int iterationStep,
+    int maxSlices
+  ) {
+    int nIterations = numberOfIterations(searchWindowInSeconds, iterationStep);
+    int iterationsPerSlice = Math.max(
+      MIN_ITERATIONS_PER_SLICE,
+      Math.ceilDiv(sliceInSeconds, iterationStep)
+    );
+    int nSlices = Math.min(maxSlices, nIterations / iterationsPerSlice);
+
+    if (nSlices <= 1) {
+      return List.of(new Slice(earliestDepartureTime, searchWindowInSeconds));
+    }
+
+    // Range-raptor iterates backwards from the end of the search-window, so the slices are cut
+    // from the end. The earliest slice gets the remaining part of the search-window, this is
+    // less than one iteration step and does not add an iteration.
+    var slices = new ArrayList<Slice>(nSlices);
+    int end = earliestDepartureTime + searchWindowInSeconds;
+    for (int i = 0; i < nSlices; ++i) {
+      int iterations = nIterations / nSlices + (i < nIterations % nSlices ? 1 : 0);
+      int start = i == nSlices - 1 ? earliestDepartureTime : end - iterations * iterationStep;
+      slices.add(new Slice(start, end - start));
+      end = start;
+    }
+    Collections.reverse(slices);
+    return slices;
+  }
+
+  /**
+   * The number of iterations range-raptor runs for the given search-window. The first iteration
+   * departs one step before the end of the search-window, and the iterations continue as long as
+   * the departure time is not before the start of the search-window. If the search-window is not
+   * longer than one step, only one iteration is run.
+   */
+  static int numberOfIterations(int searchWindowInSeconds, int iterationStep) {
+    return Math.max(1, searchWindowInSeconds / iterationStep);
+  }
+
+  record Slice(int earliestDepartureTime, int searchWindowInSeconds) {}
+}
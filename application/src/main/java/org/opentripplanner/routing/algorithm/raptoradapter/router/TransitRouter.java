@@ -9,8 +9,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 import org.opentripplanner.ext.ridehailing.RideHailingAccessShifter;
 import org.opentripplanner.framework.application.OTPFeature;
@@ -119,16 +118,26 @@ public class TransitRouter {
       ? serverContext.transitService().getTransitLayer()
       : serverContext.transitService().getRealtimeTransitLayer();
 
-    var requestTransitDataProvider = createRequestTransitDataProvider(transitLayer);
+    RaptorRoutingRequestTransitData requestTransitDataProvider;
+    AccessEgresses accessEgresses;
 
-    debugTimingAggregator.finishedPatternFiltering();
-
-    var accessEgresses = fetchAccessEgresses();
+    if (OTPFeature.ParallelRouting.isOn()) {
+      // The raptor data model and the access/egress street searches do not depend on each
+      // other, so they are created in parallel
+      var transitDataRef = new AtomicReference<RaptorRoutingRequestTransitData>();
+      var accessEgressesRef = new AtomicReference<AccessEgresses>();
+      serverContext.requestTasks().runInParallel(
+        () -> transitDataRef.set(createRequestTransitDataProvider(transitLayer)),
+        () -> accessEgressesRef.set(fetchAccessEgresses())
+      );
+      requestTransitDataProvider = transitDataRef.get();
+      accessEgresses = accessEgressesRef.get();
+    } else {
+      requestTransitDataProvider = createRequestTransitDataProvider(transitLayer);
+      accessEgresses = fetchAccessEgresses();
+    }
 
-    debugTimingAggregator.finishedAccessEgress(
-      accessEgresses.getAccesses().size(),
-      accessEgresses.getEgresses().size()
-    );
+    debugTimingAggregator.startedRaptorSearch();
 
     // Prepare transit search
     var raptorRequest = RaptorRequestMapper.<TripSchedule>mapRequest(
@@ -182,22 +191,16 @@ public class TransitRouter {
   }
 
   private AccessEgresses fetchAccessEgresses() {
+    debugTimingAggregator.startedAccessEgress();
+
     final var accessList = new ArrayList<RoutingAccessEgress>();
     final var egressList = new ArrayList<RoutingAccessEgress>();
 
     if (OTPFeature.ParallelRouting.isOn()) {
-      try {
-        // TODO: This is not using {@link OtpRequestThreadFactory} which mean we do not get
-        //       log-trace-parameters-propagation and graceful timeout handling here.
-        CompletableFuture
-          .allOf(
-            CompletableFuture.runAsync(() -> accessList.addAll(fetchAccess())),
-            CompletableFuture.runAsync(() -> egressList.addAll(fetchEgress()))
-          )
-          .join();
-      } catch (CompletionException e) {
-        RoutingValidationException.unwrapAndRethrowCompletionException(e);
-      }
+      serverContext.requestTasks().runInParallel(
+        () -> accessList.addAll(fetchAccess()),
+        () -> egressList.addAll(fetchEgress())
+      );
     } else {
       accessList.addAll(fetchAccess());
       egressList.addAll(fetchEgress());
@@ -215,6 +218,11 @@ public class TransitRouter {
     var accessListWithPenalty = penaltyDecorator.decorateAccess(accessList);
     var egressListWithPenalty = penaltyDecorator.decorateEgress(egressList);
 
+    debugTimingAggregator.finishedAccessEgress(
+      accessListWithPenalty.size(),
+      egressListWithPenalty.size()
+    );
+
     return new AccessEgresses(accessListWithPenalty, egressListWithPenalty);
   }
 
@@ -317,7 +325,7 @@ public class TransitRouter {
   private RaptorRoutingRequestTransitData createRequestTransitDataProvider(
     TransitLayer transitLayer
   ) {
-    return new RaptorRoutingRequestTransitData(
+    var transitData = new RaptorRoutingRequestTransitData(
       transitLayer,
       transitGroupPriorityService,
       transitSearchTimeZero,
@@ -326,6 +334,8 @@ public class TransitRouter {
       new RouteRequestTransitDataProviderFilter(request),
       request
     );
+    debugTimingAggregator.finishedPatternFiltering();
+    return transitData;
   }
 
   private void verifyAccessEgress(Collection<?> access, Collection<?> egress) {
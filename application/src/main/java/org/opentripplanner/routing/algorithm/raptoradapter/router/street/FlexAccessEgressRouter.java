@@ -61,6 +61,7 @@ public class FlexAccessEgressRouter {
       serverContext.graph(),
       transitService,
       config,
+      serverContext.streetFlexPathCache(),
       request.dateTime(),
       request.bookingTime(),
       searchDays.additionalSearchDaysInPast(),
@@ -3,53 +3,68 @@ package org.opentripplanner.routing.algorithm.raptoradapter.transit;
 import static java.util.stream.Collectors.toMap;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.function.Function;
 import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.street.search.request.StreetSearchRequest;
 
+/**
+ * The transfers for a given request, indexed by stop. The transfers for all stops are stored in
+ * one flat array, with an offset array pointing to the first transfer for each stop. This avoids
+ * one list object per stop, and iterating the transfers of a stop is reading a continuous section
+ * of the array.
+ */
 public class RaptorTransferIndex {
 
-  private final List<RaptorTransfer>[] forwardTransfers;
+  private final RaptorTransfer[] forwardTransfers;
+  private final int[] forwardOffsets;
 
-  private final List<RaptorTransfer>[] reversedTransfers;
+  private final RaptorTransfer[] reversedTransfers;
+  private final int[] reversedOffsets;
 
   public RaptorTransferIndex(
-    List<List<RaptorTransfer>> forwardTransfers,
-    List<List<RaptorTransfer>> reversedTransfers
+    List<? extends Collection<RaptorTransfer>> forwardTransfers,
+    List<? extends Collection<RaptorTransfer>> reversedTransfers
   ) {
-    // Create immutable copies of the lists for each stop to make them immutable and faster to iterate
-    this.forwardTransfers = forwardTransfers.stream().map(List::copyOf).toArray(List[]::new);
-    this.reversedTransfers = reversedTransfers.stream().map(List::copyOf).toArray(List[]::new);
+    this.forwardTransfers = flatten(forwardTransfers);
+    this.forwardOffsets = offsets(forwardTransfers);
+    this.reversedTransfers = flatten(reversedTransfers);
+    this.reversedOffsets = offsets(reversedTransfers);
   }
 
   public static RaptorTransferIndex create(
     List<List<Transfer>> transfersByStopIndex,
     StreetSearchRequest request
   ) {
-    var forwardTransfers = new ArrayList<List<RaptorTransfer>>(transfersByStopIndex.size());
-    var reversedTransfers = new ArrayList<List<RaptorTransfer>>(transfersByStopIndex.size());
+    int nStops = transfersByStopIndex.size();
 
-    for (int i = 0; i < transfersByStopIndex.size(); i++) {
-      forwardTransfers.add(new ArrayList<>());
+    // The transfers are filtered so that there is only one possible directional transfer for a
+    // stop pair. The index is created by the transfer cache loader during a request, so this is
+    // done in the request thread and not in a shared thread pool.
+    List<Collection<RaptorTransfer>> forwardTransfers = new ArrayList<>(nStops);
+    for (int fromStop = 0; fromStop < nStops; fromStop++) {
+      forwardTransfers.add(
+        transfersByStopIndex
+          .get(fromStop)
+          .stream()
+          .flatMap(s -> s.asRaptorTransfer(request).stream())
+          .collect(
+            toMap(RaptorTransfer::stop, Function.identity(), (a, b) -> a.c1() < b.c1() ? a : b)
+          )
+          .values()
+      );
+    }
+
+    var reversedTransfers = new ArrayList<List<RaptorTransfer>>(nStops);
+    for (int i = 0; i < nStops; i++) {
       reversedTransfers.add(new ArrayList<>());
     }
 
-    for (int fromStop = 0; fromStop < transfersByStopIndex.size(); fromStop++) {
-      // The transfers are filtered so that there is only one possible directional transfer
-      // for a stop pair.
-      var transfers = transfersByStopIndex
-        .get(fromStop)
-        .stream()
-        .flatMap(s -> s.asRaptorTransfer(request).stream())
-        .collect(
-          toMap(RaptorTransfer::stop, Function.identity(), (a, b) -> a.c1() < b.c1() ? a : b)
-        )
-        .values();
-
-      forwardTransfers.get(fromStop).addAll(transfers);
-
-      for (RaptorTransfer forwardTransfer : transfers) {
+    for (int fromStop = 0; fromStop < nStops; fromStop++) {
+      for (RaptorTransfer forwardTransfer : forwardTransfers.get(fromStop)) {
         reversedTransfers
           .get(forwardTransfer.stop())
           .add(DefaultRaptorTransfer.reverseOf(fromStop, forwardTransfer));
@@ -59,11 +74,63 @@ public class RaptorTransferIndex {
     return new RaptorTransferIndex(forwardTransfers, reversedTransfers);
   }
 
-  public List<RaptorTransfer> getForwardTransfers(int stopIndex) {
-    return forwardTransfers[stopIndex];
+  public Iterator<RaptorTransfer> getForwardTransfers(int stopIndex) {
+    return new TransferIterator(
+      forwardTransfers,
+      forwardOffsets[stopIndex],
+      forwardOffsets[stopIndex + 1]
+    );
+  }
+
+  public Iterator<RaptorTransfer> getReversedTransfers(int stopIndex) {
+    return new TransferIterator(
+      reversedTransfers,
+      reversedOffsets[stopIndex],
+      reversedOffsets[stopIndex + 1]
+    );
+  }
+
+  private static RaptorTransfer[] flatten(
+    List<? extends Collection<RaptorTransfer>> transfersByStop
+  ) {
+    return transfersByStop.stream().flatMap(Collection::stream).toArray(RaptorTransfer[]::new);
+  }
+
+  /**
+   * Create the offset array for the given transfers, the transfers for stop {@code i} is in the
+   * range {@code [offsets[i], offsets[i+1])} of the flat array.
+   */
+  private static int[] offsets(List<? extends Collection<RaptorTransfer>> transfersByStop) {
+    int[] offsets = new int[transfersByStop.size() + 1];
+    for (int i = 0; i < transfersByStop.size(); ++i) {
+      offsets[i + 1] = offsets[i] + transfersByStop.get(i).size();
+    }
+    return offsets;
   }
 
-  public List<RaptorTransfer> getReversedTransfers(int stopIndex) {
-    return reversedTransfers[stopIndex];
+  private static class TransferIterator implements Iterator<RaptorTransfer> {
+
+    private final RaptorTransfer[] transfers;
+    private final int end;
+    private int index;
+
+    private TransferIterator(RaptorTransfer[] transfers, int start, int end) {
+      this.transfers = transfers;
+      this.index = start;
+      this.end = end;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < end;
+    }
+
+    @Override
+    public RaptorTransfer next() {
+      if (index >= end) {
+        throw new NoSuchElementException();
+      }
+      return transfers[index++];
+    }
   }
 }
@@ -11,6 +11,8 @@ import javax.annotation.Nullable;
 import org.opentripplanner.model.transfer.TransferService;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.ConstrainedTransfersForPatterns;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.TransferIndexGenerator;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.PatternsByStopIndex;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorPatternsByStopCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRequestTransferCache;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.transit.model.site.StopLocation;
@@ -52,6 +54,12 @@ public class TransitLayer {
 
   private final RaptorRequestTransferCache transferCache;
 
+  /**
+   * The patterns by stop index is NOT copied with the TransitLayer, a new TransitLayer may
+   * contain new patterns.
+   */
+  private final RaptorPatternsByStopCache patternsByStopCache = new RaptorPatternsByStopCache();
+
   private ConstrainedTransfersForPatterns constrainedTransfers;
 
   private final TransferIndexGenerator transferIndexGenerator;
@@ -153,6 +161,14 @@ public class TransitLayer {
     transferCache.put(transfersByStopIndex, request);
   }
 
+  /**
+   * Return the unfiltered index of all patterns by stop running on the given date window. The
+   * index is cached and shared between requests.
+   */
+  public PatternsByStopIndex getPatternsByStopIndex(LocalDate first, LocalDate last) {
+    return patternsByStopCache.get(this, first, last);
+  }
+
   public RaptorRequestTransferCache getTransferCache() {
     return transferCache;
   }
@@ -184,6 +200,7 @@ public class TransitLayer {
     List<TripPatternForDate> tripPatternForDates
   ) {
     this.tripPatternsRunningOnDate.replace(date, tripPatternForDates);
+    this.patternsByStopCache.invalidateAll();
   }
 
   public void setConstrainedTransfers(ConstrainedTransfersForPatterns constrainedTransfers) {
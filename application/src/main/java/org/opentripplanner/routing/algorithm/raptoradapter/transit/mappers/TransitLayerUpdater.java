@@ -1,15 +1,19 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.SetMultimap;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.model.Timetable;
@@ -34,10 +38,32 @@ import org.slf4j.LoggerFactory;
  * recent TimetableSnapshot) without repeatedly deriving it from scratch every few seconds. The same
  * incremental changes are applied to both the TimetableSnapshot and the TransitLayer and they are
  * published together.
+ * <p>
+ * The update is incremental: the changed TripPatternForDates are indexed on their running dates,
+ * and only the lists for the dates where the set of patterns actually changed are rebuilt. The
+ * lists for all other dates are shared with the previous TransitLayer. The commit latency, the
+ * number of rebuilt dates and the bytes allocated by the commit are reported as metrics.
  */
 public class TransitLayerUpdater {
 
   private static final Logger LOG = LoggerFactory.getLogger(TransitLayerUpdater.class);
+  private static final String METRICS_PREFIX = "transit_layer_updater.";
+
+  private static final Timer COMMIT_TIMER = Timer
+    .builder(METRICS_PREFIX + "commit")
+    .description("Time used to apply a timetable snapshot commit to the realtime transit layer")
+    .register(Metrics.globalRegistry);
+
+  private static final DistributionSummary UPDATED_DATES = DistributionSummary
+    .builder(METRICS_PREFIX + "updated_dates")
+    .description("Number of running dates rebuilt in a commit")
+    .register(Metrics.globalRegistry);
+
+  private static final DistributionSummary ALLOCATED_BYTES = DistributionSummary
+    .builder(METRICS_PREFIX + "allocated")
+    .description("Bytes allocated by the updater thread in a commit")
+    .baseUnit("bytes")
+    .register(Metrics.globalRegistry);
 
   private final TransitEditorService transitService;
 
@@ -67,7 +93,8 @@ public class TransitLayerUpdater {
       return;
     }
 
-    long startTime = System.currentTimeMillis();
+    long startTime = System.nanoTime();
+    long startAllocatedBytes = currentThreadAllocatedBytes();
 
     // Make a shallow copy of the realtime transit layer. Only the objects that are copied will be
     // changed during this update process.
@@ -78,9 +105,10 @@ public class TransitLayerUpdater {
       transitService.getServiceCodesRunningForDate()
     );
 
-    Set<LocalDate> datesToBeUpdated = new HashSet<>();
-    SetMultimap<TripPattern, TripPatternForDate> newTripPatternsForDate = HashMultimap.create();
-    SetMultimap<TripPattern, TripPatternForDate> oldTripPatternsForDate = HashMultimap.create();
+    // The old and new TripPatternForDates indexed on the dates they are running. The running
+    // period of each pattern is only computed once.
+    Map<LocalDate, List<TripPatternForDate>> oldTripPatternsByRunningDate = new HashMap<>();
+    Map<LocalDate, List<TripPatternForDate>> newTripPatternsByRunningDate = new HashMap<>();
 
     TransferIndexGenerator transferIndexGenerator = null;
     if (OTPFeature.TransferConstraints.isOn()) {
@@ -106,8 +134,7 @@ public class TransitLayerUpdater {
 
       if (oldTripPatternForDate != null) {
         tripPatternsStartingOnDateMapCache.get(date).remove(tripPattern, oldTripPatternForDate);
-        oldTripPatternsForDate.put(tripPattern, oldTripPatternForDate);
-        datesToBeUpdated.addAll(oldTripPatternForDate.getRunningPeriodDates());
+        indexOnRunningDates(oldTripPatternForDate, oldTripPatternsByRunningDate);
       }
 
       TripPatternForDate newTripPatternForDate;
@@ -121,8 +148,7 @@ public class TransitLayerUpdater {
 
       if (newTripPatternForDate != null) {
         tripPatternsStartingOnDateMapCache.get(date).put(tripPattern, newTripPatternForDate);
-        newTripPatternsForDate.put(tripPattern, newTripPatternForDate);
-        datesToBeUpdated.addAll(newTripPatternForDate.getRunningPeriodDates());
+        indexOnRunningDates(newTripPatternForDate, newTripPatternsByRunningDate);
         if (transferIndexGenerator != null && tripPattern.isCreatedByRealtimeUpdater()) {
           transferIndexGenerator.addRealtimeTrip(
             tripPattern,
@@ -152,68 +178,66 @@ public class TransitLayerUpdater {
       }
     }
 
+    // Index the previously used realtime patterns on service date, only these patterns may be
+    // removed from the dates below
+    Map<LocalDate, List<TripPatternForDate>> previousPatternsByDate = previouslyUsedPatterns
+      .stream()
+      .collect(Collectors.groupingBy(TripPatternForDate::getServiceDate));
+
+    Set<LocalDate> datesToBeUpdated = new HashSet<>(oldTripPatternsByRunningDate.keySet());
+    datesToBeUpdated.addAll(newTripPatternsByRunningDate.keySet());
+
     // Now loop through all running period dates of old and new TripPatternsForDate and update
-    // the tripPatternsByRunningPeriodDate accordingly
+    // the tripPatternsByRunningPeriodDate accordingly. Dates where the set of patterns is not
+    // changed are skipped, the TransitLayer copy shares the list with the previous version.
+    int nUpdatedDates = 0;
     for (LocalDate date : datesToBeUpdated) {
-      tripPatternsRunningOnDateMapCache.computeIfAbsent(
+      Set<TripPatternForDate> patternsForDate = tripPatternsRunningOnDateMapCache.computeIfAbsent(
         date,
         p -> new HashSet<>(realtimeTransitLayer.getTripPatternsRunningOnDateCopy(date))
       );
+      boolean changed = false;
+
+      // Remove old TripPatternForDate for this date if it was valid on this date
+      var oldPatterns = oldTripPatternsByRunningDate.getOrDefault(date, List.of());
+      for (TripPatternForDate oldTripPatternForDate : oldPatterns) {
+        changed |= patternsForDate.remove(oldTripPatternForDate);
+      }
 
       // Remove old cached tripPatterns where tripTimes are no longer running
-      Set<TripPatternForDate> patternsForDate = tripPatternsRunningOnDateMapCache.get(date);
-
-      for (Map.Entry<TripPattern, Collection<TripPatternForDate>> entry : oldTripPatternsForDate
-        .asMap()
-        .entrySet()) {
-        for (TripPatternForDate oldTripPatternForDate : entry.getValue()) {
-          // Remove old TripPatternForDate for this date if it was valid on this date
-          if (oldTripPatternForDate != null) {
-            if (oldTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.remove(oldTripPatternForDate);
-            }
-          }
+      var previousPatterns = previousPatternsByDate.getOrDefault(date, List.of());
+      for (TripPatternForDate tripPatternForDate : previousPatterns) {
+        TripPattern pattern = tripPatternForDate.getTripPattern().getPattern();
+        if (!pattern.isCreatedByRealtimeUpdater()) {
+          continue;
         }
-      }
+        var oldTimeTable = timetables.get(pattern);
+        if (oldTimeTable != null) {
+          var toRemove = oldTimeTable
+            .stream()
+            .filter(tt -> tt.getServiceDate().equals(date))
+            .findFirst()
+            .map(tt -> tt.getTripTimes().isEmpty())
+            .orElse(false);
 
-      for (TripPatternForDate tripPatternForDate : previouslyUsedPatterns) {
-        if (tripPatternForDate.getServiceDate().equals(date)) {
-          TripPattern pattern = tripPatternForDate.getTripPattern().getPattern();
-          if (!pattern.isCreatedByRealtimeUpdater()) {
-            continue;
-          }
-          var oldTimeTable = timetables.get(pattern);
-          if (oldTimeTable != null) {
-            var toRemove = oldTimeTable
-              .stream()
-              .filter(tt -> tt.getServiceDate().equals(date))
-              .findFirst()
-              .map(tt -> tt.getTripTimes().isEmpty())
-              .orElse(false);
-
-            if (toRemove) {
-              patternsForDate.remove(tripPatternForDate);
-            }
-          } else {
-            LOG.warn("Could not fetch timetable for {}", pattern);
+          if (toRemove) {
+            changed |= patternsForDate.remove(tripPatternForDate);
           }
+        } else {
+          LOG.warn("Could not fetch timetable for {}", pattern);
         }
       }
 
-      for (Map.Entry<TripPattern, Collection<TripPatternForDate>> entry : newTripPatternsForDate
-        .asMap()
-        .entrySet()) {
-        for (TripPatternForDate newTripPatternForDate : entry.getValue()) {
-          // Add new TripPatternForDate for this date if it mapped correctly and is valid on this date
-          if (newTripPatternForDate != null) {
-            if (newTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.add(newTripPatternForDate);
-            }
-          }
-        }
+      // Add new TripPatternForDate for this date if it mapped correctly and is valid on this date
+      var newPatterns = newTripPatternsByRunningDate.getOrDefault(date, List.of());
+      for (TripPatternForDate newTripPatternForDate : newPatterns) {
+        changed |= patternsForDate.add(newTripPatternForDate);
       }
 
-      realtimeTransitLayer.replaceTripPatternsForDate(date, new ArrayList<>(patternsForDate));
+      if (changed) {
+        realtimeTransitLayer.replaceTripPatternsForDate(date, new ArrayList<>(patternsForDate));
+        ++nUpdatedDates;
+      }
     }
 
     if (transferIndexGenerator != null) {
@@ -224,10 +248,42 @@ public class TransitLayerUpdater {
     // guarantee that the reference is set after all the fields have been updated.
     transitService.setRealtimeTransitLayer(realtimeTransitLayer);
 
+    long duration = System.nanoTime() - startTime;
+    COMMIT_TIMER.record(duration, TimeUnit.NANOSECONDS);
+    UPDATED_DATES.record(nUpdatedDates);
+    long allocatedBytes = currentThreadAllocatedBytes();
+    if (allocatedBytes >= 0 && startAllocatedBytes >= 0) {
+      ALLOCATED_BYTES.record(allocatedBytes - startAllocatedBytes);
+    }
+
     LOG.debug(
-      "UPDATING {} tripPatterns took {} ms",
+      "UPDATING {} tripPatterns on {} dates took {} ms",
       updatedTimetables.size(),
-      System.currentTimeMillis() - startTime
+      nUpdatedDates,
+      TimeUnit.NANOSECONDS.toMillis(duration)
     );
   }
+
+  private static void indexOnRunningDates(
+    TripPatternForDate tripPatternForDate,
+    Map<LocalDate, List<TripPatternForDate>> index
+  ) {
+    for (LocalDate date : tripPatternForDate.getRunningPeriodDates()) {
+      index.computeIfAbsent(date, d -> new ArrayList<>()).add(tripPatternForDate);
+    }
+  }
+
+  /**
+   * The number of bytes allocated by the current thread, or -1 if this is not supported by the
+   * JVM.
+   */
+  private static long currentThreadAllocatedBytes() {
+    if (
+      ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean &&
+      threadMXBean.isThreadAllocatedMemoryEnabled()
+    ) {
+      return threadMXBean.getCurrentThreadAllocatedBytes();
+    }
+    return -1;
+  }
 }
@@ -0,0 +1,92 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.util.BitSetIterator;
+import org.opentripplanner.transit.model.network.RoutingTripPattern;
+
+/**
+ * An unfiltered index of all trip patterns visiting each stop. The index is created once for a
+ * given {@link org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer} and date
+ * window, and is shared between all requests searching the same window. The request specific
+ * filtering is applied on top of this index using a {@link BitSet} of active pattern indexes, see
+ * {@link #routeIndexIterator(IntIterator, BitSet)}.
+ * <p>
+ * This class is THREAD-SAFE, it is immutable after construction.
+ */
+public class PatternsByStopIndex {
+
+  private static final int[] EMPTY = new int[0];
+
+  /**
+   * Pattern indexes by stop index
+   */
+  private final int[][] patternsByStop;
+
+  private PatternsByStopIndex(int[][] patternsByStop) {
+    this.patternsByStop = patternsByStop;
+  }
+
+  /**
+   * Create a new index for the given patterns. Each pattern is only added once, even if it is
+   * present several times in the given collection.
+   */
+  public static PatternsByStopIndex create(
+    int stopCount,
+    Collection<RoutingTripPattern> tripPatterns
+  ) {
+    TIntArrayList[] patternsForStop = new TIntArrayList[stopCount];
+    BitSet visited = new BitSet(RoutingTripPattern.indexCounter());
+
+    for (RoutingTripPattern tripPattern : tripPatterns) {
+      final int patternIndex = tripPattern.patternIndex();
+      if (visited.get(patternIndex)) {
+        continue;
+      }
+      visited.set(patternIndex);
+
+      final int numberOfStopsInPattern = tripPattern.numberOfStopsInPattern();
+      for (int i = 0; i < numberOfStopsInPattern; i++) {
+        int stopIndex = tripPattern.stopIndex(i);
+        if (patternsForStop[stopIndex] == null) {
+          patternsForStop[stopIndex] = new TIntArrayList();
+        }
+        patternsForStop[stopIndex].add(patternIndex);
+      }
+    }
+
+    // Use raw int arrays, in order to get the best iteration performance
+    int[][] result = new int[stopCount][];
+    for (int i = 0; i < stopCount; i++) {
+      result[i] = patternsForStop[i] == null ? EMPTY : patternsForStop[i].toArray();
+    }
+    return new PatternsByStopIndex(result);
+  }
+
+  /**
+   * All patterns visiting the given stop, active or not.
+   */
+  public int[] patternsForStop(int stopIndex) {
+    return patternsByStop[stopIndex];
+  }
+
+  /**
+   * Return an iterator over all active patterns visiting at least one of the given stops.
+   *
+   * @param activePatterns the request specific set of active pattern indexes
+   */
+  public IntIterator routeIndexIterator(IntIterator stops, BitSet activePatterns) {
+    BitSet activeTripPatternsForGivenStops = new BitSet(RoutingTripPattern.indexCounter());
+
+    while (stops.hasNext()) {
+      for (int i : patternsByStop[stops.next()]) {
+        if (activePatterns.get(i)) {
+          activeTripPatternsForGivenStops.set(i);
+        }
+      }
+    }
+    return new BitSetIterator(activeTripPatternsForGivenStops);
+  }
+}
@@ -0,0 +1,72 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.opentripplanner.framework.time.DurationUtils;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
+import org.opentripplanner.transit.model.network.RoutingTripPattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache the unfiltered {@link PatternsByStopIndex} for a {@link TransitLayer} by search date
+ * window. Each TransitLayer instance owns its own cache, so when the realtime updater publishes a
+ * new TransitLayer a new (empty) cache is used. The cache must be invalidated if the patterns
+ * of the TransitLayer is changed in place.
+ */
+public class RaptorPatternsByStopCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RaptorPatternsByStopCache.class);
+
+  /**
+   * A few date windows is normally in use at any given time: today, tomorrow and requests
+   * crossing midnight.
+   */
+  private static final int MAXIMUM_SIZE = 8;
+
+  private final Cache<CacheKey, PatternsByStopIndex> cache = CacheBuilder
+    .newBuilder()
+    .maximumSize(MAXIMUM_SIZE)
+    .build();
+
+  public PatternsByStopIndex get(TransitLayer transitLayer, LocalDate first, LocalDate last) {
+    try {
+      return cache.get(new CacheKey(first, last), () -> create(transitLayer, first, last));
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to get item from patterns by stop cache", e);
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static PatternsByStopIndex create(
+    TransitLayer transitLayer,
+    LocalDate first,
+    LocalDate last
+  ) {
+    long start = System.currentTimeMillis();
+    List<RoutingTripPattern> patterns = new ArrayList<>();
+
+    for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+      for (TripPatternForDate it : transitLayer.getTripPatternsForRunningDate(date)) {
+        patterns.add(it.getTripPattern());
+      }
+    }
+    var index = PatternsByStopIndex.create(transitLayer.getStopCount(), patterns);
+
+    if (LOG.isDebugEnabled()) {
+      String time = DurationUtils.msToSecondsStr(System.currentTimeMillis() - start);
+      LOG.debug("Patterns by stop index for {} - {} created in {}.", first, last, time);
+    }
+    return index;
+  }
+
+  private record CacheKey(LocalDate first, LocalDate last) {}
+}
@@ -1,5 +1,7 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
+import static org.opentripplanner.framework.time.DurationUtils.msToSecondsStr;
+
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -27,7 +29,9 @@ public class RaptorRequestTransferCache {
   private final LoadingCache<CacheKey, RaptorTransferIndex> transferCache;
 
   public RaptorRequestTransferCache(int maximumSize) {
-    transferCache = CacheBuilder.newBuilder().maximumSize(maximumSize).build(cacheLoader());
+    // The stats are exported as hit, miss and load time metrics, see MetricsLogging
+    transferCache =
+      CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build(cacheLoader());
   }
 
   public LoadingCache<CacheKey, RaptorTransferIndex> getTransferCache() {
@@ -36,13 +40,8 @@ public class RaptorRequestTransferCache {
 
   public void put(List<List<Transfer>> transfersByStopIndex, RouteRequest request) {
     final CacheKey cacheKey = new CacheKey(transfersByStopIndex, request);
-    final RaptorTransferIndex raptorTransferIndex = RaptorTransferIndex.create(
-      transfersByStopIndex,
-      cacheKey.request
-    );
-
     LOG.info("Initializing cache with request: {}", cacheKey.options);
-    transferCache.put(cacheKey, raptorTransferIndex);
+    transferCache.put(cacheKey, createIndex(cacheKey));
   }
 
   public RaptorTransferIndex get(List<List<Transfer>> transfersByStopIndex, RouteRequest request) {
@@ -58,11 +57,22 @@ public class RaptorRequestTransferCache {
       @Override
       public RaptorTransferIndex load(CacheKey cacheKey) {
         LOG.info("Adding runtime request to cache: {}", cacheKey.options);
-        return RaptorTransferIndex.create(cacheKey.transfersByStopIndex, cacheKey.request);
+        return createIndex(cacheKey);
       }
     };
   }
 
+  private static RaptorTransferIndex createIndex(CacheKey cacheKey) {
+    long startTime = System.currentTimeMillis();
+    var index = RaptorTransferIndex.create(cacheKey.transfersByStopIndex, cacheKey.request);
+    LOG.info(
+      "Transfer index created in {}: {}",
+      msToSecondsStr(System.currentTimeMillis() - startTime),
+      cacheKey.options
+    );
+    return index;
+  }
+
   private static class CacheKey {
 
     private final List<List<Transfer>> transfersByStopIndex;
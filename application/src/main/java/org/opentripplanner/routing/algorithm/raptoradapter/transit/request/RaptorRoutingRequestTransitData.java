@@ -18,7 +18,6 @@ import org.opentripplanner.raptor.spi.RaptorPathConstrainedTransferSearch;
 import org.opentripplanner.raptor.spi.RaptorRoute;
 import org.opentripplanner.raptor.spi.RaptorSlackProvider;
 import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
-import org.opentripplanner.raptor.util.BitSetIterator;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.RaptorTransferIndex;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.SlackProvider;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
@@ -28,7 +27,6 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtr
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.cost.CostCalculatorFactory;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.GeneralizedCostParametersMapper;
 import org.opentripplanner.routing.api.request.RouteRequest;
-import org.opentripplanner.transit.model.network.RoutingTripPattern;
 import org.opentripplanner.transit.model.network.grouppriority.TransitGroupPriorityService;
 
 /**
@@ -43,9 +41,15 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
   private final TransferService transferService;
 
   /**
-   * Active route indices by stop index
+   * All route indices by stop index, shared between requests. Use the {@code activeTripPatterns}
+   * to filter out the patterns not active for this request.
    */
-  private final List<int[]> activeTripPatternsPerStop;
+  private final PatternsByStopIndex tripPatternsPerStop;
+
+  /**
+   * Active route indices for this request
+   */
+  private final BitSet activeTripPatterns;
 
   /**
    * Trip patterns by route index
@@ -96,7 +100,12 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
       transitGroupPriorityService
     );
     this.patternIndex = transitDataCreator.createPatternIndex(tripPatterns);
-    this.activeTripPatternsPerStop = transitDataCreator.createTripPatternsPerStop(tripPatterns);
+    this.activeTripPatterns = transitDataCreator.createActivePatterns(tripPatterns);
+    this.tripPatternsPerStop =
+      transitDataCreator.getPatternsByStopIndex(
+        additionalPastSearchDays,
+        additionalFutureSearchDays
+      );
     this.transferIndex = transitLayer.getRaptorTransfersForRequest(request);
     this.constrainedTransfers = transitLayer.getConstrainedTransfers();
 
@@ -130,26 +139,17 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
 
   @Override
   public Iterator<RaptorTransfer> getTransfersFromStop(int stopIndex) {
-    return transferIndex.getForwardTransfers(stopIndex).iterator();
+    return transferIndex.getForwardTransfers(stopIndex);
   }
 
   @Override
   public Iterator<? extends RaptorTransfer> getTransfersToStop(int stopIndex) {
-    return transferIndex.getReversedTransfers(stopIndex).iterator();
+    return transferIndex.getReversedTransfers(stopIndex);
   }
 
   @Override
   public IntIterator routeIndexIterator(IntIterator stops) {
-    BitSet activeTripPatternsForGivenStops = new BitSet(RoutingTripPattern.indexCounter());
-
-    while (stops.hasNext()) {
-      int[] patterns = activeTripPatternsPerStop.get(stops.next());
-      for (int i : patterns) {
-        activeTripPatternsForGivenStops.set(i);
-      }
-    }
-
-    return new BitSetIterator(activeTripPatternsForGivenStops);
+    return tripPatternsPerStop.routeIndexIterator(stops, activeTripPatterns);
   }
 
   @Override
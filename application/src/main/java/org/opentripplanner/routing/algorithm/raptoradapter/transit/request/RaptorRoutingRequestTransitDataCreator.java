@@ -2,13 +2,13 @@ package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
 import static org.opentripplanner.framework.time.ServiceDateUtils.secondsSinceStartOfTime;
 
-import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TObjectIntMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -49,30 +49,26 @@ class RaptorRoutingRequestTransitDataCreator {
     this.transitSearchTimeZero = transitSearchTimeZero;
   }
 
-  public List<int[]> createTripPatternsPerStop(List<TripPatternForDates> tripPatternsForDate) {
-    // Create temporary array of TIntArrayLists
-    int stopCount = transitLayer.getStopCount();
-    TIntArrayList[] patternsForStop = new TIntArrayList[stopCount];
-    for (int i = 0; i < stopCount; i++) {
-      patternsForStop[i] = new TIntArrayList();
-    }
-
-    // Loop through all patterns, and mark all stops containing that pattern
-    for (TripPatternForDates tripPatternForDateList : tripPatternsForDate) {
-      final RoutingTripPattern tripPattern = tripPatternForDateList.getTripPattern();
-      final int patternIndex = tripPattern.patternIndex();
-      final int numberOfStopsInPattern = tripPattern.numberOfStopsInPattern();
-      for (int i = 0; i < numberOfStopsInPattern; i++) {
-        patternsForStop[tripPattern.stopIndex(i)].add(patternIndex);
-      }
-    }
+  /**
+   * Return the shared, unfiltered index of patterns by stop for the search date window. The
+   * request specific filtering is applied using the set of active patterns, see
+   * {@link #createActivePatterns(List)}.
+   */
+  PatternsByStopIndex getPatternsByStopIndex(
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays
+  ) {
+    return transitLayer.getPatternsByStopIndex(
+      departureDate.minusDays(additionalPastSearchDays),
+      departureDate.plusDays(additionalFutureSearchDays)
+    );
+  }
 
-    // Create the final list with raw int arrays, in order to get the best iteration performance
-    List<int[]> result = new ArrayList<>(stopCount);
-    for (var patterns : patternsForStop) {
-      result.add(patterns.toArray());
+  BitSet createActivePatterns(List<TripPatternForDates> tripPatterns) {
+    BitSet result = new BitSet(RoutingTripPattern.indexCounter());
+    for (var pattern : tripPatterns) {
+      result.set(pattern.getTripPattern().patternIndex());
     }
-
     return result;
   }
 
@@ -53,8 +53,8 @@ public class DebugTimingAggregator {
   private long directStreetRouterTime;
   private Timer.Sample startedDirectFlexRouter;
   private long directFlexRouterTime;
-  private Timer.Sample finishedPatternFiltering;
-  private Timer.Sample finishedAccessEgress;
+  private Timer.Sample startedAccessEgress;
+  private Timer.Sample startedRaptorSearch;
   private Timer.Sample finishedRaptorSearch;
   private Timer.Sample finishedRouters;
   private Timer.Sample finishedFiltering;
@@ -155,10 +155,11 @@ public class DebugTimingAggregator {
   }
 
   /**
-   * Record the time when we are finished with the creation of the raptor data models.
+   * Record the time when we are finished with the creation of the raptor data models. The
+   * creation starts when the transit routing starts, and may run in parallel with the access and
+   * egress routing.
    */
   public void finishedPatternFiltering() {
-    finishedPatternFiltering = Timer.start(clock);
     if (startedTransitRouterTime == null) {
       return;
     }
@@ -187,30 +188,42 @@ public class DebugTimingAggregator {
     egressTime = startedEgressCalculating.stop(egressTimer);
   }
 
+  /** Record the time when starting the access and egress routing. */
+  public void startedAccessEgress() {
+    startedAccessEgress = Timer.start(clock);
+  }
+
   /**
    * Record the time when we are finished with the access and egress routing.
    */
   public void finishedAccessEgress(int numAccesses, int numEgresses) {
-    finishedAccessEgress = Timer.start(clock);
-    if (finishedPatternFiltering == null) {
+    if (startedAccessEgress == null) {
       return;
     }
-    accessEgressTime = finishedPatternFiltering.stop(accessEgressTimer);
+    accessEgressTime = startedAccessEgress.stop(accessEgressTimer);
     this.numAccesses = numAccesses;
     numAccessesDistribution.record(numAccesses);
     this.numEgresses = numEgresses;
     numEgressesDistribution.record(numEgresses);
   }
 
+  /**
+   * Record the time when the raptor data model and the access/egress are ready, and the raptor
+   * search starts.
+   */
+  public void startedRaptorSearch() {
+    startedRaptorSearch = Timer.start(clock);
+  }
+
   /**
    * Record the time when we are finished with the raptor search.
    */
   public void finishedRaptorSearch() {
     finishedRaptorSearch = Timer.start(clock);
-    if (finishedAccessEgress == null) {
+    if (startedRaptorSearch == null) {
       return;
     }
-    raptorSearchTime = finishedAccessEgress.stop(raptorSearchTimer);
+    raptorSearchTime = startedRaptorSearch.stop(raptorSearchTimer);
   }
 
   /**
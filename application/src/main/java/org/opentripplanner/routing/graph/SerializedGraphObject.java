@@ -1,5 +1,6 @@
 package org.opentripplanner.routing.graph;
 
+import static org.opentripplanner.framework.time.DurationUtils.msToSecondsStr;
 import static org.opentripplanner.model.projectinfo.OtpProjectInfo.projectInfo;
 
 import com.esotericsoftware.kryo.Kryo;
@@ -15,6 +16,9 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
@@ -176,16 +180,15 @@ public class SerializedGraphObject implements Serializable {
       );
 
       Kryo kryo = KryoBuilder.create();
+      long startTime = System.currentTimeMillis();
       SerializedGraphObject serObj = (SerializedGraphObject) kryo.readClassAndObject(input);
+      LOG.info("Graph deserialized in {}", msToSecondsStr(System.currentTimeMillis() - startTime));
       SubMode.deserializeSubModeCache(serObj.allTransitSubModes);
       RoutingTripPattern.initIndexCounter(serObj.routingTripPatternCounter);
       CompactElevationProfile.setDistanceBetweenSamplesM(
         serObj.graph.getDistanceBetweenElevationSamples()
       );
-      LOG.debug("Graph read.");
-      serObj.reconstructEdgeLists();
-      serObj.timetableRepository.getStopModel().reindexAfterDeserialization();
-      serObj.timetableRepository.index();
+      serObj.reconstructEdgeListsAndIndexTransit();
       logSerializationCompleteStatus(serObj.graph, serObj.timetableRepository);
       return serObj;
     } catch (IOException e) {
@@ -210,6 +213,48 @@ public class SerializedGraphObject implements Serializable {
     }
   }
 
+  /**
+   * The street graph edge lists and the transit model indexes do not depend on each other, so
+   * they are rebuilt in parallel to reduce the startup time. The transit model is indexed in a
+   * dedicated thread, while the calling thread rebuilds the edge lists.
+   */
+  private void reconstructEdgeListsAndIndexTransit() {
+    try (
+      var executor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("graph-load-index-transit").factory()
+      )
+    ) {
+      Future<?> indexTransit = executor.submit(() ->
+        logDuration(
+          "Transit model indexed",
+          () -> {
+            timetableRepository.getStopModel().reindexAfterDeserialization();
+            timetableRepository.index();
+          }
+        )
+      );
+      logDuration("Edge lists reconstructed", this::reconstructEdgeLists);
+      indexTransit.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OtpAppException("Graph load interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static void logDuration(String message, Runnable task) {
+    long startTime = System.currentTimeMillis();
+    task.run();
+    LOG.info("{} in {}", message, msToSecondsStr(System.currentTimeMillis() - startTime));
+  }
+
   @SuppressWarnings("Convert2MethodRef")
   private static OutputStream wrapOutputStreamWithProgressTracker(
     OutputStream outputStream,
@@ -246,12 +291,17 @@ public class SerializedGraphObject implements Serializable {
   private void save(OutputStream outputStream, String graphName, long size) {
     LOG.info("Writing graph {}  ...", graphName);
     outputStream = wrapOutputStreamWithProgressTracker(outputStream, size);
+    long startTime = System.currentTimeMillis();
     Kryo kryo = KryoBuilder.create();
     Output output = new Output(outputStream);
     output.write(OtpProjectInfo.projectInfo().graphFileHeaderInfo.header());
     kryo.writeClassAndObject(output, this);
     output.close();
-    LOG.info("Graph written: {}", graphName);
+    LOG.info(
+      "Graph written: {} in {}",
+      graphName,
+      msToSecondsStr(System.currentTimeMillis() - startTime)
+    );
     // Summarize serialized classes and associated serializers to stdout:
     // ((InstanceCountingClassResolver) kryo.getClassResolver()).summarize();
   }
@@ -1,5 +1,6 @@
 package org.opentripplanner.routing.linking;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -7,6 +8,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -17,6 +19,7 @@ import org.locationtech.jts.linearref.LocationIndexedLine;
 import org.locationtech.jts.operation.distance.DistanceOp;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
 import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graph.index.EdgeSpatialIndex;
@@ -77,6 +80,13 @@ public class VertexLinker {
   // TODO Temporary code until we refactor WalkableAreaBuilder  (#3152)
   private boolean addExtraEdgesToAreas = true;
 
+  /**
+   * The envelopes of the edges added to or removed from the permanent spatial index while many
+   * vertices are linked, see {@link #linkVerticesPermanently}. This is {@code null} otherwise.
+   */
+  @Nullable
+  private HashGridSpatialIndex<Envelope> changedEnvelopes;
+
   /**
    * Construct a new VertexLinker. NOTE: Only one VertexLinker should be active on a graph at any
    * given time.
@@ -97,6 +107,42 @@ public class VertexLinker {
     link(vertex, traverseModes, direction, Scope.PERMANENT, edgeFunction);
   }
 
+  /**
+   * Link the vertices permanently, one at a time in the given order. The result is the same as
+   * calling {@link #linkVertexPermanently} for each vertex, but this is faster for many vertices:
+   * the closest edges of all vertices are found in parallel first. Linking a vertex may split the
+   * edges close to it, so the closest edges of a vertex are found again if any edge within its
+   * search radius is changed while the vertices before it are linked.
+   *
+   * @param vertexLinked Called after each vertex is linked.
+   */
+  public void linkVerticesPermanently(
+    List<? extends Vertex> vertices,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction,
+    Runnable vertexLinked
+  ) {
+    List<Set<DistanceTo<StreetEdge>>> closestEdges = vertices
+      .parallelStream()
+      .map(v -> findClosestEdges(v, traverseModes, Scope.PERMANENT, INITIAL_SEARCH_RADIUS_METERS))
+      .toList();
+
+    changedEnvelopes = new HashGridSpatialIndex<>();
+    try {
+      for (int i = 0; i < vertices.size(); i++) {
+        Vertex vertex = vertices.get(i);
+        var edges = isChanged(searchEnvelope(vertex, INITIAL_SEARCH_RADIUS_METERS))
+          ? null
+          : closestEdges.get(i);
+        link(vertex, traverseModes, direction, Scope.PERMANENT, edgeFunction, edges);
+        vertexLinked.run();
+      }
+    } finally {
+      changedEnvelopes = null;
+    }
+  }
+
   public DisposableEdgeCollection linkVertexForRealTime(
     Vertex vertex,
     TraverseModeSet traverseModes,
@@ -106,6 +152,42 @@ public class VertexLinker {
     return link(vertex, traverseModes, direction, Scope.REALTIME, edgeFunction);
   }
 
+  /**
+   * Link the vertices for real-time, one at a time in the given order. The result is the same as
+   * calling {@link #linkVertexForRealTime} for each vertex, but this is faster for many vertices:
+   * the closest edges of all vertices are found in parallel first. Real-time linking does not
+   * change the permanent spatial index the closest edges are found in, so they are still the
+   * closest edges when each vertex is linked.
+   *
+   * @return The edges created for each vertex, in the same order as the vertices.
+   */
+  public List<DisposableEdgeCollection> linkVerticesForRealTime(
+    List<? extends Vertex> vertices,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    List<Set<DistanceTo<StreetEdge>>> closestEdges = vertices
+      .parallelStream()
+      .map(v -> findClosestEdges(v, traverseModes, Scope.REALTIME, INITIAL_SEARCH_RADIUS_METERS))
+      .toList();
+
+    List<DisposableEdgeCollection> result = new ArrayList<>(vertices.size());
+    for (int i = 0; i < vertices.size(); i++) {
+      result.add(
+        link(
+          vertices.get(i),
+          traverseModes,
+          direction,
+          Scope.REALTIME,
+          edgeFunction,
+          closestEdges.get(i)
+        )
+      );
+    }
+    return result;
+  }
+
   public DisposableEdgeCollection linkVertexForRequest(
     Vertex vertex,
     TraverseModeSet traverseModes,
@@ -118,7 +200,11 @@ public class VertexLinker {
   public void removeEdgeFromIndex(Edge edge, Scope scope) {
     // Edges without geometry will not have been added to the index in the first place
     if (edge.getGeometry() != null) {
-      edgeSpatialIndex.remove(edge.getGeometry().getEnvelopeInternal(), edge, scope);
+      Envelope envelope = edge.getGeometry().getEnvelopeInternal();
+      edgeSpatialIndex.remove(envelope, edge, scope);
+      if (scope == Scope.PERMANENT) {
+        permanentIndexChanged(envelope);
+      }
     }
   }
 
@@ -131,6 +217,19 @@ public class VertexLinker {
     this.addExtraEdgesToAreas = addExtraEdgesToAreas;
   }
 
+  private void permanentIndexChanged(Envelope envelope) {
+    if (changedEnvelopes != null) {
+      changedEnvelopes.insert(envelope, envelope);
+    }
+  }
+
+  private boolean isChanged(Envelope envelope) {
+    return changedEnvelopes
+      .query(envelope)
+      .stream()
+      .anyMatch(changed -> changed.intersects(envelope));
+  }
+
   /** projected distance from stop to edge, in latitude degrees */
   private static double distance(Vertex tstop, StreetEdge edge, double xscale) {
     // Despite the fact that we want to use a fast somewhat inaccurate projection, still use JTS library tools
@@ -178,28 +277,45 @@ public class VertexLinker {
     LinkingDirection direction,
     Scope scope,
     BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    return link(vertex, traverseModes, direction, scope, edgeFunction, null);
+  }
+
+  /**
+   * @param closestEdges The closest edges within the initial search radius, if they are already
+   *                     found, otherwise {@code null}.
+   */
+  private DisposableEdgeCollection link(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    Scope scope,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction,
+    @Nullable Set<DistanceTo<StreetEdge>> closestEdges
   ) {
     DisposableEdgeCollection tempEdges = (scope != Scope.PERMANENT)
       ? new DisposableEdgeCollection(graph, scope)
       : null;
 
     try {
-      Set<StreetVertex> streetVertices = linkToStreetEdges(
+      if (closestEdges == null) {
+        closestEdges =
+          findClosestEdges(vertex, traverseModes, scope, INITIAL_SEARCH_RADIUS_METERS);
+      }
+      Set<StreetVertex> streetVertices = linkToClosestEdges(
         vertex,
-        traverseModes,
+        closestEdges,
         direction,
         scope,
-        INITIAL_SEARCH_RADIUS_METERS,
         tempEdges
       );
       if (streetVertices.isEmpty()) {
         streetVertices =
-          linkToStreetEdges(
+          linkToClosestEdges(
             vertex,
-            traverseModes,
+            findClosestEdges(vertex, traverseModes, scope, MAX_SEARCH_RADIUS_METERS),
             direction,
             scope,
-            MAX_SEARCH_RADIUS_METERS,
             tempEdges
           );
       }
@@ -222,30 +338,28 @@ public class VertexLinker {
     return tempEdges;
   }
 
-  private Set<StreetVertex> linkToStreetEdges(
+  /**
+   * Find the closest street edges, traversable by at least one of the given modes, within the
+   * search radius. This only reads the graph and the spatial index, so it can be done by many
+   * threads as long as no vertices are linked at the same time.
+   */
+  private Set<DistanceTo<StreetEdge>> findClosestEdges(
     Vertex vertex,
     TraverseModeSet traverseModes,
-    LinkingDirection direction,
     Scope scope,
-    int radiusMeters,
-    DisposableEdgeCollection tempEdges
+    int radiusMeters
   ) {
     final double radiusDeg = SphericalDistanceLibrary.metersToDegrees(radiusMeters);
 
-    Envelope env = new Envelope(vertex.getCoordinate());
-
     // Perform a simple local equirectangular projection, so distances are expressed in degrees latitude.
     final double xscale = Math.cos(vertex.getLat() * Math.PI / 180);
 
-    // Expand more in the longitude direction than the latitude direction to account for converging meridians.
-    env.expandBy(radiusDeg / xscale, radiusDeg);
-
     // Perform several transformations at once on the edges returned by the index. Only consider
     // street edges traversable by at least one of the given modes and are still present in the
     // graph. Calculate a distance to each of those edges, and keep only the ones within the search
     // radius.
     List<DistanceTo<StreetEdge>> candidateEdges = edgeSpatialIndex
-      .query(env, scope)
+      .query(searchEnvelope(vertex, radiusMeters), scope)
       .filter(StreetEdge.class::isInstance)
       .map(StreetEdge.class::cast)
       .filter(e -> e.canTraverse(traverseModes) && e.isReachableFromGraph())
@@ -256,11 +370,31 @@ public class VertexLinker {
     if (candidateEdges.isEmpty()) {
       return Set.of();
     }
+    return getClosestEdgesPerMode(traverseModes, candidateEdges);
+  }
+
+  private static Envelope searchEnvelope(Vertex vertex, int radiusMeters) {
+    final double radiusDeg = SphericalDistanceLibrary.metersToDegrees(radiusMeters);
+    final double xscale = Math.cos(vertex.getLat() * Math.PI / 180);
+
+    Envelope env = new Envelope(vertex.getCoordinate());
+    // Expand more in the longitude direction than the latitude direction to account for converging meridians.
+    env.expandBy(radiusDeg / xscale, radiusDeg);
+    return env;
+  }
+
+  private Set<StreetVertex> linkToClosestEdges(
+    Vertex vertex,
+    Set<DistanceTo<StreetEdge>> closestEdges,
+    LinkingDirection direction,
+    Scope scope,
+    DisposableEdgeCollection tempEdges
+  ) {
+    if (closestEdges.isEmpty()) {
+      return Set.of();
+    }
+    final double xscale = Math.cos(vertex.getLat() * Math.PI / 180);
 
-    Set<DistanceTo<StreetEdge>> closestEdges = getClosestEdgesPerMode(
-      traverseModes,
-      candidateEdges
-    );
     Set<AreaEdgeList> linkedAreas = new HashSet<>();
     return closestEdges
       .stream()
@@ -444,6 +578,8 @@ public class VertexLinker {
 
       if (scope == Scope.PERMANENT) {
         // remove original edges from the spatial index
+        // The new edges are within the envelope of the original edge, so this also records the
+        // change of the index for them, see linkVerticesPermanently().
         // This iterates over the entire rectangular envelope of the edge rather than the segments making it up.
         // It will be inefficient for very long edges, but creating a new remove method mirroring the more efficient
         // insert logic is not trivial and would require additional testing of the spatial index.
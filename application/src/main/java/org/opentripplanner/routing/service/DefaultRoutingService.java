@@ -39,10 +39,12 @@ public class DefaultRoutingService implements RoutingService {
     LOG.debug("Request: {}", request);
     OTPRequestTimeoutException.checkForTimeout();
     request.validateOriginAndDestination();
-    var worker = new RoutingWorker(serverContext, request, timeZone);
-    var response = worker.route();
-    logResponse(response);
-    return response;
+    try (var ignore = serverContext.routingRequestLimiter().acquire()) {
+      var worker = new RoutingWorker(serverContext, request, timeZone);
+      var response = worker.route();
+      logResponse(response);
+      return response;
+    }
   }
 
   @Override
@@ -55,7 +57,9 @@ public class DefaultRoutingService implements RoutingService {
         new RoutingWorker(serverContext, req, serverContext.transitService().getTimeZone()).route()
     );
     // TODO: Add output logging here, see route(..) method
-    return viaRoutingWorker.route();
+    try (var ignore = serverContext.routingRequestLimiter().acquire()) {
+      return viaRoutingWorker.route();
+    }
   }
 
   private void logResponse(RoutingResponse response) {
@@ -0,0 +1,140 @@
+package org.opentripplanner.routing.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limit the number of routing requests processed at the same time. Routing requests are
+ * expensive, so when the server is overloaded it is better to reject some of them early than to
+ * let all requests compete for the CPU until they time out. A request waits in a fair (FIFO) queue
+ * for a free slot for up to the max queue time; if no slot is available by then the request is
+ * rejected with a {@link OTPRequestRejectedException}.
+ * <p>
+ * Only routing (plan/trip/via) requests go through the limiter. Cheap lookups like stops and
+ * departures are never queued or rejected, so they are served also when routing is overloaded.
+ * <p>
+ * The number of active and queued requests, the queue time and the number of rejected requests
+ * are reported as metrics. There is one limiter for the application, it is injected into the
+ * server context.
+ */
+public class RoutingRequestLimiter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RoutingRequestLimiter.class);
+  private static final String METRICS_PREFIX = "routing.limiter.";
+  private static final Permit NOOP_PERMIT = () -> {};
+
+  @Nullable
+  private final Semaphore semaphore;
+
+  private final int maxConcurrentRequests;
+  private final Duration maxQueueTime;
+  private final Timer queueTimer;
+  private final Counter rejectedCounter;
+
+  /**
+   * @param maxConcurrentRequests The maximum number of routing requests processed at the same
+   *                              time, zero or negative means no limit.
+   */
+  public RoutingRequestLimiter(
+    int maxConcurrentRequests,
+    Duration maxQueueTime,
+    @Nullable MeterRegistry registry
+  ) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.maxQueueTime = maxQueueTime;
+
+    if (maxConcurrentRequests <= 0) {
+      this.semaphore = null;
+      this.queueTimer = null;
+      this.rejectedCounter = null;
+      return;
+    }
+    this.semaphore = new Semaphore(maxConcurrentRequests, true);
+    LOG.info(
+      "Routing requests are limited to {} at the time, max queue time is {}.",
+      maxConcurrentRequests,
+      maxQueueTime
+    );
+
+    if (registry == null) {
+      this.queueTimer = null;
+      this.rejectedCounter = null;
+      return;
+    }
+    this.queueTimer = Timer.builder(METRICS_PREFIX + "queueTime").register(registry);
+    this.rejectedCounter = Counter.builder(METRICS_PREFIX + "rejected").register(registry);
+    Gauge
+      .builder(METRICS_PREFIX + "active", this, it -> it.activeRequests())
+      .register(registry);
+    Gauge
+      .builder(METRICS_PREFIX + "queued", semaphore, Semaphore::getQueueLength)
+      .register(registry);
+  }
+
+  /**
+   * A limiter which lets all requests through, used when no limiter is configured.
+   */
+  public static RoutingRequestLimiter noLimit() {
+    return new RoutingRequestLimiter(0, Duration.ZERO, null);
+  }
+
+  /**
+   * Wait for a free slot, the returned permit must be closed when the request is done. Use it in
+   * a try-with-resources block.
+   *
+   * @throws OTPRequestRejectedException if no slot is available within the max queue time.
+   * @throws OTPRequestTimeoutException if the request thread is interrupted while waiting.
+   */
+  public Permit acquire() {
+    if (semaphore == null) {
+      return NOOP_PERMIT;
+    }
+    long startTime = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = semaphore.tryAcquire(maxQueueTime.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OTPRequestTimeoutException();
+    }
+    if (queueTimer != null) {
+      queueTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+    if (!acquired) {
+      if (rejectedCounter != null) {
+        rejectedCounter.increment();
+      }
+      throw new OTPRequestRejectedException();
+    }
+    // The permit releases the slot only once, even if it is closed more than once
+    var released = new AtomicBoolean(false);
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        semaphore.release();
+      }
+    };
+  }
+
+  int activeRequests() {
+    return semaphore == null ? 0 : maxConcurrentRequests - semaphore.availablePermits();
+  }
+
+  /**
+   * A slot in the limiter, close it to release the slot.
+   */
+  public interface Permit extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -4,6 +4,7 @@ import static org.opentripplanner.routing.stoptimes.ArrivalDeparture.ARRIVALS;
 import static org.opentripplanner.routing.stoptimes.ArrivalDeparture.DEPARTURES;
 
 import com.google.common.collect.MinMaxPriorityQueue;
+import gnu.trove.set.TIntSet;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -12,8 +13,11 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.model.PickDrop;
 import org.opentripplanner.model.StopTimesInPattern;
@@ -52,29 +56,73 @@ public class StopTimesHelper {
     ArrivalDeparture arrivalDeparture,
     boolean includeCancelledTrips
   ) {
+    return stopTimesForStops(
+      transitService,
+      List.of(stop),
+      startTime,
+      timeRange,
+      numberOfDepartures,
+      arrivalDeparture,
+      includeCancelledTrips
+    )
+      .get(stop);
+  }
+
+  /**
+   * Fetch upcoming vehicle departures for many stops, the result for each stop is the same as
+   * {@link #stopTimesForStop(TransitService, StopLocation, Instant, Duration, int, ArrivalDeparture, boolean)}.
+   * Each pattern is only scanned once, for all the given stops it visits, so this is a lot faster
+   * than calling the single stop version for each stop when the stops share patterns.
+   *
+   * @return the upcoming departures for each of the given stops.
+   */
+  public static Map<StopLocation, List<StopTimesInPattern>> stopTimesForStops(
+    TransitService transitService,
+    Collection<? extends StopLocation> stops,
+    Instant startTime,
+    Duration timeRange,
+    int numberOfDepartures,
+    ArrivalDeparture arrivalDeparture,
+    boolean includeCancelledTrips
+  ) {
+    Map<StopLocation, List<StopTimesInPattern>> result = new HashMap<>();
     if (numberOfDepartures <= 0) {
-      return List.of();
+      stops.forEach(stop -> result.put(stop, List.of()));
+      return result;
     }
 
-    List<StopTimesInPattern> result = new ArrayList<>();
-
-    // Fetch all patterns, including those from realtime sources
-    Collection<TripPattern> patterns = transitService.getPatternsForStop(stop, true);
-
-    for (TripPattern pattern : patterns) {
-      Queue<TripTimeOnDate> pq = listTripTimeOnDatesForPatternAtStop(
-        transitService,
-        stop,
-        pattern,
-        startTime,
-        timeRange,
-        numberOfDepartures,
-        arrivalDeparture,
-        includeCancelledTrips,
-        false
-      );
-
-      result.addAll(getStopTimesInPattern(pattern, pq));
+    Set<StopLocation> stopSet = Set.copyOf(stops);
+    Map<TripPattern, Map<StopLocation, Queue<TripTimeOnDate>>> departuresByPattern =
+      new HashMap<>();
+
+    for (StopLocation stop : stopSet) {
+      List<StopTimesInPattern> stopTimes = new ArrayList<>();
+
+      // Fetch all patterns, including those from realtime sources
+      Collection<TripPattern> patterns = transitService.getPatternsForStop(stop, true);
+
+      for (TripPattern pattern : patterns) {
+        var departures = departuresByPattern.computeIfAbsent(
+          pattern,
+          p ->
+            listTripTimeOnDatesForPatternAtStops(
+              transitService,
+              stopSet,
+              p,
+              startTime,
+              timeRange,
+              numberOfDepartures,
+              arrivalDeparture,
+              includeCancelledTrips,
+              false
+            )
+        );
+        Queue<TripTimeOnDate> pq = departures.get(stop);
+        if (pq != null) {
+          stopTimes.addAll(getStopTimesInPattern(pattern, pq));
+        }
+      }
+      result.put(stop, stopTimes);
     }
 
     return result;
@@ -194,6 +242,37 @@ public class StopTimesHelper {
     ArrivalDeparture arrivalDeparture,
     boolean includeCancellations,
     boolean includeReplaced
+  ) {
+    var departures = listTripTimeOnDatesForPatternAtStops(
+      transitService,
+      Set.of(stop),
+      pattern,
+      startTime,
+      timeRange,
+      numberOfDepartures,
+      arrivalDeparture,
+      includeCancellations,
+      includeReplaced
+    );
+    return departures.getOrDefault(stop, createQueue(numberOfDepartures));
+  }
+
+  /**
+   * List the departures of a pattern from each of the given stops. The departures are found with
+   * a binary search in the {@link Timetable#getDepartureIndex()} of each service date, and the
+   * trips are only checked once for all the stops. A stop that is not visited by the pattern is
+   * not included in the result.
+   */
+  private static Map<StopLocation, Queue<TripTimeOnDate>> listTripTimeOnDatesForPatternAtStops(
+    TransitService transitService,
+    Set<StopLocation> stops,
+    TripPattern pattern,
+    Instant startTime,
+    Duration timeRange,
+    int numberOfDepartures,
+    ArrivalDeparture arrivalDeparture,
+    boolean includeCancellations,
+    boolean includeReplaced
   ) {
     ZoneId zoneId = transitService.getTimeZone();
     LocalDate startDate = startTime.atZone(zoneId).toLocalDate().minusDays(1);
@@ -202,24 +281,7 @@ public class StopTimesHelper {
     // datesUntil is exclusive in the end, so need to add one day
     List<LocalDate> serviceDates = startDate.datesUntil(endDate.plusDays(1)).toList();
 
-    // The bounded priority Q is used to keep a sorted short list of trip times. We can not
-    // rely on the trip times to be in order because of real-time updates. This code can
-    // probably be optimized, and the trip search in the Raptor search does almost the same
-    // thing. This is no part of a routing request, but is a used frequently in some
-    // operation like Entur for "departure boards" (apps, widgets, screens on platforms, and
-    // hotel lobbies). Setting the numberOfDepartures and timeRange to a big number for a
-    // transit hub could result in a DOS attack, but there are probably other more effective
-    // ways to do it.
-    //
-    // The {@link MinMaxPriorityQueue} is marked beta, but we do not have a god alternative.
-    MinMaxPriorityQueue<TripTimeOnDate> pq = MinMaxPriorityQueue
-      .orderedBy(
-        Comparator.comparing((TripTimeOnDate tts) ->
-          tts.getServiceDayMidnight() + tts.getRealtimeDeparture()
-        )
-      )
-      .maximumSize(numberOfDepartures)
-      .create();
+    Map<StopLocation, Queue<TripTimeOnDate>> result = new HashMap<>();
 
     int timeRangeSeconds = (int) timeRange.toSeconds();
 
@@ -233,10 +295,23 @@ public class StopTimesHelper {
       );
       var servicesRunning = transitService.getServiceCodesRunningForDate(serviceDate);
 
-      List<StopLocation> stops = pattern.getStops();
-      for (int stopIndex = 0; stopIndex < stops.size(); stopIndex++) {
-        StopLocation currStop = stops.get(stopIndex);
-        if (currStop == stop) {
+      var departureIndex = timetable.getDepartureIndex();
+      var runningTrips = new RunningTrips(
+        transitService,
+        timetable,
+        pattern,
+        serviceDate,
+        servicesRunning,
+        includeCancellations,
+        includeReplaced
+      );
+      int endOfTimeRange = secondsSinceMidnight + timeRangeSeconds;
+
+      List<StopLocation> patternStops = pattern.getStops();
+      for (int stopIndex = 0; stopIndex < patternStops.size(); stopIndex++) {
+        StopLocation currStop = patternStops.get(stopIndex);
+        if (stops.contains(currStop)) {
+          var pq = result.computeIfAbsent(currStop, s -> createQueue(numberOfDepartures));
           if (skipByPickUpDropOff(pattern, arrivalDeparture, stopIndex)) {
             continue;
           }
@@ -244,27 +319,35 @@ public class StopTimesHelper {
             continue;
           }
 
-          for (TripTimes tripTimes : timetable.getTripTimes()) {
-            if (!servicesRunning.contains(tripTimes.getServiceCode())) {
-              continue;
+          // A trip never departs before it arrives, so the trips arriving in the time range
+          // depart in the time range extended by the longest dwell time
+          int lastDepartureTime = arrivalDeparture == DEPARTURES
+            ? endOfTimeRange
+            : endOfTimeRange + departureIndex.maxDwellTime(stopIndex);
+
+          // The departures are visited in the same order as they are sorted in the queue, so
+          // the search stops when the number of departures are found
+          int found = 0;
+          for (
+            int i = departureIndex.firstDepartureAtOrAfter(stopIndex, secondsSinceMidnight);
+            i < departureIndex.size() && found < numberOfDepartures;
+            i++
+          ) {
+            if (departureIndex.departureTime(stopIndex, i) > lastDepartureTime) {
+              break;
             }
-            if (skipByTripCancellation(tripTimes, includeCancellations)) {
-              continue;
-            }
-            if (
-              !includeReplaced &&
-              isReplacedByAnotherPattern(tripTimes.getTrip(), serviceDate, pattern, transitService)
-            ) {
+            if (!runningTrips.isRunning(departureIndex.tripIndex(stopIndex, i))) {
               continue;
             }
+            TripTimes tripTimes = departureIndex.tripTimes(stopIndex, i);
 
             boolean departureTimeInRange =
               tripTimes.getDepartureTime(stopIndex) >= secondsSinceMidnight &&
-              tripTimes.getDepartureTime(stopIndex) <= secondsSinceMidnight + timeRangeSeconds;
+              tripTimes.getDepartureTime(stopIndex) <= endOfTimeRange;
 
             boolean arrivalTimeInRange =
               tripTimes.getArrivalTime(stopIndex) >= secondsSinceMidnight &&
-              tripTimes.getArrivalTime(stopIndex) <= secondsSinceMidnight + timeRangeSeconds;
+              tripTimes.getArrivalTime(stopIndex) <= endOfTimeRange;
 
             // ARRIVAL: Arrival time has to be within range
             // DEPARTURES: Departure time has to be within range
@@ -276,13 +359,36 @@ public class StopTimesHelper {
               pq.add(
                 new TripTimeOnDate(tripTimes, stopIndex, pattern, serviceDate, midnight.toInstant())
               );
+              found++;
             }
           }
           // TODO Add back support for frequency entries
         }
       }
     }
-    return pq;
+    return result;
+  }
+
+  /**
+   * The bounded priority Q is used to keep a sorted short list of trip times. We can not rely on
+   * the trip times to be in order because of real-time updates. This code can probably be
+   * optimized, and the trip search in the Raptor search does almost the same thing. This is no
+   * part of a routing request, but is a used frequently in some operation like Entur for
+   * "departure boards" (apps, widgets, screens on platforms, and hotel lobbies). Setting the
+   * numberOfDepartures and timeRange to a big number for a transit hub could result in a DOS
+   * attack, but there are probably other more effective ways to do it.
+   * <p>
+   * The {@link MinMaxPriorityQueue} is marked beta, but we do not have a god alternative.
+   */
+  private static MinMaxPriorityQueue<TripTimeOnDate> createQueue(int numberOfDepartures) {
+    return MinMaxPriorityQueue
+      .orderedBy(
+        Comparator.comparing((TripTimeOnDate tts) ->
+          tts.getServiceDayMidnight() + tts.getRealtimeDeparture()
+        )
+      )
+      .maximumSize(numberOfDepartures)
+      .create();
   }
 
   private static boolean isReplacedByAnotherPattern(
@@ -339,4 +445,64 @@ public class StopTimesHelper {
 
     return (pickupCancelled || dropOffCancelled) && !includeCancelledTrips;
   }
+
+  /**
+   * Check if the trips of a timetable are running on a service date. Only the trips departing in
+   * the time range are checked, and each trip is only checked once for all the stops of the
+   * pattern.
+   */
+  private static class RunningTrips {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte RUNNING = 1;
+    private static final byte NOT_RUNNING = 2;
+
+    private final TransitService transitService;
+    private final Timetable timetable;
+    private final TripPattern pattern;
+    private final LocalDate serviceDate;
+    private final TIntSet servicesRunning;
+    private final boolean includeCancellations;
+    private final boolean includeReplaced;
+    private final byte[] state;
+
+    private RunningTrips(
+      TransitService transitService,
+      Timetable timetable,
+      TripPattern pattern,
+      LocalDate serviceDate,
+      TIntSet servicesRunning,
+      boolean includeCancellations,
+      boolean includeReplaced
+    ) {
+      this.transitService = transitService;
+      this.timetable = timetable;
+      this.pattern = pattern;
+      this.serviceDate = serviceDate;
+      this.servicesRunning = servicesRunning;
+      this.includeCancellations = includeCancellations;
+      this.includeReplaced = includeReplaced;
+      this.state = new byte[timetable.getTripTimes().size()];
+    }
+
+    boolean isRunning(int tripIndex) {
+      if (state[tripIndex] == UNKNOWN) {
+        state[tripIndex] = check(timetable.getTripTimes(tripIndex)) ? RUNNING : NOT_RUNNING;
+      }
+      return state[tripIndex] == RUNNING;
+    }
+
+    private boolean check(TripTimes tripTimes) {
+      if (!servicesRunning.contains(tripTimes.getServiceCode())) {
+        return false;
+      }
+      if (skipByTripCancellation(tripTimes, includeCancellations)) {
+        return false;
+      }
+      return (
+        includeReplaced ||
+        !isReplacedByAnotherPattern(tripTimes.getTrip(), serviceDate, pattern, transitService)
+      );
+    }
+  }
 }
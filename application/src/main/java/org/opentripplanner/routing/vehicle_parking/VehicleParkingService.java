@@ -33,6 +33,12 @@ public class VehicleParkingService implements Serializable {
    */
   private volatile ImmutableListMultimap<VehicleParkingGroup, VehicleParking> vehicleParkingGroups = ImmutableListMultimap.of();
 
+  /**
+   * Incremented on every update. The updates are done by the single graph writer thread, so the
+   * increment does not need to be atomic. The version is not saved with the graph.
+   */
+  private transient volatile long version;
+
   /**
    * Does atomic update of {@link VehicleParking} and index of {@link VehicleParkingGroup} in this
    * service by replacing the existing with a new copy that includes old ones that were not removed
@@ -63,6 +69,27 @@ public class VehicleParkingService implements Serializable {
     updatedVehicleParkings.removeAll(parkingToRemove);
     updatedVehicleParkings.addAll(parkingToAdd);
     vehicleParkings = Set.copyOf(updatedVehicleParkings);
+    version++;
+  }
+
+  /**
+   * Update the available spaces of a vehicle parking in this service.
+   */
+  public void updateAvailability(
+    VehicleParking vehicleParking,
+    VehicleParkingSpaces vehicleParkingSpaces
+  ) {
+    vehicleParking.updateAvailability(vehicleParkingSpaces);
+    version++;
+  }
+
+  /**
+   * The version of the vehicle parking data, incremented every time vehicle parking is added,
+   * removed or the availability is updated. This can be used to invalidate data derived from the
+   * vehicle parking, like cached vector tiles.
+   */
+  public long version() {
+    return version;
   }
 
   public Stream<VehicleParking> getBikeParks() {
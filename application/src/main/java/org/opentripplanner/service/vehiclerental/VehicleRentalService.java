@@ -27,6 +27,13 @@ public interface VehicleRentalService {
 
   boolean hasRentalBikes();
 
+  /**
+   * The version of the rental data, incremented every time a rental place is added, updated or
+   * removed. This can be used to invalidate data derived from the rental places, like cached
+   * vector tiles.
+   */
+  long version();
+
   /**
    * Gets all the vehicle rental stations inside the envelope. This is currently done by iterating
    * over a set, but we could use a spatial index if the number of vehicle rental stations is high
@@ -4,10 +4,13 @@ import static org.opentripplanner.model.projectinfo.OtpProjectInfo.projectInfo;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
+import javax.annotation.Nullable;
 import org.geotools.referencing.factory.DeferredAuthorityFactory;
 import org.geotools.util.WeakCollectionCleaner;
+import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.framework.application.ApplicationShutdownSupport;
 import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
 import org.opentripplanner.graph_builder.GraphBuilder;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
@@ -160,6 +163,8 @@ public class OTPMain {
         app.streetLimitationParameters()
       )
         .save(app.graphOutputDataSource());
+      app.saveGeocoderIndex();
+      app.saveVectorTileArchive();
       // Log size info for the deduplicator
       LOG.info("Memory optimized {}", app.graph().deduplicator.toString());
     }
@@ -205,7 +210,12 @@ public class OTPMain {
     if (params.doServe()) {
       GrizzlyServer grizzlyServer = app.createGrizzlyServer();
 
-      registerShutdownHookToGracefullyShutDownServer(app.timetableRepository(), app.raptorConfig());
+      registerShutdownHookToGracefullyShutDownServer(
+        app.timetableRepository(),
+        app.raptorConfig(),
+        app.requestTasks(),
+        app.luceneIndex()
+      );
 
       // Loop to restart server on uncaught fatal exceptions.
       while (true) {
@@ -227,13 +237,16 @@ public class OTPMain {
    * Shut down this server when evicted or (auto-)reloaded.
    * <ol>
    *   <li>Stop any real-time updater threads.</li>
+   *   <li>Close the geocoder index, if the geocoder is enabled.</li>
    *   <li>Cleanup various stuff of some used libraries (org.geotools), which depend on the
    *   external client to call them for cleaning-up.</li>
    * </ol>
    */
   private static void registerShutdownHookToGracefullyShutDownServer(
     TimetableRepository timetableRepository,
-    RaptorConfig<?> raptorConfig
+    RaptorConfig<?> raptorConfig,
+    OtpRequestTasks requestTasks,
+    @Nullable LuceneIndex luceneIndex
   ) {
     ApplicationShutdownSupport.addShutdownHook(
       "server-shutdown",
@@ -241,6 +254,10 @@ public class OTPMain {
         LOG.info("OTP shutdown started...");
         UpdaterConfigurator.shutdownGraph(timetableRepository);
         raptorConfig.shutdown();
+        requestTasks.shutdown();
+        if (luceneIndex != null) {
+          luceneIndex.close();
+        }
         WeakCollectionCleaner.DEFAULT.exit();
         DeferredAuthorityFactory.exit();
         LOG.info("OTP shutdown: resources released...");
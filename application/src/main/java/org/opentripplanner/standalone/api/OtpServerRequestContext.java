@@ -4,15 +4,20 @@ import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import java.util.Locale;
 import javax.annotation.Nullable;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.astar.spi.TraverseVisitor;
 import org.opentripplanner.ext.dataoverlay.routing.DataOverlayContext;
 import org.opentripplanner.ext.emissions.EmissionsService;
 import org.opentripplanner.ext.flex.FlexParameters;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
+import org.opentripplanner.ext.vectortiles.VectorTileArchive;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
 import org.opentripplanner.inspector.raster.TileRendererManager;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
@@ -21,6 +26,7 @@ import org.opentripplanner.routing.api.RoutingService;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graphfinder.GraphFinder;
+import org.opentripplanner.routing.service.RoutingRequestLimiter;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
@@ -72,6 +78,16 @@ public interface OtpServerRequestContext {
 
   RaptorConfig<TripSchedule> raptorConfig();
 
+  /**
+   * Limit the number of routing requests processed at the same time, shared by all requests.
+   */
+  RoutingRequestLimiter routingRequestLimiter();
+
+  /**
+   * Run independent parts of a routing request in parallel, shared by all requests.
+   */
+  OtpRequestTasks requestTasks();
+
   Graph graph();
 
   @HttpRequestScoped
@@ -108,6 +124,11 @@ public interface OtpServerRequestContext {
 
   MeterRegistry meterRegistry();
 
+  /**
+   * The parsed and validated queries of the GraphQL APIs, shared by all requests.
+   */
+  GraphQLDocumentCache graphQLDocumentCache();
+
   @Nullable
   EmissionsService emissionsService();
 
@@ -127,8 +148,22 @@ public interface OtpServerRequestContext {
 
   FlexParameters flexParameters();
 
+  /**
+   * The street searches of the flex access and egress, shared by all requests.
+   */
+  StreetFlexPathCache streetFlexPathCache();
+
   VectorTileConfig vectorTileConfig();
 
+  VectorTileCache vectorTileCache();
+
+  /**
+   * The pre-rendered static vector tile layers, or {@code null} if no archive is saved next to
+   * the graph.
+   */
+  @Nullable
+  VectorTileArchive vectorTileArchive();
+
   @Nullable
   default DataOverlayContext dataOverlayContext(RouteRequest request) {
     return OTPFeature.DataOverlay.isOnElseNull(() ->
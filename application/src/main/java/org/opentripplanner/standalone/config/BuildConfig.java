@@ -147,6 +147,8 @@ public class BuildConfig implements OtpDataStoreConfig {
 
   public final boolean osmCacheDataInMem;
 
+  public final boolean osmCompactNodeStorage;
+
   /** See {@link IslandPruningConfig}. */
   public final IslandPruningConfig islandPruning;
 
@@ -329,6 +331,22 @@ all of the elevation values in the street edges.
       """
         )
         .asBoolean(false);
+    osmCompactNodeStorage =
+      root
+        .of("osmCompactNodeStorage")
+        .since(V2_7)
+        .summary("If the OSM nodes should be stored in a compact form during processing.")
+        .description(
+          """
+      Most of the memory used when loading OSM data is used by the nodes. When this is enabled,
+      the node coordinates are stored in a memory mapped temporary file outside the heap, and the
+      node tags are stored in compact arrays. A node object is only created when the node is
+      used. This lets large OSM extracts be loaded with a much smaller heap, but processing the
+      OSM data is somewhat slower. The temporary file is created in the directory given by the
+      `java.io.tmpdir` system property.
+      """
+        )
+        .asBoolean(false);
     platformEntriesLinking =
       root
         .of("platformEntriesLinking")
@@ -1,9 +1,11 @@
 package org.opentripplanner.standalone.config.routerconfig;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 
 import java.time.Duration;
 import java.util.List;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 import org.opentripplanner.standalone.server.OTPWebApplicationParameters;
@@ -12,6 +14,10 @@ import org.opentripplanner.standalone.server.RequestTraceParameter;
 public class ServerConfig implements OTPWebApplicationParameters {
 
   private final Duration apiProcessingTimeout;
+  private final int routingThreadPoolSize;
+  private final int maxConcurrentRoutingRequests;
+  private final Duration routingQueueTimeout;
+  private final int graphQLDocumentCacheSize;
   private final List<RequestTraceParameter> traceParameters;
 
   public ServerConfig(String parameterName, NodeAdapter root) {
@@ -37,11 +43,78 @@ domain, these are set in the routing request.
 This timeout limits the server-side processing time for a given API request. This does not include
 network latency nor waiting time in the HTTP server thread pool. The default value is
 `-1s`(no timeout). The timeout is applied to all APIs (REST, Transmodel & GTFS GraphQL).
-The timeout is not enforced when the parallel routing OTP feature is in use.
 """
         )
         .asDuration(Duration.ofSeconds(-1));
 
+    this.routingThreadPoolSize =
+      c
+        .of("routingThreadPoolSize")
+        .since(V2_7)
+        .summary("Number of threads used to run parts of a routing request in parallel.")
+        .description(
+          """
+When the `ParallelRouting` OTP feature is enabled, the direct street, direct flex and transit
+searches, and the access and egress searches are run in parallel. The request thread runs one of
+the tasks, the rest is run in the routing thread pool. If the value is `0` (default), each task is
+run in a new virtual thread. Set it to a positive number to use a bounded pool of platform
+threads, tasks are then queued when all threads are busy. The queue holds as many tasks as there
+are threads, when it is full the request thread runs the task itself.
+
+The pool queue size, active threads, task waiting time and execution time are available in the
+`/otp/actuators/prometheus` endpoint with the `pool="routing"` tag.
+"""
+        )
+        .asInt(0);
+
+    this.maxConcurrentRoutingRequests =
+      c
+        .of("maxConcurrentRoutingRequests")
+        .since(V2_7)
+        .summary("Maximum number of routing requests processed at the same time.")
+        .description(
+          """
+Routing requests(plan, trip and via) exceeding this limit wait in a queue for up to
+`routingQueueTimeout`, if still not started they are rejected. Rejecting requests early when the
+server is overloaded is better than letting all requests compete for the CPU until they time out.
+Other requests, like stop and departure lookups, are not limited. The default value is `0`(no
+limit). A good value is normally a small multiple of the number of CPU cores.
+
+The number of active and queued routing requests, the queue time and the number of rejected
+requests are available as `routing.limiter.*` metrics in the `/otp/actuators/prometheus`
+endpoint.
+"""
+        )
+        .asInt(0);
+
+    this.routingQueueTimeout =
+      c
+        .of("routingQueueTimeout")
+        .since(V2_7)
+        .summary("Maximum time a routing request waits for a free slot before it is rejected.")
+        .description(
+          "Only used if `maxConcurrentRoutingRequests` is set. The wait is part of the " +
+          "`apiProcessingTimeout`, so this should be shorter."
+        )
+        .asDuration(Duration.ofSeconds(1));
+
+    this.graphQLDocumentCacheSize =
+      c
+        .of("graphQLDocumentCacheSize")
+        .since(V2_7)
+        .summary("Maximum number of parsed and validated GraphQL queries kept in memory.")
+        .description(
+          """
+The GTFS and Transmodel GraphQL APIs parse and validate a query the first time it is seen, the
+parsed query is reused when the same query text is sent again. The least recently used queries are
+evicted when the cache is full. If `0`, the queries are parsed and validated for every request.
+
+The hit ratio is available as the `graphql.document.cache` metric in the
+`/otp/actuators/prometheus` endpoint.
+"""
+        )
+        .asInt(GraphQLDocumentCache.DEFAULT_MAX_SIZE);
+
     this.traceParameters =
       c
         .of("traceParameters")
@@ -105,6 +178,22 @@ Only log4j and logback support this.
     return apiProcessingTimeout;
   }
 
+  public int routingThreadPoolSize() {
+    return routingThreadPoolSize;
+  }
+
+  public int maxConcurrentRoutingRequests() {
+    return maxConcurrentRoutingRequests;
+  }
+
+  public Duration routingQueueTimeout() {
+    return routingQueueTimeout;
+  }
+
+  public int graphQLDocumentCacheSize() {
+    return graphQLDocumentCacheSize;
+  }
+
   public void validate(Duration streetRoutingTimeout) {
     if (
       !apiProcessingTimeout.isNegative() &&
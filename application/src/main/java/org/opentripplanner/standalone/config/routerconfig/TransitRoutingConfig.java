@@ -6,6 +6,7 @@ import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 
 import java.time.Duration;
 import java.util.List;
@@ -27,6 +28,7 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
   private final int scheduledTripBinarySearchThreshold;
   private final int iterationDepartureStepInSeconds;
   private final int searchThreadPoolSize;
+  private final int searchWindowSliceInSeconds;
   private final int transferCacheMaxSize;
   private final List<RouteRequest> transferCacheRequests;
   private final List<Duration> pagingSearchWindowAdjustments;
@@ -113,6 +115,30 @@ no extra threads are started and the search is done in one thread.
 """
         )
         .asInt(dft.searchThreadPoolSize());
+    this.searchWindowSliceInSeconds =
+      (int) c
+        .of("searchWindowSlice")
+        .since(V2_7)
+        .summary("Search the search-window of a multi-criteria search in parallel slices.")
+        .description(
+          """
+The slices are searched on the `searchThreadPoolSize` threads, so this has no effect if the thread
+pool is not enabled. The search-window is split into slices of at least this duration, but never
+into more slices than the thread pool size plus one. Splitting reduces the response time for long
+search-windows, but each slice is searched independently, so the total amount of work increases.
+If 0, the search-window is not split.
+
+The result is not always identical to the result of the unsplit search. A range-raptor search
+iterates from the latest to the earliest departure, and the arrivals at the stops and the
+destination found for a late departure are used to prune the search for the earlier departures. A
+slice does not see the arrivals of the later slices, so it finds more paths. These paths are
+removed when the slices are merged, using the same pareto comparison as at the destination. If the
+comparison is relaxed, like it is with `relaxTransitGroupPriority`, it is not transitive and the
+order of the merge matters. Then the sliced search may return a slightly different set of paths.
+"""
+        )
+        .asDuration(Duration.ofSeconds(dft.searchWindowSliceInSeconds()))
+        .toSeconds();
     // Dynamic Search Window
     this.stopBoardAlightDuringTransferCost =
       c
@@ -249,6 +275,11 @@ for more info."
     return searchThreadPoolSize;
   }
 
+  @Override
+  public int searchWindowSliceInSeconds() {
+    return searchWindowSliceInSeconds;
+  }
+
   @Override
   public DynamicSearchWindowCoefficients dynamicSearchWindowCoefficients() {
     return dynamicSearchWindowCoefficients;
@@ -7,6 +7,7 @@ import static org.opentripplanner.inspector.vector.LayerParameters.MIN_ZOOM;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_0;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_5;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_6;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 
 import java.util.Collection;
 import java.util.List;
@@ -15,12 +16,31 @@ import javax.annotation.Nullable;
 import org.opentripplanner.ext.vectortiles.VectorTilesResource;
 import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
 import org.opentripplanner.ext.vectortiles.layers.LayerFilters;
+import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.inspector.vector.LayerParameters;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 
 public class VectorTileConfig implements VectorTilesResource.LayersParameters<LayerType> {
 
-  public static final VectorTileConfig DEFAULT = new VectorTileConfig(List.of(), null, null);
+  /**
+   * The value of {@code archiveMaxZoom} if the archive is disabled. Zoom level 0 is a valid zoom
+   * level, so a negative value is used.
+   */
+  public static final int ARCHIVE_DISABLED = -1;
+
+  /**
+   * The x and y coordinates of the tiles are stored in 24 bits each in the archive tile keys.
+   */
+  public static final int MAX_ARCHIVE_ZOOM = 24;
+
+  public static final VectorTileConfig DEFAULT = new VectorTileConfig(
+    List.of(),
+    null,
+    null,
+    64,
+    ARCHIVE_DISABLED
+  );
+
   private final List<LayerParameters<LayerType>> layers;
 
   @Nullable
@@ -29,14 +49,31 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
   @Nullable
   private final String attribution;
 
+  private final int tileCacheMaxMegabytes;
+
+  private final int archiveMaxZoom;
+
   VectorTileConfig(
     Collection<? extends LayerParameters<LayerType>> layers,
     @Nullable String basePath,
-    @Nullable String attribution
+    @Nullable String attribution,
+    int tileCacheMaxMegabytes,
+    int archiveMaxZoom
   ) {
     this.layers = List.copyOf(layers);
     this.basePath = basePath;
     this.attribution = attribution;
+    this.tileCacheMaxMegabytes = tileCacheMaxMegabytes;
+    this.archiveMaxZoom = archiveMaxZoom;
+
+    if (archiveMaxZoom < ARCHIVE_DISABLED || archiveMaxZoom > MAX_ARCHIVE_ZOOM) {
+      throw new OtpAppException(
+        "The vector tiles archiveMaxZoom must be %d(disabled) or in the range [0, %d], but was %d.",
+        ARCHIVE_DISABLED,
+        MAX_ARCHIVE_ZOOM,
+        archiveMaxZoom
+      );
+    }
   }
 
   @Override
@@ -52,6 +89,21 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
     return Optional.ofNullable(attribution);
   }
 
+  public int tileCacheMaxMegabytes() {
+    return tileCacheMaxMegabytes;
+  }
+
+  /**
+   * The highest zoom level of the archive, or {@link #ARCHIVE_DISABLED}.
+   */
+  public int archiveMaxZoom() {
+    return archiveMaxZoom;
+  }
+
+  public boolean isArchiveEnabled() {
+    return archiveMaxZoom != ARCHIVE_DISABLED;
+  }
+
   public static VectorTileConfig mapVectorTilesParameters(NodeAdapter node, String paramName) {
     var root = node.of(paramName).summary("Vector tile configuration").asObject();
     return new VectorTileConfig(
@@ -98,7 +150,43 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
           for example `<a href='https://trimet.org/mod'>Regional Partners</a>`.
           """
         )
-        .asString(DEFAULT.attribution)
+        .asString(DEFAULT.attribution),
+      root
+        .of("tileCacheMaxMegabytes")
+        .since(V2_7)
+        .summary("The maximum size of the in-memory cache of encoded tiles, in megabytes.")
+        .description(
+          """
+          The encoded tiles are cached in memory by OTP, so the same tile is only created once. This
+          is useful for the low zoom levels, which are requested often and are expensive to create.
+          The least recently used tiles are evicted when the cache is full. Set to `0` to disable
+          the cache.
+          
+          The transit layers are cached until OTP is restarted, except the layers using a realtime
+          mapper or a filter, which are never cached. The vehicle rental and vehicle parking layers
+          are created again after each update of the rental or parking data.
+          """
+        )
+        .asInt(DEFAULT.tileCacheMaxMegabytes),
+      root
+        .of("archiveMaxZoom")
+        .since(V2_7)
+        .summary("The highest zoom level of the tiles rendered when the graph is built.")
+        .description(
+          """
+          The stop, station and area stop layers only change when a new graph is built. When this
+          is set, the tiles of these layers are rendered after the graph is saved, up to and
+          including this zoom level, and written to a file next to the graph. The file is memory
+          mapped when OTP starts, and the tiles are copied from the file instead of being rendered
+          for each request. Tiles above this zoom level are rendered when requested.
+          
+          Layers using a realtime mapper or a filter, and layers with translated names, are always
+          rendered when requested. If the layer configuration is changed, the layer is rendered
+          when requested until the graph is built again. The archive is disabled if this is `-1`,
+          the default. The maximum value is `24`.
+          """
+        )
+        .asInt(DEFAULT.archiveMaxZoom)
     );
   }
 
@@ -2,6 +2,7 @@ package org.opentripplanner.standalone.config.sandbox;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_1;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 
 import java.time.Duration;
 import org.opentripplanner.ext.flex.FlexParameters;
@@ -26,12 +27,14 @@ public class FlexConfig implements FlexParameters {
   private final Duration maxFlexTripDuration;
   private final Duration maxAccessWalkDuration;
   private final Duration maxEgressWalkDuration;
+  private final int streetPathCacheMaxStates;
 
   private FlexConfig() {
     maxTransferDuration = Duration.ofMinutes(5);
     maxFlexTripDuration = Duration.ofMinutes(45);
     maxAccessWalkDuration = Duration.ofMinutes(45);
     maxEgressWalkDuration = Duration.ofMinutes(45);
+    streetPathCacheMaxStates = DEFAULT.streetPathCacheMaxStates();
   }
 
   public FlexConfig(NodeAdapter root, String parameterName) {
@@ -92,6 +95,25 @@ public class FlexConfig implements FlexParameters {
         )
         .description(ACCESS_EGRESS_DESCRIPTION)
         .asDuration(DEFAULT.maxEgressWalkDuration());
+
+    streetPathCacheMaxStates =
+      json
+        .of("streetPathCacheMaxStates")
+        .since(V2_7)
+        .summary(
+          "The maximum number of states in the street searches from the flex stops, shared by " +
+          "all requests."
+        )
+        .description(
+          """
+          The car searches from and to the flex stops are kept and reused by later requests. The
+          searches are evicted, least recently used first, when the total number of states in
+          them is above this limit. A state uses around 40 bytes of memory.
+
+          Set to `0` to only reuse the searches within one request.
+          """
+        )
+        .asInt(DEFAULT.streetPathCacheMaxStates());
   }
 
   public Duration maxFlexTripDuration() {
@@ -109,4 +131,8 @@ public class FlexConfig implements FlexParameters {
   public Duration maxEgressWalkDuration() {
     return maxEgressWalkDuration;
   }
+
+  public int streetPathCacheMaxStates() {
+    return streetPathCacheMaxStates;
+  }
 }
@@ -5,9 +5,14 @@ import javax.annotation.Nullable;
 import org.opentripplanner.apis.transmodel.TransmodelAPI;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
+import org.opentripplanner.ext.geocoder.LuceneIndex;
+import org.opentripplanner.ext.geocoder.LuceneIndexLocation;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
+import org.opentripplanner.ext.vectortiles.VectorTileArchiveLocation;
+import org.opentripplanner.ext.vectortiles.VectorTileArchiveWriter;
 import org.opentripplanner.framework.application.LogMDCSupport;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
 import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.graph_builder.GraphBuilder;
 import org.opentripplanner.graph_builder.GraphBuilderDataSources;
@@ -76,7 +81,9 @@ public class ConstructApplication {
     DataImportIssueSummary issueSummary,
     EmissionsDataModel emissionsDataModel,
     @Nullable StopConsolidationRepository stopConsolidationRepository,
-    StreetLimitationParameters streetLimitationParameters
+    StreetLimitationParameters streetLimitationParameters,
+    LuceneIndexLocation luceneIndexLocation,
+    VectorTileArchiveLocation vectorTileArchiveLocation
   ) {
     this.cli = cli;
     this.graphBuilderDataSources = graphBuilderDataSources;
@@ -97,6 +104,8 @@ public class ConstructApplication {
         .dataImportIssueSummary(issueSummary)
         .stopConsolidationRepository(stopConsolidationRepository)
         .streetLimitationParameters(streetLimitationParameters)
+        .luceneIndexLocation(luceneIndexLocation)
+        .vectorTileArchiveLocation(vectorTileArchiveLocation)
         .build();
   }
 
@@ -146,6 +155,40 @@ public class ConstructApplication {
     return graphBuilderDataSources.getOutputGraph();
   }
 
+  /**
+   * Save the geocoder index next to the graph, so the index does not need to be built every time
+   * the graph is loaded. Nothing is saved if the geocoder is disabled or the graph is not saved.
+   */
+  public void saveGeocoderIndex() {
+    if (OTPFeature.SandboxAPIGeocoder.isOn() && graphOutputDataSource() != null) {
+      timetableRepository().index();
+      LuceneIndex.save(
+        timetableRepository(),
+        factory.stopConsolidationService(),
+        factory.luceneIndexLocation()
+      );
+    }
+  }
+
+  /**
+   * Render the static vector tile layers and save them next to the graph, so they do not need to
+   * be rendered for each request. Nothing is saved if the vector tiles API is disabled, the
+   * archive is disabled in the router config or the graph is not saved.
+   */
+  public void saveVectorTileArchive() {
+    if (OTPFeature.SandboxAPIMapboxVectorTilesApi.isOn() && graphOutputDataSource() != null) {
+      timetableRepository().index();
+      // If the archive is disabled no layers are rendered, and an old archive is deleted
+      var vectorTileConfig = routerConfig().vectorTileConfig();
+      new VectorTileArchiveWriter(
+        vectorTileConfig.layers(),
+        vectorTileConfig.archiveMaxZoom(),
+        new DefaultTransitService(timetableRepository())
+      )
+        .write(factory.vectorTileArchiveLocation());
+    }
+  }
+
   private Application createApplication() {
     LOG.info("Wiring up and configuring server.");
     setupTransitRoutingServer();
@@ -158,6 +201,12 @@ public class ConstructApplication {
 
     creatTransitLayerForRaptor(timetableRepository(), routerConfig().transitTuningConfig());
 
+    if (OTPFeature.SandboxAPIMapboxVectorTilesApi.isOn()) {
+      // Open the vector tile archive before the realtime updaters modify the transit data, the
+      // archive is checked against the transit data in the graph
+      this.factory.vectorTileArchive();
+    }
+
     /* Create updater modules from JSON config. */
     UpdaterConfigurator.configure(
       graph(),
@@ -289,6 +338,18 @@ public class ConstructApplication {
     return factory.raptorConfig();
   }
 
+  public OtpRequestTasks requestTasks() {
+    return factory.requestTasks();
+  }
+
+  /**
+   * The geocoder index, {@code null} if the geocoder is not enabled.
+   */
+  @Nullable
+  public LuceneIndex luceneIndex() {
+    return factory.luceneIndex();
+  }
+
   public GraphVisualizer graphVisualizer() {
     return factory.graphVisualizer();
   }
@@ -7,11 +7,17 @@ import javax.annotation.Nullable;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
 import org.opentripplanner.ext.emissions.EmissionsServiceModule;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
+import org.opentripplanner.ext.geocoder.LuceneIndexLocation;
 import org.opentripplanner.ext.geocoder.configure.GeocoderModule;
 import org.opentripplanner.ext.interactivelauncher.configuration.InteractiveLauncherModule;
 import org.opentripplanner.ext.ridehailing.configure.RideHailingServicesModule;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
+import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.ext.stopconsolidation.configure.StopConsolidationServiceModule;
+import org.opentripplanner.ext.vectortiles.VectorTileArchive;
+import org.opentripplanner.ext.vectortiles.VectorTileArchiveLocation;
+import org.opentripplanner.ext.vectortiles.configure.VectorTilesModule;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
@@ -59,6 +65,7 @@ import org.opentripplanner.visualizer.GraphVisualizer;
     InteractiveLauncherModule.class,
     StreetLimitationParametersServiceModule.class,
     GeocoderModule.class,
+    VectorTilesModule.class,
   }
 )
 public interface ConstructApplicationFactory {
@@ -82,17 +89,28 @@ public interface ConstructApplicationFactory {
 
   TransitService transitService();
   OtpServerRequestContext createServerContext();
+  OtpRequestTasks requestTasks();
 
   MetricsLogging metricsLogging();
 
   @Nullable
   StopConsolidationRepository stopConsolidationRepository();
 
+  @Nullable
+  StopConsolidationService stopConsolidationService();
+
   StreetLimitationParameters streetLimitationParameters();
 
   @Nullable
   LuceneIndex luceneIndex();
 
+  LuceneIndexLocation luceneIndexLocation();
+
+  @Nullable
+  VectorTileArchive vectorTileArchive();
+
+  VectorTileArchiveLocation vectorTileArchiveLocation();
+
   @Component.Builder
   interface Builder {
     @BindsInstance
@@ -124,6 +142,12 @@ public interface ConstructApplicationFactory {
     @BindsInstance
     Builder streetLimitationParameters(StreetLimitationParameters streetLimitationParameters);
 
+    @BindsInstance
+    Builder luceneIndexLocation(LuceneIndexLocation luceneIndexLocation);
+
+    @BindsInstance
+    Builder vectorTileArchiveLocation(VectorTileArchiveLocation vectorTileArchiveLocation);
+
     ConstructApplicationFactory build();
   }
 }
@@ -3,17 +3,24 @@ package org.opentripplanner.standalone.configure;
 import dagger.Module;
 import dagger.Provides;
 import io.micrometer.core.instrument.Metrics;
+import jakarta.inject.Singleton;
 import java.util.List;
 import javax.annotation.Nullable;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.astar.spi.TraverseVisitor;
 import org.opentripplanner.ext.emissions.EmissionsService;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.ext.interactivelauncher.api.LauncherRequestDecorator;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
+import org.opentripplanner.ext.vectortiles.VectorTileArchive;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.service.RoutingRequestLimiter;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
@@ -31,6 +38,10 @@ public class ConstructApplicationModule {
   OtpServerRequestContext providesServerContext(
     RouterConfig routerConfig,
     RaptorConfig<TripSchedule> raptorConfig,
+    RoutingRequestLimiter routingRequestLimiter,
+    OtpRequestTasks requestTasks,
+    StreetFlexPathCache streetFlexPathCache,
+    GraphQLDocumentCache graphQLDocumentCache,
     Graph graph,
     TransitService transitService,
     WorldEnvelopeService worldEnvelopeService,
@@ -42,7 +53,9 @@ public class ConstructApplicationModule {
     @Nullable TraverseVisitor<?, ?> traverseVisitor,
     EmissionsService emissionsService,
     LauncherRequestDecorator launcherRequestDecorator,
-    @Nullable LuceneIndex luceneIndex
+    @Nullable LuceneIndex luceneIndex,
+    VectorTileCache vectorTileCache,
+    @Nullable VectorTileArchive vectorTileArchive
   ) {
     var defaultRequest = launcherRequestDecorator.intercept(routerConfig.routingRequestDefaults());
 
@@ -50,15 +63,21 @@ public class ConstructApplicationModule {
       routerConfig.transitTuningConfig(),
       defaultRequest,
       raptorConfig,
+      routingRequestLimiter,
+      requestTasks,
       graph,
       transitService,
       Metrics.globalRegistry,
+      graphQLDocumentCache,
       routerConfig.vectorTileConfig(),
+      vectorTileCache,
+      vectorTileArchive,
       worldEnvelopeService,
       realtimeVehicleService,
       vehicleRentalService,
       emissionsService,
       routerConfig.flexParameters(),
+      streetFlexPathCache,
       rideHailingServices,
       stopConsolidationService,
       streetLimitationParametersService,
@@ -67,6 +86,58 @@ public class ConstructApplicationModule {
     );
   }
 
+  /**
+   * The vector tile cache is shared by all requests, there is one cache for each graph.
+   */
+  @Provides
+  @Singleton
+  VectorTileCache vectorTileCache(RouterConfig routerConfig) {
+    return new VectorTileCache(routerConfig.vectorTileConfig().tileCacheMaxMegabytes());
+  }
+
+  /**
+   * The street searches of the flex access and egress are shared by all requests.
+   */
+  @Provides
+  @Singleton
+  StreetFlexPathCache streetFlexPathCache(RouterConfig routerConfig) {
+    return new StreetFlexPathCache(routerConfig.flexParameters().streetPathCacheMaxStates());
+  }
+
+  /**
+   * The parsed and validated queries are shared by all requests to the GraphQL APIs.
+   */
+  @Provides
+  @Singleton
+  GraphQLDocumentCache graphQLDocumentCache(RouterConfig routerConfig) {
+    return new GraphQLDocumentCache(routerConfig.server().graphQLDocumentCacheSize());
+  }
+
+  /**
+   * The routing request limiter is shared by all requests.
+   */
+  @Provides
+  @Singleton
+  RoutingRequestLimiter routingRequestLimiter(RouterConfig routerConfig) {
+    return new RoutingRequestLimiter(
+      routerConfig.server().maxConcurrentRoutingRequests(),
+      routerConfig.server().routingQueueTimeout(),
+      Metrics.globalRegistry
+    );
+  }
+
+  /**
+   * The routing thread pool is shared by all requests.
+   */
+  @Provides
+  @Singleton
+  OtpRequestTasks requestTasks(RouterConfig routerConfig) {
+    return new OtpRequestTasks(
+      routerConfig.server().routingThreadPoolSize(),
+      Metrics.globalRegistry
+    );
+  }
+
   @Provides
   @Nullable
   TraverseVisitor<?, ?> traverseVisitor(@Nullable GraphVisualizer graphVisualizer) {
@@ -3,7 +3,9 @@ package org.opentripplanner.standalone.configure;
 import javax.annotation.Nullable;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
+import org.opentripplanner.ext.geocoder.LuceneIndexLocation;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
+import org.opentripplanner.ext.vectortiles.VectorTileArchiveLocation;
 import org.opentripplanner.graph_builder.GraphBuilderDataSources;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.routing.graph.Graph;
@@ -106,7 +108,20 @@ public class LoadApplication {
       issueSummary,
       emissionsDataModel,
       stopConsolidationRepository,
-      streetLimitationParameters
+      streetLimitationParameters,
+      LuceneIndexLocation.ofGraph(graphDataSource()),
+      VectorTileArchiveLocation.ofGraph(graphDataSource())
     );
   }
+
+  /**
+   * The graph served by the application, this is the loaded graph or the graph built and saved by
+   * this process. Return {@code null} if the graph is not saved.
+   */
+  @Nullable
+  private DataSource graphDataSource() {
+    return cli.doLoadGraph()
+      ? factory.datastore().getGraph()
+      : graphBuilderDataSources().getOutputGraph();
+  }
 }
@@ -4,13 +4,18 @@ import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import java.util.Locale;
 import javax.annotation.Nullable;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.astar.spi.TraverseVisitor;
 import org.opentripplanner.ext.emissions.EmissionsService;
 import org.opentripplanner.ext.flex.FlexParameters;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
+import org.opentripplanner.ext.vectortiles.VectorTileArchive;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
 import org.opentripplanner.inspector.raster.TileRendererManager;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
@@ -19,6 +24,7 @@ import org.opentripplanner.routing.api.RoutingService;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.service.DefaultRoutingService;
+import org.opentripplanner.routing.service.RoutingRequestLimiter;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
@@ -39,10 +45,16 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   private final TransitRoutingConfig transitRoutingConfig;
   private final RouteRequest routeRequestDefaults;
   private final MeterRegistry meterRegistry;
+  private final GraphQLDocumentCache graphQLDocumentCache;
   private final RaptorConfig<TripSchedule> raptorConfig;
+  private final RoutingRequestLimiter routingRequestLimiter;
+  private final OtpRequestTasks requestTasks;
   private final TileRendererManager tileRendererManager;
   private final VectorTileConfig vectorTileConfig;
+  private final VectorTileCache vectorTileCache;
+  private final VectorTileArchive vectorTileArchive;
   private final FlexParameters flexParameters;
+  private final StreetFlexPathCache streetFlexPathCache;
   private final TraverseVisitor traverseVisitor;
   private final WorldEnvelopeService worldEnvelopeService;
   private final RealtimeVehicleService realtimeVehicleService;
@@ -61,9 +73,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     TransitRoutingConfig transitRoutingConfig,
     RouteRequest routeRequestDefaults,
     MeterRegistry meterRegistry,
+    GraphQLDocumentCache graphQLDocumentCache,
     RaptorConfig<TripSchedule> raptorConfig,
+    RoutingRequestLimiter routingRequestLimiter,
+    OtpRequestTasks requestTasks,
     TileRendererManager tileRendererManager,
     VectorTileConfig vectorTileConfig,
+    VectorTileCache vectorTileCache,
+    @Nullable VectorTileArchive vectorTileArchive,
     WorldEnvelopeService worldEnvelopeService,
     RealtimeVehicleService realtimeVehicleService,
     VehicleRentalService vehicleRentalService,
@@ -72,6 +89,7 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     StopConsolidationService stopConsolidationService,
     StreetLimitationParametersService streetLimitationParametersService,
     FlexParameters flexParameters,
+    StreetFlexPathCache streetFlexPathCache,
     TraverseVisitor traverseVisitor,
     @Nullable LuceneIndex luceneIndex
   ) {
@@ -79,11 +97,17 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     this.transitService = transitService;
     this.transitRoutingConfig = transitRoutingConfig;
     this.meterRegistry = meterRegistry;
+    this.graphQLDocumentCache = graphQLDocumentCache;
     this.raptorConfig = raptorConfig;
+    this.routingRequestLimiter = routingRequestLimiter;
+    this.requestTasks = requestTasks;
     this.tileRendererManager = tileRendererManager;
     this.vectorTileConfig = vectorTileConfig;
+    this.vectorTileCache = vectorTileCache;
+    this.vectorTileArchive = vectorTileArchive;
     this.vehicleRentalService = vehicleRentalService;
     this.flexParameters = flexParameters;
+    this.streetFlexPathCache = streetFlexPathCache;
     this.traverseVisitor = traverseVisitor;
     this.routeRequestDefaults = routeRequestDefaults;
     this.worldEnvelopeService = worldEnvelopeService;
@@ -102,15 +126,21 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     TransitRoutingConfig transitRoutingConfig,
     RouteRequest routeRequestDefaults,
     RaptorConfig<TripSchedule> raptorConfig,
+    RoutingRequestLimiter routingRequestLimiter,
+    OtpRequestTasks requestTasks,
     Graph graph,
     TransitService transitService,
     MeterRegistry meterRegistry,
+    GraphQLDocumentCache graphQLDocumentCache,
     VectorTileConfig vectorTileConfig,
+    VectorTileCache vectorTileCache,
+    @Nullable VectorTileArchive vectorTileArchive,
     WorldEnvelopeService worldEnvelopeService,
     RealtimeVehicleService realtimeVehicleService,
     VehicleRentalService vehicleRentalService,
     @Nullable EmissionsService emissionsService,
     FlexParameters flexParameters,
+    StreetFlexPathCache streetFlexPathCache,
     List<RideHailingService> rideHailingServices,
     @Nullable StopConsolidationService stopConsolidationService,
     StreetLimitationParametersService streetLimitationParametersService,
@@ -123,9 +153,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
       transitRoutingConfig,
       routeRequestDefaults,
       meterRegistry,
+      graphQLDocumentCache,
       raptorConfig,
+      routingRequestLimiter,
+      requestTasks,
       new TileRendererManager(graph, routeRequestDefaults.preferences()),
       vectorTileConfig,
+      vectorTileCache,
+      vectorTileArchive,
       worldEnvelopeService,
       realtimeVehicleService,
       vehicleRentalService,
@@ -134,6 +169,7 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
       stopConsolidationService,
       streetLimitationParametersService,
       flexParameters,
+      streetFlexPathCache,
       traverseVisitor,
       luceneIndex
     );
@@ -161,6 +197,16 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return raptorConfig;
   }
 
+  @Override
+  public RoutingRequestLimiter routingRequestLimiter() {
+    return routingRequestLimiter;
+  }
+
+  @Override
+  public OtpRequestTasks requestTasks() {
+    return requestTasks;
+  }
+
   @Override
   public Graph graph() {
     return graph;
@@ -221,6 +267,11 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return meterRegistry;
   }
 
+  @Override
+  public GraphQLDocumentCache graphQLDocumentCache() {
+    return graphQLDocumentCache;
+  }
+
   @Override
   public TileRendererManager tileRendererManager() {
     return tileRendererManager;
@@ -236,11 +287,27 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return flexParameters;
   }
 
+  @Override
+  public StreetFlexPathCache streetFlexPathCache() {
+    return streetFlexPathCache;
+  }
+
   @Override
   public VectorTileConfig vectorTileConfig() {
     return vectorTileConfig;
   }
 
+  @Override
+  public VectorTileCache vectorTileCache() {
+    return vectorTileCache;
+  }
+
+  @Nullable
+  @Override
+  public VectorTileArchive vectorTileArchive() {
+    return vectorTileArchive;
+  }
+
   @Nullable
   @Override
   public LuceneIndex lucenceIndex() {
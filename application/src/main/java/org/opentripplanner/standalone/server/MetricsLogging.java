@@ -19,7 +19,10 @@ import jakarta.inject.Inject;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ForkJoinPool;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.transit.service.TimetableRepository;
@@ -34,7 +37,10 @@ public class MetricsLogging {
   public MetricsLogging(
     TimetableRepository timetableRepository,
     RaptorConfig<TripSchedule> raptorConfig,
-    DataImportIssueSummary issueSummary
+    DataImportIssueSummary issueSummary,
+    VectorTileCache vectorTileCache,
+    StreetFlexPathCache streetFlexPathCache,
+    GraphQLDocumentCache graphQLDocumentCache
   ) {
     new ClassLoaderMetrics().bindTo(Metrics.globalRegistry);
     new FileDescriptorMetrics().bindTo(Metrics.globalRegistry);
@@ -56,6 +62,30 @@ public class MetricsLogging {
       )
         .bindTo(Metrics.globalRegistry);
     }
+    if (vectorTileCache.getCache() != null) {
+      new GuavaCacheMetrics(
+        vectorTileCache.getCache(),
+        "vectorTileCache",
+        List.of(Tag.of("cache", "vectorTiles"))
+      )
+        .bindTo(Metrics.globalRegistry);
+    }
+    if (streetFlexPathCache.getCache() != null) {
+      new GuavaCacheMetrics(
+        streetFlexPathCache.getCache(),
+        "streetFlexPathCache",
+        List.of(Tag.of("cache", "streetFlexPaths"))
+      )
+        .bindTo(Metrics.globalRegistry);
+    }
+    if (graphQLDocumentCache.getCache() != null) {
+      new GuavaCacheMetrics(
+        graphQLDocumentCache.getCache(),
+        "graphQLDocumentCache",
+        List.of(Tag.of("cache", "graphQLDocuments"))
+      )
+        .bindTo(Metrics.globalRegistry);
+    }
     new ExecutorServiceMetrics(
       ForkJoinPool.commonPool(),
       "commonPool",
@@ -399,6 +399,27 @@ public class DefaultTransitService implements TransitEditorService {
     );
   }
 
+  @Override
+  public Map<StopLocation, List<StopTimesInPattern>> stopTimesForStops(
+    Collection<? extends StopLocation> stops,
+    Instant startTime,
+    Duration timeRange,
+    int numberOfDepartures,
+    ArrivalDeparture arrivalDeparture,
+    boolean includeCancelledTrips
+  ) {
+    OTPRequestTimeoutException.checkForTimeout();
+    return StopTimesHelper.stopTimesForStops(
+      this,
+      stops,
+      startTime,
+      timeRange,
+      numberOfDepartures,
+      arrivalDeparture,
+      includeCancelledTrips
+    );
+  }
+
   /**
    * Get a list of all trips that pass through a stop during a single ServiceDate. Useful when
    * creating complete stop timetables for a single day.
@@ -202,6 +202,20 @@ public interface TransitService {
     boolean includeCancelledTrips
   );
 
+  /**
+   * Fetch upcoming vehicle departures for many stops at once, see
+   * {@link #stopTimesForStop(StopLocation, Instant, Duration, int, ArrivalDeparture, boolean)}.
+   * Each pattern is only scanned once for all the stops.
+   */
+  Map<StopLocation, List<StopTimesInPattern>> stopTimesForStops(
+    Collection<? extends StopLocation> stops,
+    Instant startTime,
+    Duration timeRange,
+    int numberOfDepartures,
+    ArrivalDeparture arrivalDeparture,
+    boolean includeCancelledTrips
+  );
+
   List<StopTimesInPattern> getStopTimesForStop(
     StopLocation stop,
     LocalDate serviceDate,
@@ -91,7 +91,7 @@ public class VehicleParkingAvailabilityUpdater extends PollingGraphUpdater {
         if (parking.hasBicyclePlaces()) {
           builder.bicycleSpaces(update.spacesAvailable());
         }
-        parking.updateAvailability(builder.build());
+        vehicleParkingService.updateAvailability(parking, builder.build());
       }
     }
   }
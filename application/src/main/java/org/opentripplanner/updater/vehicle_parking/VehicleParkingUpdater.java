@@ -112,9 +112,10 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
         var alreadyExists = oldVehicleParkings.contains(updatedVehicleParking);
 
         if (alreadyExists) {
-          oldVehicleParkingsById
-            .get(updatedVehicleParking.getId())
-            .updateAvailability(updatedVehicleParking.getAvailability());
+          vehicleParkingService.updateAvailability(
+            oldVehicleParkingsById.get(updatedVehicleParking.getId()),
+            updatedVehicleParking.getAvailability()
+          );
         } else {
           toAdd.add(updatedVehicleParking);
           if (operational) {
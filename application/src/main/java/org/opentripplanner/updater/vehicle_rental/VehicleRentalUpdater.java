@@ -6,8 +6,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.opentripplanner.framework.lang.ObjectUtils;
@@ -15,6 +15,7 @@ import org.opentripplanner.framework.logging.Throttle;
 import org.opentripplanner.framework.time.DurationUtils;
 import org.opentripplanner.framework.time.TimeUtils;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
+import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.linking.DisposableEdgeCollection;
 import org.opentripplanner.routing.linking.LinkingDirection;
 import org.opentripplanner.routing.linking.VertexLinker;
@@ -59,10 +60,13 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
   private Set<GeofencingZone> latestAppliedGeofencingZones = Set.of();
   private final Map<FeedScopedId, VehicleRentalPlaceVertex> verticesByStation = new HashMap<>();
   private final Map<FeedScopedId, DisposableEdgeCollection> tempEdgesByStation = new HashMap<>();
+  private final Map<FeedScopedId, Set<RentalFormFactor>> formFactorsByStation = new HashMap<>();
   private final VertexLinker linker;
 
   private final VehicleRentalRepository service;
 
+  private final Consumer<VehicleRentalUpdaterMetrics.Update> recordMetrics;
+
   public VehicleRentalUpdater(
     VehicleRentalUpdaterParameters parameters,
     VehicleRentalDatasource source,
@@ -80,6 +84,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
         parameters.sourceParameters().url()
       );
     this.unlinkedPlaceThrottle = Throttle.ofOneSecond();
+    this.recordMetrics = VehicleRentalUpdaterMetrics.of(parameters.configRef(), nameForLogging);
 
     // Creation of network linker library will not modify the graph
     this.linker = vertexLinker;
@@ -156,60 +161,30 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
     @Override
     public void run(RealTimeUpdateContext context) {
+      long startNanos = System.nanoTime();
+      var vertexFactory = new VertexFactory(context.graph());
+
       // Apply stations to graph
       Set<FeedScopedId> stationSet = new HashSet<>();
-      var vertexFactory = new VertexFactory(context.graph());
+      List<VehicleRentalPlace> toLink = new ArrayList<>();
+      int relinked = 0;
 
-      /* add any new stations and update vehicle counts for existing stations */
+      /* find new and moved stations and update vehicle counts for existing stations */
       for (VehicleRentalPlace station : stations) {
         service.addVehicleRentalStation(station);
         stationSet.add(station.getId());
         VehicleRentalPlaceVertex vehicleRentalVertex = verticesByStation.get(station.getId());
 
         if (vehicleRentalVertex == null) {
-          vehicleRentalVertex = vertexFactory.vehicleRentalPlace(station);
-          DisposableEdgeCollection tempEdges = linker.linkVertexForRealTime(
-            vehicleRentalVertex,
-            new TraverseModeSet(TraverseMode.WALK),
-            LinkingDirection.BOTH_WAYS,
-            (vertex, streetVertex) ->
-              List.of(
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  (VehicleRentalPlaceVertex) vertex,
-                  streetVertex
-                ),
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  streetVertex,
-                  (VehicleRentalPlaceVertex) vertex
-                )
-              )
-          );
-          if (vehicleRentalVertex.getOutgoing().isEmpty()) {
-            // Copy reference to pass into lambda
-            var vrv = vehicleRentalVertex;
-            unlinkedPlaceThrottle.throttle(() ->
-              // the toString includes the text "Bike rental station"
-              LOG.warn(
-                "VehicleRentalPlace is unlinked for {}: {}  {}",
-                nameForLogging,
-                vrv,
-                unlinkedPlaceThrottle.setupInfo()
-              )
-            );
-          }
-          Set<RentalFormFactor> formFactors = Stream
-            .concat(
-              station.getAvailablePickupFormFactors(false).stream(),
-              station.getAvailableDropoffFormFactors(false).stream()
-            )
-            .collect(Collectors.toSet());
-          for (RentalFormFactor formFactor : formFactors) {
-            tempEdges.addEdge(
-              VehicleRentalEdge.createVehicleRentalEdge(vehicleRentalVertex, formFactor)
-            );
-          }
-          verticesByStation.put(station.getId(), vehicleRentalVertex);
-          tempEdgesByStation.put(station.getId(), tempEdges);
+          toLink.add(station);
+        } else if (
+          hasMoved(vehicleRentalVertex, station) ||
+          !formFactors(station).equals(formFactorsByStation.get(station.getId()))
+        ) {
+          // the vertex can not be moved, so it is replaced by a new one
+          unlink(station.getId(), context.graph());
+          toLink.add(station);
+          ++relinked;
         } else {
           vehicleRentalVertex.setStation(station);
         }
@@ -217,19 +192,36 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
       /* remove existing stations that were not present in the update */
       List<FeedScopedId> toRemove = new ArrayList<>();
-      for (Entry<FeedScopedId, VehicleRentalPlaceVertex> entry : verticesByStation.entrySet()) {
-        FeedScopedId station = entry.getKey();
+      for (FeedScopedId station : verticesByStation.keySet()) {
         if (stationSet.contains(station)) continue;
         toRemove.add(station);
         service.removeVehicleRentalStation(station);
       }
       for (FeedScopedId station : toRemove) {
         // post-iteration removal to avoid concurrent modification
-        verticesByStation.remove(station);
-        tempEdgesByStation.get(station).disposeEdges();
-        tempEdgesByStation.remove(station);
+        unlink(station, context.graph());
       }
 
+      link(toLink, vertexFactory);
+
+      var update = new VehicleRentalUpdaterMetrics.Update(
+        stations.size(),
+        toLink.size() - relinked,
+        relinked,
+        toRemove.size(),
+        Duration.ofNanos(System.nanoTime() - startNanos)
+      );
+      recordMetrics.accept(update);
+      LOG.debug(
+        "Applied {} rental places in {} for {}: {} linked, {} relinked, {} removed",
+        update.places(),
+        TimeUtils.durationToStrCompact(update.duration()),
+        nameForLogging,
+        update.linked(),
+        update.relinked(),
+        update.removed()
+      );
+
       // this check relies on the generated equals for the record which also recursively checks that
       // the JTS geometries are equal
       if (!geofencingZones.isEmpty() && !geofencingZones.equals(latestAppliedGeofencingZones)) {
@@ -254,5 +246,83 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
         );
       }
     }
+
+    /**
+     * Link the new and moved stations to the street graph. The closest street edges of all the
+     * stations are found at once, see {@link VertexLinker#linkVerticesForRealTime}.
+     */
+    private void link(List<VehicleRentalPlace> toLink, VertexFactory vertexFactory) {
+      if (toLink.isEmpty()) {
+        return;
+      }
+      List<VehicleRentalPlaceVertex> vertices = toLink
+        .stream()
+        .map(vertexFactory::vehicleRentalPlace)
+        .toList();
+      List<DisposableEdgeCollection> tempEdgesByVertex = linker.linkVerticesForRealTime(
+        vertices,
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              (VehicleRentalPlaceVertex) vertex,
+              streetVertex
+            ),
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              streetVertex,
+              (VehicleRentalPlaceVertex) vertex
+            )
+          )
+      );
+
+      for (int i = 0; i < vertices.size(); i++) {
+        VehicleRentalPlace station = toLink.get(i);
+        VehicleRentalPlaceVertex vehicleRentalVertex = vertices.get(i);
+        DisposableEdgeCollection tempEdges = tempEdgesByVertex.get(i);
+
+        if (vehicleRentalVertex.getOutgoing().isEmpty()) {
+          unlinkedPlaceThrottle.throttle(() ->
+            // the toString includes the text "Bike rental station"
+            LOG.warn(
+              "VehicleRentalPlace is unlinked for {}: {}  {}",
+              nameForLogging,
+              vehicleRentalVertex,
+              unlinkedPlaceThrottle.setupInfo()
+            )
+          );
+        }
+        Set<RentalFormFactor> formFactors = formFactors(station);
+        for (RentalFormFactor formFactor : formFactors) {
+          tempEdges.addEdge(
+            VehicleRentalEdge.createVehicleRentalEdge(vehicleRentalVertex, formFactor)
+          );
+        }
+        verticesByStation.put(station.getId(), vehicleRentalVertex);
+        tempEdgesByStation.put(station.getId(), tempEdges);
+        formFactorsByStation.put(station.getId(), formFactors);
+      }
+    }
+
+    private void unlink(FeedScopedId station, Graph graph) {
+      var vertex = verticesByStation.remove(station);
+      formFactorsByStation.remove(station);
+      tempEdgesByStation.remove(station).disposeEdges();
+      // an unlinked vertex without rental edges is not removed with the edges
+      graph.removeIfUnconnected(vertex);
+    }
+  }
+
+  private static boolean hasMoved(VehicleRentalPlaceVertex vertex, VehicleRentalPlace station) {
+    return vertex.getLon() != station.getLongitude() || vertex.getLat() != station.getLatitude();
+  }
+
+  private static Set<RentalFormFactor> formFactors(VehicleRentalPlace station) {
+    return Stream
+      .concat(
+        station.getAvailablePickupFormFactors(false).stream(),
+        station.getAvailableDropoffFormFactors(false).stream()
+      )
+      .collect(Collectors.toSet());
   }
 }
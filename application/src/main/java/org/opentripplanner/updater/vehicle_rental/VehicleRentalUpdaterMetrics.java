@@ -0,0 +1,104 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.opentripplanner.framework.application.OTPFeature;
+
+/**
+ * Records micrometer metrics for the vehicle rental updaters. The number of places of the most
+ * recent update, and how many of them were linked, relinked, removed or unchanged, are recorded as
+ * gauges. The time it takes to apply each update to the graph is recorded with a timer.
+ */
+public class VehicleRentalUpdaterMetrics {
+
+  public static final Consumer<Update> NOOP = ignored -> {};
+
+  private static final String METRICS_PREFIX = "vehicle_rental_updates";
+
+  private final List<Tag> tags;
+  private final AtomicInteger placesGauge;
+  private final AtomicInteger linkedGauge;
+  private final AtomicInteger relinkedGauge;
+  private final AtomicInteger removedGauge;
+  private final AtomicInteger unchangedGauge;
+  private final Timer timer;
+
+  private VehicleRentalUpdaterMetrics(String configRef, String network) {
+    this.tags = List.of(Tag.of("configRef", configRef), Tag.of("network", network));
+    this.placesGauge = getGauge("places", "Rental places in the most recent update");
+    this.linkedGauge =
+      getGauge(
+        "linked",
+        "New rental places linked to the street graph at the most recent update"
+      );
+    this.relinkedGauge =
+      getGauge(
+        "relinked",
+        "Rental places moved or changed and linked again at the most recent update"
+      );
+    this.removedGauge =
+      getGauge(
+        "removed",
+        "Rental places removed from the street graph at the most recent update"
+      );
+    this.unchangedGauge =
+      getGauge(
+        "unchanged",
+        "Rental places not changed in the street graph at the most recent update"
+      );
+    this.timer =
+      Timer
+        .builder(METRICS_PREFIX + ".duration")
+        .description("Time to apply an update to the street graph")
+        .tags(tags)
+        .register(Metrics.globalRegistry);
+  }
+
+  public static Consumer<Update> of(String configRef, String network) {
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      return new VehicleRentalUpdaterMetrics(configRef, network)::record;
+    } else {
+      return NOOP;
+    }
+  }
+
+  private void record(Update update) {
+    placesGauge.set(update.places());
+    linkedGauge.set(update.linked());
+    relinkedGauge.set(update.relinked());
+    removedGauge.set(update.removed());
+    unchangedGauge.set(update.unchanged());
+    timer.record(update.duration());
+  }
+
+  private AtomicInteger getGauge(String name, String description) {
+    var atomicInt = new AtomicInteger(0);
+    Gauge
+      .builder(METRICS_PREFIX + "." + name, atomicInt::get)
+      .description(description)
+      .tags(tags)
+      .register(Metrics.globalRegistry);
+    return atomicInt;
+  }
+
+  /**
+   * The result of applying one update of a vehicle rental source to the graph.
+   *
+   * @param places   The number of places in the update.
+   * @param linked   The new places linked to the street graph.
+   * @param relinked The places which were moved, or where the form factors changed, and were
+   *                 linked again.
+   * @param removed  The places removed because they are not in the update anymore.
+   */
+  public record Update(int places, int linked, int relinked, int removed, Duration duration) {
+    public int unchanged() {
+      return places - linked - relinked;
+    }
+  }
+}
@@ -4,11 +4,16 @@ import static org.opentripplanner.standalone.configure.ConstructApplication.crea
 
 import io.micrometer.core.instrument.Metrics;
 import java.util.List;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.ext.emissions.DefaultEmissionsService;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
 import org.opentripplanner.ext.emissions.EmissionsService;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.service.RoutingRequestLimiter;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.realtimevehicles.internal.DefaultRealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.VehicleRentalService;
@@ -43,15 +48,21 @@ public class TestServerContext {
       routerConfig.transitTuningConfig(),
       routerConfig.routingRequestDefaults(),
       new RaptorConfig<>(routerConfig.transitTuningConfig()),
+      RoutingRequestLimiter.noLimit(),
+      new OtpRequestTasks(0, Metrics.globalRegistry),
       graph,
       new DefaultTransitService(timetableRepository),
       Metrics.globalRegistry,
+      GraphQLDocumentCache.DISABLED,
       routerConfig.vectorTileConfig(),
+      VectorTileCache.DISABLED,
+      null,
       createWorldEnvelopeService(),
       createRealtimeVehicleService(transitService),
       createVehicleRentalService(),
       createEmissionsService(),
       routerConfig.flexParameters(),
+      StreetFlexPathCache.DISABLED,
       List.of(),
       null,
       createStreetLimitationParametersService(),
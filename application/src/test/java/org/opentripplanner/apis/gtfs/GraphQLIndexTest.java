@@ -1,8 +1,10 @@
 package org.opentripplanner.apis.gtfs;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import graphql.schema.AsyncDataFetcher;
 import graphql.schema.DataFetcher;
@@ -10,10 +12,16 @@ import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
+import java.util.List;
+import java.util.Locale;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.response.RoutingResponse;
 
 public class GraphQLIndexTest {
 
@@ -38,6 +46,40 @@ public class GraphQLIndexTest {
     });
   }
 
+  @Test
+  void rejectedRequest() {
+    var routingService = new TestRoutingService(List.of()) {
+      @Override
+      public RoutingResponse route(RouteRequest request) {
+        throw new OTPRequestRejectedException();
+      }
+    };
+    var context = new GraphQLRequestContext(
+      routingService,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      new RouteRequest()
+    );
+
+    var response = GtfsGraphQLIndex.getGraphQLResponse(
+      "{ plan(from: { lat: 1, lon: 1 }, to: { lat: 2, lon: 2 }) { itineraries { duration } } }",
+      null,
+      null,
+      2000,
+      2000,
+      Locale.ENGLISH,
+      context,
+      GraphQLDocumentCache.DISABLED
+    );
+
+    assertEquals(503, response.getStatus());
+    assertTrue(response.getEntity().toString().contains("ApiProcessingRejected"));
+  }
+
   private static DataFetcher<?> getQueryType(String fieldName, GraphQLSchema schema) {
     return schema
       .getCodeRegistry()
@@ -0,0 +1,82 @@
+package org.opentripplanner.apis.gtfs.support.dataloader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.StopTimesInPattern;
+import org.opentripplanner.routing.stoptimes.ArrivalDeparture;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+class StopTimesBatchLoaderTest {
+
+  private static final TimetableRepositoryForTest TEST_MODEL = TimetableRepositoryForTest.of();
+  private static final StopLocation STOP_A = TEST_MODEL.stop("A").build();
+  private static final StopLocation STOP_B = TEST_MODEL.stop("B").build();
+  private static final StopLocation STOP_C = TEST_MODEL.stop("C").build();
+
+  private static final StopTimesBatchLoader.Request TEN_DEPARTURES = request(10);
+  private static final StopTimesBatchLoader.Request ONE_DEPARTURE = request(1);
+
+  private final RecordingTransitService transitService = new RecordingTransitService();
+
+  @Test
+  void fetchStopsWithTheSameArgumentsTogether() {
+    var loader = StopTimesBatchLoader.create(transitService);
+
+    var a = loader.load(new StopTimesBatchLoader.Key(STOP_A, TEN_DEPARTURES));
+    var b = loader.load(new StopTimesBatchLoader.Key(STOP_B, TEN_DEPARTURES));
+    var c = loader.load(new StopTimesBatchLoader.Key(STOP_C, ONE_DEPARTURE));
+    var aAgain = loader.load(new StopTimesBatchLoader.Key(STOP_A, TEN_DEPARTURES));
+    loader.dispatchAndJoin();
+
+    assertEquals(List.of(List.of(STOP_A, STOP_B), List.of(STOP_C)), transitService.calls);
+    assertEquals(List.of(), a.join());
+    assertEquals(List.of(), b.join());
+    assertEquals(List.of(), c.join());
+    assertEquals(List.of(), aAgain.join());
+  }
+
+  private static StopTimesBatchLoader.Request request(int numberOfDepartures) {
+    return new StopTimesBatchLoader.Request(
+      0,
+      Duration.ofHours(1),
+      numberOfDepartures,
+      ArrivalDeparture.BOTH,
+      false
+    );
+  }
+
+  private static class RecordingTransitService extends DefaultTransitService {
+
+    private final List<List<StopLocation>> calls = new ArrayList<>();
+
+    private RecordingTransitService() {
+      super(new TimetableRepository());
+    }
+
+    @Override
+    public Map<StopLocation, List<StopTimesInPattern>> stopTimesForStops(
+      Collection<? extends StopLocation> stops,
+      Instant startTime,
+      Duration timeRange,
+      int numberOfDepartures,
+      ArrivalDeparture arrivalDeparture,
+      boolean includeCancelledTrips
+    ) {
+      calls.add(List.copyOf(stops));
+      Map<StopLocation, List<StopTimesInPattern>> result = new HashMap<>();
+      stops.forEach(stop -> result.put(stop, List.of()));
+      return result;
+    }
+  }
+}
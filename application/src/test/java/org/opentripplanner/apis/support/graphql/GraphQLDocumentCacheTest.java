@@ -0,0 +1,110 @@
+package org.opentripplanner.apis.support.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
+
+class GraphQLDocumentCacheTest {
+
+  private static final String QUERY = "{ hello }";
+
+  private final GraphQLDocumentCache subject = new GraphQLDocumentCache(10);
+
+  @Test
+  void reuseValidDocuments() {
+    var graphQL = graphQL(schema());
+
+    assertEquals(Map.of("hello", "world"), execute(graphQL, QUERY).getData());
+    assertEquals(Map.of("hello", "world"), execute(graphQL, QUERY).getData());
+
+    var stats = subject.getCache().stats();
+    assertEquals(1, stats.missCount());
+    assertEquals(1, stats.hitCount());
+    assertEquals(1, subject.getCache().size());
+  }
+
+  @Test
+  void doNotCacheInvalidDocuments() {
+    var graphQL = graphQL(schema());
+
+    assertFalse(execute(graphQL, "{ goodbye }").getErrors().isEmpty());
+    assertFalse(execute(graphQL, "{ hello ").getErrors().isEmpty());
+
+    assertEquals(0, subject.getCache().size());
+  }
+
+  @Test
+  void keepDocumentsForEachSchema() {
+    execute(graphQL(schema()), QUERY);
+    execute(graphQL(schema()), QUERY);
+
+    assertEquals(0, subject.getCache().stats().hitCount());
+    assertEquals(2, subject.getCache().size());
+  }
+
+  @Test
+  void disabledCache() {
+    var schema = schema();
+    var graphQL = GraphQL
+      .newGraphQL(schema)
+      .preparsedDocumentProvider(GraphQLDocumentCache.DISABLED.documentProvider(schema))
+      .build();
+
+    assertEquals(Map.of("hello", "world"), execute(graphQL, QUERY).getData());
+    assertNull(GraphQLDocumentCache.DISABLED.getCache());
+  }
+
+  @Test
+  void exportHitsAndMissesWithTheInstrumentation() {
+    var meterRegistry = new SimpleMeterRegistry();
+    var schema = schema();
+    var graphQL = GraphQL
+      .newGraphQL(schema)
+      .instrumentation(new MicrometerGraphQLInstrumentation(meterRegistry, List.of()))
+      .preparsedDocumentProvider(subject.documentProvider(schema))
+      .build();
+
+    execute(graphQL, QUERY);
+    execute(graphQL, QUERY);
+    execute(graphQL, QUERY);
+
+    assertEquals(1, documentCacheCount(meterRegistry, "miss"));
+    assertEquals(2, documentCacheCount(meterRegistry, "hit"));
+  }
+
+  private static double documentCacheCount(SimpleMeterRegistry meterRegistry, String result) {
+    return meterRegistry.get("graphql.document.cache").tag("result", result).counter().count();
+  }
+
+  private GraphQL graphQL(GraphQLSchema schema) {
+    return GraphQL
+      .newGraphQL(schema)
+      .preparsedDocumentProvider(subject.documentProvider(schema))
+      .build();
+  }
+
+  private static ExecutionResult execute(GraphQL graphQL, String query) {
+    return graphQL.execute(query);
+  }
+
+  private static GraphQLSchema schema() {
+    var typeRegistry = new SchemaParser().parse("type Query { hello: String }");
+    var runtimeWiring = RuntimeWiring
+      .newRuntimeWiring()
+      .type("Query", type -> type.dataFetcher("hello", environment -> "world"))
+      .build();
+    return new SchemaGenerator().makeExecutableSchema(typeRegistry, runtimeWiring);
+  }
+}
@@ -28,10 +28,14 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.opentripplanner._support.time.ZoneIds;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.apis.transmodel.TransmodelRequestContext;
 import org.opentripplanner.ext.emissions.DefaultEmissionsService;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.model.calendar.CalendarServiceData;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.model.plan.Leg;
@@ -46,6 +50,7 @@ import org.opentripplanner.routing.api.request.preference.TimeSlopeSafetyTriangl
 import org.opentripplanner.routing.api.request.via.ViaLocation;
 import org.opentripplanner.routing.core.VehicleRoutingOptimizeType;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.service.RoutingRequestLimiter;
 import org.opentripplanner.service.realtimevehicles.internal.DefaultRealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.internal.DefaultVehicleRentalService;
 import org.opentripplanner.service.worldenvelope.internal.DefaultWorldEnvelopeRepository;
@@ -137,15 +142,21 @@ public class TripRequestMapperTest implements PlanTestConstants {
           RouterConfig.DEFAULT.transitTuningConfig(),
           defaultRequest,
           RaptorConfig.defaultConfigForTest(),
+          RoutingRequestLimiter.noLimit(),
+          new OtpRequestTasks(0, Metrics.globalRegistry),
           graph,
           transitService,
           Metrics.globalRegistry,
+          GraphQLDocumentCache.DISABLED,
           RouterConfig.DEFAULT.vectorTileConfig(),
+          VectorTileCache.DISABLED,
+          null,
           new DefaultWorldEnvelopeService(new DefaultWorldEnvelopeRepository()),
           new DefaultRealtimeVehicleService(transitService),
           new DefaultVehicleRentalService(),
           new DefaultEmissionsService(new EmissionsDataModel()),
           RouterConfig.DEFAULT.flexParameters(),
+          StreetFlexPathCache.DISABLED,
           List.of(),
           null,
           new DefaultStreetLimitationParametersService(new StreetLimitationParameters()),
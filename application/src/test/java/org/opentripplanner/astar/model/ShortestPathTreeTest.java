@@ -0,0 +1,143 @@
+package org.opentripplanner.astar.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.street.search.state.StateData;
+
+class ShortestPathTreeTest {
+
+  private static final StreetSearchRequest REQUEST = StreetSearchRequest.of().build();
+  private static final Vertex VERTEX = intersectionVertex(1, 1);
+  private static final Vertex OTHER_VERTEX = intersectionVertex(2, 2);
+
+  /**
+   * A state is better if it has a lower weight and an earlier time, a state with lower weight
+   * and later time is co-dominant.
+   */
+  private final ShortestPathTree<State, Edge, Vertex> subject = new ShortestPathTree<>((a, b) ->
+    a.getWeight() <= b.getWeight() && a.getTimeSeconds() <= b.getTimeSeconds()
+  );
+
+  @Test
+  void addFirstState() {
+    var a = state(VERTEX, 10, 10);
+
+    assertTrue(subject.add(a));
+
+    assertEquals(List.of(a), subject.getStates(VERTEX));
+    assertTrue(subject.visit(a));
+    assertNull(subject.getStates(OTHER_VERTEX));
+    assertEquals(1, subject.getVertexCount());
+  }
+
+  @Test
+  void rejectDominatedAndEqualStates() {
+    var a = state(VERTEX, 10, 10);
+    var worse = state(VERTEX, 11, 11);
+    var equal = state(VERTEX, 10, 10);
+
+    subject.add(a);
+
+    assertFalse(subject.add(worse));
+    assertFalse(subject.add(equal));
+    assertEquals(List.of(a), subject.getStates(VERTEX));
+    assertFalse(subject.visit(worse));
+    assertFalse(subject.visit(equal));
+  }
+
+  @Test
+  void replaceDominatedSingleState() {
+    var a = state(VERTEX, 10, 10);
+    var better = state(VERTEX, 9, 9);
+
+    subject.add(a);
+
+    assertTrue(subject.add(better));
+    assertEquals(List.of(better), subject.getStates(VERTEX));
+    assertFalse(subject.visit(a));
+    assertTrue(subject.visit(better));
+  }
+
+  @Test
+  void keepCoDominantStates() {
+    var a = state(VERTEX, 10, 20);
+    var b = state(VERTEX, 20, 10);
+    var c = state(VERTEX, 15, 15);
+
+    assertTrue(subject.add(a));
+    assertTrue(subject.add(b));
+    assertTrue(subject.add(c));
+
+    assertEquals(List.of(a, b, c), subject.getStates(VERTEX));
+    assertTrue(subject.visit(a));
+    assertTrue(subject.visit(b));
+    assertTrue(subject.visit(c));
+    assertEquals(Set.of(a, b, c), Set.copyOf(subject.getAllStates()));
+    assertEquals(1, subject.getVertexCount());
+  }
+
+  @Test
+  void rejectStateDominatedByOneOfTheCoDominantStates() {
+    var a = state(VERTEX, 10, 20);
+    var b = state(VERTEX, 20, 10);
+    var dominatedByB = state(VERTEX, 21, 11);
+
+    subject.add(a);
+    subject.add(b);
+
+    assertFalse(subject.add(dominatedByB));
+    assertEquals(List.of(a, b), subject.getStates(VERTEX));
+    assertFalse(subject.visit(dominatedByB));
+  }
+
+  @Test
+  void removeCoDominantStatesDominatedByNewState() {
+    var a = state(VERTEX, 10, 20);
+    var b = state(VERTEX, 20, 10);
+    var betterThanBoth = state(VERTEX, 9, 9);
+
+    subject.add(a);
+    subject.add(b);
+
+    assertTrue(subject.add(betterThanBoth));
+    assertEquals(List.of(betterThanBoth), subject.getStates(VERTEX));
+    assertFalse(subject.visit(a));
+    assertFalse(subject.visit(b));
+    assertTrue(subject.visit(betterThanBoth));
+  }
+
+  @Test
+  void returnStateWithLowestWeight() {
+    var a = state(VERTEX, 20, 10);
+    var b = state(VERTEX, 10, 20);
+
+    subject.add(a);
+    subject.add(b);
+
+    assertEquals(b, subject.getState(VERTEX));
+    assertNull(subject.getState(OTHER_VERTEX));
+  }
+
+  private static State state(Vertex vertex, double weight, int timeSeconds) {
+    var state = new State(
+      vertex,
+      Instant.ofEpochSecond(timeSeconds),
+      StateData.getBaseCaseStateData(REQUEST),
+      REQUEST
+    );
+    state.weight = weight;
+    return state;
+  }
+}
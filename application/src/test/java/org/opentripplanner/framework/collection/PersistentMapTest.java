@@ -0,0 +1,147 @@
+package org.opentripplanner.framework.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PersistentMapTest {
+
+  @Test
+  void empty() {
+    var subject = PersistentMap.<String, Integer>of();
+    assertTrue(subject.isEmpty());
+    assertNull(subject.get("A"));
+    assertFalse(subject.containsKey("A"));
+    assertFalse(subject.entrySet().iterator().hasNext());
+  }
+
+  @Test
+  void putGetAndRemove() {
+    var builder = PersistentMap.<String, Integer>of().toBuilder();
+
+    assertNull(builder.put("A", 1));
+    assertNull(builder.put("B", 2));
+    assertEquals(1, builder.put("A", 3));
+    assertEquals(2, builder.size());
+    assertEquals(3, builder.get("A"));
+
+    assertEquals(2, builder.remove("B"));
+    assertNull(builder.remove("B"));
+    assertEquals(Map.of("A", 3), builder.build());
+  }
+
+  @Test
+  void builtMapIsNotChangedByBuilder() {
+    var builder = PersistentMap.<Integer, Integer>of().toBuilder();
+    for (int i = 0; i < 1000; i++) {
+      builder.put(i, i);
+    }
+    var first = builder.build();
+
+    builder.put(7, -7);
+    builder.put(1000, 1000);
+    builder.remove(3);
+    var second = builder.build();
+
+    assertEquals(1000, first.size());
+    assertEquals(7, first.get(7));
+    assertEquals(3, first.get(3));
+    assertNull(first.get(1000));
+
+    assertEquals(1000, second.size());
+    assertEquals(-7, second.get(7));
+    assertNull(second.get(3));
+    assertEquals(1000, second.get(1000));
+  }
+
+  @Test
+  void copyOf() {
+    var builder = PersistentMap.<String, Integer>of().toBuilder();
+    builder.put("A", 1);
+    var map = PersistentMap.copyOf(builder);
+
+    assertEquals(Map.of("A", 1), map);
+    assertSame(map, PersistentMap.copyOf(map));
+    assertEquals(Map.of("B", 2), PersistentMap.copyOf(Map.of("B", 2)));
+  }
+
+  @Test
+  void removeWhileIterating() {
+    var builder = PersistentMap.<Integer, Integer>of().toBuilder();
+    for (int i = 0; i < 100; i++) {
+      builder.put(i, i);
+    }
+    builder.keySet().removeIf(it -> it % 2 == 0);
+
+    assertEquals(50, builder.size());
+    assertFalse(builder.containsKey(4));
+    assertTrue(builder.containsKey(5));
+  }
+
+  @Test
+  void nullKeysAndValuesAreNotAllowed() {
+    var builder = PersistentMap.<String, Integer>of().toBuilder();
+    assertThrows(NullPointerException.class, () -> builder.put(null, 1));
+    assertThrows(NullPointerException.class, () -> builder.put("A", null));
+  }
+
+  @Test
+  void hashCollisions() {
+    var a = new CollidingKey("A");
+    var b = new CollidingKey("B");
+    var c = new CollidingKey("C");
+    var builder = PersistentMap.<Object, String>of().toBuilder();
+    builder.put(a, "a");
+    builder.put(b, "b");
+    var first = builder.build();
+    builder.put(c, "c");
+    builder.put("D", "d");
+    builder.remove(a);
+
+    assertEquals(Map.of(a, "a", b, "b"), first);
+    assertEquals(Map.of(b, "b", c, "c", "D", "d"), builder.build());
+  }
+
+  @Test
+  void sameContentAsHashMap() {
+    var random = new Random(42);
+    var expected = new HashMap<Integer, Integer>();
+    var builder = PersistentMap.<Integer, Integer>of().toBuilder();
+    PersistentMap<Integer, Integer> lastBuilt = builder.build();
+    Map<Integer, Integer> lastExpected = Map.of();
+
+    for (int i = 0; i < 20_000; i++) {
+      // Use a small key space to get both updates and removes
+      int key = random.nextInt(5_000) - 2_500;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), builder.remove(key));
+      } else {
+        assertEquals(expected.put(key, i), builder.put(key, i));
+      }
+      if (i % 1_000 == 0) {
+        // A previous version should not change
+        assertEquals(lastExpected, lastBuilt);
+        lastBuilt = builder.build();
+        lastExpected = Map.copyOf(expected);
+        assertEquals(expected, lastBuilt);
+      }
+    }
+    assertEquals(expected, builder.build());
+    assertEquals(expected.hashCode(), builder.build().hashCode());
+  }
+
+  private record CollidingKey(String name) {
+    @Override
+    public int hashCode() {
+      return 17;
+    }
+  }
+}
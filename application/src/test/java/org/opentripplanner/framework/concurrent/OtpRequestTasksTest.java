@@ -0,0 +1,150 @@
+package org.opentripplanner.framework.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+
+class OtpRequestTasksTest {
+
+  private final OtpRequestTasks subject = new OtpRequestTasks(0, new SimpleMeterRegistry());
+
+  @Test
+  void runInParallel() {
+    var caller = Thread.currentThread();
+    var first = new AtomicReference<Thread>();
+    var second = new AtomicReference<Thread>();
+
+    subject.runInParallel(
+      () -> first.set(Thread.currentThread()),
+      () -> second.set(Thread.currentThread())
+    );
+
+    assertSame(caller, first.get());
+    // The second task may be run by the caller if the pool has not started it yet
+    assertNotNull(second.get());
+  }
+
+  @Test
+  void nestedTasksDoNotDeadlockInABoundedPool() {
+    var boundedPool = new OtpRequestTasks(1, new SimpleMeterRegistry());
+    try {
+      var count = new AtomicInteger();
+      Runnable leaf = count::incrementAndGet;
+      Runnable node = () -> boundedPool.runInParallel(leaf, leaf, leaf);
+
+      boundedPool.runInParallel(node, node, node);
+
+      assertEquals(9, count.get());
+    } finally {
+      boundedPool.shutdown();
+    }
+  }
+
+  @Test
+  void runTaskInCallingThreadIfTheQueueIsFull() throws InterruptedException {
+    var boundedPool = new OtpRequestTasks(1, new SimpleMeterRegistry());
+    var caller = Thread.currentThread();
+    var blockPool = new CountDownLatch(1);
+    var poolStarted = new CountDownLatch(1);
+    var threads = new ConcurrentLinkedQueue<Thread>();
+    Runnable block = () -> {
+      poolStarted.countDown();
+      try {
+        blockPool.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    };
+    Runnable waitForPool = () -> {
+      try {
+        poolStarted.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    };
+    Runnable recordThread = () -> threads.add(Thread.currentThread());
+    try {
+      // The first task is run by the caller, the second occupies the only thread, the third is
+      // queued and the fourth is rejected by the full queue
+      boundedPool.runInParallel(
+        () -> {
+          waitForPool.run();
+          // All tasks are submitted before the first task is run
+          blockPool.countDown();
+        },
+        block,
+        recordThread,
+        recordThread
+      );
+      assertEquals(2, threads.size());
+      assertTrue(threads.contains(caller));
+    } finally {
+      boundedPool.shutdown();
+    }
+  }
+
+  @Test
+  void exceptionIsRethrownUnwrapped() {
+    var expected = new IllegalStateException("Expected");
+
+    var ex = assertThrows(
+      IllegalStateException.class,
+      () ->
+        subject.runInParallel(
+          () -> {},
+          () -> {
+            throw expected;
+          }
+        )
+    );
+    assertSame(expected, ex);
+  }
+
+  @Test
+  void timeoutInterruptsRunningTasks() throws InterruptedException {
+    var started = new CountDownLatch(1);
+    var taskInterrupted = new AtomicBoolean(false);
+
+    Runnable waitForever = () -> {
+      started.countDown();
+      try {
+        Thread.sleep(60_000);
+      } catch (InterruptedException e) {
+        taskInterrupted.set(true);
+      }
+    };
+    Runnable interruptCaller = () -> {
+      try {
+        started.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      // Simulate the web server timeout
+      Thread.currentThread().interrupt();
+    };
+
+    assertThrows(
+      OTPRequestTimeoutException.class,
+      () -> subject.runInParallel(interruptCaller, waitForever)
+    );
+    // Clear the interrupt flag of the test thread
+    assertTrue(Thread.interrupted());
+
+    for (int i = 0; i < 100 && !taskInterrupted.get(); ++i) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    assertTrue(taskInterrupted.get());
+  }
+}
@@ -92,6 +92,56 @@ class StreetLinkerModuleTest {
     });
   }
 
+  /**
+   * The stops are linked to the same edge. The first stop splits the edge, so the second stop must
+   * be linked to one of the new edges, not to the original edge which is removed from the graph.
+   */
+  @Test
+  void linkStopsCloseToTheSameEdge() {
+    var lat = KONGSBERG_PLATFORM_1.y;
+    var lon = KONGSBERG_PLATFORM_1.x;
+    var from = StreetModelForTest.intersectionVertex(lat - 10 * DELTA, lon);
+    var to = StreetModelForTest.intersectionVertex(lat + 10 * DELTA, lon);
+
+    Graph graph = new Graph();
+    graph.addVertex(from);
+    graph.addVertex(to);
+    StreetModelForTest.streetEdge(from, to, PEDESTRIAN);
+
+    var builder = StopModel.of();
+    var stop1 = builder
+      .regularStop(id("stop-1"))
+      .withCoordinate(new WgsCoordinate(lat - 3 * DELTA, lon + DELTA))
+      .build();
+    var stop2 = builder
+      .regularStop(id("stop-2"))
+      .withCoordinate(new WgsCoordinate(lat + 3 * DELTA, lon + DELTA))
+      .build();
+    builder.withRegularStop(stop1).withRegularStop(stop2);
+    var timetableRepository = new TimetableRepository(builder.build(), new Deduplicator());
+
+    var stopVertex1 = TransitStopVertex.of().withStop(stop1).build();
+    var stopVertex2 = TransitStopVertex.of().withStop(stop2).build();
+    graph.addVertex(stopVertex1);
+    graph.addVertex(stopVertex2);
+    graph.hasStreets = true;
+
+    new StreetLinkerModule(graph, timetableRepository, DataImportIssueStore.NOOP, false)
+      .buildGraph();
+
+    // The edge is split in three
+    assertEquals(3, graph.getStreetEdges().size());
+    var linkedTo1 = stopVertex1.getOutgoing().iterator().next().getToVertex();
+    var linkedTo2 = stopVertex2.getOutgoing().iterator().next().getToVertex();
+    assertInstanceOf(SplitterVertex.class, linkedTo1);
+    assertInstanceOf(SplitterVertex.class, linkedTo2);
+    // Each split vertex is connected to a street edge and a stop link in both directions
+    for (var vertex : List.of(linkedTo1, linkedTo2)) {
+      assertEquals(2, vertex.getDegreeIn());
+      assertEquals(2, vertex.getDegreeOut());
+    }
+  }
+
   private static class TestModel {
 
     private final TransitStopVertex stopVertex;
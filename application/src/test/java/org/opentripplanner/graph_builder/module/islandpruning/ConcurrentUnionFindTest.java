@@ -0,0 +1,39 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentUnionFindTest {
+
+  @Test
+  void union() {
+    var subject = new ConcurrentUnionFind(6);
+    subject.union(4, 1);
+    subject.union(2, 5);
+    subject.union(5, 1);
+
+    // The root is the smallest index of the set
+    assertEquals(1, subject.find(2));
+    assertEquals(1, subject.find(4));
+    assertEquals(1, subject.find(5));
+    assertEquals(0, subject.find(0));
+    assertEquals(3, subject.find(3));
+    assertNotEquals(subject.find(0), subject.find(3));
+  }
+
+  @Test
+  void unionInParallel() {
+    int n = 100_000;
+    var subject = new ConcurrentUnionFind(n);
+
+    // Connect the even and the odd indices in two long chains
+    IntStream.range(2, n).parallel().forEach(i -> subject.union(i, i - 2));
+
+    for (int i = 0; i < n; i++) {
+      assertEquals(i % 2, subject.find(i));
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.osm.OsmProvider;
+import org.opentripplanner.osm.model.OsmNode;
+
+class CompactOsmNodeStoreTest {
+
+  private static final OsmProvider PROVIDER = new OsmProvider(new File("nodes.osm.pbf"), false);
+  private static final OsmProvider OTHER_PROVIDER = new OsmProvider(
+    new File("other.osm.pbf"),
+    false
+  );
+
+  @Test
+  void nodeWithoutTags() {
+    var subject = new CompactOsmNodeStore();
+    subject.add(node(7, 59.9, 10.7));
+
+    var node = subject.get(7);
+    assertNotNull(node);
+    assertEquals(7, node.getId());
+    assertEquals(59.9, node.lat);
+    assertEquals(10.7, node.lon);
+    assertTrue(node.getTags().isEmpty());
+  }
+
+  @Test
+  void nodeWithTags() {
+    var subject = new CompactOsmNodeStore();
+    var input = node(-3, 1.5, -2.5);
+    input.addTag("highway", "traffic_signals");
+    input.addTag("name", "Storgata");
+    input.setOsmProvider(PROVIDER);
+    subject.add(input);
+    var crossing = node(4, 0, 0);
+    crossing.addTag("highway", "crossing");
+    subject.add(crossing);
+
+    var node = subject.get(-3);
+    assertNotNull(node);
+    assertEquals(Map.of("highway", "traffic_signals", "name", "Storgata"), node.getTags());
+    assertSame(PROVIDER, node.getOsmProvider());
+    assertTrue(node.hasHighwayTrafficLight());
+    assertEquals(input, node);
+
+    assertEquals(Map.of("highway", "crossing"), subject.get(4).getTags());
+  }
+
+  @Test
+  void providerOfNodesWithoutTags() {
+    var subject = new CompactOsmNodeStore();
+    var input = node(7, 59.9, 10.7);
+    input.setOsmProvider(PROVIDER);
+    subject.add(input);
+    var other = node(8, 60.1, 10.8);
+    other.setOsmProvider(OTHER_PROVIDER);
+    subject.add(other);
+
+    assertSame(PROVIDER, subject.get(7).getOsmProvider());
+    assertSame(OTHER_PROVIDER, subject.get(8).getOsmProvider());
+  }
+
+  @Test
+  void missingNode() {
+    var subject = new CompactOsmNodeStore();
+    subject.add(node(1, 1, 1));
+
+    assertNull(subject.get(2));
+    assertFalse(subject.contains(2));
+    assertTrue(subject.contains(1));
+  }
+
+  @Test
+  void replaceNode() {
+    var subject = new CompactOsmNodeStore();
+    var gate = node(1, 1, 1);
+    gate.addTag("barrier", "gate");
+    subject.add(gate);
+    subject.add(node(1, 2, 3));
+
+    var node = subject.get(1);
+    assertEquals(1, subject.size());
+    assertEquals(2, node.lat);
+    assertEquals(3, node.lon);
+    assertTrue(node.getTags().isEmpty());
+  }
+
+  @Test
+  void nodesInManyChunks() {
+    var subject = new CompactOsmNodeStore();
+    int n = 3_000_000;
+    for (int i = 0; i < n; i++) {
+      subject.add(node(10L * i, i / 1e5, -i / 1e5));
+    }
+
+    assertEquals(n, subject.size());
+    for (int i = 0; i < n; i += 9_999) {
+      var node = subject.get(10L * i);
+      assertEquals(i / 1e5, node.lat);
+      assertEquals(-i / 1e5, node.lon);
+    }
+  }
+
+  private static OsmNode node(long id, double lat, double lon) {
+    var node = new OsmNode();
+    node.setId(id);
+    node.lat = lat;
+    node.lon = lon;
+    return node;
+  }
+}
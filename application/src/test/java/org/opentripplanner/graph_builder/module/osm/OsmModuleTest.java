@@ -14,6 +14,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.astar.model.GraphPath;
@@ -322,6 +323,31 @@ public class OsmModuleTest {
     assertEquals(barrier.getBarrierPermissions(), ALL);
   }
 
+  @Test
+  void compactNodeStorageBuildsTheSameGraph() {
+    var graph = buildAreaGraph(false);
+    var compactGraph = buildAreaGraph(true);
+
+    assertEquals(vertexLabels(graph), vertexLabels(compactGraph));
+    assertEquals(graph.getEdges().size(), compactGraph.getEdges().size());
+  }
+
+  private Graph buildAreaGraph(boolean compactNodeStorage) {
+    var graph = new Graph(new Deduplicator());
+    var provider = new OsmProvider(RESOURCE_LOADER.file("usf_area.osm.pbf"), false);
+    OsmModule
+      .of(provider, graph)
+      .withAreaVisibility(true)
+      .withCompactNodeStorage(compactNodeStorage)
+      .build()
+      .buildGraph();
+    return graph;
+  }
+
+  private static Set<VertexLabel> vertexLabels(Graph graph) {
+    return graph.getVertices().stream().map(Vertex::getLabel).collect(Collectors.toSet());
+  }
+
   private Graph buildParkingLots() {
     var graph = new Graph();
     var providers = Stream
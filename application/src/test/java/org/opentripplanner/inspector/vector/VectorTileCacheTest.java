@@ -0,0 +1,60 @@
+package org.opentripplanner.inspector.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class VectorTileCacheTest {
+
+  private static final byte[] TILE = { 1, 2, 3 };
+
+  private final AtomicInteger tilesCreated = new AtomicInteger();
+
+  @Test
+  void cacheTile() {
+    var subject = new VectorTileCache(1);
+
+    assertArrayEquals(TILE, subject.get(key(0), this::createTile));
+    assertArrayEquals(TILE, subject.get(key(0), this::createTile));
+
+    assertEquals(1, tilesCreated.get());
+    assertEquals(1, subject.getCache().stats().hitCount());
+    assertEquals(1, subject.getCache().stats().missCount());
+  }
+
+  @Test
+  void createTileAgainWhenVersionChanges() {
+    var subject = new VectorTileCache(1);
+
+    subject.get(key(0), this::createTile);
+    subject.get(key(1), this::createTile);
+    subject.get(key(1), this::createTile);
+
+    assertEquals(2, tilesCreated.get());
+  }
+
+  @Test
+  void disabled() {
+    var subject = VectorTileCache.DISABLED;
+
+    assertArrayEquals(TILE, subject.get(key(0), this::createTile));
+    assertArrayEquals(TILE, subject.get(key(0), this::createTile));
+
+    assertEquals(2, tilesCreated.get());
+    assertNull(subject.getCache());
+  }
+
+  private static VectorTileCache.Key key(long version) {
+    return new VectorTileCache.Key(List.of("stops"), 10, 1, 2, Locale.ENGLISH, version);
+  }
+
+  private byte[] createTile() {
+    tilesCreated.incrementAndGet();
+    return TILE;
+  }
+}
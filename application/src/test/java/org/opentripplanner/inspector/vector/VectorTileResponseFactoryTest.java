@@ -1,11 +1,17 @@
 package org.opentripplanner.inspector.vector;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.TestServerContext;
 import org.opentripplanner.inspector.vector.geofencing.GeofencingZonesLayerBuilder;
@@ -15,10 +21,7 @@ import org.opentripplanner.transit.service.TimetableRepository;
 
 class VectorTileResponseFactoryTest {
 
-  public static final OtpServerRequestContext SERVER_CONTEXT = TestServerContext.createServerContext(
-    new Graph(),
-    new TimetableRepository()
-  );
+  public static final OtpServerRequestContext SERVER_CONTEXT = createServerContext();
 
   enum LayerType {
     RED,
@@ -45,6 +48,13 @@ class VectorTileResponseFactoryTest {
     return new GeofencingZonesLayerBuilder(context.graph(), layerParameters);
   }
 
+  private static OtpServerRequestContext createServerContext() {
+    var graph = new Graph();
+    var timetableRepository = new TimetableRepository();
+    graph.index(timetableRepository.getStopModel());
+    return TestServerContext.createServerContext(graph, timetableRepository);
+  }
+
   private static Response computeResponse(List<String> layers) {
     return VectorTileResponseFactory.create(
       1,
@@ -89,4 +99,65 @@ class VectorTileResponseFactoryTest {
     assertEquals(null, resp.getHeaderString(HttpHeaders.CONTENT_TYPE));
     assertEquals(Response.Status.OK.getStatusCode(), resp.getStatus());
   }
+
+  @Test
+  void returnCachedTile() {
+    var cache = new VectorTileCache(1);
+    var version = new AtomicLong();
+    var first = computeResponse(cache, version);
+
+    assertSame(first.getEntity(), computeResponse(cache, version).getEntity());
+
+    version.incrementAndGet();
+    assertNotSame(first.getEntity(), computeResponse(cache, version).getEntity());
+  }
+
+  @Test
+  void usePrerenderedLayer() {
+    var prerendered = new byte[] { 1, 2, 3 };
+    PrerenderedLayers<LayerType> prerenderedLayers = (layerParameters, z, x, y, locale) ->
+      layerParameters.type() == LayerType.RED ? ByteBuffer.wrap(prerendered) : null;
+
+    var rendered = (byte[]) computeResponse(List.of("green"), PrerenderedLayers.none()).getEntity();
+    var tile = (byte[]) computeResponse(List.of("red", "green"), prerenderedLayers).getEntity();
+
+    // The pre-rendered layer is copied as it is, followed by the rendered layer
+    assertArrayEquals(prerendered, Arrays.copyOf(tile, prerendered.length));
+    assertArrayEquals(rendered, Arrays.copyOfRange(tile, prerendered.length, tile.length));
+  }
+
+  private static Response computeResponse(
+    List<String> layers,
+    PrerenderedLayers<LayerType> prerenderedLayers
+  ) {
+    return VectorTileResponseFactory.create(
+      1,
+      1,
+      10,
+      Locale.ENGLISH,
+      layers,
+      LAYERS,
+      VectorTileResponseFactoryTest::createLayerBuilder,
+      SERVER_CONTEXT,
+      VectorTileCache.DISABLED,
+      layerParameters -> 0,
+      prerenderedLayers
+    );
+  }
+
+  private static Response computeResponse(VectorTileCache cache, AtomicLong version) {
+    return VectorTileResponseFactory.create(
+      1,
+      1,
+      10,
+      Locale.ENGLISH,
+      List.of("red", "green"),
+      LAYERS,
+      VectorTileResponseFactoryTest::createLayerBuilder,
+      SERVER_CONTEXT,
+      cache,
+      layerParameters -> layerParameters.type() == LayerType.GREEN ? version.get() : 0,
+      PrerenderedLayers.none()
+    );
+  }
 }
@@ -0,0 +1,65 @@
+package org.opentripplanner.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.timetable.ScheduledTripTimes;
+import org.opentripplanner.transit.model.timetable.TripTimes;
+
+class TimetableDepartureIndexTest {
+
+  private static final TripTimes SLOW = tripTimes("slow", "10:00 10:30", "10:00 10:40");
+  private static final TripTimes FAST = tripTimes("fast", "10:10 10:20", "10:10 10:20");
+  private static final TripTimes LATE = tripTimes("late", "10:10 10:50", "10:10 10:55");
+
+  private final TimetableDepartureIndex subject = new TimetableDepartureIndex(
+    List.of(SLOW, FAST, LATE),
+    2
+  );
+
+  @Test
+  void sortByDepartureTimeAtEachStop() {
+    assertEquals(3, subject.size());
+
+    assertSame(SLOW, subject.tripTimes(0, 0));
+    // Equal departure times are in the same order as in the timetable
+    assertSame(FAST, subject.tripTimes(0, 1));
+    assertSame(LATE, subject.tripTimes(0, 2));
+
+    // The fast trip overtakes the slow trip
+    assertSame(FAST, subject.tripTimes(1, 0));
+    assertEquals(1, subject.tripIndex(1, 0));
+    assertEquals(TimeUtils.time("10:20"), subject.departureTime(1, 0));
+    assertSame(SLOW, subject.tripTimes(1, 1));
+    assertSame(LATE, subject.tripTimes(1, 2));
+  }
+
+  @Test
+  void firstDepartureAtOrAfter() {
+    assertEquals(0, subject.firstDepartureAtOrAfter(0, TimeUtils.time("09:00")));
+    assertEquals(0, subject.firstDepartureAtOrAfter(0, TimeUtils.time("10:00")));
+    assertEquals(1, subject.firstDepartureAtOrAfter(0, TimeUtils.time("10:00:01")));
+    assertEquals(1, subject.firstDepartureAtOrAfter(0, TimeUtils.time("10:10")));
+    assertEquals(3, subject.firstDepartureAtOrAfter(0, TimeUtils.time("10:11")));
+    assertEquals(2, subject.firstDepartureAtOrAfter(1, TimeUtils.time("10:41")));
+  }
+
+  @Test
+  void maxDwellTime() {
+    assertEquals(0, subject.maxDwellTime(0));
+    assertEquals(10 * 60, subject.maxDwellTime(1));
+  }
+
+  private static TripTimes tripTimes(String id, String arrivalTimes, String departureTimes) {
+    return ScheduledTripTimes
+      .of()
+      .withArrivalTimes(arrivalTimes)
+      .withDepartureTimes(departureTimes)
+      .withTrip(TimetableRepositoryForTest.trip(id).build())
+      .build();
+  }
+}
@@ -0,0 +1,59 @@
+package org.opentripplanner.osm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.module.osm.OsmDatabase;
+import org.opentripplanner.osm.model.OsmWay;
+import org.opentripplanner.test.support.ResourceLoader;
+
+class OsmProviderTest {
+
+  private static final ResourceLoader RESOURCE_LOADER = ResourceLoader.of(OsmDatabase.class);
+
+  @Test
+  void readingTwiceGivesTheSameResult() {
+    var provider = new OsmProvider(RESOURCE_LOADER.file("map.osm.pbf"), false);
+
+    var first = read(provider);
+    var second = read(provider);
+
+    assertTrue(first.wayCount() > 0);
+    assertTrue(first.nodeCount() > 0);
+    assertEquals(first.wayCount(), second.wayCount());
+    assertEquals(first.nodeCount(), second.nodeCount());
+    assertEquals(wayIds(first), wayIds(second));
+  }
+
+  @Test
+  void stringsAreInternalized() {
+    var osmdb = read(new OsmProvider(RESOURCE_LOADER.file("map.osm.pbf"), true));
+
+    var highwayValues = osmdb
+      .getWays()
+      .stream()
+      .map(way -> way.getTag("highway"))
+      .filter(Objects::nonNull)
+      .filter("residential"::equals)
+      .toList();
+
+    // The ways are spread over many blocks of the file
+    assertTrue(highwayValues.size() > 1);
+    highwayValues.forEach(value -> assertSame(highwayValues.getFirst(), value));
+  }
+
+  private static OsmDatabase read(OsmProvider provider) {
+    var osmdb = new OsmDatabase(DataImportIssueStore.NOOP);
+    provider.readOsm(osmdb);
+    return osmdb;
+  }
+
+  private static List<Long> wayIds(OsmDatabase osmdb) {
+    return osmdb.getWays().stream().map(OsmWay::getId).toList();
+  }
+}
@@ -5,6 +5,7 @@ import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
 import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -356,8 +357,10 @@ public class TestTransitData
   /* private methods */
 
   private int[] stopBoardAlightTransferCosts() {
-    // Not implemented, no test for this yet.
-    return stopBoardAlightTransferCosts;
+    // The cost array must cover all stops, also in data sets with more than NUM_STOPS stops
+    return numberOfStops() > stopBoardAlightTransferCosts.length
+      ? Arrays.copyOf(stopBoardAlightTransferCosts, numberOfStops())
+      : stopBoardAlightTransferCosts;
   }
 
   private void expandNumOfStops(int stopIndex) {
@@ -0,0 +1,160 @@
+package org.opentripplanner.raptor.moduletests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.opentripplanner.raptor._data.transit.TestAccessEgress.walk;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTransfer.transfer;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.api.PathUtils;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.Optimization;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+/**
+ * FEATURE UNDER TEST
+ * <p>
+ * A multi-criteria search with the search-window split into slices searched in parallel should
+ * return the same paths as a search with the whole search-window in one thread.
+ */
+public class A05_ParallelSearchWindowSlicesTest implements RaptorTestConstants {
+
+  private final TestTransitData data = new TestTransitData();
+  private final RaptorRequestBuilder<TestTripSchedule> requestBuilder = new RaptorRequestBuilder<>();
+  private final RaptorConfig<TestTripSchedule> parallelConfig = new RaptorConfig<>(
+    new RaptorTuningParameters() {
+      @Override
+      public int searchThreadPoolSize() {
+        return 2;
+      }
+
+      @Override
+      public int searchWindowSliceInSeconds() {
+        return D10m;
+      }
+    }
+  );
+
+  /**
+   * Stops: 0..2
+   *
+   * Stop on route (stop indexes):
+   *   R1:  1 - 2  every 10 minutes, 10 minutes ride
+   *   R2:  1 - 2  every 20 minutes, 5 minutes ride
+   *
+   * Access (toStop & duration):
+   *   1  30s
+   *
+   * Egress (fromStop & duration):
+   *   2  20s
+   */
+  @BeforeEach
+  void setup() {
+    data.withRoute(
+      route(pattern("R1", STOP_A, STOP_B)).withTimetable(schedule("00:02 00:12").repeat(7, D10m))
+    );
+    data.withRoute(
+      route(pattern("R2", STOP_A, STOP_B)).withTimetable(schedule("00:07 00:12").repeat(4, D20m))
+    );
+    requestBuilder
+      .profile(RaptorProfile.MULTI_CRITERIA)
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(STOP_A, D30s))
+      .addEgressPaths(TestAccessEgress.walk(STOP_B, D20s))
+      .earliestDepartureTime(T00_00)
+      .searchWindowInSeconds(T01_00 - T00_00)
+      .timetable(true);
+    requestBuilder.optimizations().add(Optimization.PARALLEL);
+  }
+
+  @AfterEach
+  void tearDown() {
+    parallelConfig.shutdown();
+  }
+
+  @Test
+  void sameResultAsSearchInOneThread() {
+    var request = requestBuilder.build();
+
+    var expected = new RaptorService<>(RaptorConfig.<TestTripSchedule>defaultConfigForTest())
+      .route(request, data);
+    var result = new RaptorService<>(parallelConfig).route(request, data);
+
+    assertEquals(PathUtils.pathsToString(expected), PathUtils.pathsToString(result));
+    assertEquals(7, result.paths().size());
+  }
+
+  /**
+   * Stops: A..D
+   *
+   * Stop on route (stop indexes):
+   *   R3:  A - B - C  every 10 minutes
+   *   R4:  B - D      every 20 minutes
+   *   R5:  C - D      every 10 minutes
+   *   R6:  A - C - D  every 20 minutes, express
+   *
+   * Transfers:
+   *   B -> C  3m, C -> B  3m, C -> D  10m
+   *
+   * Access (toStop & duration):
+   *   A  1m,  B  8m
+   *
+   * Egress (fromStop & duration):
+   *   D  1m,  C  11m
+   */
+  @ParameterizedTest
+  @CsvSource({ "true, 7", "false, 1" })
+  void sameResultAsSearchInOneThreadWithTransfers(boolean timetable, int expectedNumberOfPaths) {
+    var network = new TestTransitData()
+      .withRoute(
+        route(pattern("R3", STOP_A, STOP_B, STOP_C))
+          .withTimetable(schedule("00:02 00:08 00:15").repeat(6, D10m))
+      )
+      .withRoute(
+        route(pattern("R4", STOP_B, STOP_D)).withTimetable(schedule("00:05 00:20").repeat(3, D20m))
+      )
+      .withRoute(
+        route(pattern("R5", STOP_C, STOP_D)).withTimetable(schedule("00:04 00:12").repeat(6, D10m))
+      )
+      .withRoute(
+        route(pattern("R6", STOP_A, STOP_C, STOP_D))
+          .withTimetable(schedule("00:09 00:16 00:22").repeat(3, D20m))
+      )
+      .withTransfer(STOP_B, transfer(STOP_C, D3m))
+      .withTransfer(STOP_C, transfer(STOP_B, D3m))
+      .withTransfer(STOP_C, transfer(STOP_D, D10m));
+
+    var builder = new RaptorRequestBuilder<TestTripSchedule>();
+    builder
+      .profile(RaptorProfile.MULTI_CRITERIA)
+      .searchParams()
+      .addAccessPaths(walk(STOP_A, D1m), walk(STOP_B, D8m))
+      .addEgressPaths(walk(STOP_D, D1m), walk(STOP_C, D11m))
+      .earliestDepartureTime(T00_00)
+      .latestArrivalTime(T01_00)
+      .searchWindowInSeconds(T01_00 - T00_00)
+      .timetable(timetable);
+    builder.optimizations().add(Optimization.PARALLEL);
+    var request = builder.build();
+
+    var expected = new RaptorService<>(RaptorConfig.<TestTripSchedule>defaultConfigForTest())
+      .route(request, network);
+    var result = new RaptorService<>(parallelConfig).route(request, network);
+
+    assertEquals(PathUtils.pathsToString(expected), PathUtils.pathsToString(result));
+    assertEquals(expectedNumberOfPaths, result.paths().size());
+  }
+}
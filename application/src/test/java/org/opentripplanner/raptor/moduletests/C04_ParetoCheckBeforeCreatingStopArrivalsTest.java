@@ -0,0 +1,102 @@
+package org.opentripplanner.raptor.moduletests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.opentripplanner.raptor._data.transit.TestAccessEgress.walk;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTransfer.transfer;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.api.PathUtils;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.Optimization;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+/**
+ * FEATURE UNDER TEST
+ * <p>
+ * A multi-criteria search with the {@link Optimization#PARETO_CHECK_BEFORE_CREATING_STOP_ARRIVALS}
+ * enabled should return the same paths as a search without it. The network has several competing
+ * routes and transfers, so many transit and transfer arrivals are rejected at the stops.
+ */
+public class C04_ParetoCheckBeforeCreatingStopArrivalsTest implements RaptorTestConstants {
+
+  private final TestTransitData data = new TestTransitData();
+  private final RaptorService<TestTripSchedule> raptorService = new RaptorService<>(
+    RaptorConfig.defaultConfigForTest()
+  );
+
+  /**
+   * Stops: A..E
+   *
+   * Stop on route (stop indexes):
+   *   R1:  A - B - C  every 10 minutes
+   *   R2:  B - D      every 20 minutes
+   *   R3:  C - D      every 10 minutes
+   *   R4:  A - C - D  every 20 minutes, express
+   *
+   * Transfers:
+   *   B -> C  3m, C -> B  3m, C -> D  10m
+   *
+   * Access (toStop & duration):
+   *   A  1m,  B  8m
+   *
+   * Egress (fromStop & duration):
+   *   D  1m,  C  11m
+   */
+  @BeforeEach
+  void setup() {
+    data
+      .withRoute(
+        route(pattern("R1", STOP_A, STOP_B, STOP_C))
+          .withTimetable(schedule("00:02 00:08 00:15").repeat(6, D10m))
+      )
+      .withRoute(
+        route(pattern("R2", STOP_B, STOP_D)).withTimetable(schedule("00:05 00:20").repeat(3, D20m))
+      )
+      .withRoute(
+        route(pattern("R3", STOP_C, STOP_D)).withTimetable(schedule("00:04 00:12").repeat(6, D10m))
+      )
+      .withRoute(
+        route(pattern("R4", STOP_A, STOP_C, STOP_D))
+          .withTimetable(schedule("00:09 00:16 00:22").repeat(3, D20m))
+      )
+      .withTransfer(STOP_B, transfer(STOP_C, D3m))
+      .withTransfer(STOP_C, transfer(STOP_B, D3m))
+      .withTransfer(STOP_C, transfer(STOP_D, D10m));
+  }
+
+  @Test
+  void sameResultWithAndWithoutTheParetoCheck() {
+    var expected = raptorService.route(request(false), data);
+    var result = raptorService.route(request(true), data);
+
+    assertEquals(PathUtils.pathsToString(expected), PathUtils.pathsToString(result));
+    assertEquals(7, result.paths().size());
+  }
+
+  private RaptorRequest<TestTripSchedule> request(boolean paretoCheckBeforeCreatingStopArrivals) {
+    var builder = new RaptorRequestBuilder<TestTripSchedule>();
+    builder
+      .profile(RaptorProfile.MULTI_CRITERIA)
+      .searchParams()
+      .addAccessPaths(walk(STOP_A, D1m), walk(STOP_B, D8m))
+      .addEgressPaths(walk(STOP_D, D1m), walk(STOP_C, D11m))
+      .earliestDepartureTime(T00_00)
+      .latestArrivalTime(T01_00)
+      .searchWindowInSeconds(T01_00 - T00_00)
+      .timetable(true);
+    if (paretoCheckBeforeCreatingStopArrivals) {
+      builder.enableOptimization(Optimization.PARETO_CHECK_BEFORE_CREATING_STOP_ARRIVALS);
+    }
+    return builder.build();
+  }
+}
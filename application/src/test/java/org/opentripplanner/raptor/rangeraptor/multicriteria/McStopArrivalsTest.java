@@ -0,0 +1,138 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.debug.DebugLogger;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.model.RelaxFunction;
+import org.opentripplanner.raptor.api.request.DebugRequest;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.rangeraptor.debug.DebugHandlerFactory;
+import org.opentripplanner.raptor.rangeraptor.lifecycle.LifeCycleSubscriptions;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.c1.StopArrivalFactoryC1;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.ride.c1.PatternRideC1;
+import org.opentripplanner.raptor.rangeraptor.transit.EgressPaths;
+
+class McStopArrivalsTest {
+
+  // 08:35 in seconds
+  private static final int A_TIME = ((8 * 60) + 35) * 60;
+  private static final int ANY = 3;
+  private static final int C1 = 500;
+  private static final boolean ARRIVED_ON_BOARD = true;
+  private static final boolean ARRIVED_ON_FOOT = false;
+  private static final RaptorTripSchedule ANY_TRIP = TestTripSchedule
+    .schedule("10:00 10:30")
+    .build();
+
+  private static final int STOP_EMPTY = 1;
+  private static final int STOP_TRANSIT = 2;
+  private static final int STOP_ACCESS = 3;
+
+  private static final StopArrivalFactoryC1<RaptorTripSchedule> STOP_ARRIVAL_FACTORY = new StopArrivalFactoryC1<>();
+
+  private static final McStopArrival<RaptorTripSchedule> ACCESS = STOP_ARRIVAL_FACTORY.createAccessStopArrival(
+    A_TIME,
+    TestAccessEgress.walk(STOP_ACCESS, 60, C1)
+  );
+
+  private static final McStopArrival<RaptorTripSchedule> TRANSIT = STOP_ARRIVAL_FACTORY.createTransitStopArrival(
+    new PatternRideC1<>(ACCESS, ANY, ANY, ANY, ANY, ANY, ANY, ANY_TRIP),
+    STOP_TRANSIT,
+    A_TIME + 600,
+    2 * C1
+  );
+
+  /** Arrives later than TRANSIT, but is cheaper - both are kept in the pareto-set */
+  private static final McStopArrival<RaptorTripSchedule> TRANSIT_LATE = STOP_ARRIVAL_FACTORY.createTransitStopArrival(
+    new PatternRideC1<>(ACCESS, ANY, ANY, ANY, ANY, ANY, ANY, ANY_TRIP),
+    STOP_TRANSIT,
+    A_TIME + 900,
+    C1
+  );
+
+  private final McStopArrivals<RaptorTripSchedule> subject = new McStopArrivals<>(
+    10,
+    EgressPaths.create(List.of(), RaptorProfile.MULTI_CRITERIA),
+    null,
+    null,
+    null,
+    STOP_ARRIVAL_FACTORY,
+    ArrivalParetoSetComparatorFactory.factory(RelaxFunction.NORMAL, null),
+    new DebugHandlerFactory<>(
+      new DebugRequest(List.of(), List.of(), 0, null, null, null, DebugLogger.noop()),
+      new LifeCycleSubscriptions()
+    )
+  );
+
+  @Test
+  void isDominatedWithoutArrivals() {
+    assertFalse(subject.isDominated(STOP_EMPTY, A_TIME + 9999, 9, 9999, ARRIVED_ON_FOOT));
+  }
+
+  @Test
+  void isDominatedByTransitArrival() {
+    subject.addStopArrival(TRANSIT);
+    int time = TRANSIT.arrivalTime();
+    int c1 = TRANSIT.c1();
+
+    // Equal criteria, both on-board and on-foot arrivals are dominated
+    assertTrue(subject.isDominated(STOP_TRANSIT, time, 1, c1, ARRIVED_ON_BOARD));
+    assertTrue(subject.isDominated(STOP_TRANSIT, time, 1, c1, ARRIVED_ON_FOOT));
+
+    // Worse on all criteria
+    assertTrue(subject.isDominated(STOP_TRANSIT, time + 1, 2, c1 + 1, ARRIVED_ON_FOOT));
+
+    // Better on one criterion
+    assertFalse(subject.isDominated(STOP_TRANSIT, time - 1, 1, c1, ARRIVED_ON_BOARD));
+    assertFalse(subject.isDominated(STOP_TRANSIT, time, 0, c1, ARRIVED_ON_BOARD));
+    assertFalse(subject.isDominated(STOP_TRANSIT, time, 1, c1 - 1, ARRIVED_ON_BOARD));
+  }
+
+  @Test
+  void isDominatedByAnyArrivalInTheSet() {
+    subject.addStopArrival(TRANSIT);
+    subject.addStopArrival(TRANSIT_LATE);
+
+    // Dominated by the first arrival only
+    assertTrue(
+      subject.isDominated(STOP_TRANSIT, TRANSIT.arrivalTime(), 1, TRANSIT.c1(), ARRIVED_ON_BOARD)
+    );
+    // Dominated by the last arrival only
+    assertTrue(
+      subject.isDominated(
+        STOP_TRANSIT,
+        TRANSIT_LATE.arrivalTime(),
+        1,
+        TRANSIT_LATE.c1(),
+        ARRIVED_ON_BOARD
+      )
+    );
+    // Between the two arrivals, not dominated by any of them
+    assertFalse(
+      subject.isDominated(STOP_TRANSIT, TRANSIT.arrivalTime() + 1, 1, C1 + 1, ARRIVED_ON_BOARD)
+    );
+  }
+
+  @Test
+  void isDominatedByArrivalOnFoot() {
+    subject.addStopArrival(ACCESS);
+    int time = ACCESS.arrivalTime();
+    int c1 = ACCESS.c1();
+
+    // Equal criteria, only the on-foot arrival is dominated
+    assertTrue(subject.isDominated(STOP_ACCESS, time, 0, c1, ARRIVED_ON_FOOT));
+    assertFalse(subject.isDominated(STOP_ACCESS, time, 0, c1, ARRIVED_ON_BOARD));
+
+    // Worse on all other criteria, an on-board arrival is still not dominated
+    assertTrue(subject.isDominated(STOP_ACCESS, time + 1, 1, c1 + 1, ARRIVED_ON_FOOT));
+    assertFalse(subject.isDominated(STOP_ACCESS, time + 1, 1, c1 + 1, ARRIVED_ON_BOARD));
+  }
+}
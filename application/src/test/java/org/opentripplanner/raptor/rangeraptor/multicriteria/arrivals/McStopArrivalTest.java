@@ -124,6 +124,46 @@ class McStopArrivalTest {
     );
   }
 
+  @Test
+  void testIsAsGoodAs() {
+    var subject = new A(ARRIVAL_TIME_EARLY, PARETO_ROUND_ONE, C1_100, C1_777, ARRIVED_ON_FOOT);
+
+    // Same values, ignore c2
+    assertTrue(subject.isAsGoodAs(ARRIVAL_TIME_EARLY, PARETO_ROUND_ONE, C1_100, ARRIVED_ON_FOOT));
+    // Subject is better
+    assertTrue(subject.isAsGoodAs(ARRIVAL_TIME_LATE, PARETO_ROUND_TWO, C1_777, ARRIVED_ON_FOOT));
+
+    // New arrival is better on one criteria
+    assertFalse(subject.isAsGoodAs(ARRIVAL_TIME_EARLY - 1, PARETO_ROUND_TWO, C1_777, false));
+    assertFalse(subject.isAsGoodAs(ARRIVAL_TIME_LATE, PARETO_ROUND_ONE - 1, C1_777, false));
+    assertFalse(subject.isAsGoodAs(ARRIVAL_TIME_LATE, PARETO_ROUND_TWO, C1_100 - 1, false));
+    assertFalse(subject.isAsGoodAs(ARRIVAL_TIME_LATE, PARETO_ROUND_TWO, C1_777, ARRIVED_ON_BOARD));
+  }
+
+  @Test
+  void testIsAsGoodAsArrivedOnBoard() {
+    var subject = new A(ARRIVAL_TIME_EARLY, PARETO_ROUND_ONE, C1_100, C1_777, ARRIVED_ON_BOARD);
+
+    // Same values, on-board and on-foot arrivals are both rejected
+    assertTrue(subject.isAsGoodAs(ARRIVAL_TIME_EARLY, PARETO_ROUND_ONE, C1_100, ARRIVED_ON_BOARD));
+    assertTrue(subject.isAsGoodAs(ARRIVAL_TIME_EARLY, PARETO_ROUND_ONE, C1_100, ARRIVED_ON_FOOT));
+
+    // Subject is better, on-board and on-foot arrivals are both rejected
+    assertTrue(subject.isAsGoodAs(ARRIVAL_TIME_LATE, PARETO_ROUND_TWO, C1_777, ARRIVED_ON_BOARD));
+    assertTrue(subject.isAsGoodAs(ARRIVAL_TIME_LATE, PARETO_ROUND_TWO, C1_777, ARRIVED_ON_FOOT));
+
+    // New arrival is better on one criteria
+    assertFalse(
+      subject.isAsGoodAs(ARRIVAL_TIME_EARLY - 1, PARETO_ROUND_ONE, C1_100, ARRIVED_ON_FOOT)
+    );
+    assertFalse(
+      subject.isAsGoodAs(ARRIVAL_TIME_EARLY, PARETO_ROUND_ONE - 1, C1_100, ARRIVED_ON_FOOT)
+    );
+    assertFalse(
+      subject.isAsGoodAs(ARRIVAL_TIME_EARLY, PARETO_ROUND_ONE, C1_100 - 1, ARRIVED_ON_FOOT)
+    );
+  }
+
   private static class A extends McStopArrival<TestTripSchedule> {
 
     int c2;
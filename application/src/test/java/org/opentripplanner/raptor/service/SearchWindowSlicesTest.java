@@ -0,0 +1,74 @@
+package org.opentripplanner.raptor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.raptor.service.SearchWindowSlices.Slice;
+
+class SearchWindowSlicesTest {
+
+  private static final int EDT = 3600;
+  private static final int STEP = 60;
+
+  @Test
+  void splitInSlicesOfTheGivenLength() {
+    assertEquals(
+      List.of(new Slice(EDT, 1200), new Slice(EDT + 1200, 1200), new Slice(EDT + 2400, 1200)),
+      SearchWindowSlices.split(EDT, 3600, 1200, STEP, 8)
+    );
+  }
+
+  @Test
+  void limitNumberOfSlices() {
+    assertEquals(
+      List.of(new Slice(EDT, 1800), new Slice(EDT + 1800, 1800)),
+      SearchWindowSlices.split(EDT, 3600, 600, STEP, 2)
+    );
+  }
+
+  @Test
+  void slicesAreAlignedWithTheIterationsFromTheEndOfTheSearchWindow() {
+    // 4 iterations: EDT+210, EDT+150, EDT+90 and EDT+30
+    assertEquals(
+      List.of(new Slice(EDT, 150), new Slice(EDT + 150, 120)),
+      SearchWindowSlices.split(EDT, 270, 120, STEP, 8)
+    );
+  }
+
+  @Test
+  void searchWindowTooShortToSplit() {
+    assertEquals(List.of(new Slice(EDT, 180)), SearchWindowSlices.split(EDT, 180, 120, STEP, 8));
+    // At least two iterations in each slice
+    assertEquals(List.of(new Slice(EDT, 180)), SearchWindowSlices.split(EDT, 180, 0, STEP, 8));
+  }
+
+  @Test
+  void numberOfIterations() {
+    assertEquals(4, SearchWindowSlices.numberOfIterations(270, STEP));
+    assertEquals(3, SearchWindowSlices.numberOfIterations(180, STEP));
+    assertEquals(1, SearchWindowSlices.numberOfIterations(60, STEP));
+    assertEquals(1, SearchWindowSlices.numberOfIterations(30, STEP));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 119, 120, 179, 240, 270, 299, 3600, 3630, 10799 })
+  void atLeastTwoIterationsInEachSlice(int searchWindow) {
+    for (int sliceLength : new int[] { 0, 60, 90, 120, 600 }) {
+      var slices = SearchWindowSlices.split(EDT, searchWindow, sliceLength, STEP, 8);
+      int iterations = 0;
+      for (Slice slice : slices) {
+        int n = SearchWindowSlices.numberOfIterations(slice.searchWindowInSeconds(), STEP);
+        assertTrue(slices.size() == 1 || n >= 2, slices::toString);
+        iterations += n;
+      }
+      assertEquals(SearchWindowSlices.numberOfIterations(searchWindow, STEP), iterations);
+      assertEquals(EDT, slices.getFirst().earliestDepartureTime());
+      var last = slices.getLast();
+      assertEquals(EDT + searchWindow, last.earliestDepartureTime() + last.searchWindowInSeconds());
+    }
+  }
+}
@@ -3,7 +3,6 @@ package org.opentripplanner.routing.algorithm.mapping;
 import au.com.origin.snapshots.junit5.SnapshotExtension;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
@@ -20,7 +19,6 @@ import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.api.request.request.filter.AllowAllTransitFilter;
 import org.opentripplanner.routing.core.VehicleRoutingOptimizeType;
-import org.opentripplanner.routing.error.RoutingValidationException;
 
 @ExtendWith(SnapshotExtension.class)
 @ResourceLock(Resources.LOCALE)
@@ -129,11 +127,7 @@ public class ElevationSnapshotTest extends SnapshotTestBase {
     request.setFrom(p1);
     request.setTo(p3);
 
-    try {
-      expectArriveByToMatchDepartAtAndSnapshot(request);
-    } catch (CompletionException e) {
-      RoutingValidationException.unwrapAndRethrowCompletionException(e);
-    }
+    expectArriveByToMatchDepartAtAndSnapshot(request);
   }
 
   @DisplayName("TRANSIT")
@@ -0,0 +1,57 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.model.RaptorTransfer;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+
+class RaptorTransferIndexTest {
+
+  private static final StreetSearchRequest REQUEST = StreetSearchRequest.of().build();
+
+  @Test
+  void create() {
+    // Stop 0 has two transfers to stop 1, only the fastest is kept
+    var subject = RaptorTransferIndex.create(
+      List.of(
+        List.of(new Transfer(1, 100), new Transfer(1, 200), new Transfer(2, 300)),
+        List.of(),
+        List.of(new Transfer(0, 400))
+      ),
+      REQUEST
+    );
+
+    assertEquals("[1:100, 2:300]", toStr(subject.getForwardTransfers(0)));
+    assertEquals("[]", toStr(subject.getForwardTransfers(1)));
+    assertEquals("[0:400]", toStr(subject.getForwardTransfers(2)));
+
+    assertEquals("[2:400]", toStr(subject.getReversedTransfers(0)));
+    assertEquals("[0:100]", toStr(subject.getReversedTransfers(1)));
+    assertEquals("[0:300]", toStr(subject.getReversedTransfers(2)));
+  }
+
+  @Test
+  void noTransfers() {
+    var subject = RaptorTransferIndex.create(List.of(List.of(), List.of()), REQUEST);
+
+    assertFalse(subject.getForwardTransfers(0).hasNext());
+    assertFalse(subject.getReversedTransfers(1).hasNext());
+  }
+
+  /**
+   * List the transfers as {@code stop:distance}, sorted by stop.
+   */
+  private static String toStr(Iterator<RaptorTransfer> it) {
+    var list = new ArrayList<String>();
+    while (it.hasNext()) {
+      var t = (DefaultRaptorTransfer) it.next();
+      list.add(t.stop() + ":" + t.transfer().getDistanceMeters());
+    }
+    return list.stream().sorted().toList().toString();
+  }
+}
@@ -0,0 +1,92 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.spi.IntIterator;
+import org.opentripplanner.raptor.util.IntIterators;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.network.RoutingTripPattern;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.RegularStop;
+
+class PatternsByStopIndexTest {
+
+  private static final TimetableRepositoryForTest TEST_MODEL = TimetableRepositoryForTest.of();
+
+  private static final RegularStop STOP_A = TEST_MODEL.stop("A").build();
+  private static final RegularStop STOP_B = TEST_MODEL.stop("B").build();
+  private static final RegularStop STOP_C = TEST_MODEL.stop("C").build();
+
+  private static final RoutingTripPattern PATTERN_AB = pattern("AB", STOP_A, STOP_B);
+  private static final RoutingTripPattern PATTERN_BC = pattern("BC", STOP_B, STOP_C);
+
+  private static final int STOP_COUNT = 1 + maxStopIndex(STOP_A, STOP_B, STOP_C);
+
+  @Test
+  void patternsForStop() {
+    // Duplicates should be ignored
+    var subject = PatternsByStopIndex.create(
+      STOP_COUNT,
+      List.of(PATTERN_AB, PATTERN_BC, PATTERN_AB)
+    );
+
+    assertArrayEquals(
+      new int[] { PATTERN_AB.patternIndex() },
+      subject.patternsForStop(STOP_A.getIndex())
+    );
+    assertArrayEquals(
+      new int[] { PATTERN_AB.patternIndex(), PATTERN_BC.patternIndex() },
+      subject.patternsForStop(STOP_B.getIndex())
+    );
+    assertArrayEquals(
+      new int[] { PATTERN_BC.patternIndex() },
+      subject.patternsForStop(STOP_C.getIndex())
+    );
+  }
+
+  @Test
+  void routeIndexIteratorOnlyReturnActivePatterns() {
+    var subject = PatternsByStopIndex.create(STOP_COUNT, List.of(PATTERN_AB, PATTERN_BC));
+
+    var active = new BitSet();
+    active.set(PATTERN_BC.patternIndex());
+
+    var stops = IntIterators.singleValueIterator(STOP_B.getIndex());
+    assertEquals(
+      List.of(PATTERN_BC.patternIndex()),
+      toList(subject.routeIndexIterator(stops, active))
+    );
+
+    stops = IntIterators.singleValueIterator(STOP_A.getIndex());
+    assertEquals(List.of(), toList(subject.routeIndexIterator(stops, active)));
+  }
+
+  private static RoutingTripPattern pattern(String id, RegularStop... stops) {
+    return TimetableRepositoryForTest
+      .tripPattern(id, TimetableRepositoryForTest.route(id).build())
+      .withStopPattern(TimetableRepositoryForTest.stopPattern(stops))
+      .build()
+      .getRoutingTripPattern();
+  }
+
+  private static int maxStopIndex(RegularStop... stops) {
+    int max = 0;
+    for (RegularStop stop : stops) {
+      max = Math.max(max, stop.getIndex());
+    }
+    return max;
+  }
+
+  private static List<Integer> toList(IntIterator it) {
+    List<Integer> result = new ArrayList<>();
+    while (it.hasNext()) {
+      result.add(it.next());
+    }
+    return result;
+  }
+}
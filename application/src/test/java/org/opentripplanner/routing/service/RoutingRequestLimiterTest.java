@@ -0,0 +1,85 @@
+package org.opentripplanner.routing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.application.OTPRequestRejectedException;
+
+class RoutingRequestLimiterTest {
+
+  @Test
+  void noLimit() {
+    var subject = new RoutingRequestLimiter(0, Duration.ZERO, null);
+
+    try (var p1 = subject.acquire(); var p2 = subject.acquire()) {
+      assertEquals(0, subject.activeRequests());
+    }
+  }
+
+  @Test
+  void rejectWhenLimitIsReached() {
+    var registry = new SimpleMeterRegistry();
+    var subject = new RoutingRequestLimiter(2, Duration.ofMillis(1), registry);
+
+    try (var p1 = subject.acquire(); var p2 = subject.acquire()) {
+      assertEquals(2, subject.activeRequests());
+      assertEquals(2.0, registry.get("routing.limiter.active").gauge().value());
+      assertThrows(OTPRequestRejectedException.class, subject::acquire);
+    }
+    assertEquals(0, subject.activeRequests());
+    assertEquals(1.0, registry.get("routing.limiter.rejected").counter().count());
+
+    // A slot is available again when a request is done
+    try (var p = subject.acquire()) {
+      assertEquals(1, subject.activeRequests());
+    }
+    assertEquals(4, registry.get("routing.limiter.queueTime").timer().count());
+  }
+
+  @Test
+  void waitForFreeSlot() throws Exception {
+    var subject = new RoutingRequestLimiter(1, Duration.ofSeconds(10), null);
+    var permit = subject.acquire();
+    var released = new AtomicBoolean(false);
+    var waiting = new CountDownLatch(1);
+
+    var otherRequest = new FutureTask<>(() -> {
+      waiting.countDown();
+      try (var p = subject.acquire()) {
+        // The slot is only given to the waiting request when the first permit is closed
+        return released.get();
+      }
+    });
+    new Thread(otherRequest).start();
+    assertTrue(waiting.await(10, TimeUnit.SECONDS));
+    assertFalse(otherRequest.isDone());
+
+    released.set(true);
+    permit.close();
+
+    assertTrue(otherRequest.get(10, TimeUnit.SECONDS));
+    assertEquals(0, subject.activeRequests());
+  }
+
+  @Test
+  void closePermitTwice() {
+    var subject = new RoutingRequestLimiter(1, Duration.ofMillis(1), null);
+    var permit = subject.acquire();
+    permit.close();
+    permit.close();
+
+    try (var p = subject.acquire()) {
+      assertEquals(1, subject.activeRequests());
+      assertThrows(OTPRequestRejectedException.class, subject::acquire);
+    }
+  }
+}
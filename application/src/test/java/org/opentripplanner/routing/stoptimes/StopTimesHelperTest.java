@@ -311,6 +311,47 @@ class StopTimesHelperTest {
     assertEquals(serviceDate, stopTime.getServiceDay());
   }
 
+  /**
+   * The departures of many stops fetched together must be the same as those fetched for each stop
+   */
+  @Test
+  void stopTimesForStops() {
+    var startTime = serviceDate.atStartOfDay(transitService.getTimeZone()).toInstant();
+    var stops = transitService.listStopLocations();
+
+    var result = StopTimesHelper.stopTimesForStops(
+      transitService,
+      stops,
+      startTime,
+      Duration.ofHours(36),
+      3,
+      ArrivalDeparture.BOTH,
+      true
+    );
+
+    assertEquals(stops.size(), result.size());
+    for (var stop : stops) {
+      var expected = StopTimesHelper.stopTimesForStop(
+        transitService,
+        stop,
+        startTime,
+        Duration.ofHours(36),
+        3,
+        ArrivalDeparture.BOTH,
+        true
+      );
+      assertEquals(toString(expected), toString(result.get(stop)), stop.getId().toString());
+    }
+  }
+
+  private static List<String> toString(List<StopTimesInPattern> stopTimes) {
+    return stopTimes
+      .stream()
+      .flatMap(s -> s.times.stream())
+      .map(t -> t.getTrip().getId() + " " + t.getStopIndex() + " " + t.getServiceDay())
+      .toList();
+  }
+
   boolean hasCancelledTrips(List<StopTimesInPattern> stopTimes) {
     return !stopTimes
       .stream()
@@ -36,4 +36,18 @@ class DefaultVehicleRentalServiceTest {
     assertEquals(1, vehicleRentalStationForEnvelope.size());
     assertEquals(vehicleRentalStation, vehicleRentalStationForEnvelope.get(0));
   }
+
+  @Test
+  void versionIsIncrementedOnEveryWrite() {
+    var service = new DefaultVehicleRentalService();
+    var station = new TestVehicleRentalStationBuilder().build();
+    var version = service.version();
+
+    service.addVehicleRentalStation(station);
+    assertTrue(service.version() > version);
+    version = service.version();
+
+    service.removeVehicleRentalStation(station.getId());
+    assertTrue(service.version() > version);
+  }
 }
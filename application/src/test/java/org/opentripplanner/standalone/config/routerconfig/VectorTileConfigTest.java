@@ -0,0 +1,66 @@
+package org.opentripplanner.standalone.config.routerconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.standalone.config.framework.json.JsonSupport.jsonNodeForTest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+
+class VectorTileConfigTest {
+
+  @Test
+  void parseArchiveMaxZoom() {
+    var config = VectorTileConfig.mapVectorTilesParameters(
+      createNodeAdaptor("{ vectorTiles : { archiveMaxZoom : 24 } }"),
+      "vectorTiles"
+    );
+
+    assertEquals(VectorTileConfig.MAX_ARCHIVE_ZOOM, config.archiveMaxZoom());
+    assertTrue(config.isArchiveEnabled());
+  }
+
+  @Test
+  void archiveIsDisabledByDefault() {
+    var config = VectorTileConfig.mapVectorTilesParameters(
+      createNodeAdaptor("{ vectorTiles : { } }"),
+      "vectorTiles"
+    );
+
+    assertEquals(VectorTileConfig.ARCHIVE_DISABLED, config.archiveMaxZoom());
+    assertFalse(config.isArchiveEnabled());
+  }
+
+  @Test
+  void zoomLevelZeroEnablesTheArchive() {
+    var config = VectorTileConfig.mapVectorTilesParameters(
+      createNodeAdaptor("{ vectorTiles : { archiveMaxZoom : 0 } }"),
+      "vectorTiles"
+    );
+
+    assertEquals(0, config.archiveMaxZoom());
+    assertTrue(config.isArchiveEnabled());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { -2, 25 })
+  void archiveMaxZoomOutOfRange(int archiveMaxZoom) {
+    var root = createNodeAdaptor(
+      "{ vectorTiles : { archiveMaxZoom : " + archiveMaxZoom + " } }"
+    );
+
+    assertThrows(
+      OtpAppException.class,
+      () -> VectorTileConfig.mapVectorTilesParameters(root, "vectorTiles")
+    );
+  }
+
+  private static NodeAdapter createNodeAdaptor(String jsonText) {
+    return new NodeAdapter(jsonNodeForTest(jsonText), "Test");
+  }
+}
@@ -14,14 +14,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
 import org.opentripplanner.TestServerContext;
+import org.opentripplanner.apis.support.graphql.GraphQLDocumentCache;
 import org.opentripplanner.datastore.OtpDataStore;
+import org.opentripplanner.ext.flex.flexpathcalculator.StreetFlexPathCache;
 import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.framework.concurrent.OtpRequestTasks;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.routing.service.RoutingRequestLimiter;
 import org.opentripplanner.service.realtimevehicles.internal.DefaultRealtimeVehicleService;
 import org.opentripplanner.service.vehiclerental.internal.DefaultVehicleRentalService;
 import org.opentripplanner.standalone.OtpStartupInfo;
@@ -109,15 +114,21 @@ public class SpeedTest {
         config.transitRoutingParams,
         config.request,
         new RaptorConfig<>(config.transitRoutingParams),
+        RoutingRequestLimiter.noLimit(),
+        new OtpRequestTasks(0, timer.getRegistry()),
         graph,
         new DefaultTransitService(timetableRepository),
         timer.getRegistry(),
+        GraphQLDocumentCache.DISABLED,
         VectorTileConfig.DEFAULT,
+        VectorTileCache.DISABLED,
+        null,
         TestServerContext.createWorldEnvelopeService(),
         TestServerContext.createRealtimeVehicleService(transitService),
         TestServerContext.createVehicleRentalService(),
         TestServerContext.createEmissionsService(),
         config.flexConfig,
+        new StreetFlexPathCache(config.flexConfig.streetPathCacheMaxStates()),
         List.of(),
         null,
         TestServerContext.createStreetLimitationParametersService(),
@@ -56,6 +56,14 @@ public enum SpeedTestProfile {
     RaptorProfile.MULTI_CRITERIA,
     SearchDirection.FORWARD,
     Optimization.PARETO_CHECK_AGAINST_DESTINATION
+  ),
+  multi_criteria_destination_pre_check(
+    "mp",
+    "Multi-Criteria Range Raptor with destination pruning and stop arrival pre-check.",
+    RaptorProfile.MULTI_CRITERIA,
+    SearchDirection.FORWARD,
+    Optimization.PARETO_CHECK_AGAINST_DESTINATION,
+    Optimization.PARETO_CHECK_BEFORE_CREATING_STOP_ARRIVALS
   );
 
   final String shortName;
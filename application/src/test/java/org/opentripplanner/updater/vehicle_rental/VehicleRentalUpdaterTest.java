@@ -1,6 +1,9 @@
 package org.opentripplanner.updater.vehicle_rental;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.util.concurrent.Futures;
@@ -12,8 +15,11 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.vehicle_parking.VehicleParkingTestGraphData;
 import org.opentripplanner.service.vehiclerental.internal.DefaultVehicleRentalService;
+import org.opentripplanner.service.vehiclerental.model.TestFreeFloatingRentalVehicleBuilder;
 import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
+import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex;
 import org.opentripplanner.transit.service.TimetableRepository;
 import org.opentripplanner.updater.DefaultRealTimeUpdateContext;
 import org.opentripplanner.updater.GraphUpdaterManager;
@@ -42,6 +48,67 @@ class VehicleRentalUpdaterTest {
     assertTrue(updater.isPrimed());
   }
 
+  @Test
+  void relinkOnlyMovedPlaces() {
+    var graphData = new VehicleParkingTestGraphData();
+    graphData.initGraph();
+    var graph = graphData.getGraph();
+    var timetableRepository = graphData.getTimetableRepository();
+    timetableRepository.index();
+    graph.index(timetableRepository.getStopModel());
+    var context = new DefaultRealTimeUpdateContext(graph, timetableRepository);
+
+    var source = new StaticDatasource();
+    var updater = new VehicleRentalUpdater(
+      new VehicleRentalUpdaterParameters("A", Duration.ofMinutes(1), new FakeParams()),
+      source,
+      graph.getLinker(),
+      new DefaultVehicleRentalService()
+    );
+    updater.setup(runnable -> {
+      runnable.run(context);
+      return Futures.immediateVoidFuture();
+    });
+
+    source.places = List.of(scooter(0.005));
+    updater.runPolling();
+    var vertex = rentalVertex(graph);
+    assertFalse(vertex.getOutgoing().isEmpty());
+
+    var samePosition = scooter(0.005);
+    source.places = List.of(samePosition);
+    updater.runPolling();
+    assertSame(vertex, rentalVertex(graph));
+    assertSame(samePosition, vertex.getStation());
+
+    source.places = List.of(scooter(0.006));
+    updater.runPolling();
+    var movedVertex = rentalVertex(graph);
+    assertNotSame(vertex, movedVertex);
+    assertEquals(0.006, movedVertex.getLon());
+    assertFalse(movedVertex.getOutgoing().isEmpty());
+    assertTrue(vertex.getOutgoing().isEmpty());
+
+    source.places = List.of();
+    updater.runPolling();
+    assertEquals(List.of(), graph.getVerticesOfType(VehicleRentalPlaceVertex.class));
+  }
+
+  private static VehicleRentalPlace scooter(double longitude) {
+    return TestFreeFloatingRentalVehicleBuilder
+      .of()
+      .withLatitude(0.0001)
+      .withLongitude(longitude)
+      .withVehicleScooter()
+      .build();
+  }
+
+  private static VehicleRentalPlaceVertex rentalVertex(Graph graph) {
+    var vertices = graph.getVerticesOfType(VehicleRentalPlaceVertex.class);
+    assertEquals(1, vertices.size());
+    return vertices.getFirst();
+  }
+
   static class MockManager extends GraphUpdaterManager {
 
     public MockManager(VehicleRentalUpdater updater) {
@@ -81,6 +148,21 @@ class VehicleRentalUpdaterTest {
     }
   }
 
+  static class StaticDatasource implements VehicleRentalDatasource {
+
+    private List<VehicleRentalPlace> places = List.of();
+
+    @Override
+    public boolean update() {
+      return true;
+    }
+
+    @Override
+    public List<VehicleRentalPlace> getUpdates() {
+      return places;
+    }
+  }
+
   static class FakeParams implements VehicleRentalDataSourceParameters {
 
     @Override
@@ -0,0 +1,92 @@
+package org.opentripplanner.benchmark;
+
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTransfer.transfer;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.Random;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.raptor._data.transit.TestRoute;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+
+/**
+ * Create a small transit network for the benchmarks. The stops are placed in a grid, with one
+ * route along each row and each column in both directions. Neighbouring stops on the diagonal are
+ * connected with a walking transfer. The travel times and the headways are random, but the random
+ * generator uses a fixed seed, so the network is the same for every run and results can be
+ * compared across commits.
+ */
+final class BenchmarkTransitData {
+
+  static final int GRID_SIZE = 12;
+
+  private static final int SERVICE_START = TimeUtils.hm2time(5, 0);
+  private static final int SERVICE_END = TimeUtils.hm2time(24, 0);
+  private static final int DIAGONAL_WALK_DURATION = 5 * 60;
+
+  private final Random random = new Random(42);
+  private final TestTransitData data = new TestTransitData();
+
+  private BenchmarkTransitData() {}
+
+  static TestTransitData create() {
+    return new BenchmarkTransitData().build();
+  }
+
+  /**
+   * Stop index for the given grid position, the stop indexes start at 1.
+   */
+  static int stop(int row, int col) {
+    return 1 + row * GRID_SIZE + col;
+  }
+
+  private TestTransitData build() {
+    for (int i = 0; i < GRID_SIZE; ++i) {
+      int[] row = new int[GRID_SIZE];
+      int[] col = new int[GRID_SIZE];
+      for (int j = 0; j < GRID_SIZE; ++j) {
+        row[j] = stop(i, j);
+        col[j] = stop(j, i);
+      }
+      addRoute("R" + i, row);
+      addRoute("R" + i + "r", reverse(row));
+      addRoute("C" + i, col);
+      addRoute("C" + i + "r", reverse(col));
+    }
+
+    for (int i = 0; i < GRID_SIZE - 1; ++i) {
+      for (int j = 0; j < GRID_SIZE - 1; ++j) {
+        data.withTransfer(stop(i, j), transfer(stop(i + 1, j + 1), DIAGONAL_WALK_DURATION));
+        data.withTransfer(stop(i + 1, j + 1), transfer(stop(i, j), DIAGONAL_WALK_DURATION));
+        data.withTransfer(stop(i + 1, j), transfer(stop(i, j + 1), DIAGONAL_WALK_DURATION));
+        data.withTransfer(stop(i, j + 1), transfer(stop(i + 1, j), DIAGONAL_WALK_DURATION));
+      }
+    }
+    return data;
+  }
+
+  private void addRoute(String name, int[] stops) {
+    // 1-4 minutes between each stop, and a trip every 5-20 minutes
+    int[] times = new int[stops.length];
+    int firstDeparture = SERVICE_START + 60 * random.nextInt(10);
+    times[0] = firstDeparture;
+    for (int i = 1; i < stops.length; ++i) {
+      times[i] = times[i - 1] + 60 + 60 * random.nextInt(4);
+    }
+    int headway = 5 * 60 + 60 * random.nextInt(16);
+    int nTrips = (SERVICE_END - firstDeparture) / headway;
+
+    TestRoute route = route(pattern(name, stops))
+      .withTimetable(schedule().times(times).repeat(nTrips, headway));
+    data.withRoute(route);
+  }
+
+  private static int[] reverse(int[] stops) {
+    int[] result = new int[stops.length];
+    for (int i = 0; i < stops.length; ++i) {
+      result[i] = stops[stops.length - 1 - i];
+    }
+    return result;
+  }
+}
@@ -0,0 +1,66 @@
+package org.opentripplanner.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.astar.model.BinHeap;
+
+/**
+ * Use the {@link BinHeap} the way the A* street search does: take the best element from the queue
+ * and insert a few new elements with a slightly higher weight, until the queue is empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinHeapBenchmark {
+
+  /** The number of elements inserted for each element taken from the queue. */
+  private static final int BRANCHING = 3;
+
+  @Param({ "10000", "100000" })
+  private int size;
+
+  private Object[] elements;
+  private double[] weightIncrements;
+
+  @Setup
+  public void setup() {
+    var random = new Random(42);
+    elements = new Object[size];
+    weightIncrements = new double[size];
+    for (int i = 0; i < size; ++i) {
+      elements[i] = new Object();
+      weightIncrements[i] = 1.0 + random.nextDouble() * 100.0;
+    }
+  }
+
+  @Benchmark
+  public void insertAndExtractMin(Blackhole blackhole) {
+    var heap = new BinHeap<>();
+    heap.insert(elements[0], 0.0);
+
+    int inserted = 1;
+    while (!heap.empty()) {
+      double weight = heap.peek_min_key();
+      blackhole.consume(heap.extract_min());
+
+      for (int i = 0; i < BRANCHING && inserted < size; ++i, ++inserted) {
+        heap.insert(elements[inserted], weight + weightIncrements[inserted]);
+      }
+    }
+  }
+}
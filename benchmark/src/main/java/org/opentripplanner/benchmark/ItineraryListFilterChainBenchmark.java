@@ -0,0 +1,140 @@
+package org.opentripplanner.benchmark;
+
+import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
+import static org.opentripplanner.model.plan.TestItineraryBuilder.newTime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.model.SystemNotice;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.Place;
+import org.opentripplanner.model.plan.SortOrder;
+import org.opentripplanner.routing.algorithm.filterchain.ItineraryListFilterChainBuilder;
+import org.opentripplanner.routing.algorithm.filterchain.api.GroupBySimilarity;
+import org.opentripplanner.routing.api.request.preference.ItineraryFilterPreferences;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+
+/**
+ * Filter a list of itineraries with a filter chain set up like the default routing request does
+ * it. The itineraries are a random mix of walk-only, bicycle, bus and bus + rail itineraries
+ * departing within a two-hour search-window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItineraryListFilterChainBenchmark {
+
+  private static final int SEARCH_WINDOW_START = TimeUtils.hm2time(11, 0);
+  private static final Duration SEARCH_WINDOW = Duration.ofHours(2);
+  private static final int KEEP_THREE = 3;
+
+  @Param({ "50", "200" })
+  private int nItineraries;
+
+  private List<Itinerary> itineraries;
+  private ItineraryListFilterChainBuilder chainBuilder;
+
+  @Setup
+  public void setup() {
+    var model = TimetableRepositoryForTest.of();
+    Place[] places = new Place[5];
+    for (int i = 0; i < places.length; ++i) {
+      places[i] = Place.forStop(model.stop("S" + i).build());
+    }
+    Place origin = places[0];
+    Place destination = places[places.length - 1];
+
+    var random = new Random(42);
+    itineraries = new ArrayList<>(nItineraries);
+    for (int i = 0; i < nItineraries; ++i) {
+      int start = SEARCH_WINDOW_START + random.nextInt((int) SEARCH_WINDOW.toSeconds());
+      int duration = 60 * (15 + random.nextInt(45));
+      int tripId = random.nextInt(nItineraries);
+      Place via = places[1 + random.nextInt(places.length - 2)];
+
+      itineraries.add(
+        switch (random.nextInt(5)) {
+          case 0 -> newItinerary(origin, start).walk(duration * 2, destination).build();
+          case 1 -> newItinerary(origin).bicycle(start, start + duration, destination).build();
+          case 2 -> newItinerary(origin, start)
+            .walk(120, via)
+            .bus(tripId, start + 180, start + duration, destination)
+            .build();
+          default -> newItinerary(origin, start)
+            .walk(120, via)
+            .bus(tripId, start + 180, start + duration / 2, places[2])
+            .rail(tripId + 1, start + duration / 2 + 300, start + duration, destination)
+            .build();
+        }
+      );
+    }
+
+    var params = ItineraryFilterPreferences.DEFAULT;
+    chainBuilder =
+      new ItineraryListFilterChainBuilder(SortOrder.STREET_AND_ARRIVAL_TIME)
+        .addGroupBySimilarity(
+          GroupBySimilarity.createWithOneItineraryPerGroup(params.groupSimilarityKeepOne())
+        )
+        .addGroupBySimilarity(
+          GroupBySimilarity.createWithMoreThanOneItineraryPerGroup(
+            params.groupSimilarityKeepThree(),
+            KEEP_THREE,
+            true,
+            params.groupedOtherThanSameLegsMaxCostMultiplier()
+          )
+        )
+        .withMaxNumberOfItineraries(50)
+        .withTransitGeneralizedCostLimit(params.transitGeneralizedCostLimit())
+        .withNonTransitGeneralizedCostLimit(params.nonTransitGeneralizedCostLimit())
+        .withRemoveTransitWithHigherCostThanBestOnStreetOnly(
+          params.removeTransitWithHigherCostThanBestOnStreetOnly()
+        )
+        .withSameFirstOrLastTripFilter(params.filterItinerariesWithSameFirstOrLastTrip())
+        .withRemoveTimeshiftedItinerariesWithSameRoutesAndStops(
+          params.removeItinerariesWithSameRoutesAndStops()
+        )
+        .withSearchWindow(newTime(SEARCH_WINDOW_START).toInstant(), SEARCH_WINDOW)
+        .withRemoveTransitIfWalkingIsBetter(true);
+  }
+
+  /**
+   * The filters flag the itineraries they remove, the flags must be removed before the itineraries
+   * are filtered again.
+   */
+  @Setup(Level.Invocation)
+  public void removeDeletionFlags() {
+    for (Itinerary it : itineraries) {
+      it.removeDeletionFlags(
+        it.getSystemNotices().stream().map(SystemNotice::tag).collect(Collectors.toSet())
+      );
+    }
+  }
+
+  /**
+   * A new filter chain is created for each routing request, so creating the chain is included.
+   */
+  @Benchmark
+  public List<Itinerary> filter() {
+    return chainBuilder.build().filter(itineraries);
+  }
+}
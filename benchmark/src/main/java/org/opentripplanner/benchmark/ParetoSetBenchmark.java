@@ -0,0 +1,77 @@
+package org.opentripplanner.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
+
+/**
+ * Add a sequence of arrivals to a {@link ParetoSet}. The arrivals are compared on time, number of
+ * transfers and cost, like the stop arrivals in the multi-criteria Raptor search. In the
+ * "improving" case each arrival is a bit better than the previous ones, so most of the elements
+ * in the set are dropped again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParetoSetBenchmark {
+
+  private static final ParetoComparator<Arrival> COMPARATOR = (l, r) ->
+    l.time < r.time || l.transfers < r.transfers || l.cost < r.cost;
+
+  @Param({ "1000" })
+  private int size;
+
+  @Param({ "random", "improving" })
+  private String input;
+
+  private Arrival[] arrivals;
+
+  @Setup
+  public void setup() {
+    var random = new Random(42);
+    arrivals = new Arrival[size];
+
+    for (int i = 0; i < size; ++i) {
+      arrivals[i] =
+        switch (input) {
+          case "random" -> new Arrival(
+            random.nextInt(3600),
+            random.nextInt(5),
+            random.nextInt(10_000)
+          );
+          case "improving" -> new Arrival(
+            3600 - i - random.nextInt(10),
+            random.nextInt(5),
+            10_000 + random.nextInt(1000)
+          );
+          default -> throw new IllegalArgumentException(input);
+        };
+    }
+  }
+
+  @Benchmark
+  public ParetoSet<Arrival> add() {
+    var set = new ParetoSet<>(COMPARATOR);
+    for (Arrival it : arrivals) {
+      set.add(it);
+    }
+    return set;
+  }
+
+  record Arrival(int time, int transfers, int cost) {}
+}
@@ -0,0 +1,80 @@
+package org.opentripplanner.benchmark;
+
+import static org.opentripplanner.benchmark.BenchmarkTransitData.GRID_SIZE;
+import static org.opentripplanner.benchmark.BenchmarkTransitData.stop;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.response.RaptorResponse;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+/**
+ * Route across the {@link BenchmarkTransitData} network, from one corner of the grid to the
+ * opposite corner, with a one-hour search-window. This measures the whole Raptor search,
+ * including the trip search, the pareto-sets and the path mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RaptorBenchmark {
+
+  private static final int WALK_DURATION = 2 * 60;
+
+  @Param({ "STANDARD", "MULTI_CRITERIA" })
+  private RaptorProfile profile;
+
+  private TestTransitData data;
+  private RaptorConfig<TestTripSchedule> config;
+  private RaptorService<TestTripSchedule> service;
+  private RaptorRequest<TestTripSchedule> request;
+
+  @Setup
+  public void setup() {
+    data = BenchmarkTransitData.create();
+    config = RaptorConfig.defaultConfigForTest();
+    service = new RaptorService<>(config);
+
+    var builder = new RaptorRequestBuilder<TestTripSchedule>();
+    builder
+      .profile(profile)
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(stop(0, 0), WALK_DURATION))
+      .addEgressPaths(TestAccessEgress.walk(stop(GRID_SIZE - 1, GRID_SIZE - 1), WALK_DURATION))
+      .earliestDepartureTime(TimeUtils.hm2time(8, 0))
+      .searchWindowInSeconds(60 * 60)
+      .timetable(true);
+    request = builder.build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    config.shutdown();
+  }
+
+  @Benchmark
+  public RaptorResponse<TestTripSchedule> route() {
+    return service.route(request, data);
+  }
+}
@@ -0,0 +1,75 @@
+package org.opentripplanner.benchmark;
+
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * Traverse a path of street edges, one edge at the time, the same way the A* search expands a
+ * state. The path zig-zags, so the turn costs are calculated for every edge.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreetEdgeTraverseBenchmark {
+
+  private static final int N_EDGES = 100;
+  private static final double STEP = 0.001;
+
+  @Param({ "WALK", "BIKE", "CAR" })
+  private StreetMode mode;
+
+  private IntersectionVertex origin;
+  private StreetEdge[] edges;
+  private StreetSearchRequest request;
+
+  @Setup
+  public void setup() {
+    var vertices = new IntersectionVertex[N_EDGES + 1];
+    for (int i = 0; i <= N_EDGES; ++i) {
+      double lat = 59.9 + (i / 2) * STEP;
+      double lon = 10.7 + ((i + 1) / 2) * STEP;
+      vertices[i] = intersectionVertex("V" + i, lat, lon);
+    }
+    edges = new StreetEdge[N_EDGES];
+    for (int i = 0; i < N_EDGES; ++i) {
+      edges[i] = streetEdge(vertices[i], vertices[i + 1]);
+    }
+    origin = vertices[0];
+    request = StreetSearchRequest.of().withMode(mode).build();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(N_EDGES)
+  public State traverse() {
+    var state = new State(origin, request);
+    for (StreetEdge edge : edges) {
+      var result = edge.traverse(state);
+      if (result.length == 0) {
+        throw new IllegalStateException("Edge is not traversable: " + edge);
+      }
+      state = result[0];
+    }
+    return state;
+  }
+}
@@ -0,0 +1,84 @@
+package org.opentripplanner.benchmark;
+
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor._data.transit.TestTripSearchTimetable;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.TripScheduleBoardSearch;
+
+/**
+ * Search for the first trip to board in a timetable with the {@link TripScheduleBoardSearch}. The
+ * search uses a linear search for small timetables and a binary search for large ones, so both a
+ * small and a large timetable is measured. The board times are random, but the same for every
+ * run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripScheduleBoardSearchBenchmark {
+
+  private static final int N_SEARCHES = 1024;
+  private static final int N_STOPS = 10;
+  private static final int FIRST_DEPARTURE = TimeUtils.hm2time(5, 0);
+
+  @Param({ "20", "500" })
+  private int nTrips;
+
+  private RaptorTripScheduleSearch<TestTripSchedule> search;
+  private int[] boardTimes;
+  private int[] stopPositions;
+
+  @Setup
+  public void setup() {
+    int headway = TimeUtils.hm2time(19, 0) / nTrips;
+    int[] stops = new int[N_STOPS];
+    int[] times = new int[N_STOPS];
+    for (int i = 0; i < N_STOPS; ++i) {
+      stops[i] = i + 1;
+      times[i] = FIRST_DEPARTURE + i * 120;
+    }
+    var route = route(pattern("R1", stops))
+      .withTimetable(schedule().times(times).repeat(nTrips, headway));
+    search = new TestTripSearchTimetable(route).tripSearch(SearchDirection.FORWARD);
+
+    var random = new Random(42);
+    int lastDeparture = FIRST_DEPARTURE + nTrips * headway;
+    boardTimes = new int[N_SEARCHES];
+    stopPositions = new int[N_SEARCHES];
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      boardTimes[i] = FIRST_DEPARTURE + random.nextInt(lastDeparture - FIRST_DEPARTURE);
+      stopPositions[i] = random.nextInt(N_STOPS);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(N_SEARCHES)
+  public void search(Blackhole blackhole) {
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      blackhole.consume(search.search(boardTimes[i], stopPositions[i]).tripIndex());
+    }
+  }
+}